@@ -0,0 +1,107 @@
+package com.the198thstreet.bench;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import javax.sql.DataSource;
+
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.SimpleDriverDataSource;
+import org.springframework.jdbc.datasource.init.ResourceDatabasePopulator;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.the198thstreet.news.google.model.Headline;
+import com.the198thstreet.news.google.repository.HeadlineNewsRepository;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+/**
+ * 벤치마크용 입력 데이터를 만드는 도우미.
+ * <p>
+ * - 구글 헤드라인 RSS 와 같은 모양(item 마다 description 안에 ol > li 5개)의 피드를 item 수에 맞춰 생성한다.
+ * - schema.sql 이 적용된 H2(MariaDB 호환 모드) 메모리 DB 와 저장소를 만든다.
+ * 입력이 매번 같아야 결과를 비교할 수 있으므로 난수를 쓰지 않는다.
+ */
+public final class FeedFixtures {
+
+    /** item 하나(묶음 기사)에 들어가는 li 개수 */
+    public static final int ARTICLES_PER_ITEM = 5;
+
+    public static final LocalDateTime BASE_PUB_DATE = LocalDateTime.of(2025, 11, 30, 8, 0);
+
+    private static final DateTimeFormatter RFC1123 = DateTimeFormatter.RFC_1123_DATE_TIME;
+    private static final String[] PRESS = { "경향신문", "한겨레", "연합뉴스", "조선일보", "중앙일보", "KBS", "MBC", "매일경제" };
+
+    private FeedFixtures() {
+    }
+
+    /**
+     * item 을 지정한 개수만큼 가진 RSS XML 을 만든다.
+     */
+    public static String feed(int items) {
+        StringBuilder xml = new StringBuilder(items * 1_500);
+        xml.append("<?xml version=\"1.0\" encoding=\"UTF-8\" standalone=\"yes\"?>")
+                .append("<rss xmlns:media=\"http://search.yahoo.com/mrss/\" version=\"2.0\"><channel>")
+                .append("<generator>NFE/5.0</generator><title>주요 뉴스 - Google 뉴스</title>")
+                .append("<language>ko</language><description>Google 뉴스</description>");
+        for (int i = 0; i < items; i++) {
+            String pubDate = RFC1123.format(BASE_PUB_DATE.minusMinutes(i).atOffset(ZoneOffset.UTC));
+            xml.append("<item><title>헤드라인 ").append(i).append("</title>")
+                    .append("<link>https://news.google.com/rss/articles/item").append(i).append("?oc=5</link>")
+                    .append("<guid isPermaLink=\"false\">item").append(i).append("</guid>")
+                    .append("<pubDate>").append(pubDate).append("</pubDate>")
+                    .append("<description>&lt;ol&gt;");
+            for (int j = 0; j < ARTICLES_PER_ITEM; j++) {
+                xml.append("&lt;li&gt;&lt;a href=\"https://news.google.com/rss/articles/CBMi")
+                        .append(i).append('-').append(j).append("?oc=5&amp;amp;hl=ko\" target=\"_blank\"&gt;")
+                        .append("주요 뉴스 ").append(i).append("번 묶음의 ").append(j).append("번째 기사 제목입니다")
+                        .append("&lt;/a&gt;&amp;nbsp;&amp;nbsp;&lt;font color=\"#6f6f6f\"&gt;")
+                        .append(PRESS[(i + j) % PRESS.length]).append("&lt;/font&gt;&lt;/li&gt;");
+            }
+            xml.append("&lt;/ol&gt;</description><source url=\"https://example.com\">")
+                    .append(PRESS[i % PRESS.length]).append("</source></item>");
+        }
+        return xml.append("</channel></rss>").toString();
+    }
+
+    /**
+     * 저장소에 넣을 기사 목록을 만든다. prefix 를 바꾸면 서로 겹치지 않는 링크가 만들어진다.
+     */
+    public static List<Headline> articles(String prefix, int count) {
+        List<Headline> articles = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            LocalDateTime pubDate = BASE_PUB_DATE.minusMinutes(i / ARTICLES_PER_ITEM);
+            articles.add(Headline.parsed(pubDate, PRESS[i % PRESS.length], "주요 뉴스 " + i + "번째 기사 제목입니다",
+                    "https://news.google.com/rss/articles/" + prefix + '-' + i + "?oc=5"));
+        }
+        return articles;
+    }
+
+    /**
+     * schema.sql 이 적용된 새 H2 메모리 DB 를 만든다.
+     */
+    public static DataSource newDatabase() {
+        SimpleDriverDataSource dataSource = new SimpleDriverDataSource(new org.h2.Driver(),
+                "jdbc:h2:mem:bench-" + UUID.randomUUID() + ";MODE=MariaDB;DB_CLOSE_DELAY=-1", "sa", "");
+        new ResourceDatabasePopulator(new ClassPathResource("schema.sql")).execute(dataSource);
+        return dataSource;
+    }
+
+    public static HeadlineNewsRepository repository(DataSource dataSource) {
+        return new HeadlineNewsRepository(new JdbcTemplate(dataSource),
+                new TransactionTemplate(new DataSourceTransactionManager(dataSource)), new SimpleMeterRegistry());
+    }
+
+    /**
+     * DB 를 종료해 메모리를 돌려준다. (DB_CLOSE_DELAY=-1 이라 명시적으로 닫아야 한다.)
+     */
+    public static void shutdown(DataSource dataSource) {
+        new JdbcTemplate(dataSource).execute("SHUTDOWN");
+    }
+}
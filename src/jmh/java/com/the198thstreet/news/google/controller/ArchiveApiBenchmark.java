@@ -0,0 +1,92 @@
+package com.the198thstreet.news.google.controller;
+
+import java.time.Clock;
+import java.time.ZoneId;
+import java.util.concurrent.TimeUnit;
+
+import javax.sql.DataSource;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.the198thstreet.bench.FeedFixtures;
+import com.the198thstreet.news.google.ArchiveCacheProperties;
+import com.the198thstreet.news.google.ArchiveResponseProperties;
+import com.the198thstreet.news.google.ArchiveSearchProperties;
+import com.the198thstreet.news.google.GoogleNewsProperties;
+import com.the198thstreet.news.google.repository.HeadlineNewsRepository;
+import com.the198thstreet.news.google.service.ArchiveResponseCache;
+import com.the198thstreet.news.google.service.HeadlineArchiveService;
+import com.the198thstreet.news.google.service.HeadlineSearchIndex;
+import com.the198thstreet.news.google.service.HotDayHeadlineCache;
+
+/**
+ * {@link ArchiveHeadlineApiController#getHeadlines(String, int, int, String, String, String)} 조회와 JSON 직렬화 비용을 함께 잰다.
+ * <p>
+ * 하루에 items × 5 건이 저장된 H2 에서 첫 페이지(size=50)를 조회해 바이트 배열로 직렬화한다.
+ * 스프링 MVC 가 응답을 쓸 때 하는 일과 같은 범위다.
+ * hotDayCache=true 이면 조회 날짜를 "오늘" 로 보는 시계를 주어 {@link HotDayHeadlineCache} 를 거친다.
+ * responseCache=true 이면 {@link ArchiveResponseCache} 가 직렬화한 바이트를 기억해 두어 반복 요청은 조회/직렬화 없이 끝난다.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ArchiveApiBenchmark {
+
+    @Param({ "10", "100", "1000" })
+    public int items;
+
+    @Param({ "false", "true" })
+    public boolean hotDayCache;
+
+    @Param({ "false", "true" })
+    public boolean responseCache;
+
+    private DataSource dataSource;
+    private ArchiveHeadlineApiController controller;
+    private String date;
+
+    @Setup
+    public void setUp() {
+        dataSource = FeedFixtures.newDatabase();
+        FeedFixtures.repository(dataSource)
+                .insertHeadlines(FeedFixtures.articles("archive", items * FeedFixtures.ARTICLES_PER_ITEM));
+        HeadlineNewsRepository repository = FeedFixtures.repository(dataSource);
+        ArchiveCacheProperties cacheProperties = new ArchiveCacheProperties();
+        cacheProperties.setEnabled(hotDayCache);
+        Clock today = Clock.fixed(FeedFixtures.BASE_PUB_DATE.atZone(ZoneId.of("Asia/Seoul")).toInstant(),
+                ZoneId.of("Asia/Seoul"));
+        HotDayHeadlineCache cache = new HotDayHeadlineCache(repository, cacheProperties, today);
+        ArchiveResponseProperties responseProperties = new ArchiveResponseProperties();
+        responseProperties.setEnabled(responseCache);
+        controller = new ArchiveHeadlineApiController(new HeadlineArchiveService(repository, cache), cache,
+                new HeadlineSearchIndex(repository, new ArchiveSearchProperties()),
+                new ArchiveResponseCache(new ObjectMapper().findAndRegisterModules(), responseProperties, today),
+                new GoogleNewsProperties());
+        date = FeedFixtures.BASE_PUB_DATE.toLocalDate().toString();
+    }
+
+    @TearDown
+    public void tearDown() {
+        FeedFixtures.shutdown(dataSource);
+    }
+
+    @Benchmark
+    public byte[] getHeadlinesAsJson() {
+        return controller.getHeadlines(date, 0, 50, null, null, null).getBody();
+    }
+}
@@ -0,0 +1,119 @@
+package com.the198thstreet.news.google.controller;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.the198thstreet.news.google.model.Headline;
+import com.the198thstreet.news.google.model.HeadlineCluster;
+import com.the198thstreet.news.google.model.HeadlinePage;
+
+/**
+ * 행마다 HashMap 을 만들던 기존 방식과 {@link Headline} 레코드 방식의 할당량을 비교한다.
+ * <p>
+ * DB 는 빼고, 조회 결과 행을 객체로 만드는 단계(*Rows)와 응답 JSON 까지 만드는 단계(*Json)만 잰다.
+ * gc 프로파일러의 {@code gc.alloc.rate.norm} 이 호출당 할당 바이트이며, *Rows 값은 캐시 등에 붙잡아 둘 때의 힙 크기와도 비례한다.
+ * legacy* 는 기존 ArticleRowMapper + 컨트롤러의 pubDate 문자열 치환 + 응답 HashMap 을 그대로 옮긴 것이다.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class RowModelBenchmark {
+
+    private static final DateTimeFormatter DISPLAY_DATETIME = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
+
+    @Param({ "50", "1000" })
+    public int rows;
+
+    private ObjectMapper objectMapper;
+    private long[] ids;
+    private LocalDateTime[] pubDates;
+    private String[] titles;
+    private String[] links;
+    private String[] presses;
+
+    @Setup
+    public void setUp() {
+        objectMapper = new ObjectMapper().findAndRegisterModules();
+        ids = new long[rows];
+        pubDates = new LocalDateTime[rows];
+        titles = new String[rows];
+        links = new String[rows];
+        presses = new String[rows];
+        for (int i = 0; i < rows; i++) {
+            ids[i] = i + 1;
+            pubDates[i] = LocalDateTime.of(2025, 11, 30, 8, 0).minusMinutes(i);
+            titles[i] = "주요 뉴스 " + i + "번째 기사 제목입니다";
+            links[i] = "https://news.google.com/rss/articles/CBMi" + i + "?oc=5";
+            presses[i] = "언론사" + (i % 8);
+        }
+    }
+
+    @Benchmark
+    public List<Map<String, Object>> legacyMapRows() {
+        List<Map<String, Object>> result = new ArrayList<>();
+        for (int i = 0; i < rows; i++) {
+            Map<String, Object> row = new HashMap<>();
+            row.put("pubDate", pubDates[i]);
+            row.put("pressName", presses[i]);
+            row.put("articleTitle", titles[i]);
+            row.put("articleLink", links[i]);
+            result.add(row);
+        }
+        return result;
+    }
+
+    @Benchmark
+    public List<Headline> recordRows() {
+        List<Headline> result = new ArrayList<>();
+        for (int i = 0; i < rows; i++) {
+            result.add(new Headline(ids[i], pubDates[i], presses[i], titles[i], links[i], null));
+        }
+        return result;
+    }
+
+    @Benchmark
+    public byte[] legacyMapJson() throws JsonProcessingException {
+        List<Map<String, Object>> articles = legacyMapRows();
+        articles.forEach(article -> {
+            LocalDateTime pubDate = (LocalDateTime) article.get("pubDate");
+            article.put("pubDate", pubDate.format(DISPLAY_DATETIME));
+        });
+        Map<String, Object> response = new HashMap<>();
+        response.put("date", "2025-11-30");
+        response.put("totalCount", rows);
+        response.put("page", 0);
+        response.put("size", rows);
+        response.put("articles", articles);
+        return objectMapper.writeValueAsBytes(response);
+    }
+
+    @Benchmark
+    public byte[] recordJson() throws JsonProcessingException {
+        List<HeadlineCluster> articles = recordRows().stream().map(row -> HeadlineCluster.of(row, List.of())).toList();
+        return objectMapper.writeValueAsBytes(
+                new HeadlinePage(LocalDate.of(2025, 11, 30), null, rows, 0, rows, articles, null, null));
+    }
+}
@@ -0,0 +1,71 @@
+package com.the198thstreet.news.google.repository;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import javax.sql.DataSource;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.the198thstreet.bench.FeedFixtures;
+import com.the198thstreet.news.google.model.Headline;
+
+/**
+ * 임베디드 H2 에서 {@link HeadlineNewsRepository} 의 저장/중복 확인 경로를 잰다.
+ * <p>
+ * - insertNew    : 매번 새 링크로 이루어진 한 주기 분량을 저장 (probe + batch INSERT)
+ * - dedupOnly    : 이미 저장된 한 주기 분량을 다시 넣음 (probe 만 수행, 변경 없는 피드가 다시 들어온 경우)
+ * 처리량 단위는 "수집 주기 수/초"이며, 기사 수는 items × 5 건이다.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class IngestBenchmark {
+
+    @Param({ "10", "100", "1000" })
+    public int items;
+
+    private DataSource dataSource;
+    private HeadlineNewsRepository repository;
+    private List<Headline> existing;
+    private int cycle;
+
+    @Setup(Level.Iteration)
+    public void setUp() {
+        dataSource = FeedFixtures.newDatabase();
+        repository = FeedFixtures.repository(dataSource);
+        existing = FeedFixtures.articles("existing", items * FeedFixtures.ARTICLES_PER_ITEM);
+        repository.insertHeadlines(existing);
+    }
+
+    @TearDown(Level.Iteration)
+    public void tearDown() {
+        FeedFixtures.shutdown(dataSource);
+    }
+
+    @Benchmark
+    public HeadlineNewsRepository.BatchInsertResult insertNew() {
+        return repository.insertHeadlines(
+                FeedFixtures.articles("cycle" + (cycle++), items * FeedFixtures.ARTICLES_PER_ITEM));
+    }
+
+    @Benchmark
+    public HeadlineNewsRepository.BatchInsertResult dedupOnly() {
+        return repository.insertHeadlines(existing);
+    }
+}
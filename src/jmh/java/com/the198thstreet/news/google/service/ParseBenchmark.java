@@ -0,0 +1,54 @@
+package com.the198thstreet.news.google.service;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.the198thstreet.bench.FeedFixtures;
+import com.the198thstreet.news.google.GoogleNewsProperties;
+import com.the198thstreet.news.google.model.Headline;
+
+/**
+ * {@link GoogleHeadlineNewsService#parseRss(String)} 처리량을 item 수와 파서 종류별로 잰다.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ParseBenchmark {
+
+    @Param({ "10", "100", "1000" })
+    public int items;
+
+    @Param({ "STAX", "JSOUP" })
+    public GoogleNewsProperties.ParserType parser;
+
+    private String xml;
+    private GoogleHeadlineNewsService service;
+
+    @Setup
+    public void setUp() {
+        xml = FeedFixtures.feed(items);
+        GoogleNewsProperties properties = new GoogleNewsProperties();
+        properties.setParser(parser);
+        service = new GoogleHeadlineNewsService(null, properties, null, null);
+    }
+
+    @Benchmark
+    public List<Headline> parseRss() {
+        return service.parseRss(xml);
+    }
+}
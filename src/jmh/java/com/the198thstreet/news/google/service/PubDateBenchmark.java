@@ -0,0 +1,41 @@
+package com.the198thstreet.news.google.service;
+
+import java.time.LocalDateTime;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.the198thstreet.news.google.GoogleNewsProperties;
+
+/**
+ * RFC1123_FORMATTER 를 쓰는 {@link GoogleHeadlineNewsService#parsePubDate(String)} 한 건의 비용을 잰다.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class PubDateBenchmark {
+
+    private GoogleHeadlineNewsService service;
+
+    @Setup
+    public void setUp() {
+        service = new GoogleHeadlineNewsService(null, new GoogleNewsProperties(), null, null);
+    }
+
+    @Benchmark
+    public LocalDateTime parsePubDate() {
+        return service.parsePubDate("Sun, 30 Nov 2025 08:44:00 GMT");
+    }
+}
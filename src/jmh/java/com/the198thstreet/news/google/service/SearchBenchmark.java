@@ -0,0 +1,88 @@
+package com.the198thstreet.news.google.service;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import javax.sql.DataSource;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import com.the198thstreet.bench.FeedFixtures;
+import com.the198thstreet.news.google.ArchiveSearchProperties;
+import com.the198thstreet.news.google.repository.HeadlineNewsRepository;
+
+/**
+ * 제목 키워드 검색을 {@link HeadlineSearchIndex} 와 {@code LIKE '%…%'} 풀 스캔으로 비교한다.
+ * <p>
+ * H2 에 articles 건을 넣고 같은 데이터로 색인을 만든 뒤, 최신 20건을 찾는다.
+ * - narrow : 한 건만 걸리는 검색어
+ * - broad  : 모든 기사에 걸리는 검색어 (상위 k 선택 비용이 드러난다)
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SearchBenchmark {
+
+    private static final int TOP_K = 20;
+
+    @Param({ "10000", "100000" })
+    public int articles;
+
+    @Param({ "narrow", "broad" })
+    public String query;
+
+    private DataSource dataSource;
+    private JdbcTemplate jdbcTemplate;
+    private HeadlineSearchIndex index;
+    private String keyword;
+
+    @Setup
+    public void setUp() {
+        dataSource = FeedFixtures.newDatabase();
+        HeadlineNewsRepository repository = FeedFixtures.repository(dataSource);
+        repository.insertHeadlines(FeedFixtures.articles("search", articles));
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        index = new HeadlineSearchIndex(repository, new ArchiveSearchProperties());
+        index.build();
+        keyword = query.equals("narrow") ? (articles / 2) + "번째" : "기사 제목";
+    }
+
+    @TearDown
+    public void tearDown() {
+        FeedFixtures.shutdown(dataSource);
+    }
+
+    @Benchmark
+    public List<?> invertedIndex() {
+        return index.search(keyword, null, LocalDate.of(2100, 1, 1), null, TOP_K);
+    }
+
+    @Benchmark
+    public List<?> likeScan() {
+        StringBuilder sql = new StringBuilder("SELECT ID, PUB_DATE, PRESS_NAME, ARTICLE_TITLE, ARTICLE_LINK "
+                + "FROM HEADLINE_NEWS N JOIN PRESS P ON P.PRESS_ID = N.PRESS_ID WHERE 1 = 1");
+        String[] tokens = keyword.split(" ");
+        for (int i = 0; i < tokens.length; i++) {
+            sql.append(" AND ARTICLE_TITLE LIKE ?");
+            tokens[i] = '%' + tokens[i] + '%';
+        }
+        sql.append(" ORDER BY PUB_DATE DESC, ID DESC LIMIT ").append(TOP_K);
+        return jdbcTemplate.queryForList(sql.toString(), (Object[]) tokens);
+    }
+}
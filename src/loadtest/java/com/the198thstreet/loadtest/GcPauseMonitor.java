@@ -0,0 +1,84 @@
+package com.the198thstreet.loadtest;
+
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+import javax.management.ListenerNotFoundException;
+import javax.management.Notification;
+import javax.management.NotificationEmitter;
+import javax.management.NotificationListener;
+import javax.management.openmbean.CompositeData;
+
+import com.sun.management.GarbageCollectionNotificationInfo;
+
+/**
+ * 측정 구간 동안의 GC 멈춤(stop-the-world) 횟수와 시간을 모은다.
+ * <p>
+ * GC 가 끝날 때마다 오는 JMX 알림 중 "end of minor/major GC" 만 멈춤으로 센다.
+ * G1/ZGC 의 동시(concurrent) 단계는 애플리케이션 스레드를 멈추지 않으므로 빼고 센다.
+ */
+public class GcPauseMonitor implements NotificationListener, AutoCloseable {
+
+    private final List<NotificationEmitter> emitters = new ArrayList<>();
+    private final AtomicLong pauses = new AtomicLong();
+    private final AtomicLong totalMillis = new AtomicLong();
+    private final AtomicLong maxMillis = new AtomicLong();
+
+    public GcPauseMonitor() {
+        for (GarbageCollectorMXBean bean : ManagementFactory.getGarbageCollectorMXBeans()) {
+            if (bean instanceof NotificationEmitter emitter) {
+                emitter.addNotificationListener(this, null, null);
+                emitters.add(emitter);
+            }
+        }
+    }
+
+    @Override
+    public void handleNotification(Notification notification, Object handback) {
+        if (!GarbageCollectionNotificationInfo.GARBAGE_COLLECTION_NOTIFICATION.equals(notification.getType())) {
+            return;
+        }
+        GarbageCollectionNotificationInfo info = GarbageCollectionNotificationInfo
+                .from((CompositeData) notification.getUserData());
+        if (!info.getGcAction().startsWith("end of m")) {
+            return;
+        }
+        long millis = info.getGcInfo().getDuration();
+        pauses.incrementAndGet();
+        totalMillis.addAndGet(millis);
+        maxMillis.accumulateAndGet(millis, Math::max);
+    }
+
+    /** 측정 구간을 새로 시작한다. (예열 구간의 GC 는 버림) */
+    public void reset() {
+        pauses.set(0);
+        totalMillis.set(0);
+        maxMillis.set(0);
+    }
+
+    public long pauses() {
+        return pauses.get();
+    }
+
+    public long totalMillis() {
+        return totalMillis.get();
+    }
+
+    public long maxMillis() {
+        return maxMillis.get();
+    }
+
+    @Override
+    public void close() {
+        for (NotificationEmitter emitter : emitters) {
+            try {
+                emitter.removeNotificationListener(this);
+            } catch (ListenerNotFoundException ignored) {
+                // 이미 빠진 리스너
+            }
+        }
+    }
+}
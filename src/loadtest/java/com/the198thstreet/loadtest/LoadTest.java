@@ -0,0 +1,375 @@
+package com.the198thstreet.loadtest;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+import javax.sql.DataSource;
+
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.servlet.context.ServletWebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import com.the198thstreet.The198thstreetApplication;
+import com.the198thstreet.support.StatementCountingDataSource;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+/**
+ * 앱 전체를 띄워 조회(읽기)와 수집(쓰기)을 동시에 돌리는 HTTP 부하 시험.
+ * <p>
+ * 1) {@link StubFeedServer} 를 띄우고, 앱을 H2 메모리 DB + 스텁 피드 URL 로 기동한다. (수집기는 pollMs 마다 스텁을 수집)
+ * 2) concurrency 개 스레드가 쉬지 않고 {@code /api/archive/headlines?date=오늘} 과 {@code /archive/headlines} 를
+ *    viewRatio 비율로 섞어 요청한다. warmup 초 동안은 측정하지 않는다.
+ * 3) duration 초 동안 엔드포인트별 p50/p99/처리량, 수집 저장 단계 평균 시간, DB 문장 수, GC 멈춤을 모은다.
+ * 4) 결과를 result 파일에 쓰고 baseline 파일과 비교한다. updateBaseline=true 면 기준선을 이번 결과로 바꾼다.
+ * <p>
+ * 실행: {@code ./mvnw -Ploadtest test-compile exec:exec -Dloadtest.args="concurrency=32 duration=60"}
+ * 인자는 key=value 로 주며, 주지 않은 값은 {@link Options} 의 기본값을 쓴다.
+ */
+public final class LoadTest {
+
+    private LoadTest() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        Options options = Options.parse(args);
+        // 테스트 클래스패스의 devtools 가 앱을 다른 클래스로더로 다시 띄우지 않게 한다.
+        System.setProperty("spring.devtools.restart.enabled", "false");
+
+        Path workDir = Files.createTempDirectory("loadtest");
+        AtomicReference<StatementCountingDataSource> statements = new AtomicReference<>();
+        int exitCode;
+        try (GcPauseMonitor gc = new GcPauseMonitor();
+                StubFeedServer stub = new StubFeedServer(options.items, options.changeRate);
+                ConfigurableApplicationContext context = start(options, stub, workDir, statements)) {
+            int port = ((ServletWebServerApplicationContext) context).getWebServer().getPort();
+            JdbcTemplate jdbcTemplate = context.getBean(JdbcTemplate.class);
+            MeterRegistry registry = context.getBean(MeterRegistry.class);
+            LocalDate day = stub.day();
+            System.out.printf("[부하 시험] 앱 port=%d, 피드=%s, 조회 날짜=%s%n", port, stub.url(), day);
+            awaitFirstIngest(jdbcTemplate);
+
+            LoadTestResult result = run(options, port, day, stub, statements.get(), gc, jdbcTemplate, registry);
+            result.write(options.result, "부하 시험 결과");
+            System.out.printf("[부하 시험] 결과를 %s 에 썼습니다.%n", options.result);
+            exitCode = compareWithBaseline(options, result);
+        }
+        // 요청 스레드 풀이 남아 있어도 끝나도록 직접 종료한다.
+        System.exit(exitCode);
+    }
+
+    private static ConfigurableApplicationContext start(Options options, StubFeedServer stub, Path workDir,
+            AtomicReference<StatementCountingDataSource> statements) {
+        Map<String, Object> properties = new LinkedHashMap<>();
+        properties.put("server.port", 0);
+        properties.put("spring.main.banner-mode", "off");
+        properties.put("spring.datasource.url", "jdbc:h2:mem:loadtest;MODE=MariaDB;DB_CLOSE_DELAY=-1;DB_CLOSE_ON_EXIT=FALSE");
+        properties.put("spring.datasource.username", "sa");
+        properties.put("spring.datasource.password", "");
+        properties.put("spring.sql.init.mode", "always");
+        properties.put("news.collector.google.rss-url", stub.url());
+        properties.put("news.collector.google.fixed-delay", options.pollMs);
+        properties.put("news.ingest.journal.directory", workDir.resolve("journal").toString());
+        properties.put("news.archive.cold.directory", workDir.resolve("cold").toString());
+        // 요청/수집마다 남는 DEBUG 로그가 측정을 흐리지 않게 한다.
+        properties.put("logging.level.com.the198thstreet", "INFO");
+        // 기본 속성(properties())은 application.properties 에 덮이므로 명령행 인자로 넘긴다.
+        String[] args = properties.entrySet().stream()
+                .map(entry -> "--" + entry.getKey() + "=" + entry.getValue())
+                .toArray(String[]::new);
+        return new SpringApplicationBuilder(The198thstreetApplication.class)
+                .initializers(context -> context.getBeanFactory().addBeanPostProcessor(new BeanPostProcessor() {
+                    @Override
+                    public Object postProcessAfterInitialization(Object bean, String beanName) {
+                        if (bean instanceof DataSource dataSource && !(bean instanceof StatementCountingDataSource)) {
+                            StatementCountingDataSource counting = new StatementCountingDataSource(dataSource);
+                            statements.set(counting);
+                            return counting;
+                        }
+                        return bean;
+                    }
+                }))
+                .run(args);
+    }
+
+    private static void awaitFirstIngest(JdbcTemplate jdbcTemplate) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(60);
+        while (System.nanoTime() < deadline) {
+            Integer rows = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM HEADLINE_NEWS", Integer.class);
+            if (rows != null && rows > 0) {
+                return;
+            }
+            Thread.sleep(200);
+        }
+        throw new IllegalStateException("60초 안에 첫 수집이 저장되지 않았습니다.");
+    }
+
+    private static LoadTestResult run(Options options, int port, LocalDate day, StubFeedServer stub,
+            StatementCountingDataSource statements, GcPauseMonitor gc, JdbcTemplate jdbcTemplate,
+            MeterRegistry registry) throws Exception {
+        HttpClient client = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+        HttpRequest api = HttpRequest.newBuilder(URI.create("http://127.0.0.1:" + port
+                        + "/api/archive/headlines?date=" + day + "&size=" + options.pageSize))
+                .header("Accept-Encoding", "gzip").build();
+        HttpRequest view = HttpRequest.newBuilder(URI.create("http://127.0.0.1:" + port + "/archive/headlines")).build();
+
+        long measureFrom = System.nanoTime() + TimeUnit.SECONDS.toNanos(options.warmupSeconds);
+        long measureUntil = measureFrom + TimeUnit.SECONDS.toNanos(options.durationSeconds);
+        int viewEvery = options.viewRatio <= 0 ? Integer.MAX_VALUE : (int) Math.round(1 / options.viewRatio);
+
+        ExecutorService workers = Executors.newFixedThreadPool(options.concurrency);
+        List<Future<Recorder>> futures = new ArrayList<>();
+        for (int w = 0; w < options.concurrency; w++) {
+            int offset = w;
+            futures.add(workers.submit(() -> {
+                Recorder recorder = new Recorder();
+                for (long i = offset; System.nanoTime() < measureUntil; i++) {
+                    boolean isView = i % viewEvery == 0;
+                    long start = System.nanoTime();
+                    int status;
+                    try {
+                        status = client.send(isView ? view : api, HttpResponse.BodyHandlers.ofByteArray()).statusCode();
+                    } catch (IOException e) {
+                        status = -1;
+                    }
+                    long elapsed = System.nanoTime() - start;
+                    if (start >= measureFrom && start < measureUntil) {
+                        recorder.record(isView, elapsed, status == 200);
+                    }
+                }
+                return recorder;
+            }));
+        }
+
+        // 예열이 끝나면 누적 값을 0 으로 보고 측정을 시작한다.
+        TimeUnit.NANOSECONDS.sleep(measureFrom - System.nanoTime());
+        gc.reset();
+        statements.reset();
+        long pollsBefore = stub.requests();
+        long notModifiedBefore = stub.notModified();
+        long rowsBefore = countRows(jdbcTemplate);
+        long[] insertBefore = insertPhase(registry);
+
+        Recorder total = new Recorder();
+        for (Future<Recorder> future : futures) {
+            total.merge(future.get());
+        }
+        long statementCount = statements.getStatementCount();
+        long gcPauses = gc.pauses();
+        long gcTotal = gc.totalMillis();
+        long gcMax = gc.maxMillis();
+        long polls = stub.requests() - pollsBefore;
+        long notModified = stub.notModified() - notModifiedBefore;
+        long rows = countRows(jdbcTemplate) - rowsBefore;
+        long[] insertAfter = insertPhase(registry);
+        workers.shutdownNow();
+
+        LoadTestResult result = new LoadTestResult();
+        result.put("config.concurrency", options.concurrency);
+        result.put("config.duration.s", options.durationSeconds);
+        result.put("config.items", options.items);
+        result.put("config.change.rate", options.changeRate);
+        result.put("config.poll.ms", options.pollMs);
+        result.put("config.view.ratio", options.viewRatio);
+        result.put("config.page.size", options.pageSize);
+        result.put("env.cpus", Runtime.getRuntime().availableProcessors());
+        result.put("env.java", System.getProperty("java.version"));
+        total.api.report(result, "api", options.durationSeconds);
+        total.view.report(result, "view", options.durationSeconds);
+        long insertCycles = insertAfter[0] - insertBefore[0];
+        result.put("ingest.polls", polls);
+        result.put("ingest.not.modified", notModified);
+        result.put("ingest.articles", rows);
+        result.put("ingest.insert.mean.ms", insertCycles == 0 ? 0
+                : (insertAfter[1] - insertBefore[1]) / 1e6 / insertCycles);
+        long requests = total.api.count + total.view.count;
+        result.put("db.statements", statementCount);
+        result.put("db.statements.per.request", requests == 0 ? 0 : (double) statementCount / requests);
+        result.put("gc.pauses", gcPauses);
+        result.put("gc.pause.total.ms", gcTotal);
+        result.put("gc.pause.max.ms", gcMax);
+
+        System.out.printf(Locale.ROOT, "[부하 시험] 동시 요청 %d, %d초 (예열 %d초)%n", options.concurrency,
+                options.durationSeconds, options.warmupSeconds);
+        System.out.printf("%-6s %10s %10s %10s %10s %10s %8s%n", "", "요청", "rps", "p50(ms)", "p99(ms)", "max(ms)", "실패");
+        for (String endpoint : List.of("api", "view")) {
+            System.out.printf("%-6s %10s %10s %10s %10s %10s %8s%n", endpoint, result.get(endpoint + ".requests"),
+                    result.get(endpoint + ".rps"), result.get(endpoint + ".p50.ms"), result.get(endpoint + ".p99.ms"),
+                    result.get(endpoint + ".max.ms"), result.get(endpoint + ".errors"));
+        }
+        System.out.printf("수집  : 요청 %d (304 %d), 저장 %d건, 저장 단계 평균 %sms%n", polls, notModified, rows,
+                result.get("ingest.insert.mean.ms"));
+        System.out.printf("DB    : 문장 %d개, 요청당 %s개 (수집 포함)%n", statementCount, result.get("db.statements.per.request"));
+        System.out.printf("GC    : 멈춤 %d번, 합계 %dms, 최대 %dms%n", gcPauses, gcTotal, gcMax);
+        return result;
+    }
+
+    private static int compareWithBaseline(Options options, LoadTestResult result) throws IOException {
+        LoadTestResult baseline = LoadTestResult.read(options.baseline);
+        int exitCode = 0;
+        if (baseline == null) {
+            System.out.printf("[부하 시험] 기준선 %s 이 없습니다. updateBaseline=true 로 만들 수 있습니다.%n", options.baseline);
+        } else if (!baseline.sameConfig(result)) {
+            System.out.printf("[부하 시험] 기준선 %s 과 설정(config.*)이 달라 비교하지 않습니다.%n", options.baseline);
+        } else {
+            List<String> regressions = result.compare(baseline, options.tolerance);
+            if (!regressions.isEmpty()) {
+                System.out.printf("[부하 시험] 기준선보다 %.0f%% 넘게 나빠진 항목: %s%n", options.tolerance * 100, regressions);
+                exitCode = options.failOnRegression ? 1 : 0;
+            }
+        }
+        if (options.updateBaseline) {
+            result.write(options.baseline,
+                    "부하 시험 기준선 (./mvnw -Ploadtest test-compile exec:exec -Dloadtest.args=\"updateBaseline=true\")");
+            System.out.printf("[부하 시험] 기준선을 %s 에 새로 썼습니다.%n", options.baseline);
+        }
+        return exitCode;
+    }
+
+    private static long countRows(JdbcTemplate jdbcTemplate) {
+        Long rows = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM HEADLINE_NEWS", Long.class);
+        return rows == null ? 0 : rows;
+    }
+
+    /** 저장소 insert 단계 타이머의 {누적 횟수, 누적 시간(ns)} */
+    private static long[] insertPhase(MeterRegistry registry) {
+        long count = 0;
+        long nanos = 0;
+        for (Timer timer : registry.find("news.ingest.phase").tag("phase", "insert").timers()) {
+            count += timer.count();
+            nanos += (long) timer.totalTime(TimeUnit.NANOSECONDS);
+        }
+        return new long[] { count, nanos };
+    }
+
+    /** 스레드 하나가 모은 엔드포인트별 응답 시간 */
+    private static final class Recorder {
+        private final Latencies api = new Latencies();
+        private final Latencies view = new Latencies();
+
+        void record(boolean isView, long nanos, boolean ok) {
+            (isView ? view : api).add(nanos, ok);
+        }
+
+        void merge(Recorder other) {
+            api.merge(other.api);
+            view.merge(other.view);
+        }
+    }
+
+    private static final class Latencies {
+        private long[] nanos = new long[1 << 12];
+        private int count;
+        private long errors;
+
+        void add(long value, boolean ok) {
+            if (count == nanos.length) {
+                nanos = Arrays.copyOf(nanos, count * 2);
+            }
+            nanos[count++] = value;
+            if (!ok) {
+                errors++;
+            }
+        }
+
+        void merge(Latencies other) {
+            for (int i = 0; i < other.count; i++) {
+                add(other.nanos[i], true);
+            }
+            errors += other.errors;
+        }
+
+        void report(LoadTestResult result, String prefix, int seconds) {
+            long[] sorted = Arrays.copyOf(nanos, count);
+            Arrays.sort(sorted);
+            result.put(prefix + ".requests", count);
+            result.put(prefix + ".errors", errors);
+            result.put(prefix + ".rps", (double) count / seconds);
+            result.put(prefix + ".p50.ms", percentile(sorted, 0.50) / 1e6);
+            result.put(prefix + ".p99.ms", percentile(sorted, 0.99) / 1e6);
+            result.put(prefix + ".max.ms", count == 0 ? 0 : sorted[count - 1] / 1e6);
+        }
+
+        private static long percentile(long[] sorted, double quantile) {
+            return sorted.length == 0 ? 0 : sorted[Math.max(0, (int) Math.ceil(quantile * sorted.length) - 1)];
+        }
+    }
+
+    /**
+     * 실행 인자 (key=value).
+     * <p>
+     * - concurrency     : 동시에 요청하는 스레드 수 (기본 16)
+     * - warmup / duration : 예열 / 측정 시간(초) (기본 10 / 30)
+     * - items / changeRate : 스텁 피드의 item 수 / 수집 때마다 바뀌는 item 비율 (기본 60 / 0.2)
+     * - pollMs          : 수집 주기(밀리초, news.collector.google.fixed-delay) (기본 1000)
+     * - viewRatio       : 요청 중 화면(/archive/headlines) 비율 (기본 0.2)
+     * - pageSize        : 조회 API 의 size (기본 50)
+     * - baseline / result : 기준선 파일 / 결과 파일 경로
+     * - updateBaseline  : true 면 이번 결과로 기준선을 바꿈
+     * - tolerance       : 기준선 대비 허용 폭 (기본 0.25)
+     * - failOnRegression : true 면 허용 폭을 넘는 항목이 있을 때 종료 코드 1 (CI 용, 기본 false)
+     */
+    static final class Options {
+        int concurrency = 16;
+        int warmupSeconds = 10;
+        int durationSeconds = 30;
+        int items = 60;
+        double changeRate = 0.2;
+        long pollMs = 1_000;
+        double viewRatio = 0.2;
+        int pageSize = 50;
+        Path baseline = Path.of("src/loadtest/baseline.properties");
+        Path result = Path.of("target/loadtest/result.properties");
+        boolean updateBaseline;
+        double tolerance = 0.25;
+        boolean failOnRegression;
+
+        static Options parse(String[] args) {
+            Options options = new Options();
+            for (String arg : args) {
+                int eq = arg.indexOf('=');
+                if (eq < 0) {
+                    throw new IllegalArgumentException("인자는 key=value 형식이어야 합니다: " + arg);
+                }
+                String value = arg.substring(eq + 1);
+                switch (arg.substring(0, eq)) {
+                    case "concurrency" -> options.concurrency = Integer.parseInt(value);
+                    case "warmup" -> options.warmupSeconds = Integer.parseInt(value);
+                    case "duration" -> options.durationSeconds = Integer.parseInt(value);
+                    case "items" -> options.items = Integer.parseInt(value);
+                    case "changeRate" -> options.changeRate = Double.parseDouble(value);
+                    case "pollMs" -> options.pollMs = Long.parseLong(value);
+                    case "viewRatio" -> options.viewRatio = Double.parseDouble(value);
+                    case "pageSize" -> options.pageSize = Integer.parseInt(value);
+                    case "baseline" -> options.baseline = Path.of(value);
+                    case "result" -> options.result = Path.of(value);
+                    case "updateBaseline" -> options.updateBaseline = Boolean.parseBoolean(value);
+                    case "tolerance" -> options.tolerance = Double.parseDouble(value);
+                    case "failOnRegression" -> options.failOnRegression = Boolean.parseBoolean(value);
+                    default -> throw new IllegalArgumentException("알 수 없는 인자: " + arg);
+                }
+            }
+            return options;
+        }
+    }
+}
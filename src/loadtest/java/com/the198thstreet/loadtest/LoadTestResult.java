@@ -0,0 +1,126 @@
+package com.the198thstreet.loadtest;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Properties;
+
+/**
+ * 부하 시험 한 번의 설정과 측정값. 결과 파일과 기준선(baseline) 파일은 같은 key=value 형식이다.
+ * <p>
+ * - config.* : 실행 설정. 기준선과 설정이 다르면 비교하지 않는다. (숫자가 같은 조건에서 나온 것이어야 의미가 있음)
+ * - env.*    : 실행한 환경(CPU 수, 자바 버전). 비교에는 쓰지 않고, 다른 장비에서 만든 기준선인지 알아보는 데 쓴다.
+ * - 나머지    : 측정값. {@link #COMPARED} 의 항목만 기준선과 비교해 허용 폭(tolerance)을 넘게 나빠졌는지 본다.
+ */
+public class LoadTestResult {
+
+    /** 기준선과 비교할 측정값 → 값이 클수록 좋은지 */
+    private static final Map<String, Boolean> COMPARED = new LinkedHashMap<>();
+
+    static {
+        COMPARED.put("api.rps", true);
+        COMPARED.put("api.p50.ms", false);
+        COMPARED.put("api.p99.ms", false);
+        COMPARED.put("view.rps", true);
+        COMPARED.put("view.p50.ms", false);
+        COMPARED.put("view.p99.ms", false);
+        COMPARED.put("ingest.insert.mean.ms", false);
+        COMPARED.put("db.statements.per.request", false);
+        COMPARED.put("gc.pause.total.ms", false);
+        COMPARED.put("gc.pause.max.ms", false);
+    }
+
+    private final Map<String, String> values = new LinkedHashMap<>();
+
+    public void put(String key, long value) {
+        values.put(key, Long.toString(value));
+    }
+
+    public void put(String key, double value) {
+        values.put(key, String.format(Locale.ROOT, "%.3f", value));
+    }
+
+    public void put(String key, String value) {
+        values.put(key, value);
+    }
+
+    public String get(String key) {
+        return values.get(key);
+    }
+
+    /** 설정(config.*)이 같은지 */
+    public boolean sameConfig(LoadTestResult other) {
+        return configOf(this).equals(configOf(other));
+    }
+
+    /**
+     * 기준선과 비교한 표를 출력하고, 허용 폭보다 나빠진 항목을 돌려준다.
+     *
+     * @param tolerance 허용 폭 (0.25 면 25% 까지는 흔들림으로 봄)
+     */
+    public List<String> compare(LoadTestResult baseline, double tolerance) {
+        List<String> regressions = new ArrayList<>();
+        System.out.printf("%-28s %14s %14s %9s%n", "항목", "기준선", "이번", "변화");
+        COMPARED.forEach((key, higherIsBetter) -> {
+            if (baseline.get(key) == null || get(key) == null) {
+                return;
+            }
+            double before = Double.parseDouble(baseline.get(key));
+            double now = Double.parseDouble(get(key));
+            double change = before == 0 ? 0 : (now - before) / before;
+            boolean worse = higherIsBetter ? change < -tolerance : change > tolerance;
+            // 0 근처의 작은 값(예: 멈춤 1ms → 2ms)은 비율만 커지므로 1 단위 이하 차이는 흔들림으로 본다.
+            if (worse && Math.abs(now - before) > 1) {
+                regressions.add(String.format(Locale.ROOT, "%s: %s → %s (%+.1f%%)", key, baseline.get(key), get(key),
+                        change * 100));
+            }
+            System.out.printf(Locale.ROOT, "%-28s %14s %14s %+8.1f%%%s%n", key, baseline.get(key), get(key),
+                    change * 100, worse ? " !" : "");
+        });
+        return regressions;
+    }
+
+    public void write(Path file, String comment) throws IOException {
+        if (file.getParent() != null) {
+            Files.createDirectories(file.getParent());
+        }
+        try (Writer out = Files.newBufferedWriter(file, StandardCharsets.UTF_8)) {
+            out.write("# " + comment + "\n");
+            for (Map.Entry<String, String> entry : values.entrySet()) {
+                out.write(entry.getKey() + "=" + entry.getValue() + "\n");
+            }
+        }
+    }
+
+    /** 파일이 없으면 null */
+    public static LoadTestResult read(Path file) throws IOException {
+        if (!Files.isRegularFile(file)) {
+            return null;
+        }
+        Properties properties = new Properties();
+        try (Reader in = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+            properties.load(in);
+        }
+        LoadTestResult result = new LoadTestResult();
+        properties.stringPropertyNames().stream().sorted()
+                .forEach(key -> result.put(key, properties.getProperty(key)));
+        return result;
+    }
+
+    private static Map<String, String> configOf(LoadTestResult result) {
+        Map<String, String> config = new LinkedHashMap<>();
+        result.values.entrySet().stream()
+                .filter(entry -> entry.getKey().startsWith("config."))
+                .sorted(Map.Entry.comparingByKey())
+                .forEach(entry -> config.put(entry.getKey(), entry.getValue()));
+        return config;
+    }
+}
@@ -0,0 +1,186 @@
+package com.the198thstreet.loadtest;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.zip.GZIPOutputStream;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+/**
+ * 구글 뉴스 RSS 와 같은 모양의 피드를 내주는 로컬 스텁 서버. (news.collector.google.rss-url 대신 사용)
+ * <p>
+ * - 피드는 항상 최신 item 개를 담는다. item 하나에는 같은 사건을 다룬 언론사 기사(li)가 ARTICLES_PER_ITEM 개 들어 있다.
+ * - 요청마다 item 중 changeRate 비율만큼이 새 item 으로 바뀐다. (0 이면 본문이 그대로라 If-None-Match 에 304)
+ * - 수집기와 같은 조건부 요청(ETag)과 gzip 응답을 지원한다.
+ * <p>
+ * 제목은 item 번호로 정해지는 단어 조합이라 실행할 때마다 같은 입력이 만들어진다.
+ */
+public class StubFeedServer implements AutoCloseable {
+
+    /** item 하나(묶음 기사)에 들어가는 li 개수 */
+    public static final int ARTICLES_PER_ITEM = 5;
+
+    private static final DateTimeFormatter RFC1123 = DateTimeFormatter.RFC_1123_DATE_TIME;
+
+    private static final String[] PRESS = { "경향신문", "한겨레", "연합뉴스", "조선일보", "중앙일보", "KBS", "MBC", "매일경제",
+            "한국경제", "SBS", "동아일보", "서울신문", "국민일보", "뉴스1", "뉴시스", "YTN" };
+
+    private static final String[] WORDS = { "정부", "국회", "금리", "반도체", "수출", "물가", "부동산", "선거", "외교", "북한",
+            "기업", "증시", "환율", "노동", "교육", "의료", "기후", "에너지", "교통", "사고", "재판", "검찰", "경찰", "지방",
+            "청년", "고용", "예산", "세금", "무역", "관세", "인공지능", "배터리", "자동차", "조선", "항공", "관광", "문화",
+            "스포츠", "날씨", "태풍" };
+
+    private static final String[] VERBS = { "발표", "합의", "논란", "확대", "축소", "동결", "인상", "인하", "회복", "우려",
+            "전망", "검토", "추진", "철회", "승인" };
+
+    private final int items;
+    private final int changedPerRequest;
+    private final Instant start;
+    private final HttpServer server;
+    private final ExecutorService executor = Executors.newFixedThreadPool(2);
+
+    /** 지금 피드의 가장 최신 item 번호 + 1 */
+    private final AtomicLong head;
+
+    private final AtomicLong requests = new AtomicLong();
+    private final AtomicLong notModified = new AtomicLong();
+
+    /**
+     * @param items      피드 하나에 든 item 수
+     * @param changeRate 요청마다 새 item 으로 바뀌는 비율 (0~1)
+     */
+    public StubFeedServer(int items, double changeRate) throws IOException {
+        this.items = items;
+        this.changedPerRequest = (int) Math.round(items * Math.max(0, Math.min(1, changeRate)));
+        this.start = Instant.now();
+        this.head = new AtomicLong(items);
+        this.server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 0);
+        server.createContext("/rss", this::handle);
+        server.setExecutor(executor);
+        server.start();
+    }
+
+    /** 수집기에 넘길 피드 URL */
+    public String url() {
+        return "http://127.0.0.1:" + server.getAddress().getPort() + "/rss";
+    }
+
+    /** 피드 기사의 날짜 (KST, 서버 시작 시각 기준) */
+    public LocalDate day() {
+        return LocalDate.ofInstant(start, ZoneId.of("Asia/Seoul"));
+    }
+
+    /** 받은 요청 수 */
+    public long requests() {
+        return requests.get();
+    }
+
+    /** 304 로 답한 요청 수 */
+    public long notModified() {
+        return notModified.get();
+    }
+
+    /** 지금까지 피드에 실린 서로 다른 기사 수 */
+    public long publishedArticles() {
+        return head.get() * ARTICLES_PER_ITEM;
+    }
+
+    @Override
+    public void close() {
+        server.stop(0);
+        executor.shutdownNow();
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        requests.incrementAndGet();
+        long newest = changedPerRequest == 0 ? head.get() : head.addAndGet(changedPerRequest);
+        String etag = "\"" + newest + "\"";
+        try (exchange) {
+            exchange.getResponseHeaders().set("ETag", etag);
+            if (etag.equals(exchange.getRequestHeaders().getFirst("If-None-Match"))) {
+                notModified.incrementAndGet();
+                exchange.sendResponseHeaders(304, -1);
+                return;
+            }
+            byte[] body = feed(newest).getBytes(StandardCharsets.UTF_8);
+            String acceptEncoding = exchange.getRequestHeaders().getFirst("Accept-Encoding");
+            if (acceptEncoding != null && acceptEncoding.contains("gzip")) {
+                body = gzip(body);
+                exchange.getResponseHeaders().set("Content-Encoding", "gzip");
+            }
+            exchange.getResponseHeaders().set("Content-Type", "application/xml; charset=UTF-8");
+            exchange.sendResponseHeaders(200, body.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(body);
+            }
+        }
+    }
+
+    /**
+     * newest-items ~ newest-1 번 item 을 최신 순으로 담은 RSS. item n 의 pubDate 는 서버 시작 시각 + n 초.
+     */
+    String feed(long newest) {
+        StringBuilder xml = new StringBuilder(items * 1_500);
+        xml.append("<?xml version=\"1.0\" encoding=\"UTF-8\" standalone=\"yes\"?>")
+                .append("<rss xmlns:media=\"http://search.yahoo.com/mrss/\" version=\"2.0\"><channel>")
+                .append("<generator>NFE/5.0</generator><title>주요 뉴스 - Google 뉴스</title>")
+                .append("<language>ko</language><description>Google 뉴스</description>");
+        for (long n = newest - 1; n >= Math.max(0, newest - items); n--) {
+            String pubDate = RFC1123.format(start.plusSeconds(n).atOffset(ZoneOffset.UTC));
+            String topic = word(n, 0) + " " + word(n, 1) + " " + word(n, 2) + " "
+                    + VERBS[(int) (mix(n, 3) % VERBS.length)];
+            xml.append("<item><title>").append(topic).append("</title>")
+                    .append("<link>https://news.google.com/rss/articles/item").append(n).append("?oc=5</link>")
+                    .append("<guid isPermaLink=\"false\">item").append(n).append("</guid>")
+                    .append("<pubDate>").append(pubDate).append("</pubDate>")
+                    .append("<description>&lt;ol&gt;");
+            for (int j = 0; j < ARTICLES_PER_ITEM; j++) {
+                // 같은 item 의 기사는 주제 단어를 같이 쓰고 언론사마다 한두 단어가 다르다.
+                xml.append("&lt;li&gt;&lt;a href=\"https://news.google.com/rss/articles/CBMi")
+                        .append(n).append('-').append(j).append("?oc=5&amp;amp;hl=ko\" target=\"_blank\"&gt;")
+                        .append(topic).append(' ').append(word(n, 10 + j)).append(" 관련 ").append(n)
+                        .append("&lt;/a&gt;&amp;nbsp;&amp;nbsp;&lt;font color=\"#6f6f6f\"&gt;")
+                        .append(PRESS[(int) ((n + j) % PRESS.length)]).append("&lt;/font&gt;&lt;/li&gt;");
+            }
+            xml.append("&lt;/ol&gt;</description><source url=\"https://example.com\">")
+                    .append(PRESS[(int) (n % PRESS.length)]).append("</source></item>");
+        }
+        return xml.append("</channel></rss>").toString();
+    }
+
+    private static String word(long item, int slot) {
+        return WORDS[(int) (mix(item, slot) % WORDS.length)];
+    }
+
+    /** item 번호와 자리로 정해지는 음이 아닌 의사 난수 (splitmix64) */
+    private static long mix(long item, int slot) {
+        long z = item * 0x9E3779B97F4A7C15L + slot * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return (z ^ (z >>> 31)) >>> 1;
+    }
+
+    private static byte[] gzip(byte[] body) {
+        ByteArrayOutputStream compressed = new ByteArrayOutputStream(body.length / 4);
+        try (GZIPOutputStream out = new GZIPOutputStream(compressed)) {
+            out.write(body);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return compressed.toByteArray();
+    }
+}
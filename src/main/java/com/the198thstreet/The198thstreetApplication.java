@@ -5,16 +5,30 @@ import org.springframework.boot.autoconfigure.SpringBootApplication;
 import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.scheduling.annotation.EnableScheduling;
 
+import com.the198thstreet.news.google.ArchiveBackfillProperties;
+import com.the198thstreet.news.google.ArchiveCacheProperties;
+import com.the198thstreet.news.google.ArchiveClusterProperties;
+import com.the198thstreet.news.google.ArchiveColdProperties;
+import com.the198thstreet.news.google.ArchiveExportProperties;
+import com.the198thstreet.news.google.ArchiveResponseProperties;
+import com.the198thstreet.news.google.ArchiveSearchProperties;
+import com.the198thstreet.news.google.ArchiveStatsProperties;
+import com.the198thstreet.news.google.ArchiveStreamProperties;
 import com.the198thstreet.news.google.GoogleNewsProperties;
+import com.the198thstreet.news.google.IngestJournalProperties;
 
 /**
  * 스프링 부트 애플리케이션의 진입점.
  * <p>
- * - @EnableScheduling 을 통해 RSS 수집 스케줄러(GoogleHeadlineNewsService)가 자동 등록된다.
- * - @EnableConfigurationProperties 로 news.collector.google.* 설정을 POJO(GoogleNewsProperties)로 주입한다.
+ * - RSS 수집 일정은 MultiFeedCollector 가 기동 완료 시점에 피드별로 잡는다. @EnableScheduling 은 통계 재집계 같은 정해진 시각의 작업에 쓴다.
+ * - @EnableConfigurationProperties 로 news.collector.google.*, news.ingest.journal.* 와
+ *   news.archive.{cache,search,stats,stream,export,cold,cluster,response,backfill}.* 설정을 POJO 로 주입한다.
  */
 @SpringBootApplication
-@EnableConfigurationProperties(GoogleNewsProperties.class)
+@EnableConfigurationProperties({ GoogleNewsProperties.class, ArchiveCacheProperties.class, ArchiveSearchProperties.class,
+                ArchiveStatsProperties.class, ArchiveStreamProperties.class, ArchiveExportProperties.class,
+                ArchiveColdProperties.class, ArchiveClusterProperties.class, IngestJournalProperties.class,
+                ArchiveResponseProperties.class, ArchiveBackfillProperties.class })
 @EnableScheduling // 스케줄러 활성화
 public class The198thstreetApplication {
 
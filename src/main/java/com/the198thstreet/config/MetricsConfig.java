@@ -0,0 +1,148 @@
+package com.the198thstreet.config;
+
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import com.the198thstreet.news.google.service.ArchiveResponseCache;
+import com.the198thstreet.news.google.service.FeedHttpClient;
+import com.the198thstreet.news.google.service.HeadlineBroadcaster;
+import com.the198thstreet.news.google.repository.HeadlineJournal;
+import com.the198thstreet.news.google.repository.PressDictionary;
+import com.the198thstreet.news.google.service.HeadlineClusterer;
+import com.the198thstreet.news.google.service.HeadlineIngestWriter;
+import com.the198thstreet.news.google.service.HeadlineSearchIndex;
+import com.the198thstreet.news.google.service.HotDayHeadlineCache;
+import com.the198thstreet.news.google.service.RssFeedFetcher;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.binder.MeterBinder;
+
+/**
+ * 컴포넌트들이 이미 세고 있는 누적 값을 Micrometer 지표로 내보내는 설정.
+ * <p>
+ * 값은 스크레이프 시점에 읽기만 하므로 수집/조회 경로에 추가 비용이 없다.
+ */
+@Configuration
+public class MetricsConfig {
+
+    /**
+     * 최근 날짜 캐시의 조회/적재/퇴출 누적 수와 현재 크기.
+     */
+    @Bean
+    public MeterBinder hotDayCacheMetrics(HotDayHeadlineCache cache) {
+        return registry -> {
+            FunctionCounter.builder("news.archive.cache.requests", cache, c -> c.stats().hits())
+                    .tag("result", "hit").register(registry);
+            FunctionCounter.builder("news.archive.cache.requests", cache, c -> c.stats().misses())
+                    .tag("result", "miss").register(registry);
+            FunctionCounter.builder("news.archive.cache.evictions", cache, c -> c.stats().evictions()).register(registry);
+            FunctionCounter.builder("news.archive.cache.refreshes", cache, c -> c.stats().refreshes()).register(registry);
+            Gauge.builder("news.archive.cache.days", cache, c -> c.stats().days()).register(registry);
+            Gauge.builder("news.archive.cache.articles", cache, c -> c.stats().articles()).register(registry);
+        };
+    }
+
+    /**
+     * 날짜별 조회 응답 바이트 캐시의 조회/재생성/퇴출 누적 수와 현재 크기.
+     */
+    @Bean
+    public MeterBinder archiveResponseMetrics(ArchiveResponseCache cache) {
+        return registry -> {
+            FunctionCounter.builder("news.archive.response.requests", cache, c -> c.stats().hits())
+                    .tag("result", "hit").register(registry);
+            FunctionCounter.builder("news.archive.response.requests", cache, c -> c.stats().misses())
+                    .tag("result", "miss").register(registry);
+            FunctionCounter.builder("news.archive.response.evictions", cache, c -> c.stats().evictions())
+                    .register(registry);
+            Gauge.builder("news.archive.response.entries", cache, c -> c.stats().entries()).register(registry);
+            Gauge.builder("news.archive.response.bytes", cache, c -> c.stats().bytes()).baseUnit("bytes")
+                    .register(registry);
+        };
+    }
+
+    /**
+     * 피드 조건부 GET 결과(304/해시 일치/전체 파싱)와 HTTP 요청/재시도/수신 바이트 누적 수.
+     */
+    @Bean
+    public MeterBinder feedFetchMetrics(RssFeedFetcher fetcher, FeedHttpClient httpClient) {
+        return registry -> {
+            FunctionCounter.builder("news.fetch.responses", fetcher, RssFeedFetcher::getNotModifiedCount)
+                    .tag("result", "not_modified").register(registry);
+            FunctionCounter.builder("news.fetch.responses", fetcher, RssFeedFetcher::getHashHitCount)
+                    .tag("result", "hash_hit").register(registry);
+            FunctionCounter.builder("news.fetch.responses", fetcher, RssFeedFetcher::getFullParseCount)
+                    .tag("result", "modified").register(registry);
+            FunctionCounter.builder("news.http.requests", httpClient, FeedHttpClient::getRequestCount).register(registry);
+            FunctionCounter.builder("news.http.retries", httpClient, FeedHttpClient::getRetryCount).register(registry);
+            FunctionCounter.builder("news.http.received", httpClient, FeedHttpClient::getBytesReceived)
+                    .baseUnit("bytes").register(registry);
+        };
+    }
+
+    /**
+     * 제목 검색 색인의 문서 수와 색인어 수.
+     */
+    @Bean
+    public MeterBinder searchIndexMetrics(HeadlineSearchIndex index) {
+        return registry -> {
+            Gauge.builder("news.search.documents", index, HeadlineSearchIndex::documents).register(registry);
+            Gauge.builder("news.search.terms", index, HeadlineSearchIndex::terms).register(registry);
+        };
+    }
+
+    /**
+     * 언론사 사전에 든 언론사 수.
+     */
+    @Bean
+    public MeterBinder pressDictionaryMetrics(PressDictionary dictionary) {
+        return registry -> Gauge.builder("news.press.dictionary.size", dictionary, PressDictionary::size)
+                .register(registry);
+    }
+
+    /**
+     * 새 기사 스트림의 구독자 수, 방송한 이벤트 수, 버퍼를 놓쳐 끊은 구독자 수.
+     */
+    @Bean
+    public MeterBinder headlineStreamMetrics(HeadlineBroadcaster broadcaster) {
+        return registry -> {
+            Gauge.builder("news.stream.subscribers", broadcaster, HeadlineBroadcaster::subscriberCount).register(registry);
+            FunctionCounter.builder("news.stream.events", broadcaster, HeadlineBroadcaster::getPublishedCount)
+                    .register(registry);
+            FunctionCounter.builder("news.stream.dropped", broadcaster, HeadlineBroadcaster::getDroppedCount)
+                    .register(registry);
+        };
+    }
+
+    /**
+     * 새 기사 중 기존 묶음에 들어간 수/새 묶음 대표가 된 수와 묶음 후보로 기억하고 있는 기사 수.
+     */
+    @Bean
+    public MeterBinder headlineClusterMetrics(HeadlineClusterer clusterer) {
+        return registry -> {
+            FunctionCounter.builder("news.cluster.articles", clusterer, HeadlineClusterer::getJoinedCount)
+                    .tag("result", "joined").register(registry);
+            FunctionCounter.builder("news.cluster.articles", clusterer, HeadlineClusterer::getLeadCount)
+                    .tag("result", "lead").register(registry);
+            Gauge.builder("news.cluster.window", clusterer, HeadlineClusterer::windowSize).register(registry);
+        };
+    }
+
+    /**
+     * 수집 저널에 쌓여 DB 로 옮기지 못한 레코드 수/바이트 수와 저장 재시도/읽기 실패/망가진 레코드 누적 수.
+     */
+    @Bean
+    public MeterBinder ingestJournalMetrics(HeadlineJournal journal, HeadlineIngestWriter writer) {
+        return registry -> {
+            Gauge.builder("news.ingest.journal.pending", journal, HeadlineJournal::pendingRecords).register(registry);
+            Gauge.builder("news.ingest.journal.pending.bytes", journal, HeadlineJournal::pendingBytes)
+                    .baseUnit("bytes").register(registry);
+            FunctionCounter.builder("news.ingest.journal.retries", writer, HeadlineIngestWriter::getRetryCount)
+                    .register(registry);
+            FunctionCounter.builder("news.ingest.journal.read.failures", writer, HeadlineIngestWriter::getReadFailureCount)
+                    .register(registry);
+            FunctionCounter.builder("news.ingest.journal.corrupt", journal, HeadlineJournal::corruptRecords)
+                    .register(registry);
+        };
+    }
+}
@@ -0,0 +1,83 @@
+package com.the198thstreet.news.google;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * application.properties 의 news.archive.backfill.* 값을 읽어오는 클래스. (저장해 둔 RSS 파일로 과거 기사를 채우는 백필)
+ * <p>
+ * - directory      : RSS 스냅샷 파일(.xml/.rss, gzip 이면 .gz)이 있는 디렉터리. 값을 주면 기동 시 백필만 하고 종료한다. (하위 디렉터리 포함)
+ * - feedId         : 백필한 기사를 저장할 피드 ID
+ * - parallelism    : 파일을 파싱할 fork-join 풀 크기. 0 이면 CPU 수
+ * - filesPerWave   : 한 번에 파싱하고 저장한 뒤 진행 상황을 남기는 파일 수
+ * - insertBatchSize: 저장소에 한 번에 넘기는 기사 수 (중복 조회 + batch INSERT 한 트랜잭션)
+ * - progressFile   : 저장을 마친 파일 목록. 다시 실행하면 여기에 있는 파일은 건너뛴다. 비우면 data/backfill/&lt;feedId&gt;.progress
+ */
+@ConfigurationProperties(prefix = "news.archive.backfill")
+public class ArchiveBackfillProperties {
+
+    /** 스냅샷 디렉터리 (없으면 백필하지 않음) */
+    private String directory;
+
+    /** 저장할 피드 ID */
+    private String feedId = GoogleNewsProperties.DEFAULT_FEED_ID;
+
+    /** 파싱 스레드 수 (0 이면 CPU 수) */
+    private int parallelism = 0;
+
+    /** 진행 상황을 남기는 파일 묶음 크기 */
+    private int filesPerWave = 256;
+
+    /** 저장소에 한 번에 넘기는 기사 수 */
+    private int insertBatchSize = 5_000;
+
+    /** 진행 상황 파일 경로 */
+    private String progressFile;
+
+    public String getDirectory() {
+        return directory;
+    }
+
+    public void setDirectory(String directory) {
+        this.directory = directory;
+    }
+
+    public String getFeedId() {
+        return feedId;
+    }
+
+    public void setFeedId(String feedId) {
+        this.feedId = feedId;
+    }
+
+    public int getParallelism() {
+        return parallelism;
+    }
+
+    public void setParallelism(int parallelism) {
+        this.parallelism = parallelism;
+    }
+
+    public int getFilesPerWave() {
+        return filesPerWave;
+    }
+
+    public void setFilesPerWave(int filesPerWave) {
+        this.filesPerWave = filesPerWave;
+    }
+
+    public int getInsertBatchSize() {
+        return insertBatchSize;
+    }
+
+    public void setInsertBatchSize(int insertBatchSize) {
+        this.insertBatchSize = insertBatchSize;
+    }
+
+    public String getProgressFile() {
+        return progressFile;
+    }
+
+    public void setProgressFile(String progressFile) {
+        this.progressFile = progressFile;
+    }
+}
@@ -0,0 +1,47 @@
+package com.the198thstreet.news.google;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * application.properties 의 news.archive.cache.* 값을 읽어오는 클래스.
+ * <p>
+ * - enabled     : true 이면 최근 날짜의 헤드라인 목록을 메모리에 올려 두고 조회한다.
+ * - hotDays     : 오늘(KST)부터 며칠 전까지를 캐시 대상으로 볼지 (2 면 오늘/어제)
+ * - maxArticles : 캐시에 올려 둘 기사 수 합계 상한. 넘으면 가장 오래 안 쓴 날짜부터 내린다.
+ */
+@ConfigurationProperties(prefix = "news.archive.cache")
+public class ArchiveCacheProperties {
+
+    /** 캐시 사용 여부 */
+    private boolean enabled = true;
+
+    /** 캐시 대상 날짜 수 (오늘 포함) */
+    private int hotDays = 3;
+
+    /** 캐시 전체의 기사 수 상한 */
+    private int maxArticles = 20_000;
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public int getHotDays() {
+        return hotDays;
+    }
+
+    public void setHotDays(int hotDays) {
+        this.hotDays = hotDays;
+    }
+
+    public int getMaxArticles() {
+        return maxArticles;
+    }
+
+    public void setMaxArticles(int maxArticles) {
+        this.maxArticles = maxArticles;
+    }
+}
@@ -0,0 +1,96 @@
+package com.the198thstreet.news.google;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * application.properties 의 news.archive.cluster.* 값을 읽어오는 클래스. (같은 사건을 다룬 기사 묶기)
+ * <p>
+ * - enabled      : true 면 새로 저장된 기사마다 비슷한 제목의 최근 기사를 찾아 같은 묶음(CLUSTER_ID)으로 묶는다.
+ *                  false 여도 이미 묶인 기사는 조회 API 에서 묶인 채로 보인다.
+ * - windowHours  : 묶음 후보로 기억해 둘 최근 기사 범위 (가장 최근 PUB_DATE 기준 시간)
+ * - maxWindowSize: 기억해 둘 최근 기사 수 상한. 넘으면 오래된 기사부터 잊는다.
+ * - bands / rows : MinHash 서명을 bands 개 구간 × rows 개 값으로 나눠 LSH 버킷을 만든다. (서명 길이 = bands × rows)
+ *                  rows 가 클수록 후보가 줄고, bands 가 클수록 덜 비슷한 제목도 후보가 된다.
+ * - threshold    : 후보 중 서명으로 추정한 제목 유사도(자카드)가 이 값 이상이어야 같은 묶음으로 본다.
+ * - shingleSize  : 정규화한 제목을 자를 글자 n-gram 길이
+ */
+@ConfigurationProperties(prefix = "news.archive.cluster")
+public class ArchiveClusterProperties {
+
+    /** 기사 묶기 사용 여부 */
+    private boolean enabled = true;
+
+    /** 묶음 후보 시간 범위 */
+    private int windowHours = 12;
+
+    /** 묶음 후보 기사 수 상한 */
+    private int maxWindowSize = 20_000;
+
+    /** LSH 구간 수 */
+    private int bands = 16;
+
+    /** LSH 구간당 MinHash 값 수 */
+    private int rows = 4;
+
+    /** 같은 묶음으로 볼 최소 추정 유사도 */
+    private double threshold = 0.5;
+
+    /** 글자 n-gram 길이 */
+    private int shingleSize = 3;
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public int getWindowHours() {
+        return windowHours;
+    }
+
+    public void setWindowHours(int windowHours) {
+        this.windowHours = windowHours;
+    }
+
+    public int getMaxWindowSize() {
+        return maxWindowSize;
+    }
+
+    public void setMaxWindowSize(int maxWindowSize) {
+        this.maxWindowSize = maxWindowSize;
+    }
+
+    public int getBands() {
+        return bands;
+    }
+
+    public void setBands(int bands) {
+        this.bands = bands;
+    }
+
+    public int getRows() {
+        return rows;
+    }
+
+    public void setRows(int rows) {
+        this.rows = rows;
+    }
+
+    public double getThreshold() {
+        return threshold;
+    }
+
+    public void setThreshold(double threshold) {
+        this.threshold = threshold;
+    }
+
+    public int getShingleSize() {
+        return shingleSize;
+    }
+
+    public void setShingleSize(int shingleSize) {
+        this.shingleSize = shingleSize;
+    }
+}
@@ -0,0 +1,60 @@
+package com.the198thstreet.news.google;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * application.properties 의 news.archive.cold.* 값을 읽어오는 클래스. (오래된 달의 콜드 보관)
+ * <p>
+ * - enabled     : true 면 compactCron 마다 hotMonths 보다 오래된 달을 세그먼트 파일로 옮기고 HEADLINE_NEWS 에서 지운다.
+ *                 false 여도 이미 만들어진 세그먼트 파일은 조회에 쓰인다.
+ * - directory   : 세그먼트 파일(headlines-yyyy-MM.seg)을 두는 로컬 디렉터리
+ * - hotMonths   : HEADLINE_NEWS 에 남겨 둘 최근 달 수 (이번 달 포함하지 않음. 6 이면 이번 달 + 지난 6개월)
+ * - compactCron : 옮기기 작업 시각 (KST, 초 분 시 일 월 요일)
+ */
+@ConfigurationProperties(prefix = "news.archive.cold")
+public class ArchiveColdProperties {
+
+    /** 옮기기 작업 사용 여부 */
+    private boolean enabled = false;
+
+    /** 세그먼트 파일 디렉터리 */
+    private String directory = "data/cold";
+
+    /** 테이블에 남길 지난 달 수 */
+    private int hotMonths = 6;
+
+    /** 옮기기 작업 cron */
+    private String compactCron = "0 0 5 * * *";
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public String getDirectory() {
+        return directory;
+    }
+
+    public void setDirectory(String directory) {
+        this.directory = directory;
+    }
+
+    public int getHotMonths() {
+        return hotMonths;
+    }
+
+    public void setHotMonths(int hotMonths) {
+        this.hotMonths = hotMonths;
+    }
+
+    public String getCompactCron() {
+        return compactCron;
+    }
+
+    public void setCompactCron(String compactCron) {
+        this.compactCron = compactCron;
+    }
+}
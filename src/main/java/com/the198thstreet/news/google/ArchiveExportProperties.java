@@ -0,0 +1,35 @@
+package com.the198thstreet.news.google;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * application.properties 의 news.archive.export.* 값을 읽어오는 클래스. (기간 내보내기 API)
+ * <p>
+ * - fetchSize : 내보내기 쿼리가 DB 에서 한 번에 받아 오는 행 수. 메모리에는 이만큼만 올라온다.
+ * - maxDays   : 요청 한 번에 내보낼 수 있는 최대 기간(일)
+ */
+@ConfigurationProperties(prefix = "news.archive.export")
+public class ArchiveExportProperties {
+
+    /** JDBC fetch size (행 수) */
+    private int fetchSize = 1_000;
+
+    /** 최대 기간 (일) */
+    private int maxDays = 366;
+
+    public int getFetchSize() {
+        return fetchSize;
+    }
+
+    public void setFetchSize(int fetchSize) {
+        this.fetchSize = fetchSize;
+    }
+
+    public int getMaxDays() {
+        return maxDays;
+    }
+
+    public void setMaxDays(int maxDays) {
+        this.maxDays = maxDays;
+    }
+}
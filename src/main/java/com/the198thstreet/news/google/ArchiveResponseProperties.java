@@ -0,0 +1,86 @@
+package com.the198thstreet.news.google;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * application.properties 의 news.archive.response.* 값을 읽어오는 클래스. (날짜별 조회 응답의 HTTP 캐시와 직렬화 결과 캐시)
+ * <p>
+ * - enabled            : true 면 자주 쓰는 (날짜, 피드, page/cursor, size) 응답의 JSON 바이트와 gzip 바이트를 메모리에 둔다.
+ *                        false 여도 ETag/Cache-Control/304 는 그대로 동작하고, 매 요청마다 조회/직렬화만 다시 한다.
+ * - maxBytes           : 캐시에 둘 응답 바이트(JSON + gzip) 합계 상한. 넘으면 가장 오래 안 쓴 응답부터 내린다.
+ * - immutableAfterDays : 오늘(KST)보다 이 일수 이상 지난 날짜는 Cache-Control: immutable 로 내려보낸다. (3 이면 그끄제부터)
+ *                        그보다 최근 날짜는 늦게 들어오는 기사가 있을 수 있어 no-cache(매번 ETag 재확인)로 둔다.
+ * - immutableMaxAge    : immutable 응답의 max-age(초). 백필로 지난 날짜가 바뀌면 이미 받아 간 브라우저/CDN 사본은
+ *                        이 시간이 지날 때까지 예전 내용을 쓰므로 하루로 짧게 둔다.
+ * - revisionCheckInterval : 아카이브 리비전(백필 완료 표시)을 확인하는 주기(ms). 바뀌면 서버의 조회 캐시를 비운다.
+ * - gzipMinSize        : 이보다 작은 JSON 은 gzip 본문을 따로 만들지 않는다. (바이트)
+ */
+@ConfigurationProperties(prefix = "news.archive.response")
+public class ArchiveResponseProperties {
+
+    /** 응답 바이트 캐시 사용 여부 */
+    private boolean enabled = true;
+
+    /** 응답 바이트 합계 상한 */
+    private long maxBytes = 32L * 1024 * 1024;
+
+    /** immutable 로 볼 지난 일수 */
+    private int immutableAfterDays = 3;
+
+    /** immutable 응답의 max-age(초) */
+    private long immutableMaxAge = 86_400L;
+
+    /** 아카이브 리비전 확인 주기(ms) */
+    private long revisionCheckInterval = 60_000L;
+
+    /** gzip 본문을 만드는 최소 JSON 크기 */
+    private int gzipMinSize = 1_024;
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public long getMaxBytes() {
+        return maxBytes;
+    }
+
+    public void setMaxBytes(long maxBytes) {
+        this.maxBytes = maxBytes;
+    }
+
+    public int getImmutableAfterDays() {
+        return immutableAfterDays;
+    }
+
+    public void setImmutableAfterDays(int immutableAfterDays) {
+        this.immutableAfterDays = immutableAfterDays;
+    }
+
+    public long getImmutableMaxAge() {
+        return immutableMaxAge;
+    }
+
+    public void setImmutableMaxAge(long immutableMaxAge) {
+        this.immutableMaxAge = immutableMaxAge;
+    }
+
+    public long getRevisionCheckInterval() {
+        return revisionCheckInterval;
+    }
+
+    public void setRevisionCheckInterval(long revisionCheckInterval) {
+        this.revisionCheckInterval = revisionCheckInterval;
+    }
+
+    public int getGzipMinSize() {
+        return gzipMinSize;
+    }
+
+    public void setGzipMinSize(int gzipMinSize) {
+        this.gzipMinSize = gzipMinSize;
+    }
+}
@@ -0,0 +1,47 @@
+package com.the198thstreet.news.google;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * application.properties 의 news.archive.search.* 값을 읽어오는 클래스.
+ * <p>
+ * - enabled        : true 이면 기동 시 HEADLINE_NEWS 전체로 제목 검색 색인을 만들고, 새 기사가 저장될 때마다 이어 붙인다.
+ * - buildBatchSize : 기동 시 색인을 만들 때 한 번에 읽어 올 행 수
+ * - maxResults     : 검색 한 번에 돌려줄 수 있는 최대 기사 수
+ */
+@ConfigurationProperties(prefix = "news.archive.search")
+public class ArchiveSearchProperties {
+
+    /** 검색 색인 사용 여부 */
+    private boolean enabled = true;
+
+    /** 기동 시 색인 적재 단위 (행 수) */
+    private int buildBatchSize = 5_000;
+
+    /** 검색 결과 상한 */
+    private int maxResults = 100;
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public int getBuildBatchSize() {
+        return buildBatchSize;
+    }
+
+    public void setBuildBatchSize(int buildBatchSize) {
+        this.buildBatchSize = buildBatchSize;
+    }
+
+    public int getMaxResults() {
+        return maxResults;
+    }
+
+    public void setMaxResults(int maxResults) {
+        this.maxResults = maxResults;
+    }
+}
@@ -0,0 +1,59 @@
+package com.the198thstreet.news.google;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * application.properties 의 news.archive.stats.* 값을 읽어오는 클래스.
+ * <p>
+ * - enabled          : true 이면 수집 주기마다 언론사별 시간/일 집계(HEADLINE_STATS_*)를 갱신하고 재집계 작업을 돌린다.
+ * - rebuildOnStartup : true 이면 기동 시 HEADLINE_NEWS 전체 기간을 다시 집계한다. (집계 테이블이 비어 있으면 설정과 무관하게 한 번 집계)
+ * - rebuildDays      : 매일 재집계 작업이 다시 계산할 지난 날짜 수 (어제부터 거꾸로)
+ * - rebuildCron      : 재집계 작업 실행 시각 (KST, 스프링 cron 형식)
+ */
+@ConfigurationProperties(prefix = "news.archive.stats")
+public class ArchiveStatsProperties {
+
+    /** 집계 사용 여부 */
+    private boolean enabled = true;
+
+    /** 기동 시 전체 재집계 여부 */
+    private boolean rebuildOnStartup = false;
+
+    /** 매일 다시 계산할 지난 날짜 수 */
+    private int rebuildDays = 2;
+
+    /** 재집계 작업 cron (KST) */
+    private String rebuildCron = "0 30 4 * * *";
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public boolean isRebuildOnStartup() {
+        return rebuildOnStartup;
+    }
+
+    public void setRebuildOnStartup(boolean rebuildOnStartup) {
+        this.rebuildOnStartup = rebuildOnStartup;
+    }
+
+    public int getRebuildDays() {
+        return rebuildDays;
+    }
+
+    public void setRebuildDays(int rebuildDays) {
+        this.rebuildDays = rebuildDays;
+    }
+
+    public String getRebuildCron() {
+        return rebuildCron;
+    }
+
+    public void setRebuildCron(String rebuildCron) {
+        this.rebuildCron = rebuildCron;
+    }
+}
@@ -0,0 +1,83 @@
+package com.the198thstreet.news.google;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * application.properties 의 news.archive.stream.* 값을 읽어오는 클래스. (새 기사 SSE 스트림)
+ * <p>
+ * - bufferSize        : 다시 보내 줄 수 있도록 보관하는 최근 수집 주기(이벤트) 수. 이보다 뒤처진 구독자는 끊는다.
+ * - maxSubscribers    : 동시에 열 수 있는 스트림 수
+ * - senderThreads     : 구독자에게 이벤트를 쓰는 스레드 수
+ * - sendTimeout       : 이벤트 하나를 쓰는 데 이보다 오래 걸리는 구독자는 끊는다. (밀리초)
+ * - heartbeatInterval : 연결 유지를 위한 주석 줄 전송 간격(밀리초)
+ * - timeout           : 스트림 하나의 최대 유지 시간(밀리초). 지나면 끊고 브라우저가 다시 연결한다.
+ */
+@ConfigurationProperties(prefix = "news.archive.stream")
+public class ArchiveStreamProperties {
+
+    /** 보관할 최근 이벤트 수 */
+    private int bufferSize = 256;
+
+    /** 동시 구독자 수 상한 */
+    private int maxSubscribers = 1_000;
+
+    /** 전송 스레드 수 */
+    private int senderThreads = 2;
+
+    /** 쓰기 하나의 제한 시간 (밀리초) */
+    private long sendTimeout = 10_000L;
+
+    /** 하트비트 간격 (밀리초) */
+    private long heartbeatInterval = 25_000L;
+
+    /** 스트림 최대 유지 시간 (밀리초) */
+    private long timeout = 30 * 60 * 1000L;
+
+    public int getBufferSize() {
+        return bufferSize;
+    }
+
+    public void setBufferSize(int bufferSize) {
+        this.bufferSize = bufferSize;
+    }
+
+    public int getMaxSubscribers() {
+        return maxSubscribers;
+    }
+
+    public void setMaxSubscribers(int maxSubscribers) {
+        this.maxSubscribers = maxSubscribers;
+    }
+
+    public int getSenderThreads() {
+        return senderThreads;
+    }
+
+    public void setSenderThreads(int senderThreads) {
+        this.senderThreads = senderThreads;
+    }
+
+    public long getSendTimeout() {
+        return sendTimeout;
+    }
+
+    public void setSendTimeout(long sendTimeout) {
+        this.sendTimeout = sendTimeout;
+    }
+
+    public long getHeartbeatInterval() {
+        return heartbeatInterval;
+    }
+
+    public void setHeartbeatInterval(long heartbeatInterval) {
+        this.heartbeatInterval = heartbeatInterval;
+    }
+
+    public long getTimeout() {
+        return timeout;
+    }
+
+    public void setTimeout(long timeout) {
+        this.timeout = timeout;
+    }
+}
@@ -1,17 +1,33 @@
 package com.the198thstreet.news.google;
 
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
 import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.util.StringUtils;
 
 /**
  * application.properties 의 news.collector.google.* 값을 편리하게 읽어오는 클래스.
  * <p>
  * - enabled    : true 이면 RSS 수집기가 동작, false 면 로그만 남기고 종료
  * - rssUrl     : 기본 고정 URL 대신 다른 RSS 를 테스트하고 싶을 때 지정
- * - fixedDelay : @Scheduled fixedDelayString 값 (밀리초 기준)
+ * - fixedDelay : 피드별 interval 을 지정하지 않았을 때의 수집 간격 (밀리초 기준)
+ * - parser     : RSS 파서 종류 (stax: DOM 없는 스트리밍 파서, jsoup: 기존 Jsoup DOM 파서)
+ * - feeds      : 여러 피드를 수집할 때의 피드 목록. 비어 있으면 rssUrl/fixedDelay 로 만든 피드 하나만 수집한다.
+ * - maxConcurrentFetches : 동시에 수집할 수 있는 피드 수 (수집 스레드 수)
+ * - http       : 피드 HTTP 클라이언트 설정 (타임아웃, 호스트당 연결 수, 재시도)
  */
 @ConfigurationProperties(prefix = "news.collector.google")
 public class GoogleNewsProperties {
 
+    /** feeds 를 지정하지 않았을 때 쓰는 피드 ID (기존 단일 피드 데이터의 FEED_ID 이기도 하다) */
+    public static final String DEFAULT_FEED_ID = "headlines";
+
+    /** 피드 ID 최대 길이 (HEADLINE_NEWS.FEED_ID 컬럼 길이) */
+    public static final int MAX_FEED_ID_LENGTH = 64;
+
     /** 스케줄러 활성화 여부 */
     private boolean enabled = true;
 
@@ -21,6 +37,18 @@ public class GoogleNewsProperties {
     /** 고정 지연 (밀리초) */
     private long fixedDelay = 300_000L;
 
+    /** RSS 파서 종류 */
+    private ParserType parser = ParserType.STAX;
+
+    /** 수집할 피드 목록 */
+    private List<Feed> feeds = new ArrayList<>();
+
+    /** 동시에 수집할 수 있는 피드 수 */
+    private int maxConcurrentFetches = 4;
+
+    /** 피드 HTTP 클라이언트 설정 */
+    private Http http = new Http();
+
     public boolean isEnabled() {
         return enabled;
     }
@@ -44,4 +72,198 @@ public class GoogleNewsProperties {
     public void setFixedDelay(long fixedDelay) {
         this.fixedDelay = fixedDelay;
     }
+
+    public ParserType getParser() {
+        return parser;
+    }
+
+    public void setParser(ParserType parser) {
+        this.parser = parser;
+    }
+
+    public List<Feed> getFeeds() {
+        return feeds;
+    }
+
+    public void setFeeds(List<Feed> feeds) {
+        this.feeds = feeds;
+    }
+
+    /**
+     * 설정된 피드 ID 목록. feeds 가 비어 있으면 기본 피드 하나. (조회 API 의 feed 파라미터를 검사할 때와 수집 피드를 만들 때 사용)
+     * <p>
+     * id/url 이 없거나, id 가 {@value #MAX_FEED_ID_LENGTH}자를 넘거나, id 가 겹치는 피드가 있으면 IllegalStateException 을 던진다.
+     * 조회 API 컨트롤러가 생성될 때 부르므로 잘못된 피드 설정은 기동 단계에서 실패한다.
+     */
+    public Set<String> feedIds() {
+        Set<String> ids = new LinkedHashSet<>();
+        if (feeds == null || feeds.isEmpty()) {
+            ids.add(DEFAULT_FEED_ID);
+            return ids;
+        }
+        for (int i = 0; i < feeds.size(); i++) {
+            Feed feed = feeds.get(i);
+            String problem = !StringUtils.hasText(feed.getId()) ? "id 가 비어 있습니다"
+                    : !StringUtils.hasText(feed.getUrl()) ? "url 이 비어 있습니다"
+                    : feed.getId().length() > MAX_FEED_ID_LENGTH ? "id 가 " + MAX_FEED_ID_LENGTH + "자를 넘습니다"
+                    : !ids.add(feed.getId()) ? "id 가 앞의 피드와 겹칩니다"
+                    : null;
+            if (problem != null) {
+                throw new IllegalStateException("news.collector.google.feeds[" + i + "] 설정이 잘못되었습니다: " + problem
+                        + " (id=" + feed.getId() + ", url=" + feed.getUrl() + ")");
+            }
+        }
+        return ids;
+    }
+
+    public int getMaxConcurrentFetches() {
+        return maxConcurrentFetches;
+    }
+
+    public void setMaxConcurrentFetches(int maxConcurrentFetches) {
+        this.maxConcurrentFetches = maxConcurrentFetches;
+    }
+
+    public Http getHttp() {
+        return http;
+    }
+
+    public void setHttp(Http http) {
+        this.http = http;
+    }
+
+    /**
+     * 피드 HTTP 클라이언트 설정. (news.collector.google.http.*, 시간 단위는 모두 밀리초)
+     * <p>
+     * - connectTimeout        : TCP/TLS 연결 타임아웃
+     * - requestTimeout        : 요청 하나(응답 헤더 수신까지)의 타임아웃
+     * - maxConnectionsPerHost : 한 호스트로 동시에 보내는 요청 수 상한 (HTTP/1.1 에서는 곧 연결 수 상한)
+     * - maxAttempts           : 5xx / 타임아웃 / 연결 오류 시 최대 시도 횟수 (1 이면 재시도 없음)
+     * - retryBackoff          : 첫 재시도 전 대기 시간. 재시도마다 두 배씩 늘리되 maxRetryBackoff 를 넘지 않는다.
+     */
+    public static class Http {
+
+        private long connectTimeout = 5_000L;
+        private long requestTimeout = 10_000L;
+        private int maxConnectionsPerHost = 2;
+        private int maxAttempts = 3;
+        private long retryBackoff = 500L;
+        private long maxRetryBackoff = 5_000L;
+
+        public long getConnectTimeout() {
+            return connectTimeout;
+        }
+
+        public void setConnectTimeout(long connectTimeout) {
+            this.connectTimeout = connectTimeout;
+        }
+
+        public long getRequestTimeout() {
+            return requestTimeout;
+        }
+
+        public void setRequestTimeout(long requestTimeout) {
+            this.requestTimeout = requestTimeout;
+        }
+
+        public int getMaxConnectionsPerHost() {
+            return maxConnectionsPerHost;
+        }
+
+        public void setMaxConnectionsPerHost(int maxConnectionsPerHost) {
+            this.maxConnectionsPerHost = maxConnectionsPerHost;
+        }
+
+        public int getMaxAttempts() {
+            return maxAttempts;
+        }
+
+        public void setMaxAttempts(int maxAttempts) {
+            this.maxAttempts = maxAttempts;
+        }
+
+        public long getRetryBackoff() {
+            return retryBackoff;
+        }
+
+        public void setRetryBackoff(long retryBackoff) {
+            this.retryBackoff = retryBackoff;
+        }
+
+        public long getMaxRetryBackoff() {
+            return maxRetryBackoff;
+        }
+
+        public void setMaxRetryBackoff(long maxRetryBackoff) {
+            this.maxRetryBackoff = maxRetryBackoff;
+        }
+    }
+
+    /**
+     * 피드 하나의 수집 설정. (news.collector.google.feeds[n].*)
+     * <p>
+     * - id         : HEADLINE_NEWS.FEED_ID 로 저장되고 조회 API 의 feed 파라미터로 쓰는 값 (최대 64자)
+     * - url        : RSS URL
+     * - interval   : 이 피드의 수집 시작 간격(밀리초). 0 이하면 상위 fixedDelay 를 따른다.
+     * - jitter     : 수집 간격(과 첫 수집 시각)에 0~jitter 밀리초를 무작위로 더해 여러 피드가 한꺼번에 요청하지 않게 한다.
+     */
+    public static class Feed {
+
+        private String id;
+        private String url;
+        private long interval;
+        private long jitter;
+
+        public Feed() {
+        }
+
+        public Feed(String id, String url, long interval, long jitter) {
+            this.id = id;
+            this.url = url;
+            this.interval = interval;
+            this.jitter = jitter;
+        }
+
+        public String getId() {
+            return id;
+        }
+
+        public void setId(String id) {
+            this.id = id;
+        }
+
+        public String getUrl() {
+            return url;
+        }
+
+        public void setUrl(String url) {
+            this.url = url;
+        }
+
+        public long getInterval() {
+            return interval;
+        }
+
+        public void setInterval(long interval) {
+            this.interval = interval;
+        }
+
+        public long getJitter() {
+            return jitter;
+        }
+
+        public void setJitter(long jitter) {
+            this.jitter = jitter;
+        }
+    }
+
+    /**
+     * RSS 파서 구현 선택지.
+     */
+    public enum ParserType {
+        /** StAX + description 스캐너. DOM 을 만들지 않는다. */
+        STAX,
+        /** Jsoup XML DOM + description 별 Jsoup HTML DOM. 기존 동작 비교용 */
+        JSOUP
+    }
 }
@@ -0,0 +1,119 @@
+package com.the198thstreet.news.google;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * application.properties 의 news.ingest.journal.* 값을 읽어오는 클래스. (수집 결과를 DB 대신 로컬 저널에 먼저 쓰기)
+ * <p>
+ * - enabled         : true 면 수집 스레드는 파싱한 기사를 저널 파일에 덧붙이고 바로 돌아가며, 별도 스레드가 저널을 DB 로 옮긴다.
+ *                     false 면 예전처럼 수집 스레드가 직접 DB 에 저장한다.
+ * - directory       : 저널 파일(journal-*.log, journal.ack)을 두는 로컬 디렉터리
+ * - segmentSize     : 저널 파일 하나의 크기(바이트). 가득 차면 다음 파일을 만든다.
+ * - maxPendingBytes : 아직 DB 에 옮기지 못한 저널 크기 상한. 넘으면 수집 스레드가 appendTimeout 까지 기다리다 이번 수집을 실패로 돌린다.
+ * - appendTimeout   : 저널이 가득 찼을 때 수집 스레드가 기다리는 최대 시간(밀리초)
+ * - batchRecords    : DB 로 옮길 때 한 번에 읽는 저널 레코드(수집 한 번 = 레코드 1개 이상) 수
+ * - retryDelay / maxRetryDelay : DB 저장 실패 시 다시 시도하기까지의 첫 대기 시간과 최대 대기 시간(밀리초). 실패할 때마다 두 배로 늘린다.
+ * - force           : true 면 레코드마다 디스크에 flush 한다. (false 면 프로세스가 죽어도 남지만 OS 가 죽으면 잃을 수 있음)
+ */
+@ConfigurationProperties(prefix = "news.ingest.journal")
+public class IngestJournalProperties {
+
+    /** 저널 사용 여부 */
+    private boolean enabled = true;
+
+    /** 저널 디렉터리 */
+    private String directory = "data/journal";
+
+    /** 저널 파일 하나의 크기 */
+    private int segmentSize = 16 * 1024 * 1024;
+
+    /** DB 로 옮기지 못한 저널 크기 상한 */
+    private long maxPendingBytes = 256L * 1024 * 1024;
+
+    /** 저널이 가득 찼을 때 기다리는 시간 */
+    private long appendTimeout = 10_000L;
+
+    /** 한 번에 DB 로 옮기는 레코드 수 */
+    private int batchRecords = 16;
+
+    /** 첫 재시도 대기 시간 */
+    private long retryDelay = 1_000L;
+
+    /** 최대 재시도 대기 시간 */
+    private long maxRetryDelay = 60_000L;
+
+    /** 레코드마다 디스크 flush 여부 */
+    private boolean force = true;
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public String getDirectory() {
+        return directory;
+    }
+
+    public void setDirectory(String directory) {
+        this.directory = directory;
+    }
+
+    public int getSegmentSize() {
+        return segmentSize;
+    }
+
+    public void setSegmentSize(int segmentSize) {
+        this.segmentSize = segmentSize;
+    }
+
+    public long getMaxPendingBytes() {
+        return maxPendingBytes;
+    }
+
+    public void setMaxPendingBytes(long maxPendingBytes) {
+        this.maxPendingBytes = maxPendingBytes;
+    }
+
+    public long getAppendTimeout() {
+        return appendTimeout;
+    }
+
+    public void setAppendTimeout(long appendTimeout) {
+        this.appendTimeout = appendTimeout;
+    }
+
+    public int getBatchRecords() {
+        return batchRecords;
+    }
+
+    public void setBatchRecords(int batchRecords) {
+        this.batchRecords = batchRecords;
+    }
+
+    public long getRetryDelay() {
+        return retryDelay;
+    }
+
+    public void setRetryDelay(long retryDelay) {
+        this.retryDelay = retryDelay;
+    }
+
+    public long getMaxRetryDelay() {
+        return maxRetryDelay;
+    }
+
+    public void setMaxRetryDelay(long maxRetryDelay) {
+        this.maxRetryDelay = maxRetryDelay;
+    }
+
+    public boolean isForce() {
+        return force;
+    }
+
+    public void setForce(boolean force) {
+        this.force = force;
+    }
+}
@@ -0,0 +1,98 @@
+package com.the198thstreet.news.google.controller;
+
+import java.io.IOException;
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.time.temporal.ChronoUnit;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.util.StringUtils;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.server.ResponseStatusException;
+
+import com.the198thstreet.news.google.ArchiveExportProperties;
+import com.the198thstreet.news.google.service.HeadlineExportService;
+
+import jakarta.servlet.http.HttpServletResponse;
+
+/**
+ * 기간 내 기사를 파일로 내려받는 내보내기 API 컨트롤러. (분석 작업용)
+ * <p>
+ * URL 예시: {@code /api/archive/export?from=2025-09-01&to=2025-11-30&format=ndjson}
+ *          {@code /api/archive/export?from=2025-09-01&to=2025-11-30&press=연합뉴스&format=csv&gzip=true}
+ * 반환: 행을 모으지 않고 DB 커서에서 읽는 대로 응답 본문에 쓰는 NDJSON/CSV (gzip 이면 .gz 파일)
+ * <p>
+ * 잘라서 보내면 받는 쪽이 빠진 줄을 알 수 없으므로, 다른 조회 API 와 달리 잘못된 날짜나 너무 긴 기간은 400 으로 거절한다.
+ */
+@RestController
+@RequestMapping("/api/archive/export")
+public class ArchiveExportApiController {
+
+    private static final Logger log = LoggerFactory.getLogger(ArchiveExportApiController.class);
+    private static final DateTimeFormatter DATE_PARAM_FORMATTER = DateTimeFormatter.ofPattern("yyyy-MM-dd");
+
+    private final HeadlineExportService exportService;
+    private final ArchiveExportProperties properties;
+
+    public ArchiveExportApiController(HeadlineExportService exportService, ArchiveExportProperties properties) {
+        this.exportService = exportService;
+        this.properties = properties;
+    }
+
+    /**
+     * 기간(from~to, 양 끝 포함)의 기사를 PUB_DATE, ID 순으로 내보낸다.
+     * @param from   yyyy-MM-dd (필수)
+     * @param to     yyyy-MM-dd (없으면 from 과 같은 날, 최대 maxDays 일)
+     * @param press  언론사 이름 (선택)
+     * @param feed   피드 ID (선택)
+     * @param format ndjson(기본) 또는 csv
+     * @param gzip   true 면 gzip 으로 압축한 파일
+     */
+    @GetMapping
+    public void export(
+            @RequestParam("from") String from,
+            @RequestParam(value = "to", required = false) String to,
+            @RequestParam(value = "press", required = false) String press,
+            @RequestParam(value = "feed", required = false) String feed,
+            @RequestParam(value = "format", required = false, defaultValue = "ndjson") String format,
+            @RequestParam(value = "gzip", required = false, defaultValue = "false") boolean gzip,
+            HttpServletResponse response) throws IOException {
+        LocalDate fromDate = parseDate(from);
+        LocalDate toDate = StringUtils.hasText(to) ? parseDate(to) : fromDate;
+        if (toDate.isBefore(fromDate) || ChronoUnit.DAYS.between(fromDate, toDate) >= properties.getMaxDays()) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                    "date range must be 1.." + properties.getMaxDays() + " days");
+        }
+        HeadlineExportService.Format exportFormat = HeadlineExportService.Format.of(format);
+        if (exportFormat == null) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "format must be ndjson or csv");
+        }
+        String pressName = StringUtils.hasText(press) ? press.trim() : null;
+        String feedId = StringUtils.hasText(feed) ? feed.trim() : null;
+
+        String filename = "headlines_" + fromDate + "_" + toDate + "." + exportFormat.extension() + (gzip ? ".gz" : "");
+        response.setContentType(gzip ? "application/gzip" : exportFormat.contentType() + ";charset=UTF-8");
+        response.setHeader(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment().filename(filename).build().toString());
+
+        long started = System.nanoTime();
+        long rows = exportService.export(fromDate, toDate, pressName, feedId, exportFormat, gzip, response.getOutputStream());
+        log.info("[헤드라인 내보내기] 기간={}~{} 언론사={} 피드={} 형식={} gzip={} 건수={} 소요={}ms", fromDate, toDate, pressName,
+                feedId, exportFormat, gzip, rows, (System.nanoTime() - started) / 1_000_000);
+    }
+
+    private static LocalDate parseDate(String value) {
+        try {
+            return LocalDate.parse(value.trim(), DATE_PARAM_FORMATTER);
+        } catch (DateTimeParseException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "dates must be yyyy-MM-dd: " + value);
+        }
+    }
+}
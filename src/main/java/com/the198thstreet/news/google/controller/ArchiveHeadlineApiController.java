@@ -1,28 +1,47 @@
 package com.the198thstreet.news.google.controller;
 
 import java.time.LocalDate;
-import java.time.LocalDateTime;
 import java.time.ZoneId;
 import java.time.format.DateTimeFormatter;
 import java.time.format.DateTimeParseException;
-import java.util.HashMap;
 import java.util.List;
-import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.util.StringUtils;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.server.ResponseStatusException;
 
-import com.the198thstreet.news.google.repository.HeadlineNewsRepository;
+import com.the198thstreet.news.google.GoogleNewsProperties;
+import com.the198thstreet.news.google.model.Headline;
+import com.the198thstreet.news.google.model.HeadlineCursor;
+import com.the198thstreet.news.google.model.HeadlinePage;
+import com.the198thstreet.news.google.model.HeadlineSearchResult;
+import com.the198thstreet.news.google.service.ArchiveResponseCache;
+import com.the198thstreet.news.google.service.HeadlineArchiveService;
+import com.the198thstreet.news.google.service.HeadlineSearchIndex;
+import com.the198thstreet.news.google.service.HotDayHeadlineCache;
 
 /**
  * 구글 헤드라인 아카이브 조회를 위한 REST API 컨트롤러.
  * <p>
  * URL 예시: {@code /api/archive/headlines?date=2025-11-30&page=0&size=50}
- * 반환: 날짜/총건수/현재 페이지/페이지 사이즈/기사 목록을 담은 Map
+ *          {@code /api/archive/headlines?date=2025-11-30&cursor=<nextCursor>&size=50}
+ *          {@code /api/archive/headlines?date=2025-11-30&feed=business}
+ *          {@code /api/archive/headlines/search?q=반도체 수출&from=2025-09-01&to=2025-11-30&press=연합뉴스}
+ * 반환: 날짜/총건수/현재 페이지/페이지 사이즈/기사 목록/다음·이전 커서를 담은 {@link HeadlinePage}
+ * 날짜별 조회는 {@link ArchiveResponseCache} 가 직렬화해 둔 바이트로 응답하며 ETag/Cache-Control 을 붙인다.
  */
 @RestController
 @RequestMapping("/api/archive/headlines")
@@ -30,48 +49,176 @@ public class ArchiveHeadlineApiController {
 
     private static final Logger log = LoggerFactory.getLogger(ArchiveHeadlineApiController.class);
     private static final DateTimeFormatter DATE_PARAM_FORMATTER = DateTimeFormatter.ofPattern("yyyy-MM-dd");
-    private static final DateTimeFormatter DISPLAY_DATETIME = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
     private static final ZoneId KST = ZoneId.of("Asia/Seoul");
 
-    private final HeadlineNewsRepository repository;
+    private final HeadlineArchiveService archiveService;
+    private final HotDayHeadlineCache hotDayCache;
+    private final HeadlineSearchIndex searchIndex;
+    private final ArchiveResponseCache responseCache;
 
-    public ArchiveHeadlineApiController(HeadlineNewsRepository repository) {
-        this.repository = repository;
+    /** feed 파라미터로 받아 줄 피드 ID. 모르는 값마다 캐시 항목이 생기지 않도록 설정된 피드만 받는다. */
+    private final Set<String> feedIds;
+
+    public ArchiveHeadlineApiController(HeadlineArchiveService archiveService, HotDayHeadlineCache hotDayCache,
+            HeadlineSearchIndex searchIndex, ArchiveResponseCache responseCache, GoogleNewsProperties newsProperties) {
+        this.archiveService = archiveService;
+        this.hotDayCache = hotDayCache;
+        this.searchIndex = searchIndex;
+        this.responseCache = responseCache;
+        this.feedIds = Set.copyOf(newsProperties.feedIds());
     }
 
     /**
      * 날짜별 헤드라인 목록을 페이징 조회한다.
      * <p>
-     * @param date yyyy-MM-dd 형식 문자열 (없으면 오늘 날짜를 자동 사용)
-     * @param page 0 기반 페이지 번호
-     * @param size 페이지당 개수
-     * @return date/totalCount/page/size/articles 키를 가진 Map (JSON 으로 직렬화되어 응답)
+     * cursor 가 있으면 page 는 무시하고 커서 위치부터 이어서 읽는다. (OFFSET/COUNT 없이 조회)
+     * 기사는 같은 사건 묶음 단위로 한 줄씩 나가며, 묶인 다른 언론사 기사는 각 줄의 outlets 에 담긴다.
+     * pubDate 의 화면용 포맷팅은 JSON 직렬화 시점에 이루어지고, 직렬화한 바이트는 {@link ArchiveResponseCache} 에 남아
+     * 같은 요청이 다시 오면 조회/직렬화 없이 그대로 나간다.
+     * <p>
+     * - ETag 는 응답 내용으로 만들며, If-None-Match 가 같으면 본문 없이 304 를 돌려준다.
+     * - news.archive.response.immutable-after-days 보다 지난 날짜는 {@code Cache-Control: public, max-age, immutable},
+     *   그보다 최근 날짜는 {@code no-cache} (매번 ETag 로 재확인) 로 내려보낸다.
+     * - Accept-Encoding 에 gzip 이 있으면 미리 압축해 둔 본문을 {@code Content-Encoding: gzip} 으로 보낸다.
+     * - feed 가 news.collector.google.feeds 에 없는 ID 면 400 을 돌려준다. (캐시 키에 들어가므로 임의 값을 받지 않음)
+     * - cursor 가 이 API 가 만든 값이 아니어서 풀 수 없으면 400 을 돌려준다.
+     * @param date           yyyy-MM-dd 형식 문자열 (없으면 오늘 날짜를 자동 사용)
+     * @param page           0 기반 페이지 번호 (기존 호환용)
+     * @param size           페이지당 개수
+     * @param cursor         이전 응답의 nextCursor / prevCursor 값
+     * @param feed           피드 ID (없으면 모든 피드)
+     * @param acceptEncoding 요청의 Accept-Encoding 헤더
+     * @return date/totalCount/page/size/articles/nextCursor/prevCursor 를 가진 {@link HeadlinePage} 를 직렬화한 JSON 바이트
      */
     @GetMapping
-    public Map<String, Object> getHeadlines(
+    public ResponseEntity<byte[]> getHeadlines(
             @RequestParam(value = "date", required = false) String date,
             @RequestParam(value = "page", required = false, defaultValue = "0") int page,
-            @RequestParam(value = "size", required = false, defaultValue = "50") int size) {
+            @RequestParam(value = "size", required = false, defaultValue = "50") int size,
+            @RequestParam(value = "cursor", required = false) String cursor,
+            @RequestParam(value = "feed", required = false) String feed,
+            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding) {
 
         LocalDate targetDate = resolveDate(date);
-        int offset = Math.max(page, 0) * Math.max(size, 1);
-        int totalCount = repository.countByDate(targetDate);
-        List<Map<String, Object>> articles = repository.findByDate(targetDate, offset, Math.max(size, 1));
-
-        // 날짜/시간 포맷팅을 Map 에서 바로 처리해 JSON 이 보기 좋도록 만든다.
-        articles.forEach(article -> {
-            LocalDateTime pubDate = (LocalDateTime) article.get("pubDate");
-            article.put("pubDate", pubDate.format(DISPLAY_DATETIME));
-        });
-
-        Map<String, Object> response = new HashMap<>();
-        response.put("date", targetDate.format(DATE_PARAM_FORMATTER));
-        response.put("totalCount", totalCount);
-        response.put("page", Math.max(page, 0));
-        response.put("size", Math.max(size, 1));
-        response.put("articles", articles);
-        log.debug("[헤드라인 조회] date={} page={} size={} 조회건수={}", targetDate, page, size, articles.size());
-        return response;
+        int safeSize = Math.max(size, 1);
+        String feedId = StringUtils.hasText(feed) ? feed.trim() : null;
+        if (feedId != null && !feedIds.contains(feedId)) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "unknown feed: " + feedId);
+        }
+        HeadlineCursor headlineCursor = resolveCursor(cursor);
+        int safePage = Math.max(page, 0);
+        ArchiveResponseCache.Key key = headlineCursor != null
+                ? new ArchiveResponseCache.Key(targetDate, feedId, -1, cursor.trim(), safeSize)
+                : new ArchiveResponseCache.Key(targetDate, feedId, safePage, null, safeSize);
+        ArchiveResponseCache.Body body = responseCache.get(key, () -> headlineCursor != null
+                ? archiveService.getPage(targetDate, feedId, headlineCursor, safeSize)
+                : archiveService.getPage(targetDate, feedId, safePage, safeSize));
+
+        // 요청마다 지나가는 경로라, 로그를 끈 상태에서는 인자 박싱/배열 생성도 하지 않도록 레벨을 먼저 확인한다.
+        // 응답 시간은 http.server.requests 지표(uri 태그)로 따로 측정된다.
+        if (log.isDebugEnabled()) {
+            log.debug("[헤드라인 조회] date={} feed={} page={} size={} cursor={} 응답바이트={}", targetDate, feedId, page, size,
+                    cursor, body.json().length);
+        }
+
+        boolean gzipped = body.gzip() != null && acceptsGzip(acceptEncoding);
+        CacheControl cacheControl = responseCache.isImmutable(targetDate)
+                ? CacheControl.maxAge(responseCache.immutableMaxAge(), TimeUnit.SECONDS).cachePublic().immutable()
+                : CacheControl.noCache();
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .eTag(body.etag(gzipped))
+                .cacheControl(cacheControl)
+                .varyBy(HttpHeaders.ACCEPT_ENCODING);
+        if (gzipped) {
+            response.header(HttpHeaders.CONTENT_ENCODING, "gzip");
+        }
+        return response.body(gzipped ? body.gzip() : body.json());
+    }
+
+    /**
+     * 제목 키워드로 기사를 검색한다. 날짜 하나로만 보던 기존 조회와 달리 기간 전체를 메모리 색인에서 찾는다.
+     * <p>
+     * 공백으로 나눈 검색어 토큰이 모두 제목에 들어 있는 기사를 PUB_DATE 최신순으로 돌려준다. (두 글자 이상 토큰이 있어야 함)
+     * @param q     검색어
+     * @param from  시작 날짜 yyyy-MM-dd (선택, 포함)
+     * @param to    끝 날짜 yyyy-MM-dd (선택, 포함)
+     * @param press 언론사 이름 (선택, 정확히 일치)
+     * @param size  최대 건수 (news.archive.search.max-results 를 넘지 않음)
+     */
+    @GetMapping("/search")
+    public HeadlineSearchResult search(
+            @RequestParam(value = "q") String q,
+            @RequestParam(value = "from", required = false) String from,
+            @RequestParam(value = "to", required = false) String to,
+            @RequestParam(value = "press", required = false) String press,
+            @RequestParam(value = "size", required = false, defaultValue = "20") int size) {
+
+        LocalDate fromDate = parseOptionalDate(from);
+        LocalDate toDate = parseOptionalDate(to);
+        String pressName = StringUtils.hasText(press) ? press.trim() : null;
+        List<Headline> articles = searchIndex.search(q, fromDate, toDate, pressName, size);
+        if (log.isDebugEnabled()) {
+            log.debug("[헤드라인 검색] q={} from={} to={} press={} size={} 조회건수={}", q, fromDate, toDate, pressName,
+                    size, articles.size());
+        }
+        return new HeadlineSearchResult(q, fromDate, toDate, pressName, size, articles);
+    }
+
+    /**
+     * 최근 날짜 캐시의 hit/miss/eviction 통계를 돌려준다.
+     * URL: {@code /api/archive/headlines/cache-stats}
+     */
+    @GetMapping("/cache-stats")
+    public HotDayHeadlineCache.CacheStats getCacheStats() {
+        return hotDayCache.stats();
+    }
+
+    /**
+     * Accept-Encoding 에 gzip 이 있는지 본다. {@code gzip;q=0} 처럼 명시적으로 거절한 경우는 제외한다.
+     */
+    private static boolean acceptsGzip(String acceptEncoding) {
+        if (acceptEncoding == null) {
+            return false;
+        }
+        for (String coding : acceptEncoding.split(",")) {
+            String[] parts = coding.trim().split(";");
+            if (parts[0].trim().equalsIgnoreCase("gzip")) {
+                return parts.length < 2 || !parts[1].replace(" ", "").matches("q=0(\\.0*)?");
+            }
+        }
+        return false;
+    }
+
+    /**
+     * 커서 문자열을 해석한다. 비어 있으면 null 을 돌려 page 방식으로 조회하게 하고, 풀 수 없는 값이면 400 을 돌려준다.
+     * (잘못된 커서를 첫 페이지로 바꿔 응답하면 클라이언트가 같은 기사를 다시 받는 것을 알아채지 못함)
+     */
+    private HeadlineCursor resolveCursor(String cursorParam) {
+        if (cursorParam == null || cursorParam.isBlank()) {
+            return null;
+        }
+        try {
+            return HeadlineCursor.decode(cursorParam);
+        } catch (IllegalArgumentException e) {
+            log.warn("[헤드라인 조회] 잘못된 커서가 전달되었습니다. 입력값={}", cursorParam);
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "malformed cursor");
+        }
+    }
+
+    /**
+     * 검색 기간 파라미터를 변환한다. 비어 있거나 형식이 잘못되면 기간 조건 없이 검색하도록 null 을 돌려준다.
+     */
+    private LocalDate parseOptionalDate(String dateParam) {
+        if (dateParam == null || dateParam.isBlank()) {
+            return null;
+        }
+        try {
+            return LocalDate.parse(dateParam, DATE_PARAM_FORMATTER);
+        } catch (DateTimeParseException e) {
+            log.warn("[헤드라인 검색] 잘못된 날짜 형식이 전달되어 기간 조건을 무시합니다. 입력값={}", dateParam);
+            return null;
+        }
     }
 
     /**
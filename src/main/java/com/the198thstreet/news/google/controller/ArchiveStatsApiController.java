@@ -0,0 +1,124 @@
+package com.the198thstreet.news.google.controller;
+
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.util.StringUtils;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.the198thstreet.news.google.model.PressStats;
+import com.the198thstreet.news.google.service.HeadlineStatsService;
+
+/**
+ * 언론사별 기사 수 통계 API 컨트롤러. 모든 응답은 HEADLINE_STATS_* 집계 테이블에서 읽는다.
+ * <p>
+ * URL 예시: {@code /api/archive/stats/hourly?from=2025-11-30&to=2025-11-30&press=연합뉴스}
+ *          {@code /api/archive/stats/daily?from=2025-11-01&to=2025-11-30}
+ *          {@code /api/archive/stats/top-press?days=30&limit=10}
+ * 반환: from/to/unit/press/buckets 또는 from/to/top 을 담은 {@link PressStats}
+ */
+@RestController
+@RequestMapping("/api/archive/stats")
+public class ArchiveStatsApiController {
+
+    private static final Logger log = LoggerFactory.getLogger(ArchiveStatsApiController.class);
+    private static final DateTimeFormatter DATE_PARAM_FORMATTER = DateTimeFormatter.ofPattern("yyyy-MM-dd");
+    private static final ZoneId KST = ZoneId.of("Asia/Seoul");
+
+    /** 시간별 조회 최대 기간 (일) */
+    private static final int MAX_HOURLY_DAYS = 31;
+
+    /** 일별 조회 / 상위 언론사 최대 기간 (일) */
+    private static final int MAX_DAILY_DAYS = 366;
+
+    private static final int MAX_TOP_LIMIT = 100;
+
+    private final HeadlineStatsService statsService;
+
+    public ArchiveStatsApiController(HeadlineStatsService statsService) {
+        this.statsService = statsService;
+    }
+
+    /**
+     * 시간별 언론사 기사 수. 기간은 최대 31일로 자른다.
+     * @param from  yyyy-MM-dd (없으면 오늘)
+     * @param to    yyyy-MM-dd (없으면 from 과 같은 날)
+     * @param press 언론사 이름 (선택)
+     */
+    @GetMapping("/hourly")
+    public PressStats getHourly(
+            @RequestParam(value = "from", required = false) String from,
+            @RequestParam(value = "to", required = false) String to,
+            @RequestParam(value = "press", required = false) String press) {
+        LocalDate fromDate = resolveDate(from, LocalDate.now(KST));
+        LocalDate toDate = clampTo(fromDate, resolveDate(to, fromDate), MAX_HOURLY_DAYS);
+        return statsService.hourly(fromDate, toDate, pressOf(press));
+    }
+
+    /**
+     * 일별 언론사 기사 수. 기간은 최대 366일로 자른다.
+     * @param from  yyyy-MM-dd (없으면 오늘로부터 29일 전)
+     * @param to    yyyy-MM-dd (없으면 오늘)
+     * @param press 언론사 이름 (선택)
+     */
+    @GetMapping("/daily")
+    public PressStats getDaily(
+            @RequestParam(value = "from", required = false) String from,
+            @RequestParam(value = "to", required = false) String to,
+            @RequestParam(value = "press", required = false) String press) {
+        LocalDate today = LocalDate.now(KST);
+        LocalDate fromDate = resolveDate(from, today.minusDays(29));
+        LocalDate toDate = clampTo(fromDate, resolveDate(to, today), MAX_DAILY_DAYS);
+        return statsService.daily(fromDate, toDate, pressOf(press));
+    }
+
+    /**
+     * 최근 days 일(오늘 포함) 동안 기사가 많은 언론사 순위.
+     * @param days  기간 (기본 30, 최대 366)
+     * @param limit 최대 언론사 수 (기본 10, 최대 100)
+     */
+    @GetMapping("/top-press")
+    public PressStats getTopPresses(
+            @RequestParam(value = "days", required = false, defaultValue = "30") int days,
+            @RequestParam(value = "limit", required = false, defaultValue = "10") int limit) {
+        return statsService.topPresses(Math.min(Math.max(days, 1), MAX_DAILY_DAYS),
+                Math.min(Math.max(limit, 1), MAX_TOP_LIMIT));
+    }
+
+    private static String pressOf(String press) {
+        return StringUtils.hasText(press) ? press.trim() : null;
+    }
+
+    /**
+     * to 가 from 보다 앞서면 from 으로, 기간이 maxDays 를 넘으면 from 부터 maxDays 일까지로 자른다.
+     */
+    private static LocalDate clampTo(LocalDate from, LocalDate to, int maxDays) {
+        if (to.isBefore(from)) {
+            return from;
+        }
+        LocalDate limit = from.plusDays(maxDays - 1L);
+        return to.isAfter(limit) ? limit : to;
+    }
+
+    /**
+     * 문자열 파라미터를 LocalDate 로 안전하게 변환한다. 비어 있거나 실패하면 fallback 을 돌려준다.
+     */
+    private LocalDate resolveDate(String dateParam, LocalDate fallback) {
+        if (dateParam == null || dateParam.isBlank()) {
+            return fallback;
+        }
+        try {
+            return LocalDate.parse(dateParam, DATE_PARAM_FORMATTER);
+        } catch (DateTimeParseException e) {
+            log.warn("[헤드라인 통계] 잘못된 날짜 형식이 전달되어 기본값으로 대체합니다. 입력값={} 기본값={}", dateParam, fallback);
+            return fallback;
+        }
+    }
+}
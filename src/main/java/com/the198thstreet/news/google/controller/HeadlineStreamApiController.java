@@ -0,0 +1,49 @@
+package com.the198thstreet.news.google.controller;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.util.StringUtils;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import com.the198thstreet.news.google.service.HeadlineBroadcaster;
+
+/**
+ * 새로 저장된 헤드라인을 Server-Sent Events 로 밀어 주는 컨트롤러.
+ * <p>
+ * URL 예시: {@code /api/archive/headlines/stream}
+ * 이벤트: {@code headlines} (id=이벤트 번호, data=새 기사 JSON 배열), {@code reset} (화면을 API 로 다시 읽어야 함)
+ * 브라우저 EventSource 가 재연결할 때 보내는 Last-Event-ID 헤더(또는 lastEventId 파라미터)부터 이어서 보낸다.
+ */
+@RestController
+@RequestMapping("/api/archive/headlines")
+public class HeadlineStreamApiController {
+
+    private final HeadlineBroadcaster broadcaster;
+
+    public HeadlineStreamApiController(HeadlineBroadcaster broadcaster) {
+        this.broadcaster = broadcaster;
+    }
+
+    /**
+     * 새 기사 스트림을 연다. 구독자 수가 상한에 닿았으면 503 을 돌려준다.
+     * @param lastEventIdHeader 브라우저가 재연결 시 보내는 Last-Event-ID
+     * @param lastEventId       헤더를 보낼 수 없는 클라이언트용 같은 값
+     */
+    @GetMapping(path = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter stream(
+            @RequestHeader(value = "Last-Event-ID", required = false) String lastEventIdHeader,
+            @RequestParam(value = "lastEventId", required = false) String lastEventId) {
+        SseEmitter emitter = broadcaster.subscribe(
+                StringUtils.hasText(lastEventIdHeader) ? lastEventIdHeader : lastEventId);
+        if (emitter == null) {
+            throw new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE, "too many stream subscribers");
+        }
+        return emitter;
+    }
+}
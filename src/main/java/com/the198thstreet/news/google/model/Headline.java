@@ -0,0 +1,73 @@
+package com.the198thstreet.news.google.model;
+
+import java.time.LocalDateTime;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+/**
+ * 헤드라인 기사 한 건. 파싱 → 저장 → 조회 → JSON 응답까지 같은 객체를 그대로 사용한다.
+ * <p>
+ * JSON 으로 나가는 필드는 pubDate/pressName/articleTitle/articleLink/feedId 다섯 개와 묶음에 속한 기사의 clusterId 이며,
+ * pubDate 는 직렬화 시점에 {@code yyyy-MM-dd HH:mm:ss} 형식 문자열로 바뀐다.
+ *
+ * @param id           HEADLINE_NEWS.ID (저장 전 파싱 결과는 0)
+ * @param pubDate      Asia/Seoul 기준 기사 시각
+ * @param pressName    {@code <font>} 텍스트
+ * @param articleTitle {@code <a>} 태그 텍스트
+ * @param articleLink  {@code <a href>} 값
+ * @param feedId       수집한 피드 ID (HEADLINE_NEWS.FEED_ID, 파싱 직후에는 null)
+ * @param clusterId    같은 사건을 다룬 묶음의 대표 기사 ID (HEADLINE_NEWS.CLUSTER_ID). 자신이 대표이거나 묶이지 않았으면 0
+ */
+public record Headline(
+        @JsonIgnore long id,
+        @JsonFormat(pattern = "yyyy-MM-dd HH:mm:ss") LocalDateTime pubDate,
+        String pressName,
+        String articleTitle,
+        String articleLink,
+        String feedId,
+        @JsonInclude(JsonInclude.Include.NON_DEFAULT) long clusterId) {
+
+    /**
+     * 묶음에 속하지 않은 기사를 만든다.
+     */
+    public Headline(long id, LocalDateTime pubDate, String pressName, String articleTitle, String articleLink,
+            String feedId) {
+        this(id, pubDate, pressName, articleTitle, articleLink, feedId, 0L);
+    }
+
+    /**
+     * 아직 저장되지 않은(id 가 없는) 파싱 결과를 만든다.
+     */
+    public static Headline parsed(LocalDateTime pubDate, String pressName, String articleTitle, String articleLink) {
+        return new Headline(0L, pubDate, pressName, articleTitle, articleLink, null);
+    }
+
+    /**
+     * 피드 ID 만 바꾼 사본을 만든다.
+     */
+    public Headline withFeedId(String feedId) {
+        return new Headline(id, pubDate, pressName, articleTitle, articleLink, feedId, clusterId);
+    }
+
+    /**
+     * 저장 후 받은 ID 를 채운 사본을 만든다.
+     */
+    public Headline withId(long id) {
+        return new Headline(id, pubDate, pressName, articleTitle, articleLink, feedId, clusterId);
+    }
+
+    /**
+     * 묶음 대표 기사 ID 만 바꾼 사본을 만든다.
+     */
+    public Headline withClusterId(long clusterId) {
+        return new Headline(id, pubDate, pressName, articleTitle, articleLink, feedId, clusterId);
+    }
+
+    /** 묶음의 대표이거나 묶이지 않은 기사인지 (목록 조회에 한 줄로 나오는 기사) */
+    @JsonIgnore
+    public boolean isClusterLead() {
+        return clusterId == 0L;
+    }
+}
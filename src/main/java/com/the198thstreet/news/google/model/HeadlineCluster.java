@@ -0,0 +1,46 @@
+package com.the198thstreet.news.google.model;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+
+/**
+ * {@code /api/archive/headlines} 의 기사 목록 한 줄. 같은 사건을 다룬 기사 묶음 하나를 대표 기사로 보여 준다.
+ * <p>
+ * 대표 기사의 필드(pubDate/pressName/articleTitle/articleLink/feedId)는 {@link Headline} 과 같은 이름으로 내보내고,
+ * 묶인 나머지 기사는 outlets 에 언론사/제목/링크만 담는다. 묶이지 않은 기사는 outlets 가 빈 배열이다.
+ *
+ * @param clusterId 묶음 ID (= 대표 기사의 HEADLINE_NEWS.ID)
+ * @param outlets   묶인 나머지 기사 (PUB_DATE DESC, ID DESC)
+ */
+public record HeadlineCluster(
+        long clusterId,
+        @JsonFormat(pattern = "yyyy-MM-dd HH:mm:ss") LocalDateTime pubDate,
+        String pressName,
+        String articleTitle,
+        String articleLink,
+        String feedId,
+        List<Outlet> outlets) {
+
+    /**
+     * 대표 기사와 묶인 기사로 한 줄을 만든다.
+     *
+     * @param members 묶인 나머지 기사 (없으면 빈 목록)
+     */
+    public static HeadlineCluster of(Headline lead, List<Headline> members) {
+        List<Outlet> outlets = new ArrayList<>(members.size());
+        for (Headline member : members) {
+            outlets.add(new Outlet(member.pressName(), member.articleTitle(), member.articleLink()));
+        }
+        return new HeadlineCluster(lead.id(), lead.pubDate(), lead.pressName(), lead.articleTitle(), lead.articleLink(),
+                lead.feedId(), outlets);
+    }
+
+    /**
+     * 묶음에 함께 실린 다른 언론사의 기사.
+     */
+    public record Outlet(String pressName, String articleTitle, String articleLink) {
+    }
+}
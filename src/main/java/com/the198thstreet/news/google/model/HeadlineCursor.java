@@ -0,0 +1,60 @@
+package com.the198thstreet.news.google.model;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+/**
+ * 키셋(seek) 페이지네이션용 커서. 정렬 키 (PUB_DATE DESC, ID DESC) 의 한 지점과 이동 방향을 담는다.
+ * <p>
+ * 클라이언트에는 {@link #encode()} 로 만든 불투명 문자열만 내려 보내며, 내부 구조에 의존하지 않도록 한다.
+ *
+ * @param pubDate   기준 행의 PUB_DATE
+ * @param id        기준 행의 ID
+ * @param direction 기준 행에서 어느 쪽으로 읽을지
+ */
+public record HeadlineCursor(LocalDateTime pubDate, long id, Direction direction) {
+
+    public enum Direction {
+        /** 기준 행보다 오래된 쪽 (다음 페이지) */
+        OLDER,
+        /** 기준 행보다 최신인 쪽 (이전 페이지) */
+        NEWER
+    }
+
+    public static HeadlineCursor olderThan(Headline headline) {
+        return new HeadlineCursor(headline.pubDate(), headline.id(), Direction.OLDER);
+    }
+
+    public static HeadlineCursor newerThan(Headline headline) {
+        return new HeadlineCursor(headline.pubDate(), headline.id(), Direction.NEWER);
+    }
+
+    /**
+     * "방향|PUB_DATE|ID" 를 URL-safe Base64 로 감싼 문자열을 만든다.
+     */
+    public String encode() {
+        String raw = (direction == Direction.OLDER ? "o" : "n") + '|' + pubDate + '|' + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * {@link #encode()} 결과를 되돌린다.
+     *
+     * @throws IllegalArgumentException 형식이 맞지 않는 커서일 때
+     */
+    public static HeadlineCursor decode(String token) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            String[] parts = raw.split("\\|");
+            if (parts.length != 3 || !(parts[0].equals("o") || parts[0].equals("n"))) {
+                throw new IllegalArgumentException("커서 형식이 올바르지 않습니다: " + token);
+            }
+            Direction direction = parts[0].equals("o") ? Direction.OLDER : Direction.NEWER;
+            return new HeadlineCursor(LocalDateTime.parse(parts[1]), Long.parseLong(parts[2]), direction);
+        } catch (DateTimeParseException | NumberFormatException e) {
+            throw new IllegalArgumentException("커서 형식이 올바르지 않습니다: " + token, e);
+        }
+    }
+}
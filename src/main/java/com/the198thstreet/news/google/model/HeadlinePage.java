@@ -0,0 +1,35 @@
+package com.the198thstreet.news.google.model;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+/**
+ * {@code /api/archive/headlines} 응답 본문.
+ * <p>
+ * page/size 방식 요청에는 totalCount/page 가 항상 채워진다.
+ * cursor 방식 요청에는 page 가 없고, totalCount 는 이미 계산해 둔 값이 있을 때만 채워진다. (null 필드는 JSON 에서 빠진다)
+ * 목록과 건수, 페이지/커서는 모두 기사 묶음(대표 기사) 단위다.
+ *
+ * @param date       조회 날짜 (yyyy-MM-dd)
+ * @param feed       피드 ID 로 걸러 조회했을 때의 피드 ID (전체 조회면 null)
+ * @param totalCount 해당 날짜의 전체 기사 묶음 수
+ * @param page       0 기반 페이지 번호
+ * @param size       페이지 크기
+ * @param articles   기사 묶음 목록 (대표 기사의 PUB_DATE DESC, ID DESC)
+ * @param nextCursor 더 오래된 기사를 읽을 커서 (없으면 null)
+ * @param prevCursor 더 최신 기사를 읽을 커서 (없으면 null)
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record HeadlinePage(
+        @JsonFormat(pattern = "yyyy-MM-dd") LocalDate date,
+        String feed,
+        Integer totalCount,
+        Integer page,
+        int size,
+        List<HeadlineCluster> articles,
+        String nextCursor,
+        String prevCursor) {
+}
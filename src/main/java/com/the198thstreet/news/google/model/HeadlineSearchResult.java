@@ -0,0 +1,27 @@
+package com.the198thstreet.news.google.model;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+/**
+ * {@code /api/archive/headlines/search} 응답 본문. 지정하지 않은 조건(from/to/press)은 JSON 에서 빠진다.
+ *
+ * @param query    검색어
+ * @param from     시작 날짜 (포함)
+ * @param to       끝 날짜 (포함)
+ * @param press    언론사 이름 조건
+ * @param size     요청한 최대 건수
+ * @param articles 제목에 검색어가 모두 들어 있는 기사 (PUB_DATE 최신순)
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record HeadlineSearchResult(
+        String query,
+        @JsonFormat(pattern = "yyyy-MM-dd") LocalDate from,
+        @JsonFormat(pattern = "yyyy-MM-dd") LocalDate to,
+        String press,
+        int size,
+        List<Headline> articles) {
+}
@@ -0,0 +1,56 @@
+package com.the198thstreet.news.google.model;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * {@code /api/archive/headlines/stream} 의 headlines 이벤트 한 건. 한 번에 새로 저장된 기사를 화면 목록과 같은 모양으로 나눈다.
+ * <p>
+ * 새 묶음은 {@code /api/archive/headlines} 의 articles 와 같은 {@link HeadlineCluster} 줄로 내보내 clusterId(대표 기사 ID)를
+ * 화면이 알 수 있게 하고, 같은 이벤트에 함께 저장된 묶인 기사는 그 줄의 outlets 에 미리 붙인다.
+ * 이미 있던 묶음에 들어간 기사만 joined 로 따로 보내 화면에 그 묶음 카드가 있으면 붙이게 한다.
+ *
+ * @param clusters 새로 생긴 묶음 (PUB_DATE DESC, ID DESC)
+ * @param joined   이전에 저장된 대표 기사의 묶음에 들어간 기사 (clusterId = 대표 기사 ID)
+ */
+public record HeadlineStreamBatch(List<HeadlineCluster> clusters, List<Headline> joined) {
+
+    private static final Comparator<Headline> NEWEST_FIRST = Comparator
+            .comparing(Headline::pubDate, Comparator.nullsLast(Comparator.reverseOrder()))
+            .thenComparing(Comparator.comparingLong(Headline::id).reversed());
+
+    /**
+     * 새로 저장된 기사(id 가 채워진 상태)를 대표 기사 줄과 기존 묶음에 붙을 기사로 나눈다.
+     */
+    public static HeadlineStreamBatch of(List<Headline> inserted) {
+        List<Headline> sorted = new ArrayList<>(inserted);
+        sorted.sort(NEWEST_FIRST);
+        Map<Long, Headline> leads = new LinkedHashMap<>();
+        for (Headline headline : sorted) {
+            if (headline.isClusterLead()) {
+                leads.put(headline.id(), headline);
+            }
+        }
+        Map<Long, List<Headline>> members = new HashMap<>();
+        List<Headline> joined = new ArrayList<>();
+        for (Headline headline : sorted) {
+            if (headline.isClusterLead()) {
+                continue;
+            }
+            if (leads.containsKey(headline.clusterId())) {
+                members.computeIfAbsent(headline.clusterId(), id -> new ArrayList<>()).add(headline);
+            } else {
+                joined.add(headline);
+            }
+        }
+        List<HeadlineCluster> clusters = new ArrayList<>(leads.size());
+        for (Headline lead : leads.values()) {
+            clusters.add(HeadlineCluster.of(lead, members.getOrDefault(lead.id(), List.of())));
+        }
+        return new HeadlineStreamBatch(clusters, joined);
+    }
+}
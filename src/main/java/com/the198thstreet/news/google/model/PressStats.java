@@ -0,0 +1,47 @@
+package com.the198thstreet.news.google.model;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+/**
+ * {@code /api/archive/stats/*} 응답 본문. 시간/일 단위 추이는 buckets, 상위 언론사는 top 에 담긴다. (쓰지 않는 필드는 JSON 에서 빠진다)
+ *
+ * @param from    집계 시작 날짜 (포함)
+ * @param to      집계 끝 날짜 (포함)
+ * @param unit    buckets 의 단위 (hour / day)
+ * @param press   언론사 조건 (전체면 null)
+ * @param buckets 구간별 언론사 기사 수 (구간, 언론사 순)
+ * @param top     기간 합계가 많은 언론사 순 목록
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record PressStats(
+        @JsonFormat(pattern = "yyyy-MM-dd") LocalDate from,
+        @JsonFormat(pattern = "yyyy-MM-dd") LocalDate to,
+        String unit,
+        String press,
+        List<Bucket> buckets,
+        List<Total> top) {
+
+    /**
+     * 한 구간(시간 또는 날짜)의 언론사 기사 수.
+     *
+     * @param bucket 구간 시작 시각 (일 단위면 00:00)
+     * @param press  언론사 이름
+     * @param count  기사 수
+     */
+    public record Bucket(@JsonFormat(pattern = "yyyy-MM-dd HH:mm") LocalDateTime bucket, String press, int count) {
+    }
+
+    /**
+     * 기간 전체의 언론사 기사 수 합계.
+     *
+     * @param press 언론사 이름
+     * @param count 기사 수
+     */
+    public record Total(String press, long count) {
+    }
+}
@@ -0,0 +1,35 @@
+package com.the198thstreet.news.google.repository;
+
+import java.util.List;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+/**
+ * ARCHIVE_REVISION (행 하나)에 접근하는 저장소.
+ * <p>
+ * 수집 이벤트({@code HeadlinesInsertedEvent}) 없이 지난 날짜의 기사를 바꾸는 작업(백필)은 다른 프로세스에서 돌기 때문에,
+ * 실행 중인 서버가 알 수 있도록 끝날 때 리비전을 올린다. 서버는 값이 바뀌었는지만 본다.
+ */
+@Repository
+public class ArchiveRevisionRepository {
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public ArchiveRevisionRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /** 현재 리비전. 한 번도 올린 적이 없으면 0 */
+    public long current() {
+        List<Long> revisions = jdbcTemplate.queryForList("SELECT REVISION FROM ARCHIVE_REVISION WHERE ID = 1",
+                Long.class);
+        return revisions.isEmpty() ? 0L : revisions.get(0);
+    }
+
+    /** 리비전을 1 올린다. */
+    public void bump() {
+        jdbcTemplate.update("INSERT INTO ARCHIVE_REVISION (ID, REVISION) VALUES (1, 1) "
+                + "ON DUPLICATE KEY UPDATE REVISION = REVISION + 1");
+    }
+}
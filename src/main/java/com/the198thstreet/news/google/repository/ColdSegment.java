@@ -0,0 +1,231 @@
+package com.the198thstreet.news.google.repository;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.function.Function;
+import java.util.zip.CRC32;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+import com.the198thstreet.news.google.model.Headline;
+
+/**
+ * 한 달치 기사를 담은 읽기 전용 세그먼트 파일 하나.
+ * <p>
+ * 파일 구조 (숫자는 모두 big-endian):
+ * <pre>
+ * 헤더   (24 바이트) : MAGIC(int) VERSION(short) 예약(short) 연(int) 월(int) 전체 행 수(int) 일 수(int)
+ * 일 색인 (일 수 × 28 바이트) : 블록 위치(long) 압축 길이(int) 원본 길이(int) 행 수(int) CRC32(int) 대표 기사 수(int)
+ * 블록   : 하루치 행을 deflate 로 압축한 바이트. 행은 PUB_DATE DESC, ID DESC 순이다.
+ * 행     : ID(long) PUB_DATE(UTC 기준 epoch 초, long) CLUSTER_ID(long, 없으면 0)
+ *          FEED_ID, PRESS_NAME, ARTICLE_TITLE, ARTICLE_LINK (modified UTF-8)
+ * </pre>
+ * 파일 전체를 읽기 전용으로 메모리 매핑해 두고, 조회할 때 그날 블록만 풀어서 돌려준다.
+ * 날짜별 건수와 묶음 대표 기사 수는 색인에 있으므로 블록을 풀지 않고 답한다.
+ * 묶음(CLUSTER_ID)이 생기기 전의 버전 1 파일(색인 24 바이트, 행에 CLUSTER_ID 없음)도 그대로 읽는다.
+ */
+final class ColdSegment {
+
+    private static final int MAGIC = 0x48534547; // "HSEG"
+    private static final short VERSION = 2;
+    private static final int HEADER_SIZE = 24;
+    private static final int INDEX_ENTRY_SIZE = 28;
+    private static final int V1_INDEX_ENTRY_SIZE = 24;
+
+    private final Path file;
+    private final YearMonth month;
+    private final int rowCount;
+    private final short version;
+    private final int entrySize;
+    private final MappedByteBuffer buffer;
+
+    private ColdSegment(Path file, YearMonth month, int rowCount, short version, MappedByteBuffer buffer) {
+        this.file = file;
+        this.month = month;
+        this.rowCount = rowCount;
+        this.version = version;
+        this.entrySize = version == 1 ? V1_INDEX_ENTRY_SIZE : INDEX_ENTRY_SIZE;
+        this.buffer = buffer;
+    }
+
+    /**
+     * 세그먼트 파일을 읽기 전용으로 매핑한다. 매핑은 채널을 닫아도 유지된다.
+     */
+    static ColdSegment open(Path file) throws IOException {
+        MappedByteBuffer buffer;
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+        }
+        short version = buffer.capacity() < HEADER_SIZE ? 0 : buffer.getShort(4);
+        if (buffer.getInt(0) != MAGIC || version < 1 || version > VERSION) {
+            throw new IOException("세그먼트 파일 형식이 아닙니다: " + file);
+        }
+        YearMonth month = YearMonth.of(buffer.getInt(8), buffer.getInt(12));
+        int entrySize = version == 1 ? V1_INDEX_ENTRY_SIZE : INDEX_ENTRY_SIZE;
+        if (buffer.getInt(20) != month.lengthOfMonth()
+                || buffer.capacity() < HEADER_SIZE + (long) month.lengthOfMonth() * entrySize) {
+            throw new IOException("세그먼트 색인이 잘렸습니다: " + file);
+        }
+        return new ColdSegment(file, month, buffer.getInt(16), version, buffer);
+    }
+
+    /**
+     * 한 달치 세그먼트 파일을 쓴다. 하루씩 rowsOfDay 로 행을 받아 바로 압축해 쓰므로 메모리에는 하루치만 머문다.
+     *
+     * @param rowsOfDay 날짜 → 그날 기사 (PUB_DATE DESC, ID DESC)
+     * @return 쓴 행 수
+     */
+    static int write(Path target, YearMonth month, Function<LocalDate, List<Headline>> rowsOfDay) throws IOException {
+        int days = month.lengthOfMonth();
+        ByteBuffer index = ByteBuffer.allocate(days * INDEX_ENTRY_SIZE);
+        int total = 0;
+        Deflater deflater = new Deflater(Deflater.BEST_COMPRESSION);
+        try (FileChannel channel = FileChannel.open(target, StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+            long position = HEADER_SIZE + (long) days * INDEX_ENTRY_SIZE;
+            for (int day = 1; day <= days; day++) {
+                List<Headline> rows = rowsOfDay.apply(month.atDay(day));
+                byte[] raw = encode(rows);
+                CRC32 crc = new CRC32();
+                crc.update(raw);
+                byte[] compressed = deflate(deflater, raw);
+                channel.write(ByteBuffer.wrap(compressed), position);
+                int leads = (int) rows.stream().filter(Headline::isClusterLead).count();
+                index.putLong(position).putInt(compressed.length).putInt(raw.length).putInt(rows.size())
+                        .putInt((int) crc.getValue()).putInt(leads);
+                position += compressed.length;
+                total += rows.size();
+            }
+            ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE);
+            header.putInt(MAGIC).putShort(VERSION).putShort((short) 0).putInt(month.getYear())
+                    .putInt(month.getMonthValue()).putInt(total).putInt(days);
+            channel.write(header.flip(), 0);
+            channel.write(index.flip(), HEADER_SIZE);
+            channel.force(true);
+        } finally {
+            deflater.end();
+        }
+        return total;
+    }
+
+    Path file() {
+        return file;
+    }
+
+    YearMonth month() {
+        return month;
+    }
+
+    int rowCount() {
+        return rowCount;
+    }
+
+    /** 그날 행 수 (블록을 풀지 않음) */
+    int count(LocalDate date) {
+        return buffer.getInt(entry(date) + 16);
+    }
+
+    /** 그날 묶음 대표 기사 수 (블록을 풀지 않음. 버전 1 파일은 묶음이 없으므로 행 수와 같다) */
+    int countLeads(LocalDate date) {
+        return version == 1 ? count(date) : buffer.getInt(entry(date) + 24);
+    }
+
+    /**
+     * 그날 기사 전체를 PUB_DATE DESC, ID DESC 순으로 돌려준다.
+     */
+    List<Headline> read(LocalDate date) {
+        int entry = entry(date);
+        int rows = buffer.getInt(entry + 16);
+        if (rows == 0) {
+            return new ArrayList<>(0);
+        }
+        long offset = buffer.getLong(entry);
+        int compressedLength = buffer.getInt(entry + 8);
+        byte[] raw = new byte[buffer.getInt(entry + 12)];
+        Inflater inflater = new Inflater();
+        try {
+            inflater.setInput(buffer.slice((int) offset, compressedLength));
+            int read = 0;
+            while (read < raw.length && !inflater.finished()) {
+                read += inflater.inflate(raw, read, raw.length - read);
+            }
+            CRC32 crc = new CRC32();
+            crc.update(raw);
+            if (read != raw.length || (int) crc.getValue() != buffer.getInt(entry + 20)) {
+                throw new IllegalStateException("세그먼트 블록이 손상되었습니다: " + file + " " + date);
+            }
+            return decode(raw, rows, version);
+        } catch (DataFormatException | IOException e) {
+            throw new IllegalStateException("세그먼트 블록을 읽지 못했습니다: " + file + " " + date, e);
+        } finally {
+            inflater.end();
+        }
+    }
+
+    private int entry(LocalDate date) {
+        if (!YearMonth.from(date).equals(month)) {
+            throw new IllegalArgumentException(date + " 는 " + month + " 세그먼트 밖입니다.");
+        }
+        return HEADER_SIZE + (date.getDayOfMonth() - 1) * entrySize;
+    }
+
+    private static byte[] encode(List<Headline> rows) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(rows.size() * 256);
+        DataOutputStream out = new DataOutputStream(bytes);
+        for (Headline row : rows) {
+            out.writeLong(row.id());
+            out.writeLong(row.pubDate().toEpochSecond(ZoneOffset.UTC));
+            out.writeLong(row.clusterId());
+            out.writeUTF(Objects.toString(row.feedId(), ""));
+            out.writeUTF(Objects.toString(row.pressName(), ""));
+            out.writeUTF(Objects.toString(row.articleTitle(), ""));
+            out.writeUTF(Objects.toString(row.articleLink(), ""));
+        }
+        out.flush();
+        return bytes.toByteArray();
+    }
+
+    private static List<Headline> decode(byte[] raw, int rows, short version) throws IOException {
+        List<Headline> headlines = new ArrayList<>(rows);
+        DataInputStream in = new DataInputStream(new ByteArrayInputStream(raw));
+        for (int i = 0; i < rows; i++) {
+            long id = in.readLong();
+            LocalDateTime pubDate = LocalDateTime.ofEpochSecond(in.readLong(), 0, ZoneOffset.UTC);
+            long clusterId = version == 1 ? 0L : in.readLong();
+            String feedId = in.readUTF();
+            String pressName = in.readUTF();
+            String title = in.readUTF();
+            String link = in.readUTF();
+            headlines.add(new Headline(id, pubDate, pressName, title, link, feedId, clusterId));
+        }
+        return headlines;
+    }
+
+    private static byte[] deflate(Deflater deflater, byte[] raw) {
+        deflater.reset();
+        deflater.setInput(raw);
+        deflater.finish();
+        ByteArrayOutputStream out = new ByteArrayOutputStream(Math.max(64, raw.length / 3));
+        byte[] chunk = new byte[16 * 1024];
+        while (!deflater.finished()) {
+            out.write(chunk, 0, deflater.deflate(chunk));
+        }
+        return out.toByteArray();
+    }
+}
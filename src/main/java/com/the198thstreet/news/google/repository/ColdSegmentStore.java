@@ -0,0 +1,174 @@
+package com.the198thstreet.news.google.repository;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Repository;
+
+import com.the198thstreet.news.google.ArchiveColdProperties;
+import com.the198thstreet.news.google.model.Headline;
+
+import jakarta.annotation.PostConstruct;
+
+/**
+ * HEADLINE_NEWS 에서 옮겨 온 오래된 달을 로컬 디스크의 읽기 전용 세그먼트 파일({@link ColdSegment})로 보관하는 저장소.
+ * <p>
+ * - 기동 시 directory 의 headlines-yyyy-MM.seg 파일을 모두 메모리 매핑해 둔다. 쓰다 만 .tmp 파일은 지운다.
+ * - 새 세그먼트는 .tmp 로 다 쓴 뒤 이름을 바꿔(원자적 이동) 교체하므로, 읽는 쪽은 항상 완성된 파일만 본다.
+ * - 조회는 {@link HeadlineNewsRepository} 가 날짜가 세그먼트에 속하는지 보고 이쪽으로 보낸다.
+ */
+@Repository
+public class ColdSegmentStore {
+
+    private static final Logger log = LoggerFactory.getLogger(ColdSegmentStore.class);
+
+    private static final String PREFIX = "headlines-";
+    private static final String SUFFIX = ".seg";
+    private static final DateTimeFormatter MONTH_FORMATTER = DateTimeFormatter.ofPattern("yyyy-MM");
+
+    private final Path directory;
+
+    /** 달 → 세그먼트 */
+    private final NavigableMap<YearMonth, ColdSegment> segments = new ConcurrentSkipListMap<>();
+
+    public ColdSegmentStore(ArchiveColdProperties properties) {
+        this.directory = Paths.get(properties.getDirectory()).toAbsolutePath();
+    }
+
+    /**
+     * 디렉터리의 세그먼트 파일을 열어 둔다. 읽지 못한 파일은 경고만 남기고 건너뛴다.
+     */
+    @PostConstruct
+    public void load() throws IOException {
+        if (!Files.isDirectory(directory)) {
+            return;
+        }
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(directory, PREFIX + "*")) {
+            for (Path file : files) {
+                String name = file.getFileName().toString();
+                if (name.endsWith(".tmp")) {
+                    Files.deleteIfExists(file);
+                } else if (name.endsWith(SUFFIX)) {
+                    open(file);
+                }
+            }
+        }
+        if (!segments.isEmpty()) {
+            log.info("[콜드 보관] 세그먼트 {}개를 열었습니다. 기간={}~{} 디렉터리={}", segments.size(), segments.firstKey(),
+                    segments.lastKey(), directory);
+        }
+    }
+
+    /** 날짜가 세그먼트로 옮겨진 달에 속하는지 */
+    public boolean covers(LocalDate date) {
+        return segments.containsKey(YearMonth.from(date));
+    }
+
+    /** 세그먼트로 옮겨진 달 (오래된 순) */
+    public List<YearMonth> months() {
+        return new ArrayList<>(segments.keySet());
+    }
+
+    /** 세그먼트에 든 가장 오래된 날짜. 세그먼트가 없으면 null. */
+    public LocalDate oldestDate() {
+        Map.Entry<YearMonth, ColdSegment> first = segments.firstEntry();
+        return first == null ? null : first.getKey().atDay(1);
+    }
+
+    /**
+     * 그날 세그먼트에 든 묶음 대표 기사 수. feedId 가 없으면 색인만 읽는다.
+     */
+    public int countLeads(LocalDate date, String feedId) {
+        ColdSegment segment = segments.get(YearMonth.from(date));
+        if (segment == null) {
+            return 0;
+        }
+        return feedId == null ? segment.countLeads(date)
+                : (int) find(date, feedId).stream().filter(Headline::isClusterLead).count();
+    }
+
+    /**
+     * 그날 세그먼트에 든 기사를 PUB_DATE DESC, ID DESC 순으로 돌려준다.
+     *
+     * @param feedId 피드 ID (null 이면 전체)
+     */
+    public List<Headline> find(LocalDate date, String feedId) {
+        ColdSegment segment = segments.get(YearMonth.from(date));
+        if (segment == null) {
+            return new ArrayList<>(0);
+        }
+        List<Headline> rows = segment.read(date);
+        if (feedId != null) {
+            rows.removeIf(row -> !feedId.equals(row.feedId()));
+        }
+        return rows;
+    }
+
+    /**
+     * 모든 세그먼트의 기사를 하루치씩 오래된 달부터 넘긴다. (검색 색인 적재용)
+     */
+    public void forEachDay(Consumer<List<Headline>> consumer) {
+        for (ColdSegment segment : segments.values()) {
+            YearMonth month = segment.month();
+            for (int day = 1; day <= month.lengthOfMonth(); day++) {
+                if (segment.count(month.atDay(day)) > 0) {
+                    consumer.accept(segment.read(month.atDay(day)));
+                }
+            }
+        }
+    }
+
+    /**
+     * 한 달치 세그먼트를 새로 쓰고(이미 있으면 교체) 바로 조회에 쓰이도록 연다.
+     *
+     * @param rowsOfDay 날짜 → 그날 기사 (PUB_DATE DESC, ID DESC)
+     * @return 세그먼트에 쓴 행 수
+     */
+    public int write(YearMonth month, Function<LocalDate, List<Headline>> rowsOfDay) {
+        try {
+            Files.createDirectories(directory);
+            Path target = directory.resolve(PREFIX + month.format(MONTH_FORMATTER) + SUFFIX);
+            Path temp = directory.resolve(target.getFileName() + ".tmp");
+            int rows = ColdSegment.write(temp, month, rowsOfDay);
+            Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            target.toFile().setReadOnly();
+            open(target);
+            return rows;
+        } catch (IOException e) {
+            throw new UncheckedIOException("세그먼트를 쓰지 못했습니다: " + month, e);
+        }
+    }
+
+    private void open(Path file) {
+        String name = file.getFileName().toString();
+        try {
+            YearMonth expected = YearMonth.parse(name.substring(PREFIX.length(), name.length() - SUFFIX.length()),
+                    MONTH_FORMATTER);
+            ColdSegment segment = ColdSegment.open(file);
+            if (!segment.month().equals(expected)) {
+                throw new IOException("파일 이름과 세그먼트의 달이 다릅니다: " + segment.month());
+            }
+            segments.put(segment.month(), segment);
+        } catch (IOException | DateTimeParseException e) {
+            log.warn("[콜드 보관] 세그먼트 파일을 열지 못해 건너뜁니다. 파일={} 사유={}", file, e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,605 @@
+package com.the198thstreet.news.google.repository;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.channels.OverlappingFileLockException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.CRC32;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Repository;
+import org.springframework.util.StringUtils;
+
+import com.the198thstreet.news.google.ArchiveBackfillProperties;
+import com.the198thstreet.news.google.IngestJournalProperties;
+import com.the198thstreet.news.google.model.Headline;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+
+/**
+ * 수집한 기사를 DB 에 쓰기 전에 먼저 덧붙여 두는 로컬 저널. (메모리 매핑한 append-only 파일)
+ * <p>
+ * - 저널 위치는 처음부터 쌓인 바이트 수(position)로 센다. 파일(journal-&lt;시작 position&gt;.log)은 segmentSize 크기로 미리 만들어
+ *   매핑해 두고, 레코드가 남은 자리에 들어가지 않으면 다음 파일로 넘어간다. (남은 자리는 0 으로 둔다)
+ * - 레코드 = [payload 길이 int][CRC32 int][payload]. payload 와 CRC 를 먼저 쓰고 길이를 마지막에 써서, 쓰다 죽은 레코드는
+ *   길이가 0 이거나 CRC 가 맞지 않는다. 기동 시 이런 꼬리는 잘라 낸다.
+ *   payload = [형식 버전 byte][피드 ID][기사 수][기사마다 pubDate, 언론사, 제목, 링크]
+ * - DB 로 옮긴 위치는 journal.ack 파일에 적는다. (임시 파일 + 원자적 이동) 기동 시 그 뒤의 레코드를 다시 읽으므로,
+ *   DB 에 저장한 뒤 ack 전에 죽으면 같은 레코드를 한 번 더 저장하게 된다. 저장은 중복 기사를 거르므로 결과는 같다.
+ * - ack 위치보다 앞선 파일은 지운다. ack 되지 않은 크기가 maxPendingBytes 를 넘으면 덧붙이는 쪽이 기다린다.
+ * - 읽을 때도 CRC 를 다시 확인한다. 망가진 레코드는 corrupt-&lt;위치&gt;.rec 로 남기고 건너뛰어 뒤의 레코드가 막히지 않게 한다.
+ * - 열 때 디렉터리의 journal.lock 파일을 배타적으로 잠근다. 같은 디렉터리를 다른 프로세스가 쓰고 있으면 기동을 멈춘다.
+ *   (복구가 살아 있는 쪽이 쓰는 레코드를 꼬리로 보고 지우지 않게)
+ * - 백필 실행에서는 저널을 열지 않는다. (news.ingest.journal.enabled 와 무관)
+ * - 다시 해도 저장할 수 없는 기사는 {@link #deadLetter} 로 dead-letter.tsv 에 한 줄씩 적어 두고 넘어간다.
+ */
+@Repository
+public class HeadlineJournal {
+
+    private static final Logger log = LoggerFactory.getLogger(HeadlineJournal.class);
+
+    private static final String PREFIX = "journal-";
+    private static final String SUFFIX = ".log";
+    private static final String CHECKPOINT = "journal.ack";
+    private static final String DEAD_LETTER = "dead-letter.tsv";
+    private static final String LOCK = "journal.lock";
+
+    /** 레코드 머리 (길이 + CRC) */
+    private static final int RECORD_HEADER_SIZE = 8;
+
+    /**
+     * payload 형식 버전. payload 첫 바이트에 적는다. 다른 버전의 레코드는 풀지 않고 망가진 레코드처럼 따로 남긴다.
+     * (2: pubDate 원문 문자열을 뺌)
+     */
+    private static final int FORMAT_VERSION = 2;
+
+    /** 레코드 하나에 담는 최대 기사 수. 큰 피드는 여러 레코드로 나눈다. */
+    static final int MAX_ARTICLES_PER_RECORD = 500;
+
+    private final IngestJournalProperties properties;
+    private final Path directory;
+
+    /** 시작 position → 파일 (this 로 동기화) */
+    private final NavigableMap<Long, Segment> segments = new TreeMap<>();
+
+    /** 다음 레코드를 쓸 위치 (this 로 동기화) */
+    private long appendPosition;
+
+    /** DB 로 옮긴 위치 (this 로 동기화) */
+    private long ackPosition;
+
+    /** ack 되지 않은 레코드 수 (this 로 동기화) */
+    private int pendingRecords;
+
+    /** 읽다가 망가져 있어 건너뛴 레코드 누적 수 (this 로 동기화) */
+    private long corruptRecords;
+
+    private boolean opened;
+
+    /** journal.lock 파일의 잠금. 열려 있는 동안 쥐고 있다. (this 로 동기화) */
+    private FileLock lock;
+
+    /** news.ingest.journal.enabled 이고 백필 실행이 아닐 때만 true */
+    private final boolean enabled;
+
+    /**
+     * 백필 실행(news.archive.backfill.directory 가 있음)이면 저널을 쓰지 않는다.
+     * 백필 프로세스가 실행 중인 서버의 저널 디렉터리를 열거나 복구하지 않게 한다.
+     */
+    @Autowired
+    public HeadlineJournal(IngestJournalProperties properties, ArchiveBackfillProperties backfillProperties) {
+        this(properties, properties.isEnabled() && !StringUtils.hasText(backfillProperties.getDirectory()));
+        if (properties.isEnabled() && !enabled) {
+            log.info("[수집 저널] 백필 실행이라 저널을 쓰지 않습니다.");
+        }
+    }
+
+    public HeadlineJournal(IngestJournalProperties properties) {
+        this(properties, properties.isEnabled());
+    }
+
+    private HeadlineJournal(IngestJournalProperties properties, boolean enabled) {
+        this.properties = properties;
+        this.enabled = enabled;
+        this.directory = Paths.get(properties.getDirectory()).toAbsolutePath();
+    }
+
+    /** 수집 결과를 저널에 덧붙이는지. false 면 수집 스레드가 바로 저장한다. */
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * 저널 디렉터리를 잠그고 파일을 열어, 마지막으로 ack 한 위치부터 온전한 레코드를 세어 이어 쓸 위치를 정한다.
+     */
+    @PostConstruct
+    public synchronized void open() throws IOException {
+        if (!enabled || opened) {
+            return;
+        }
+        Files.createDirectories(directory);
+        lock();
+        try {
+            load();
+        } catch (IOException | RuntimeException e) {
+            close();
+            throw e;
+        }
+        log.info("[수집 저널] 저널을 열었습니다. DB 로 옮길 레코드={}건 ({}바이트) 디렉터리={}", pendingRecords,
+                appendPosition - ackPosition, directory);
+    }
+
+    /**
+     * 진행 중인 쓰기를 마치고 파일을 닫은 뒤 잠금을 푼다. 매핑은 GC 가 풀 때까지 남지만 더 이상 쓰지 않는다.
+     */
+    @PreDestroy
+    public synchronized void close() {
+        for (Segment segment : segments.values()) {
+            segment.close();
+        }
+        segments.clear();
+        opened = false;
+        if (lock != null) {
+            try {
+                lock.channel().close(); // 채널을 닫으면 잠금도 풀린다.
+            } catch (IOException e) {
+                log.warn("[수집 저널] 저널 잠금 파일을 닫지 못했습니다. 사유={}", e.getMessage());
+            }
+            lock = null;
+        }
+        notifyAll();
+    }
+
+    /**
+     * journal.lock 을 잠근다. 다른 프로세스(또는 같은 프로세스의 다른 저널)가 쥐고 있으면 {@link IllegalStateException}.
+     */
+    private void lock() throws IOException {
+        Path file = directory.resolve(LOCK);
+        FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.WRITE);
+        FileLock acquired;
+        try {
+            acquired = channel.tryLock();
+        } catch (OverlappingFileLockException e) {
+            acquired = null;
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+        if (acquired == null) {
+            channel.close();
+            throw new IllegalStateException("수집 저널 디렉터리를 다른 프로세스가 쓰고 있습니다. 디렉터리=" + directory
+                    + " (같은 news.ingest.journal.directory 로 두 번 띄웠다면 하나는 news.ingest.journal.enabled=false 로 띄우세요)");
+        }
+        lock = acquired;
+    }
+
+    /**
+     * 마지막으로 ack 한 위치와 저널 파일을 읽고, 온전한 레코드를 세어 이어 쓸 위치를 정한다.
+     */
+    private void load() throws IOException {
+        Files.deleteIfExists(directory.resolve(CHECKPOINT + ".tmp"));
+        Path checkpoint = directory.resolve(CHECKPOINT);
+        ackPosition = Files.exists(checkpoint)
+                ? Long.parseLong(Files.readString(checkpoint, StandardCharsets.US_ASCII).trim())
+                : 0L;
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(directory, PREFIX + "*" + SUFFIX)) {
+            for (Path file : files) {
+                String name = file.getFileName().toString();
+                long base = Long.parseLong(name.substring(PREFIX.length(), name.length() - SUFFIX.length()));
+                segments.put(base, Segment.open(file, base, 0));
+            }
+        }
+        while (segments.size() > 1 && segments.higherKey(segments.firstKey()) <= ackPosition) {
+            delete(segments.pollFirstEntry().getValue());
+        }
+        if (segments.isEmpty()) {
+            segments.put(ackPosition, Segment.open(segmentFile(ackPosition), ackPosition, properties.getSegmentSize()));
+        } else if (ackPosition < segments.firstKey()) {
+            log.warn("[수집 저널] ack 위치({})보다 뒤의 파일만 남아 있어 {} 부터 읽습니다.", ackPosition, segments.firstKey());
+            ackPosition = segments.firstKey();
+        }
+        opened = true;
+        recover();
+    }
+
+    /**
+     * 한 피드의 수집 결과를 덧붙인다. MAX_ARTICLES_PER_RECORD 건씩 레코드 하나가 된다.
+     * 저널이 가득 차 appendTimeout 안에 자리가 나지 않으면 {@link IllegalStateException} 을 던진다.
+     */
+    public void append(String feedId, List<Headline> articles) throws InterruptedException {
+        for (int from = 0; from < articles.size(); from += MAX_ARTICLES_PER_RECORD) {
+            appendRecord(encode(feedId, articles.subList(from, Math.min(from + MAX_ARTICLES_PER_RECORD, articles.size()))));
+        }
+    }
+
+    /**
+     * ack 위치 뒤의 레코드를 최대 maxRecords 개 읽는다. 읽을 레코드가 없으면 waitMillis 까지 기다린다.
+     * 읽기만 하므로 {@link #ack(Batch)} 하기 전까지는 같은 레코드가 다시 읽힌다.
+     * <p>
+     * CRC 가 맞지 않거나 풀 수 없는 레코드는 원본 바이트를 corrupt-&lt;위치&gt;.rec 로 따로 적고 건너뛴다. (묶음의 skipped 로 셈)
+     * 길이부터 망가져 다음 레코드 위치를 알 수 없으면 {@link IllegalStateException} 을 던진다. (운영자가 확인할 때까지 멈춤)
+     */
+    public Batch read(int maxRecords, long waitMillis) throws InterruptedException {
+        List<Long> positions = new ArrayList<>();
+        List<byte[]> payloads = new ArrayList<>();
+        List<Boolean> valid = new ArrayList<>();
+        long end;
+        synchronized (this) {
+            long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(waitMillis);
+            while (opened && appendPosition == ackPosition) {
+                long remaining = deadline - System.nanoTime();
+                if (remaining <= 0L) {
+                    break;
+                }
+                TimeUnit.NANOSECONDS.timedWait(this, remaining);
+            }
+            end = ackPosition;
+            while (opened && payloads.size() < maxRecords && end < appendPosition) {
+                Segment segment = segments.floorEntry(end).getValue();
+                int offset = (int) (end - segment.base);
+                int length = segment.lengthAt(offset);
+                if (length == 0) {
+                    end = segments.higherKey(segment.base);
+                    continue;
+                }
+                if (length < 0) {
+                    throw new IllegalStateException("수집 저널 위치 " + end + " 의 레코드 길이가 잘못되어 더 읽을 수 없습니다. 디렉터리="
+                            + directory);
+                }
+                positions.add(end);
+                payloads.add(segment.payloadAt(offset, length));
+                valid.add(segment.isValid(offset, length));
+                end += RECORD_HEADER_SIZE + length;
+            }
+        }
+        List<Entry> entries = new ArrayList<>(payloads.size());
+        int skipped = 0;
+        for (int i = 0; i < payloads.size(); i++) {
+            try {
+                if (!valid.get(i)) {
+                    throw new IOException("CRC 가 맞지 않습니다.");
+                }
+                entries.add(decode(payloads.get(i)));
+            } catch (IOException | RuntimeException e) {
+                setAside(positions.get(i), payloads.get(i), e);
+                skipped++;
+            }
+        }
+        return new Batch(entries, end, skipped);
+    }
+
+    /**
+     * 읽은 묶음을 DB 로 옮겼다고 기록한다. 다 옮긴 파일은 지우고, 자리를 기다리던 쪽을 깨운다.
+     */
+    public synchronized void ack(Batch batch) throws IOException {
+        if (batch.end() <= ackPosition) {
+            return;
+        }
+        Path temp = directory.resolve(CHECKPOINT + ".tmp");
+        Files.writeString(temp, Long.toString(batch.end()), StandardCharsets.US_ASCII);
+        Files.move(temp, directory.resolve(CHECKPOINT), StandardCopyOption.REPLACE_EXISTING,
+                StandardCopyOption.ATOMIC_MOVE);
+        ackPosition = batch.end();
+        pendingRecords = Math.max(pendingRecords - batch.entries().size() - batch.skipped(), 0);
+        while (segments.size() > 1 && segments.higherKey(segments.firstKey()) <= ackPosition) {
+            delete(segments.pollFirstEntry().getValue());
+        }
+        notifyAll();
+    }
+
+    /**
+     * 저장할 수 없는 기사를 dead-letter.tsv 에 덧붙인다. (피드 ID, pubDate, 언론사, 제목, 링크, 사유를 탭으로 구분)
+     * 원인을 고친 뒤 운영자가 확인해 다시 넣을 수 있게 남겨 두는 것이며, 저널과 달리 다시 읽지 않는다.
+     */
+    public synchronized void deadLetter(String feedId, Headline article, String reason) throws IOException {
+        String line = String.join("\t", feedId, String.valueOf(article.pubDate()), tsv(article.pressName()),
+                tsv(article.articleTitle()), tsv(article.articleLink()), tsv(reason)) + "\n";
+        Files.createDirectories(directory);
+        Files.writeString(directory.resolve(DEAD_LETTER), line, StandardCharsets.UTF_8, StandardOpenOption.CREATE,
+                StandardOpenOption.APPEND);
+    }
+
+    /** 읽다가 망가져 있어 건너뛴 레코드 누적 수 */
+    public synchronized long corruptRecords() {
+        return corruptRecords;
+    }
+
+    /** DB 로 옮기지 못한 레코드 수 */
+    public synchronized int pendingRecords() {
+        return pendingRecords;
+    }
+
+    /** DB 로 옮기지 못한 바이트 수 */
+    public synchronized long pendingBytes() {
+        return appendPosition - ackPosition;
+    }
+
+    private synchronized void appendRecord(byte[] payload) throws InterruptedException {
+        if (!opened) {
+            throw new IllegalStateException("수집 저널이 열려 있지 않습니다.");
+        }
+        int size = RECORD_HEADER_SIZE + payload.length;
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(properties.getAppendTimeout());
+        while (appendPosition - ackPosition + size > properties.getMaxPendingBytes() && appendPosition > ackPosition) {
+            long remaining = deadline - System.nanoTime();
+            if (remaining <= 0L) {
+                throw new IllegalStateException("수집 저널이 가득 찼습니다. DB 로 옮기지 못한 크기=" + (appendPosition - ackPosition));
+            }
+            TimeUnit.NANOSECONDS.timedWait(this, remaining);
+            if (!opened) {
+                throw new IllegalStateException("수집 저널이 닫혔습니다.");
+            }
+        }
+        Segment segment = segments.lastEntry().getValue();
+        int offset = (int) (appendPosition - segment.base);
+        if ((long) offset + size > segment.capacity()) {
+            long base = segment.base + segment.capacity();
+            try {
+                segment = Segment.open(segmentFile(base), base, Math.max(properties.getSegmentSize(), size));
+            } catch (IOException e) {
+                throw new UncheckedIOException("수집 저널 파일을 만들지 못했습니다.", e);
+            }
+            segments.put(base, segment);
+            appendPosition = base;
+            offset = 0;
+        }
+        segment.write(offset, payload, properties.isForce());
+        appendPosition += size;
+        pendingRecords++;
+        notifyAll();
+    }
+
+    /**
+     * ack 위치부터 온전한 레코드를 따라가 이어 쓸 위치를 찾고, 그 뒤(쓰다 만 레코드)는 0 으로 지운다.
+     */
+    private void recover() throws IOException {
+        long position = ackPosition;
+        int records = 0;
+        while (true) {
+            Segment segment = segments.floorEntry(position).getValue();
+            int offset = (int) (position - segment.base);
+            int length = segment.lengthAt(offset);
+            if (length == 0) {
+                Long next = segments.higherKey(segment.base);
+                if (next == null) {
+                    break;
+                }
+                position = next;
+                continue;
+            }
+            if (!segment.isValid(offset, length)) {
+                log.warn("[수집 저널] 위치 {} 의 레코드가 온전하지 않아 그 뒤를 버립니다. (쓰는 중 종료)", position);
+                break;
+            }
+            position += RECORD_HEADER_SIZE + length;
+            records++;
+        }
+        Segment tail = segments.floorEntry(position).getValue();
+        tail.clearFrom((int) (position - tail.base));
+        while (segments.lastKey() > tail.base) {
+            delete(segments.pollLastEntry().getValue());
+        }
+        appendPosition = position;
+        pendingRecords = records;
+    }
+
+    /**
+     * 읽을 수 없는 레코드의 payload 를 corrupt-&lt;위치&gt;.rec 로 남긴다. ack 전에 죽어 다시 읽혀도 같은 파일에 덮어쓴다.
+     */
+    private synchronized void setAside(long position, byte[] payload, Exception cause) {
+        corruptRecords++;
+        Path file = directory.resolve(String.format("corrupt-%020d.rec", position));
+        try {
+            Files.write(file, payload);
+        } catch (IOException e) {
+            log.warn("[수집 저널] 망가진 레코드를 파일로 남기지 못했습니다. 파일={} 사유={}", file, e.getMessage());
+        }
+        log.error("[수집 저널] 위치 {} 의 레코드를 읽을 수 없어 건너뜁니다. ({}바이트, {} 에 남김) 사유={}", position,
+                payload.length, file.getFileName(), cause.getMessage());
+    }
+
+    private Path segmentFile(long base) {
+        return directory.resolve(String.format("%s%020d%s", PREFIX, base, SUFFIX));
+    }
+
+    private void delete(Segment segment) {
+        segment.close();
+        try {
+            Files.deleteIfExists(segment.file);
+        } catch (IOException e) {
+            log.warn("[수집 저널] 다 옮긴 저널 파일을 지우지 못했습니다. 파일={} 사유={}", segment.file, e.getMessage());
+        }
+    }
+
+    private static byte[] encode(String feedId, List<Headline> articles) {
+        try {
+            ByteArrayOutputStream bytes = new ByteArrayOutputStream(64 + articles.size() * 256);
+            DataOutputStream out = new DataOutputStream(bytes);
+            out.writeByte(FORMAT_VERSION);
+            out.writeUTF(feedId);
+            out.writeInt(articles.size());
+            for (Headline article : articles) {
+                out.writeLong(article.pubDate().toEpochSecond(ZoneOffset.UTC));
+                out.writeInt(article.pubDate().getNano());
+                writeNullable(out, article.pressName());
+                writeNullable(out, article.articleTitle());
+                writeNullable(out, article.articleLink());
+            }
+            out.flush();
+            return bytes.toByteArray();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static Entry decode(byte[] payload) throws IOException {
+        DataInputStream in = new DataInputStream(new ByteArrayInputStream(payload));
+        int version = in.readUnsignedByte();
+        if (version != FORMAT_VERSION) {
+            throw new IOException("레코드 형식 버전이 다릅니다. version=" + version);
+        }
+        String feedId = in.readUTF();
+        int count = in.readInt();
+        if (count < 0 || count > MAX_ARTICLES_PER_RECORD) {
+            throw new IOException("기사 수가 잘못되었습니다. count=" + count);
+        }
+        List<Headline> articles = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            LocalDateTime pubDate = LocalDateTime.ofEpochSecond(in.readLong(), in.readInt(), ZoneOffset.UTC);
+            articles.add(Headline.parsed(pubDate, readNullable(in), readNullable(in),
+                    readNullable(in)));
+        }
+        return new Entry(feedId, articles);
+    }
+
+    private static String tsv(String value) {
+        return value == null ? "" : value.replace('\t', ' ').replace('\n', ' ').replace('\r', ' ');
+    }
+
+    private static void writeNullable(DataOutputStream out, String value) throws IOException {
+        out.writeBoolean(value != null);
+        if (value != null) {
+            out.writeUTF(value);
+        }
+    }
+
+    private static String readNullable(DataInputStream in) throws IOException {
+        return in.readBoolean() ? in.readUTF() : null;
+    }
+
+    /**
+     * 한 번에 읽은 레코드와, 모두 옮겼을 때 ack 할 위치.
+     *
+     * @param skipped 망가져 있어 건너뛴 레코드 수 (end 에는 포함되므로 ack 하면 다시 읽지 않는다)
+     */
+    public record Batch(List<Entry> entries, long end, int skipped) {
+
+        /** 옮길 레코드도, ack 로 넘길 건너뛴 레코드도 없으면 true */
+        public boolean isEmpty() {
+            return entries.isEmpty() && skipped == 0;
+        }
+    }
+
+    /**
+     * 레코드 하나 = 피드 하나의 수집 결과 (일부).
+     */
+    public record Entry(String feedId, List<Headline> articles) {
+    }
+
+    /**
+     * 저널 파일 하나. 파일 전체를 읽기/쓰기로 매핑해 둔다.
+     */
+    private static final class Segment {
+
+        private final Path file;
+        private final long base;
+        private final FileChannel channel;
+        private final MappedByteBuffer buffer;
+
+        private Segment(Path file, long base, FileChannel channel, MappedByteBuffer buffer) {
+            this.file = file;
+            this.base = base;
+            this.channel = channel;
+            this.buffer = buffer;
+        }
+
+        /**
+         * 파일을 연다. 없으면 size 크기로 만든다. (size 가 0 이면 기존 파일 크기 그대로)
+         */
+        static Segment open(Path file, long base, int size) throws IOException {
+            FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.READ,
+                    StandardOpenOption.WRITE);
+            try {
+                long capacity = Math.max(channel.size(), size);
+                return new Segment(file, base, channel, channel.map(FileChannel.MapMode.READ_WRITE, 0, capacity));
+            } catch (IOException | RuntimeException e) {
+                channel.close();
+                throw e;
+            }
+        }
+
+        int capacity() {
+            return buffer.capacity();
+        }
+
+        /** offset 의 레코드 길이. 머리가 들어갈 자리도 없으면 0 */
+        int lengthAt(int offset) {
+            if (offset + RECORD_HEADER_SIZE > buffer.capacity()) {
+                return 0;
+            }
+            int length = buffer.getInt(offset);
+            return length < 0 || offset + RECORD_HEADER_SIZE + (long) length > buffer.capacity() ? -1 : length;
+        }
+
+        boolean isValid(int offset, int length) {
+            if (length < 0) {
+                return false;
+            }
+            CRC32 crc = new CRC32();
+            crc.update(buffer.slice(offset + RECORD_HEADER_SIZE, length));
+            return (int) crc.getValue() == buffer.getInt(offset + 4);
+        }
+
+        byte[] payloadAt(int offset, int length) {
+            byte[] payload = new byte[length];
+            buffer.get(offset + RECORD_HEADER_SIZE, payload);
+            return payload;
+        }
+
+        /**
+         * CRC 와 payload 를 쓴 뒤 길이를 마지막에 쓴다.
+         */
+        void write(int offset, byte[] payload, boolean force) {
+            CRC32 crc = new CRC32();
+            crc.update(payload);
+            buffer.put(offset + RECORD_HEADER_SIZE, payload);
+            buffer.putInt(offset + 4, (int) crc.getValue());
+            if (force) {
+                buffer.force(offset + 4, payload.length + 4);
+            }
+            buffer.putInt(offset, payload.length);
+            if (force) {
+                buffer.force(offset, 4);
+            }
+        }
+
+        void clearFrom(int offset) {
+            for (int i = offset; i < buffer.capacity(); i++) {
+                if (buffer.get(i) != 0) {
+                    buffer.put(i, (byte) 0);
+                }
+            }
+        }
+
+        void close() {
+            try {
+                channel.close();
+            } catch (IOException ignored) {
+                // 매핑은 채널과 무관하게 유지되므로 닫기 실패는 무시한다.
+            }
+        }
+    }
+}
@@ -1,117 +1,736 @@
 package com.the198thstreet.news.google.repository;
 
+import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.sql.Timestamp;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.LocalTime;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
 import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.function.Consumer;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.ArgumentPreparedStatementSetter;
 import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.PreparedStatementCallback;
+import org.springframework.jdbc.core.RowCallbackHandler;
 import org.springframework.jdbc.core.RowMapper;
+import org.springframework.jdbc.support.GeneratedKeyHolder;
+import org.springframework.jdbc.support.KeyHolder;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.the198thstreet.news.google.GoogleNewsProperties;
+import com.the198thstreet.news.google.model.Headline;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 
 /**
  * HEADLINE_NEWS 테이블에 접근하기 위한 단순 JdbcTemplate 기반 저장소.
  * <p>
- * 복잡한 JPA 엔티티를 쓰지 않고, 모든 입출력은 {@code Map<String, Object>}로 주고받는다.
- * 기사 저장 전 중복을 확인하고, 날짜 범위 검색과 총 건수 조회도 모두 Map 기반으로 제공한다.
+ * 복잡한 JPA 엔티티를 쓰지 않고, 모든 입출력은 불변 레코드 {@link Headline} 으로 주고받는다.
+ * 기사 저장 전 중복을 확인하고, 날짜 범위 검색과 총 건수 조회를 제공한다.
+ * 기사는 수집한 피드(FEED_ID)별로 저장되며, 조회 메서드의 feedId 가 null 이면 모든 피드를 대상으로 한다.
+ * 날짜별 목록/건수/커서 조회는 같은 사건 묶음(CLUSTER_ID)의 대표 기사만 대상으로 하고,
+ * 묶음에 속한 나머지 기사는 {@link #findClusterMembers} 로 따로 읽는다.
+ * 언론사는 행에 PRESS_ID 만 두고 {@link PressDictionary} 로 이름과 바꾼다.
+ * <p>
+ * 조회 메서드마다 {@code news.repository.query} 타이머(query 태그)로 소요 시간을 기록하고,
+ * 묶음 저장은 피드별 {@code news.ingest.phase} 타이머에 중복 확인(dedup)과 저장(insert) 단계를 나눠 기록한다.
+ * <p>
+ * 세그먼트 파일로 옮겨진 달({@link ColdSegmentStore})의 날짜는 같은 메서드가 세그먼트에서 읽는다.
+ * 옮긴 뒤 늦게 들어와 테이블에 남은 기사가 있으면 ID 기준으로 합쳐서 돌려주므로, 호출하는 쪽은 차이를 알 필요가 없다.
  */
 @Repository
 public class HeadlineNewsRepository {
 
     private static final Logger log = LoggerFactory.getLogger(HeadlineNewsRepository.class);
 
+    private static final String INSERT_SQL = "INSERT INTO HEADLINE_NEWS (PUB_DATE, ARTICLE_TITLE, ARTICLE_LINK, PRESS_ID, FEED_ID) "
+            + "VALUES (?, ?, ?, ?, ?)";
+
+    private static final String SELECT_COLUMNS = "SELECT ID, PUB_DATE, PRESS_ID, ARTICLE_TITLE, ARTICLE_LINK, FEED_ID, CLUSTER_ID ";
+
+    /** 묶음 대표 기사(또는 묶이지 않은 기사)만 남기는 조건 */
+    private static final String LEADS_ONLY = "AND CLUSTER_ID IS NULL ";
+
+    private static final String UPDATE_CLUSTER_SQL = "UPDATE HEADLINE_NEWS SET CLUSTER_ID = ? WHERE ID = ?";
+
+    /** 한 번의 존재 확인 SELECT 에 넣을 (ARTICLE_LINK, PUB_DATE) 키 개수 */
+    private static final int PROBE_CHUNK_SIZE = 200;
+
+    /** JDBC batch 한 번에 전송할 INSERT 건수 */
+    private static final int INSERT_BATCH_SIZE = 100;
+
+    /** 조회 결과 기본 순서 (PUB_DATE DESC, ID DESC) */
+    private static final Comparator<Headline> NEWEST_FIRST = Comparator.comparing(Headline::pubDate)
+            .thenComparingLong(Headline::id).reversed();
+
     private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final MeterRegistry meterRegistry;
 
-    public HeadlineNewsRepository(JdbcTemplate jdbcTemplate) {
+    /** 오래된 달의 세그먼트 저장소 (없으면 null, 모든 날짜를 테이블에서 읽음) */
+    private final ColdSegmentStore coldStore;
+
+    /** 언론사 이름 ↔ PRESS_ID 사전 */
+    private final PressDictionary pressDictionary;
+
+    /** 언론사 이름은 사전으로 바꾸므로 사전을 쥔 RowMapper 하나를 공유한다. */
+    private final RowMapper<Headline> headlineRowMapper;
+
+    private final Timer countTimer;
+    private final Timer findByDateTimer;
+    private final Timer findAllByDateTimer;
+    private final Timer olderThanTimer;
+    private final Timer newerThanTimer;
+    private final Timer newestTimer;
+    private final Timer afterIdTimer;
+    private final Timer exportTimer;
+    private final Timer clusterMembersTimer;
+
+    public HeadlineNewsRepository(JdbcTemplate jdbcTemplate, TransactionTemplate transactionTemplate,
+            MeterRegistry meterRegistry) {
+        this(jdbcTemplate, transactionTemplate, meterRegistry, null);
+    }
+
+    public HeadlineNewsRepository(JdbcTemplate jdbcTemplate, TransactionTemplate transactionTemplate,
+            MeterRegistry meterRegistry, ColdSegmentStore coldStore) {
+        this(jdbcTemplate, transactionTemplate, meterRegistry, coldStore, new PressDictionary(jdbcTemplate));
+    }
+
+    @Autowired
+    public HeadlineNewsRepository(JdbcTemplate jdbcTemplate, TransactionTemplate transactionTemplate,
+            MeterRegistry meterRegistry, ColdSegmentStore coldStore, PressDictionary pressDictionary) {
         this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.meterRegistry = meterRegistry;
+        this.coldStore = coldStore;
+        this.pressDictionary = pressDictionary;
+        this.headlineRowMapper = new HeadlineRowMapper(pressDictionary);
+        this.countTimer = queryTimer("countByDate");
+        this.findByDateTimer = queryTimer("findByDate");
+        this.findAllByDateTimer = queryTimer("findAllByDate");
+        this.olderThanTimer = queryTimer("findByDateOlderThan");
+        this.newerThanTimer = queryTimer("findByDateNewerThan");
+        this.newestTimer = queryTimer("findNewestPubDates");
+        this.afterIdTimer = queryTimer("findAfterId");
+        this.exportTimer = queryTimer("streamByDateRange");
+        this.clusterMembersTimer = queryTimer("findClusterMembers");
     }
 
     /**
-     * ARTICLE_LINK + PUB_DATE 조합이 이미 존재하는지 확인한다.
+     * 피드에 ARTICLE_LINK + PUB_DATE 조합이 이미 존재하는지 확인한다. (콜드 세그먼트로 옮긴 날짜 포함)
+     * 수집 경로의 중복 확인은 {@link #insertHeadlines(String, List)} 가 묶음으로 하므로, 이 메서드는 한 건을 따로 확인할 때 쓴다.
      * <p>
-     * 입력: 기사 원문 링크, 기준 일시(LocalDateTime)
+     * 입력: 피드 ID, 기사 원문 링크, 기준 일시(LocalDateTime)
      * 반환: 이미 저장된 데이터가 있으면 true, 없으면 false
      */
-    public boolean existsByLinkAndPubDate(String articleLink, LocalDateTime pubDate) {
-        String sql = "SELECT COUNT(1) FROM HEADLINE_NEWS WHERE ARTICLE_LINK = ? AND PUB_DATE = ?";
-        Integer count = jdbcTemplate.queryForObject(sql, Integer.class, articleLink, Timestamp.valueOf(pubDate));
-        boolean exists = count != null && count > 0;
+    public boolean existsByLinkAndPubDate(String feedId, String articleLink, LocalDateTime pubDate) {
+        String sql = "SELECT COUNT(1) FROM HEADLINE_NEWS WHERE ARTICLE_LINK = ? AND PUB_DATE = ? AND FEED_ID = ?";
+        Integer count = jdbcTemplate.queryForObject(sql, Integer.class, articleLink, Timestamp.valueOf(pubDate),
+                feedId);
+        boolean exists = (count != null && count > 0) || (isArchived(pubDate.toLocalDate())
+                && coldStore.find(pubDate.toLocalDate(), feedId).stream()
+                        .anyMatch(row -> row.pubDate().equals(pubDate) && row.articleLink().equals(articleLink)));
         if (exists) {
-            log.debug("[중복 확인] 이미 저장된 기사 - link={}, pubDate={}", articleLink, pubDate);
+            log.debug("[중복 확인] 이미 저장된 기사 - feed={}, link={}, pubDate={}", feedId, articleLink, pubDate);
         }
         return exists;
     }
 
     /**
-     * 파싱된 기사 한 건을 HEADLINE_NEWS 테이블에 저장한다.
+     * 파싱된 기사 한 건을 HEADLINE_NEWS 테이블에 저장한다. (pubDate 는 NOT NULL, feedId 가 없으면 기본 피드)
+     */
+    public void insertHeadline(Headline article) {
+        jdbcTemplate.update(INSERT_SQL,
+                Timestamp.valueOf(article.pubDate()),
+                article.articleTitle(),
+                article.articleLink(),
+                pressDictionary.idOf(article.pressName()),
+                feedIdOf(article));
+    }
+
+    /**
+     * 기본 피드({@link GoogleNewsProperties#DEFAULT_FEED_ID})로 {@link #insertHeadlines(String, List)} 를 호출한다.
+     */
+    public BatchInsertResult insertHeadlines(List<Headline> articles) {
+        return insertHeadlines(GoogleNewsProperties.DEFAULT_FEED_ID, articles);
+    }
+
+    /**
+     * 한 번의 수집 주기에서 파싱된 기사 목록을 묶음으로 저장한다.
      * <p>
-     * 기대하는 Map 키
-     * - pubDate      : LocalDateTime (NOT NULL)
-     * - pubDateRaw   : String (원문 pubDate)
-     * - articleTitle : String
-     * - articleLink  : String
-     * - pressName    : String
-     */
-    public void insertHeadline(Map<String, Object> article) {
-        String sql = "INSERT INTO HEADLINE_NEWS (PUB_DATE, PUB_DATE_RAW, ARTICLE_TITLE, ARTICLE_LINK, PRESS_NAME) "
-                + "VALUES (?, ?, ?, ?, ?)";
-        jdbcTemplate.update(sql,
-                Timestamp.valueOf((LocalDateTime) article.get("pubDate")),
-                article.get("pubDateRaw"),
-                article.get("articleTitle"),
-                article.get("articleLink"),
-                article.get("pressName"));
-    }
-
-    /**
-     * 지정한 날짜(00:00:00~23:59:59) 범위에 포함되는 총 기사 건수를 구한다.
+     * 기사마다 SELECT COUNT + INSERT 를 반복하던 방식 대신 아래 순서로 처리해 왕복 횟수를 줄인다.
+     * 1) 입력 목록 안에서 ARTICLE_LINK + PUB_DATE 가 겹치는 기사를 먼저 걸러낸다.
+     * 2) {@code ARTICLE_LINK IN (?, ...)} 한 번으로 이미 저장된 키를 조회한다. (PROBE_CHUNK_SIZE 단위)
+     * 3) 남은 기사만 JDBC batch INSERT 로 저장한다.
+     * <p>
+     * 중복 여부는 같은 피드 안에서만 따진다. (같은 기사가 여러 피드에 실리면 피드마다 한 건씩 저장된다)
+     * 조회와 저장 사이에 다른 인스턴스가 같은 기사를 넣으면 UX_HEADLINE_NEWS 위반이 발생할 수 있으므로,
+     * 그때만 한 건씩 저장하며 중복 기사를 스킵한다. H2 와 MariaDB/MySQL 모두에서 동작하는 표준 SQL 만 사용한다.
+     *
+     * @param feedId   기사를 수집한 피드 ID
+     * @param articles 파싱된 기사 목록
+     * @return 실제 저장 건수와 중복으로 스킵된 건수, 실제로 저장된 기사 목록 (id/feedId 가 채워짐)
+     */
+    public BatchInsertResult insertHeadlines(String feedId, List<Headline> articles) {
+        if (articles == null || articles.isEmpty()) {
+            return new BatchInsertResult(0, 0, List.of());
+        }
+
+        // 1. 같은 피드 안에서 반복되는 기사는 첫 번째 것만 남긴다.
+        Map<String, Headline> unique = new LinkedHashMap<>();
+        for (Headline article : articles) {
+            unique.putIfAbsent(dedupKey(article.articleLink(), article.pubDate()), article.withFeedId(feedId));
+        }
+
+        // 2. 이미 저장된 키를 묶음 조회로 확인한다.
+        Set<String> existing = phaseTimer(feedId, "dedup")
+                .record(() -> findExistingKeys(feedId, new ArrayList<>(unique.values())));
+        List<Headline> toInsert = new ArrayList<>(unique.size());
+        unique.forEach((key, article) -> {
+            if (!existing.contains(key)) {
+                toInsert.add(article);
+            }
+        });
+
+        // 3. 새 기사만 batch INSERT 한다.
+        List<Headline> inserted = phaseTimer(feedId, "insert").record(() -> batchInsert(toInsert));
+        int skipped = articles.size() - inserted.size();
+        log.debug("[일괄 저장] 입력={}건, 저장={}건, 중복 스킵={}건", articles.size(), inserted.size(), skipped);
+        return new BatchInsertResult(inserted.size(), skipped, inserted);
+    }
+
+    /**
+     * 기사 목록 중 피드에 이미 존재하는 (ARTICLE_LINK, PUB_DATE) 키를 dedupKey 형태로 돌려준다.
+     * <p>
+     * 링크로만 찾아 UX_HEADLINE_NEWS 의 첫 컬럼으로 바로 찾아가게 한다. (H2 는 (ARTICLE_LINK, PUB_DATE) 행 값 IN 에 인덱스를 쓰지 않아
+     * 피드의 기사를 모두 훑는다) 같은 링크의 다른 PUB_DATE 행도 돌아오지만, 호출한 쪽은 입력 기사의 키만 확인하므로 상관없다.
+     */
+    private Set<String> findExistingKeys(String feedId, List<Headline> articles) {
+        Set<String> existing = new HashSet<>();
+        for (int from = 0; from < articles.size(); from += PROBE_CHUNK_SIZE) {
+            List<Headline> chunk = articles.subList(from, Math.min(from + PROBE_CHUNK_SIZE, articles.size()));
+            Set<String> links = new LinkedHashSet<>();
+            chunk.forEach(article -> links.add(article.articleLink()));
+            StringBuilder sql = new StringBuilder(
+                    "SELECT ARTICLE_LINK, PUB_DATE FROM HEADLINE_NEWS WHERE FEED_ID = ? AND ARTICLE_LINK IN (");
+            List<Object> params = new ArrayList<>(links.size() + 1);
+            params.add(feedId);
+            for (String link : links) {
+                sql.append(params.size() == 1 ? "?" : ", ?");
+                params.add(link);
+            }
+            sql.append(')');
+            jdbcTemplate.query(sql.toString(), rs -> {
+                existing.add(dedupKey(rs.getString("ARTICLE_LINK"), rs.getTimestamp("PUB_DATE").toLocalDateTime()));
+            }, params.toArray());
+        }
+        addArchivedKeys(feedId, articles, existing);
+        return existing;
+    }
+
+    /**
+     * 세그먼트로 옮겨진 날짜의 기사는 세그먼트에서도 키를 찾아 existing 에 더한다. 날짜마다 블록을 한 번만 푼다.
+     */
+    private void addArchivedKeys(String feedId, List<Headline> articles, Set<String> existing) {
+        if (coldStore == null) {
+            return;
+        }
+        Map<LocalDate, Set<String>> archivedKeys = new HashMap<>();
+        for (Headline article : articles) {
+            LocalDate date = article.pubDate().toLocalDate();
+            if (!coldStore.covers(date)) {
+                continue;
+            }
+            Set<String> keys = archivedKeys.computeIfAbsent(date, day -> {
+                Set<String> dayKeys = new HashSet<>();
+                coldStore.find(day, feedId).forEach(row -> dayKeys.add(dedupKey(row.articleLink(), row.pubDate())));
+                return dayKeys;
+            });
+            String key = dedupKey(article.articleLink(), article.pubDate());
+            if (keys.contains(key)) {
+                existing.add(key);
+            }
+        }
+    }
+
+    /**
+     * JDBC batch 로 기사를 저장하고 실제로 저장된 기사 목록을 생성된 ID 를 채워 돌려준다.
+     * batch 는 하나의 트랜잭션으로 묶어, 동시 저장으로 UNIQUE 위반이 나면 전체를 롤백한 뒤
+     * 한 건씩 다시 저장하며 중복만 건너뛴다. (일부만 커밋되어 건수가 어긋나는 일을 막기 위함)
+     */
+    private List<Headline> batchInsert(List<Headline> articles) {
+        if (articles.isEmpty()) {
+            return List.of();
+        }
+        // 처음 보는 언론사는 INSERT 전에 한 번에 PRESS 에 등록해, 바인딩할 때는 사전에서 ID 만 읽게 한다.
+        pressDictionary.registerAll(articles.stream().map(Headline::pressName).toList());
+        try {
+            // PreparedStatement 하나로 INSERT_BATCH_SIZE 건씩 보내고, 보낼 때마다 생성된 ID 를 읽는다.
+            return transactionTemplate.execute(status -> jdbcTemplate.execute(
+                    con -> con.prepareStatement(INSERT_SQL, new String[] { "ID" }),
+                    (PreparedStatementCallback<List<Headline>>) ps -> {
+                        List<Headline> inserted = new ArrayList<>(articles.size());
+                        for (int from = 0; from < articles.size(); from += INSERT_BATCH_SIZE) {
+                            List<Headline> chunk = articles.subList(from,
+                                    Math.min(from + INSERT_BATCH_SIZE, articles.size()));
+                            for (Headline article : chunk) {
+                                bindInsert(ps, article);
+                                ps.addBatch();
+                            }
+                            ps.executeBatch();
+                            try (ResultSet keys = ps.getGeneratedKeys()) {
+                                for (Headline article : chunk) {
+                                    inserted.add(article.withId(keys.next() ? keys.getLong(1) : 0L));
+                                }
+                            }
+                        }
+                        return inserted;
+                    }));
+        } catch (DuplicateKeyException race) {
+            log.warn("[일괄 저장] 다른 수집기와 동시에 저장되어 한 건씩 다시 저장합니다. 사유={}", race.getMessage());
+            List<Headline> inserted = new ArrayList<>(articles.size());
+            for (Headline article : articles) {
+                try {
+                    KeyHolder key = new GeneratedKeyHolder();
+                    jdbcTemplate.update(con -> {
+                        PreparedStatement ps = con.prepareStatement(INSERT_SQL, new String[] { "ID" });
+                        bindInsert(ps, article);
+                        return ps;
+                    }, key);
+                    Number id = key.getKey();
+                    inserted.add(article.withId(id == null ? 0L : id.longValue()));
+                } catch (DuplicateKeyException duplicate) {
+                    log.debug("[중복 확인] 이미 저장된 기사 - link={}", article.articleLink());
+                }
+            }
+            return inserted;
+        }
+    }
+
+    /**
+     * INSERT 파라미터를 채운다. 처음 보는 언론사는 여기서 PRESS 에 등록된다.
+     */
+    private void bindInsert(PreparedStatement ps, Headline article) throws SQLException {
+        ps.setTimestamp(1, Timestamp.valueOf(article.pubDate()));
+        ps.setString(2, article.articleTitle());
+        ps.setString(3, article.articleLink());
+        ps.setInt(4, pressDictionary.idOf(article.pressName()));
+        ps.setString(5, feedIdOf(article));
+    }
+
+    /**
+     * 묶음에 들어간 기사의 CLUSTER_ID 를 대표 기사 ID 로 채운다. clusterId 가 0 인 기사는 건너뛴다.
+     *
+     * @return 갱신한 행 수
+     */
+    public int updateClusterIds(List<Headline> headlines) {
+        List<Headline> members = headlines.stream().filter(headline -> !headline.isClusterLead()).toList();
+        if (members.isEmpty()) {
+            return 0;
+        }
+        jdbcTemplate.batchUpdate(UPDATE_CLUSTER_SQL, members, INSERT_BATCH_SIZE, (ps, member) -> {
+            ps.setLong(1, member.clusterId());
+            ps.setLong(2, member.id());
+        });
+        return members.size();
+    }
+
+    private Timer queryTimer(String query) {
+        return Timer.builder("news.repository.query")
+                .description("HEADLINE_NEWS 조회 소요 시간")
+                .tag("query", query)
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+    }
+
+    private Timer phaseTimer(String feedId, String phase) {
+        return Timer.builder("news.ingest.phase")
+                .description("피드 수집 단계별 소요 시간")
+                .tags("feed", feedId, "phase", phase, "outcome", "ok")
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+    }
+
+    private static String dedupKey(String articleLink, LocalDateTime pubDate) {
+        return articleLink + '|' + pubDate;
+    }
+
+    private static String feedIdOf(Headline article) {
+        return article.feedId() != null ? article.feedId() : GoogleNewsProperties.DEFAULT_FEED_ID;
+    }
+
+    /**
+     * 지정한 날짜(00:00:00~23:59:59) 범위에 포함되는 묶음 대표 기사 건수(= 목록 조회의 총 줄 수)를 구한다.
      * <p>
      * LocalDate 를 받으면 내부에서 해당 일자의 시작~끝 시각을 계산해 BETWEEN 조건을 만든다.
+     * feedId 가 있으면 그 피드의 기사만 센다.
      */
-    public int countByDate(LocalDate date) {
-        LocalDateTime start = date.atStartOfDay();
-        LocalDateTime end = date.atTime(LocalTime.MAX);
-        String sql = "SELECT COUNT(1) FROM HEADLINE_NEWS WHERE PUB_DATE BETWEEN ? AND ?";
-        Integer count = jdbcTemplate.queryForObject(sql, Integer.class, Timestamp.valueOf(start), Timestamp.valueOf(end));
+    public int countByDate(LocalDate date, String feedId) {
+        if (isArchived(date)) {
+            // 옮긴 뒤 테이블에 남은 기사가 없으면 세그먼트 색인의 건수만 읽는다.
+            Integer count = countTimer.record(() -> countInTable(date, feedId, "") == 0
+                    ? coldStore.countLeads(date, feedId)
+                    : (int) archivedDay(date, feedId).stream().filter(Headline::isClusterLead).count());
+            return count == null ? 0 : count;
+        }
+        Integer count = countTimer.record(() -> countInTable(date, feedId, LEADS_ONLY));
+        return count == null ? 0 : count;
+    }
+
+    private int countInTable(LocalDate date, String feedId, String leadFilter) {
+        String sql = "SELECT COUNT(1) FROM HEADLINE_NEWS WHERE PUB_DATE BETWEEN ? AND ? " + feedFilter(feedId)
+                + leadFilter;
+        Integer count = jdbcTemplate.queryForObject(sql, Integer.class, dayParams(date, feedId));
         return count == null ? 0 : count;
     }
 
     /**
-     * 지정한 날짜 범위의 기사를 페이징 조회한다.
+     * 지정한 날짜 범위의 묶음 대표 기사를 페이징 조회한다.
      * <p>
-     * 입력: 조회 기준 날짜, offset, size
-     * 반환: pubDate/pressName/articleTitle/articleLink 키를 가진 Map 리스트
-     */
-    public List<Map<String, Object>> findByDate(LocalDate date, int offset, int size) {
-        LocalDateTime start = date.atStartOfDay();
-        LocalDateTime end = date.atTime(LocalTime.MAX);
-        String sql = "SELECT PUB_DATE, PRESS_NAME, ARTICLE_TITLE, ARTICLE_LINK "
-                + "FROM HEADLINE_NEWS WHERE PUB_DATE BETWEEN ? AND ? "
+     * 입력: 조회 기준 날짜, 피드 ID(null 이면 전체), offset, size
+     * 반환: PUB_DATE DESC, ID DESC 순서의 {@link Headline} 리스트
+     */
+    public List<Headline> findByDate(LocalDate date, String feedId, int offset, int size) {
+        if (isArchived(date)) {
+            return findByDateTimer.record(() -> {
+                List<Headline> rows = archivedLeads(date, feedId);
+                return new ArrayList<>(rows.subList(Math.min(offset, rows.size()), Math.min(offset + size, rows.size())));
+            });
+        }
+        String sql = SELECT_COLUMNS
+                + "FROM HEADLINE_NEWS WHERE PUB_DATE BETWEEN ? AND ? " + feedFilter(feedId) + LEADS_ONLY
                 + "ORDER BY PUB_DATE DESC, ID DESC LIMIT ? OFFSET ?";
-        return jdbcTemplate.query(sql, new ArticleRowMapper(),
-                Timestamp.valueOf(start), Timestamp.valueOf(end), size, offset);
+        return findByDateTimer.record(() ->
+                jdbcTemplate.query(sql, headlineRowMapper, dayParams(date, feedId, size, offset)));
     }
 
     /**
-     * RowMapper 구현을 별도 클래스로 두어 SELECT 결과를 Map 으로 변환한다.
-     * PUB_DATE 는 LocalDateTime 형태로 담아 이후 포맷팅을 쉽게 한다.
+     * 지정한 날짜의 기사 전체를 PUB_DATE DESC, ID DESC 순으로 조회한다. (최근 날짜 캐시 적재용)
      */
-    private static class ArticleRowMapper implements RowMapper<Map<String, Object>> {
+    public List<Headline> findAllByDate(LocalDate date, String feedId) {
+        return findAllByDateTimer.record(() -> isArchived(date) ? archivedDay(date, feedId) : findAllInTable(date, feedId));
+    }
+
+    private List<Headline> findAllInTable(LocalDate date, String feedId) {
+        String sql = SELECT_COLUMNS
+                + "FROM HEADLINE_NEWS WHERE PUB_DATE BETWEEN ? AND ? " + feedFilter(feedId)
+                + "ORDER BY PUB_DATE DESC, ID DESC";
+        return jdbcTemplate.query(sql, headlineRowMapper, dayParams(date, feedId));
+    }
+
+    /**
+     * 커서(pubDate, id) 보다 오래된 묶음 대표 기사를 PUB_DATE DESC, ID DESC 순으로 limit 건 조회한다. (다음 페이지)
+     * <p>
+     * OFFSET 없이 (PUB_DATE, ID) 인덱스에서 커서 위치부터 바로 읽으므로 페이지가 깊어져도 비용이 같다.
+     */
+    public List<Headline> findByDateOlderThan(LocalDate date, String feedId, LocalDateTime cursorPubDate,
+            long cursorId, int limit) {
+        if (isArchived(date)) {
+            return olderThanTimer.record(() -> archivedLeads(date, feedId).stream()
+                    .filter(row -> isBefore(row, cursorPubDate, cursorId))
+                    .limit(limit)
+                    .toList());
+        }
+        String sql = SELECT_COLUMNS
+                + "FROM HEADLINE_NEWS WHERE PUB_DATE BETWEEN ? AND ? " + feedFilter(feedId) + LEADS_ONLY
+                + "AND (PUB_DATE < ? OR (PUB_DATE = ? AND ID < ?)) "
+                + "ORDER BY PUB_DATE DESC, ID DESC LIMIT ?";
+        Timestamp cursor = Timestamp.valueOf(cursorPubDate);
+        return olderThanTimer.record(() -> jdbcTemplate.query(sql, headlineRowMapper,
+                dayParams(date, feedId, cursor, cursor, cursorId, limit)));
+    }
+
+    /**
+     * 커서(pubDate, id) 보다 최신인 묶음 대표 기사 중 커서에 가까운 limit 건을 조회한다. (이전 페이지)
+     * <p>
+     * 인덱스를 오름차순으로 읽은 뒤 뒤집어서, 반환 순서는 다른 조회와 같은 PUB_DATE DESC, ID DESC 이다.
+     */
+    public List<Headline> findByDateNewerThan(LocalDate date, String feedId, LocalDateTime cursorPubDate,
+            long cursorId, int limit) {
+        if (isArchived(date)) {
+            return newerThanTimer.record(() -> {
+                List<Headline> newer = archivedLeads(date, feedId).stream()
+                        .filter(row -> !isBefore(row, cursorPubDate, cursorId) && !isAt(row, cursorPubDate, cursorId))
+                        .toList();
+                return newer.subList(Math.max(0, newer.size() - limit), newer.size());
+            });
+        }
+        String sql = SELECT_COLUMNS
+                + "FROM HEADLINE_NEWS WHERE PUB_DATE BETWEEN ? AND ? " + feedFilter(feedId) + LEADS_ONLY
+                + "AND (PUB_DATE > ? OR (PUB_DATE = ? AND ID > ?)) "
+                + "ORDER BY PUB_DATE ASC, ID ASC LIMIT ?";
+        Timestamp cursor = Timestamp.valueOf(cursorPubDate);
+        List<Headline> rows = newerThanTimer.record(() -> jdbcTemplate.query(sql, headlineRowMapper,
+                dayParams(date, feedId, cursor, cursor, cursorId, limit)));
+        Collections.reverse(rows);
+        return rows;
+    }
+
+    /**
+     * 그날 대표 기사 leadIds 에 묶인 나머지 기사를 대표 ID 별로 PUB_DATE DESC, ID DESC 순으로 돌려준다.
+     * 묶음은 같은 날짜 안에서만 만들어지므로 그날 범위만 읽는다. 묶인 기사가 없는 대표는 결과에 없다.
+     */
+    public Map<Long, List<Headline>> findClusterMembers(LocalDate date, String feedId, Collection<Long> leadIds) {
+        Map<Long, List<Headline>> members = new HashMap<>();
+        if (leadIds.isEmpty()) {
+            return members;
+        }
+        List<Headline> rows;
+        if (isArchived(date)) {
+            Set<Long> leads = new HashSet<>(leadIds);
+            rows = clusterMembersTimer.record(() -> archivedDay(date, feedId).stream()
+                    .filter(row -> leads.contains(row.clusterId()))
+                    .toList());
+        } else {
+            String sql = SELECT_COLUMNS
+                    + "FROM HEADLINE_NEWS WHERE PUB_DATE BETWEEN ? AND ? " + feedFilter(feedId)
+                    + "AND CLUSTER_ID IN (" + String.join(", ", Collections.nCopies(leadIds.size(), "?")) + ") "
+                    + "ORDER BY PUB_DATE DESC, ID DESC";
+            rows = clusterMembersTimer.record(() -> jdbcTemplate.query(sql, headlineRowMapper,
+                    dayParams(date, feedId, leadIds.toArray())));
+        }
+        for (Headline row : rows) {
+            members.computeIfAbsent(row.clusterId(), lead -> new ArrayList<>()).add(row);
+        }
+        return members;
+    }
+
+    /**
+     * ID 가 afterId 보다 큰 기사를 ID 오름차순으로 limit 건 조회한다. (검색 색인 적재용 키셋 순회)
+     */
+    public List<Headline> findAfterId(long afterId, int limit) {
+        String sql = SELECT_COLUMNS + "FROM HEADLINE_NEWS WHERE ID > ? ORDER BY ID ASC LIMIT ?";
+        return afterIdTimer.record(() -> jdbcTemplate.query(sql, headlineRowMapper, afterId, limit));
+    }
+
+    /**
+     * 기간(from~to, 양 끝 날짜 포함)의 기사를 PUB_DATE, ID 오름차순으로 한 건씩 consumer 에 넘긴다. (내보내기용)
+     * <p>
+     * 결과를 리스트로 모으지 않고 전진 전용(TYPE_FORWARD_ONLY) 커서를 fetchSize 행씩 읽으므로
+     * 몇 건을 내보내든 메모리에는 fetchSize 행만 머문다. MySQL 드라이버는 URL 에 useCursorFetch=true 가 있어야
+     * fetchSize 단위로 받아 온다. 커서가 열려 있는 동안 커넥션 하나를 계속 쓴다.
+     *
+     * @param press  언론사 이름 (null 이면 전체)
+     * @param feedId 피드 ID (null 이면 전체)
+     * @return 넘긴 기사 수
+     */
+    public long streamByDateRange(LocalDate from, LocalDate to, String press, String feedId, int fetchSize,
+            Consumer<Headline> consumer) {
+        long count = 0;
+        LocalDate day = from;
+        while (!day.isAfter(to)) {
+            if (isArchived(day)) {
+                // 세그먼트 날짜는 하루치를 풀어 오름차순으로 넘긴다.
+                List<Headline> rows = archivedDay(day, feedId);
+                for (int i = rows.size() - 1; i >= 0; i--) {
+                    if (press == null || press.equals(rows.get(i).pressName())) {
+                        consumer.accept(rows.get(i));
+                        count++;
+                    }
+                }
+                day = day.plusDays(1);
+                continue;
+            }
+            LocalDate end = day;
+            while (end.isBefore(to) && !isArchived(end.plusDays(1))) {
+                end = end.plusDays(1);
+            }
+            count += streamFromTable(day, end, press, feedId, fetchSize, consumer);
+            day = end.plusDays(1);
+        }
+        return count;
+    }
+
+    private long streamFromTable(LocalDate from, LocalDate to, String press, String feedId, int fetchSize,
+            Consumer<Headline> consumer) {
+        Integer pressId = press == null ? null : pressDictionary.findId(press);
+        if (press != null && pressId == null) {
+            return 0;
+        }
+        String sql = SELECT_COLUMNS
+                + "FROM HEADLINE_NEWS WHERE PUB_DATE BETWEEN ? AND ? " + feedFilter(feedId)
+                + (press == null ? "" : "AND PRESS_ID = ? ")
+                + "ORDER BY PUB_DATE ASC, ID ASC";
+        List<Object> params = new ArrayList<>(4);
+        params.add(Timestamp.valueOf(from.atStartOfDay()));
+        params.add(Timestamp.valueOf(to.atTime(LocalTime.MAX)));
+        if (feedId != null) {
+            params.add(feedId);
+        }
+        if (pressId != null) {
+            params.add(pressId);
+        }
+        long[] count = { 0 };
+        exportTimer.record(() -> jdbcTemplate.query(con -> {
+            PreparedStatement ps = con.prepareStatement(sql, ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+            ps.setFetchSize(fetchSize);
+            new ArgumentPreparedStatementSetter(params.toArray()).setValues(ps);
+            return ps;
+        }, (RowCallbackHandler) rs -> consumer.accept(headlineRowMapper.mapRow(rs, (int) count[0]++))));
+        return count[0];
+    }
+
+    /**
+     * 세그먼트로 옮겨진 기사를 하루치씩 넘긴다. (검색 색인 적재용, 세그먼트가 없으면 아무것도 하지 않음)
+     */
+    public void forEachArchivedDay(Consumer<List<Headline>> consumer) {
+        if (coldStore != null) {
+            coldStore.forEachDay(consumer);
+        }
+    }
+
+    /** 날짜가 세그먼트로 옮겨진 달에 속하는지 */
+    public boolean isArchived(LocalDate date) {
+        return coldStore != null && coldStore.covers(date);
+    }
+
+    /**
+     * 테이블과 세그먼트를 통틀어 가장 오래된 기사의 날짜. 기사가 없으면 null.
+     */
+    public LocalDate findOldestDate() {
+        LocalDate archived = coldStore == null ? null : coldStore.oldestDate();
+        LocalDate inTable = findOldestDateInTable();
+        if (archived == null || inTable == null) {
+            return archived == null ? inTable : archived;
+        }
+        return archived.isBefore(inTable) ? archived : inTable;
+    }
+
+    /** HEADLINE_NEWS 테이블에서 가장 오래된 기사의 날짜. 기사가 없으면 null. */
+    public LocalDate findOldestDateInTable() {
+        Timestamp oldest = jdbcTemplate.queryForObject("SELECT MIN(PUB_DATE) FROM HEADLINE_NEWS", Timestamp.class);
+        return oldest == null ? null : oldest.toLocalDateTime().toLocalDate();
+    }
+
+    /**
+     * 그 달 기사 중 가장 큰 ID. 테이블에 그 달 기사가 없으면 0.
+     */
+    public long findMaxIdInMonth(YearMonth month) {
+        Long maxId = jdbcTemplate.queryForObject("SELECT MAX(ID) FROM HEADLINE_NEWS WHERE PUB_DATE BETWEEN ? AND ?",
+                Long.class, Timestamp.valueOf(month.atDay(1).atStartOfDay()),
+                Timestamp.valueOf(month.atEndOfMonth().atTime(LocalTime.MAX)));
+        return maxId == null ? 0L : maxId;
+    }
+
+    /**
+     * 피드별 가장 최근 PUB_DATE 를 조회한다. (수집 지연 게이지 초기값용)
+     *
+     * @return 피드 ID → 최신 PUB_DATE
+     */
+    public Map<String, LocalDateTime> findNewestPubDates() {
+        String sql = "SELECT FEED_ID, MAX(PUB_DATE) AS NEWEST FROM HEADLINE_NEWS GROUP BY FEED_ID";
+        Map<String, LocalDateTime> newest = new LinkedHashMap<>();
+        newestTimer.record(() -> jdbcTemplate.query(sql, rs -> {
+            newest.put(rs.getString("FEED_ID"), rs.getTimestamp("NEWEST").toLocalDateTime());
+        }));
+        return newest;
+    }
+
+    /**
+     * 세그먼트의 그날 기사에 테이블에 남은 기사(옮긴 뒤 늦게 들어왔거나 옮기는 중인 기사)를 ID 기준으로 합친다.
+     */
+    private List<Headline> archivedDay(LocalDate date, String feedId) {
+        List<Headline> rows = coldStore.find(date, feedId);
+        List<Headline> inTable = findAllInTable(date, feedId);
+        if (inTable.isEmpty()) {
+            return rows;
+        }
+        Set<Long> ids = new HashSet<>();
+        rows.forEach(row -> ids.add(row.id()));
+        for (Headline row : inTable) {
+            if (ids.add(row.id())) {
+                rows.add(row);
+            }
+        }
+        rows.sort(NEWEST_FIRST);
+        return rows;
+    }
+
+    private List<Headline> archivedLeads(LocalDate date, String feedId) {
+        List<Headline> rows = archivedDay(date, feedId);
+        rows.removeIf(row -> !row.isClusterLead());
+        return rows;
+    }
+
+    /** row 가 (pubDate, id) 커서보다 오래되었는지 (PUB_DATE DESC, ID DESC 순서에서 커서 뒤) */
+    private static boolean isBefore(Headline row, LocalDateTime pubDate, long id) {
+        return row.pubDate().isBefore(pubDate) || (row.pubDate().equals(pubDate) && row.id() < id);
+    }
+
+    private static boolean isAt(Headline row, LocalDateTime pubDate, long id) {
+        return row.pubDate().equals(pubDate) && row.id() == id;
+    }
+
+    private static String feedFilter(String feedId) {
+        return feedId == null ? "" : "AND FEED_ID = ? ";
+    }
+
+    /**
+     * 날짜 범위(시작/끝 시각), 피드 ID(있을 때만), 나머지 값 순서로 바인딩 파라미터를 만든다.
+     */
+    private static Object[] dayParams(LocalDate date, String feedId, Object... rest) {
+        List<Object> params = new ArrayList<>(rest.length + 3);
+        params.add(Timestamp.valueOf(date.atStartOfDay()));
+        params.add(Timestamp.valueOf(date.atTime(LocalTime.MAX)));
+        if (feedId != null) {
+            params.add(feedId);
+        }
+        Collections.addAll(params, rest);
+        return params.toArray();
+    }
+
+    /**
+     * SELECT 결과를 Map 을 거치지 않고 {@link Headline} 으로 바로 변환한다.
+     * PUB_DATE 는 LocalDateTime 그대로 담고, 화면용 포맷팅은 JSON 직렬화 시점에 한 번만 한다.
+     * 언론사 이름은 PRESS_ID 로 사전에서 찾으므로 행마다 새 String 을 만들지 않는다.
+     */
+    private static class HeadlineRowMapper implements RowMapper<Headline> {
+
+        private final PressDictionary pressDictionary;
+
+        HeadlineRowMapper(PressDictionary pressDictionary) {
+            this.pressDictionary = pressDictionary;
+        }
+
         @Override
-        public Map<String, Object> mapRow(ResultSet rs, int rowNum) throws SQLException {
-            Map<String, Object> row = new HashMap<>();
-            row.put("pubDate", rs.getTimestamp("PUB_DATE").toLocalDateTime());
-            row.put("pressName", rs.getString("PRESS_NAME"));
-            row.put("articleTitle", rs.getString("ARTICLE_TITLE"));
-            row.put("articleLink", rs.getString("ARTICLE_LINK"));
-            return row;
+        public Headline mapRow(ResultSet rs, int rowNum) throws SQLException {
+            return new Headline(
+                    rs.getLong("ID"),
+                    rs.getTimestamp("PUB_DATE").toLocalDateTime(),
+                    pressDictionary.nameOf(rs.getInt("PRESS_ID")),
+                    rs.getString("ARTICLE_TITLE"),
+                    rs.getString("ARTICLE_LINK"),
+                    rs.getString("FEED_ID"),
+                    rs.getLong("CLUSTER_ID"));
         }
     }
+
+    /**
+     * {@link #insertHeadlines(List)} 의 처리 결과.
+     *
+     * @param inserted         새로 저장된 기사 수
+     * @param skipped          입력 중복 또는 기존 데이터와 겹쳐 저장하지 않은 기사 수
+     * @param insertedArticles 새로 저장된 기사 목록 (생성된 id 와 feedId 가 채워짐)
+     */
+    public record BatchInsertResult(int inserted, int skipped, List<Headline> insertedArticles) {
+    }
 }
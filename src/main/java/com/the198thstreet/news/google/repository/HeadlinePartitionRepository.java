@@ -0,0 +1,160 @@
+package com.the198thstreet.news.google.repository;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.time.LocalTime;
+import java.time.YearMonth;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+import java.util.Set;
+import java.util.TreeSet;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+/**
+ * HEADLINE_NEWS 의 월 단위 RANGE 파티션(p202511 = 2025년 11월, pmax = 그 뒤)을 관리하는 저장소.
+ * <p>
+ * - 파티션은 MariaDB 에서 schema.sql 의 안내 구문으로 한 번 걸어 둔다. 파티션이 없는 테이블(H2 포함)에서는
+ *   파티션 작업을 건너뛰고, 달을 지울 때 범위 DELETE 를 나눠 실행한다.
+ * - 달 파티션은 pmax 를 쪼개 미리 만들어 둔다. (REORGANIZE PARTITION)
+ * - 옮기기가 끝난 달은 파티션째 버려(DROP PARTITION) 행 단위 삭제 없이 테이블과 인덱스에서 한 번에 빠진다.
+ *   세그먼트에 쓴 뒤 들어온 행을 함께 버리지 않도록, 확인과 DROP 은 테이블 쓰기 잠금(LOCK TABLES) 안에서 한다.
+ */
+@Repository
+public class HeadlinePartitionRepository {
+
+    private static final Logger log = LoggerFactory.getLogger(HeadlinePartitionRepository.class);
+
+    private static final DateTimeFormatter PARTITION_FORMATTER = DateTimeFormatter.ofPattern("'p'yyyyMM");
+
+    /** 파티션이 없을 때 DELETE 한 번에 지울 행 수 */
+    private static final int DELETE_CHUNK_SIZE = 5_000;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public HeadlinePartitionRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * HEADLINE_NEWS 의 파티션 이름. 파티션이 없거나 INFORMATION_SCHEMA.PARTITIONS 가 없는 DB 면 빈 집합.
+     */
+    public Set<String> findPartitionNames() {
+        try {
+            List<String> names = jdbcTemplate.queryForList("SELECT PARTITION_NAME FROM INFORMATION_SCHEMA.PARTITIONS "
+                    + "WHERE TABLE_SCHEMA = DATABASE() AND TABLE_NAME = 'HEADLINE_NEWS' AND PARTITION_NAME IS NOT NULL",
+                    String.class);
+            return new TreeSet<>(names);
+        } catch (DataAccessException notSupported) {
+            return new TreeSet<>();
+        }
+    }
+
+    /**
+     * 파티션이 걸린 테이블이면 마지막 달 파티션 다음 달부터 upTo 까지 달 파티션을 pmax 에서 떼어 만든다.
+     *
+     * @return 새로 만든 파티션 수
+     */
+    public int ensureMonthPartitions(YearMonth upTo) {
+        Set<String> names = findPartitionNames();
+        if (!names.contains("pmax")) {
+            return 0;
+        }
+        YearMonth last = names.stream()
+                .filter(name -> name.matches("p\\d{6}"))
+                .map(name -> YearMonth.parse(name, PARTITION_FORMATTER))
+                .max(YearMonth::compareTo)
+                .orElse(upTo.minusMonths(1));
+        int created = 0;
+        for (YearMonth month = last.plusMonths(1); !month.isAfter(upTo); month = month.plusMonths(1)) {
+            jdbcTemplate.execute("ALTER TABLE HEADLINE_NEWS REORGANIZE PARTITION pmax INTO ("
+                    + "PARTITION " + partitionName(month) + " VALUES LESS THAN ('" + month.plusMonths(1).atDay(1) + "'), "
+                    + "PARTITION pmax VALUES LESS THAN (MAXVALUE))");
+            created++;
+        }
+        if (created > 0) {
+            log.info("[파티션] HEADLINE_NEWS 달 파티션 {}개를 만들었습니다. 마지막={}", created, partitionName(upTo));
+        }
+        return created;
+    }
+
+    /**
+     * 그 달의 기사 중 ID 가 maxId 이하인 행을 테이블에서 지운다.
+     * 그 달 파티션이 있고 maxId 보다 큰 행이 없으면 파티션째 버리고, 아니면 범위 DELETE 를 나눠 실행한다.
+     *
+     * @return 지운 행 수
+     */
+    public int removeMonth(YearMonth month, long maxId) {
+        Timestamp start = Timestamp.valueOf(month.atDay(1).atStartOfDay());
+        Timestamp end = Timestamp.valueOf(month.atEndOfMonth().atTime(LocalTime.MAX));
+        String partition = partitionName(month);
+        if (findPartitionNames().contains(partition)) {
+            Integer dropped = jdbcTemplate.execute(
+                    (ConnectionCallback<Integer>) connection -> dropIfNoNewer(connection, partition, start, end, maxId));
+            if (dropped != null) {
+                return dropped;
+            }
+        }
+        int removed = 0;
+        int deleted;
+        do {
+            deleted = jdbcTemplate.update("DELETE FROM HEADLINE_NEWS WHERE PUB_DATE BETWEEN ? AND ? AND ID <= ? LIMIT "
+                    + DELETE_CHUNK_SIZE, start, end, maxId);
+            removed += deleted;
+        } while (deleted == DELETE_CHUNK_SIZE);
+        return removed;
+    }
+
+    /**
+     * 한 연결에서 HEADLINE_NEWS 를 쓰기 잠금한 채로 maxId 보다 큰 행이 없는지 다시 보고 파티션을 버린다.
+     * 잠금 동안 수집 INSERT 는 기다리므로, 확인과 DROP 사이에 들어온 행이 세그먼트에 없이 지워지는 일이 없다.
+     * (잠금은 COUNT 두 번과 DROP PARTITION 동안만 잡는다)
+     *
+     * @return 버린 행 수. maxId 보다 큰 행이 있어 버리지 않았으면 null
+     */
+    private static Integer dropIfNoNewer(Connection connection, String partition, Timestamp start,
+            Timestamp end, long maxId) throws SQLException {
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("LOCK TABLES HEADLINE_NEWS WRITE");
+            try {
+                if (count(connection, "SELECT COUNT(1) FROM HEADLINE_NEWS WHERE PUB_DATE BETWEEN ? AND ? AND ID > ?",
+                        start, end, maxId) > 0) {
+                    return null;
+                }
+                int rows = count(connection, "SELECT COUNT(1) FROM HEADLINE_NEWS WHERE PUB_DATE BETWEEN ? AND ?",
+                        start, end, null);
+                statement.execute("ALTER TABLE HEADLINE_NEWS DROP PARTITION " + partition);
+                return rows;
+            } finally {
+                statement.execute("UNLOCK TABLES");
+            }
+        }
+    }
+
+    private static int count(Connection connection, String sql, Timestamp start, Timestamp end, Long maxId)
+            throws SQLException {
+        try (PreparedStatement statement = connection.prepareStatement(sql)) {
+            statement.setTimestamp(1, start);
+            statement.setTimestamp(2, end);
+            if (maxId != null) {
+                statement.setLong(3, maxId);
+            }
+            try (ResultSet rs = statement.executeQuery()) {
+                return rs.next() ? rs.getInt(1) : 0;
+            }
+        }
+    }
+
+    private static String partitionName(YearMonth month) {
+        return month.format(PARTITION_FORMATTER);
+    }
+}
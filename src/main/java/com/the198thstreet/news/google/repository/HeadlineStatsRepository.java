@@ -0,0 +1,206 @@
+package com.the198thstreet.news.google.repository;
+
+import java.sql.Date;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.the198thstreet.news.google.model.Headline;
+import com.the198thstreet.news.google.model.PressStats;
+
+/**
+ * 언론사별 시간/일 단위 기사 수 집계 테이블(HEADLINE_STATS_HOURLY / HEADLINE_STATS_DAILY)에 접근하는 저장소.
+ * <p>
+ * - 수집 주기에는 새로 저장된 기사를 (구간, 언론사) 별로 먼저 센 뒤, 구간마다 한 번씩 더한다. (INSERT ... ON DUPLICATE KEY UPDATE)
+ * - 재집계는 하루 단위로 HEADLINE_NEWS 를 (PUB_DATE, PRESS_ID) 로 묶어 PRESS 와 이어 읽고, 그날 집계 행을 지운 뒤 다시 넣는다.
+ *   세기 전에 그날 집계 행을 SELECT ... FOR UPDATE 로 잡아, 세는 동안 수집 주기의 더하기가 끼어들었다가 덮여 사라지지 않게 한다.
+ *   세그먼트로 옮겨진 날짜는 서비스가 읽어 온 기사로 같은 방식으로 다시 넣는다.
+ *   시간 구간 계산은 DB 함수 차이(H2/MariaDB)를 피하려고 자바에서 한다.
+ * - 조회는 두 집계 테이블의 기본 키 범위만 읽는다.
+ */
+@Repository
+public class HeadlineStatsRepository {
+
+    private static final String UPSERT_HOURLY_SQL = "INSERT INTO HEADLINE_STATS_HOURLY (STAT_HOUR, PRESS_NAME, ARTICLE_COUNT) "
+            + "VALUES (?, ?, ?) ON DUPLICATE KEY UPDATE ARTICLE_COUNT = ARTICLE_COUNT + VALUES(ARTICLE_COUNT)";
+
+    private static final String UPSERT_DAILY_SQL = "INSERT INTO HEADLINE_STATS_DAILY (STAT_DATE, PRESS_NAME, ARTICLE_COUNT) "
+            + "VALUES (?, ?, ?) ON DUPLICATE KEY UPDATE ARTICLE_COUNT = ARTICLE_COUNT + VALUES(ARTICLE_COUNT)";
+
+    private static final RowMapper<PressStats.Bucket> HOURLY_ROW_MAPPER = (rs, rowNum) -> new PressStats.Bucket(
+            rs.getTimestamp("STAT_HOUR").toLocalDateTime(), rs.getString("PRESS_NAME"), rs.getInt("ARTICLE_COUNT"));
+
+    private static final RowMapper<PressStats.Bucket> DAILY_ROW_MAPPER = (rs, rowNum) -> new PressStats.Bucket(
+            rs.getDate("STAT_DATE").toLocalDate().atStartOfDay(), rs.getString("PRESS_NAME"), rs.getInt("ARTICLE_COUNT"));
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+
+    public HeadlineStatsRepository(JdbcTemplate jdbcTemplate, TransactionTemplate transactionTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+    }
+
+    /**
+     * 새로 저장된 기사 수를 시간/일 집계에 더한다. 두 테이블 갱신은 한 트랜잭션으로 묶는다.
+     */
+    public void increment(List<Headline> inserted) {
+        Map<StatKey, Integer> hourly = new HashMap<>();
+        for (Headline headline : inserted) {
+            hourly.merge(new StatKey(headline.pubDate().truncatedTo(ChronoUnit.HOURS), headline.pressName()), 1,
+                    Integer::sum);
+        }
+        Map<StatKey, Integer> daily = toDaily(hourly);
+        transactionTemplate.executeWithoutResult(status -> {
+            upsert(UPSERT_HOURLY_SQL, hourly, false);
+            upsert(UPSERT_DAILY_SQL, daily, true);
+        });
+    }
+
+    /**
+     * 하루치 집계를 HEADLINE_NEWS 에서 다시 계산해 덮어쓴다. 그날 집계 행을 잡고, 세고, 바꾸는 것까지 한 트랜잭션이다.
+     *
+     * @return 그날 집계된 기사 수
+     */
+    public int rebuildDay(LocalDate date) {
+        Timestamp start = Timestamp.valueOf(date.atStartOfDay());
+        Timestamp end = Timestamp.valueOf(date.atTime(LocalTime.MAX));
+        Integer total = transactionTemplate.execute(status -> {
+            lockDay(date);
+            Map<StatKey, Integer> hourly = new HashMap<>();
+            jdbcTemplate.query("SELECT C.PUB_DATE, P.PRESS_NAME, C.CNT FROM ("
+                    + "SELECT PUB_DATE, PRESS_ID, COUNT(1) AS CNT FROM HEADLINE_NEWS "
+                    + "WHERE PUB_DATE BETWEEN ? AND ? GROUP BY PUB_DATE, PRESS_ID) C "
+                    + "JOIN PRESS P ON P.PRESS_ID = C.PRESS_ID", rs -> {
+                        LocalDateTime hour = rs.getTimestamp("PUB_DATE").toLocalDateTime().truncatedTo(ChronoUnit.HOURS);
+                        hourly.merge(new StatKey(hour, rs.getString("PRESS_NAME")), rs.getInt("CNT"), Integer::sum);
+                    }, start, end);
+            return replaceDay(date, hourly);
+        });
+        return total == null ? 0 : total;
+    }
+
+    /**
+     * 하루치 집계를 주어진 기사로 다시 계산해 덮어쓴다. 세그먼트로 옮겨져 HEADLINE_NEWS 에 없는 날짜에 쓴다.
+     *
+     * @param headlines 그날 기사 전체
+     * @return 그날 집계된 기사 수
+     */
+    public int rebuildDay(LocalDate date, List<Headline> headlines) {
+        Map<StatKey, Integer> hourly = new HashMap<>();
+        for (Headline headline : headlines) {
+            hourly.merge(new StatKey(headline.pubDate().truncatedTo(ChronoUnit.HOURS), headline.pressName()), 1,
+                    Integer::sum);
+        }
+        Integer total = transactionTemplate.execute(status -> {
+            lockDay(date);
+            return replaceDay(date, hourly);
+        });
+        return total == null ? 0 : total;
+    }
+
+    /** 집계 테이블에 행이 하나도 없는지 (첫 배포 여부 판단용) */
+    public boolean isEmpty() {
+        return jdbcTemplate.queryForList("SELECT STAT_DATE FROM HEADLINE_STATS_DAILY LIMIT 1", Date.class).isEmpty();
+    }
+
+    /**
+     * 기간(from~to, 양 끝 날짜 포함)의 시간별 언론사 기사 수를 구간, 언론사 순으로 조회한다.
+     *
+     * @param press 언론사 이름 (null 이면 전체)
+     */
+    public List<PressStats.Bucket> findHourly(LocalDate from, LocalDate to, String press) {
+        String sql = "SELECT STAT_HOUR, PRESS_NAME, ARTICLE_COUNT FROM HEADLINE_STATS_HOURLY WHERE STAT_HOUR BETWEEN ? AND ? "
+                + pressFilter(press) + "ORDER BY STAT_HOUR, PRESS_NAME";
+        return jdbcTemplate.query(sql, HOURLY_ROW_MAPPER, rangeParams(Timestamp.valueOf(from.atStartOfDay()),
+                Timestamp.valueOf(to.atTime(LocalTime.MAX)), press));
+    }
+
+    /**
+     * 기간(from~to, 양 끝 포함)의 일별 언론사 기사 수를 날짜, 언론사 순으로 조회한다.
+     *
+     * @param press 언론사 이름 (null 이면 전체)
+     */
+    public List<PressStats.Bucket> findDaily(LocalDate from, LocalDate to, String press) {
+        String sql = "SELECT STAT_DATE, PRESS_NAME, ARTICLE_COUNT FROM HEADLINE_STATS_DAILY WHERE STAT_DATE BETWEEN ? AND ? "
+                + pressFilter(press) + "ORDER BY STAT_DATE, PRESS_NAME";
+        return jdbcTemplate.query(sql, DAILY_ROW_MAPPER, rangeParams(Date.valueOf(from), Date.valueOf(to), press));
+    }
+
+    /**
+     * 기간(from~to, 양 끝 포함) 동안 기사가 많은 언론사를 limit 곳까지 조회한다. 일별 집계만 읽는다.
+     */
+    public List<PressStats.Total> findTopPresses(LocalDate from, LocalDate to, int limit) {
+        String sql = "SELECT PRESS_NAME, SUM(ARTICLE_COUNT) AS TOTAL FROM HEADLINE_STATS_DAILY WHERE STAT_DATE BETWEEN ? AND ? "
+                + "GROUP BY PRESS_NAME ORDER BY TOTAL DESC, PRESS_NAME LIMIT ?";
+        return jdbcTemplate.query(sql, (rs, rowNum) -> new PressStats.Total(rs.getString("PRESS_NAME"), rs.getLong("TOTAL")),
+                Date.valueOf(from), Date.valueOf(to), limit);
+    }
+
+    /**
+     * 그날 집계 행(시간별, 일별)을 끝날 때까지 잡는다. 트랜잭션 안에서 부른다.
+     * 같은 날의 increment 는 이 트랜잭션이 끝날 때까지 기다렸다가 바뀐 값 위에 더한다.
+     */
+    private void lockDay(LocalDate date) {
+        jdbcTemplate.queryForList("SELECT STAT_HOUR FROM HEADLINE_STATS_HOURLY WHERE STAT_HOUR BETWEEN ? AND ? FOR UPDATE",
+                Timestamp.class, Timestamp.valueOf(date.atStartOfDay()), Timestamp.valueOf(date.atTime(LocalTime.MAX)));
+        jdbcTemplate.queryForList("SELECT STAT_DATE FROM HEADLINE_STATS_DAILY WHERE STAT_DATE = ? FOR UPDATE", Date.class,
+                Date.valueOf(date));
+    }
+
+    /** 그날 집계 행을 지우고 hourly 와 그 일 합계로 다시 넣는다. 트랜잭션 안에서 부른다. */
+    private int replaceDay(LocalDate date, Map<StatKey, Integer> hourly) {
+        Map<StatKey, Integer> daily = toDaily(hourly);
+        jdbcTemplate.update("DELETE FROM HEADLINE_STATS_HOURLY WHERE STAT_HOUR BETWEEN ? AND ?",
+                Timestamp.valueOf(date.atStartOfDay()), Timestamp.valueOf(date.atTime(LocalTime.MAX)));
+        jdbcTemplate.update("DELETE FROM HEADLINE_STATS_DAILY WHERE STAT_DATE = ?", Date.valueOf(date));
+        upsert(UPSERT_HOURLY_SQL, hourly, false);
+        upsert(UPSERT_DAILY_SQL, daily, true);
+        return daily.values().stream().mapToInt(Integer::intValue).sum();
+    }
+
+    private void upsert(String sql, Map<StatKey, Integer> counts, boolean daily) {
+        if (counts.isEmpty()) {
+            return;
+        }
+        jdbcTemplate.batchUpdate(sql, new ArrayList<>(counts.entrySet()), counts.size(), (ps, entry) -> {
+            if (daily) {
+                ps.setDate(1, Date.valueOf(entry.getKey().bucket().toLocalDate()));
+            } else {
+                ps.setTimestamp(1, Timestamp.valueOf(entry.getKey().bucket()));
+            }
+            ps.setString(2, entry.getKey().press());
+            ps.setInt(3, entry.getValue());
+        });
+    }
+
+    private static Map<StatKey, Integer> toDaily(Map<StatKey, Integer> hourly) {
+        Map<StatKey, Integer> daily = new HashMap<>();
+        hourly.forEach((key, count) -> daily.merge(
+                new StatKey(key.bucket().truncatedTo(ChronoUnit.DAYS), key.press()), count, Integer::sum));
+        return daily;
+    }
+
+    private static String pressFilter(String press) {
+        return press == null ? "" : "AND PRESS_NAME = ? ";
+    }
+
+    private static Object[] rangeParams(Object from, Object to, String press) {
+        return press == null ? new Object[] { from, to } : new Object[] { from, to, press };
+    }
+
+    /** (구간 시작 시각, 언론사) */
+    private record StatKey(LocalDateTime bucket, String press) {
+    }
+}
@@ -0,0 +1,220 @@
+package com.the198thstreet.news.google.repository;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.PreparedStatementCallback;
+import org.springframework.jdbc.support.GeneratedKeyHolder;
+import org.springframework.jdbc.support.KeyHolder;
+import org.springframework.stereotype.Repository;
+
+import jakarta.annotation.PostConstruct;
+
+/**
+ * 언론사 이름과 PRESS 테이블의 정수 ID 를 양방향으로 바꿔 주는 메모리 사전.
+ * <p>
+ * - 기동 시 PRESS 테이블 전체(언론사 수백 곳)를 읽어 둔다.
+ * - 저장할 때 처음 보는 언론사는 PRESS 에 INSERT 해 ID 를 받고 사전에 더한다. (기사 묶음의 새 언론사는 batch INSERT 한 번)
+ *   다른 인스턴스가 먼저 넣었으면(UX_PRESS_NAME 위반) 그 ID 를 읽어 쓴다.
+ * - 사전이 모르는 ID 를 만나면(다른 인스턴스가 새로 넣은 언론사) 한 건만 DB 에서 읽어 온다.
+ * - 같은 이름은 사전에 든 String 인스턴스 하나를 돌려주므로, 파서와 조회 결과가 언론사 이름을 기사마다 새로 들고 있지 않는다.
+ * <p>
+ * 조회(이름 → ID, ID → 이름)는 잠금 없이 하고, 새 언론사 등록만 동기화한다.
+ */
+@Repository
+public class PressDictionary {
+
+    private static final Logger log = LoggerFactory.getLogger(PressDictionary.class);
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /** 언론사 이름 → PRESS_ID */
+    private final Map<String, Integer> ids = new ConcurrentHashMap<>();
+
+    /**
+     * PRESS_ID → 언론사 이름. 새 ID 가 길이를 넘으면 늘린 배열로 바꿔 끼운다.
+     * 칸에 값을 채우는 쓰기는 잠금 안에서만 하고, String 은 불변 객체라 잠금 없이 읽어도 null 아니면 완성된 값이 보인다.
+     */
+    private volatile String[] names = new String[0];
+
+    public PressDictionary(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * PRESS 테이블 전체를 사전에 올린다.
+     */
+    @PostConstruct
+    public synchronized void load() {
+        jdbcTemplate.query("SELECT PRESS_ID, PRESS_NAME FROM PRESS", rs -> {
+            register(rs.getInt("PRESS_ID"), rs.getString("PRESS_NAME"));
+        });
+        if (!ids.isEmpty()) {
+            log.info("[언론사 사전] 언론사 {}곳을 읽었습니다.", ids.size());
+        }
+    }
+
+    /**
+     * 언론사 이름의 PRESS_ID. 처음 보는 이름이면 PRESS 에 등록한다. (저장 경로용)
+     */
+    public int idOf(String name) {
+        Integer id = ids.get(name);
+        return id != null ? id : add(name);
+    }
+
+    /**
+     * 이름 중 사전에 없는 언론사를 batch INSERT 한 번으로 PRESS 에 등록한다. (기사 묶음 저장 전에 호출)
+     * 다른 인스턴스가 먼저 넣은 이름이 섞여 UX_PRESS_NAME 위반이 나면 한 건씩 다시 등록한다.
+     */
+    public void registerAll(Collection<String> pressNames) {
+        Set<String> unknown = new LinkedHashSet<>();
+        for (String name : pressNames) {
+            if (!ids.containsKey(name)) {
+                unknown.add(name);
+            }
+        }
+        if (!unknown.isEmpty()) {
+            insertAll(unknown);
+        }
+    }
+
+    /**
+     * 언론사 이름의 PRESS_ID. 등록된 적 없는 이름이면 null. (조회 조건용, 등록하지 않음)
+     */
+    public Integer findId(String name) {
+        Integer id = ids.get(name);
+        if (id != null) {
+            return id;
+        }
+        List<Integer> found = jdbcTemplate.queryForList("SELECT PRESS_ID FROM PRESS WHERE PRESS_NAME = ?",
+                Integer.class, name);
+        if (found.isEmpty()) {
+            return null;
+        }
+        synchronized (this) {
+            register(found.get(0), name);
+        }
+        return found.get(0);
+    }
+
+    /**
+     * PRESS_ID 의 언론사 이름 (사전에 든 인스턴스).
+     */
+    public String nameOf(int id) {
+        String[] snapshot = names;
+        String name = id < snapshot.length ? snapshot[id] : null;
+        return name != null ? name : fetch(id);
+    }
+
+    /**
+     * 사전에 있는 이름이면 사전의 인스턴스를, 아니면 받은 이름을 그대로 돌려준다. (파서용, 등록하지 않음)
+     */
+    public String intern(String name) {
+        Integer id = ids.get(name);
+        if (id == null) {
+            return name;
+        }
+        String[] snapshot = names;
+        String canonical = id < snapshot.length ? snapshot[id] : null;
+        return canonical != null ? canonical : name;
+    }
+
+    /** 사전에 든 언론사 수 */
+    public int size() {
+        return ids.size();
+    }
+
+    private synchronized int add(String name) {
+        Integer known = ids.get(name);
+        if (known != null) {
+            return known;
+        }
+        int id;
+        try {
+            KeyHolder key = new GeneratedKeyHolder();
+            jdbcTemplate.update(con -> {
+                PreparedStatement ps = con.prepareStatement("INSERT INTO PRESS (PRESS_NAME) VALUES (?)",
+                        new String[] { "PRESS_ID" });
+                ps.setString(1, name);
+                return ps;
+            }, key);
+            id = key.getKey().intValue();
+            log.debug("[언론사 사전] 새 언론사 등록 - id={}, name={}", id, name);
+        } catch (DuplicateKeyException race) {
+            id = jdbcTemplate.queryForObject("SELECT PRESS_ID FROM PRESS WHERE PRESS_NAME = ?", Integer.class, name);
+        }
+        register(id, name);
+        return id;
+    }
+
+    private synchronized void insertAll(Set<String> unknown) {
+        unknown.removeIf(ids::containsKey);
+        if (unknown.isEmpty()) {
+            return;
+        }
+        List<String> batch = new ArrayList<>(unknown);
+        try {
+            jdbcTemplate.execute(con -> con.prepareStatement("INSERT INTO PRESS (PRESS_NAME) VALUES (?)",
+                    new String[] { "PRESS_ID" }), (PreparedStatementCallback<Void>) ps -> {
+                        for (String name : batch) {
+                            ps.setString(1, name);
+                            ps.addBatch();
+                        }
+                        ps.executeBatch();
+                        try (ResultSet keys = ps.getGeneratedKeys()) {
+                            for (String name : batch) {
+                                if (keys.next()) {
+                                    register(keys.getInt(1), name);
+                                }
+                            }
+                        }
+                        return null;
+                    });
+            log.debug("[언론사 사전] 새 언론사 {}곳 등록", batch.size());
+        } catch (DuplicateKeyException race) {
+            log.debug("[언론사 사전] 다른 인스턴스가 먼저 등록한 언론사가 있어 한 건씩 등록합니다. 사유={}", race.getMessage());
+        }
+        // 생성 키를 돌려주지 않은 이름과 경합한 이름은 한 건씩 등록하거나 읽어 온다.
+        for (String name : batch) {
+            add(name);
+        }
+    }
+
+    private synchronized String fetch(int id) {
+        String[] snapshot = names;
+        if (id < snapshot.length && snapshot[id] != null) {
+            return snapshot[id];
+        }
+        String name = jdbcTemplate.queryForObject("SELECT PRESS_NAME FROM PRESS WHERE PRESS_ID = ?", String.class, id);
+        return register(id, name);
+    }
+
+    /** 잠금 안에서만 호출한다. 이미 있으면 기존 인스턴스를 돌려준다. */
+    private String register(int id, String name) {
+        String[] current = names;
+        if (id < current.length && current[id] != null) {
+            return current[id];
+        }
+        if (id >= current.length) {
+            current = Arrays.copyOf(current, Math.max(id + 1, current.length * 2));
+            current[id] = name;
+            names = current;
+        } else {
+            current[id] = name;
+        }
+        ids.put(name, id);
+        return name;
+    }
+}
@@ -0,0 +1,234 @@
+package com.the198thstreet.news.google.service;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Clock;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.HexFormat;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+import java.util.zip.GZIPOutputStream;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.the198thstreet.news.google.ArchiveResponseProperties;
+import com.the198thstreet.news.google.model.Headline;
+import com.the198thstreet.news.google.model.HeadlinePage;
+
+/**
+ * {@code /api/archive/headlines} 응답을 직렬화한 바이트(JSON, gzip)와 ETag 를 (날짜, 피드, page/cursor, size) 별로 기억해 두는 캐시.
+ * <p>
+ * - ETag 는 JSON 바이트의 SHA-256 앞 16자리다. 내용이 같으면 재시작/다른 인스턴스에서도 같은 값이 나오는 강한 ETag 이며,
+ *   gzip 본문은 다른 표현이므로 "-gz" 를 붙인다.
+ * - 날짜마다 수집 버전을 둔다. 그 날짜에 새 기사가 저장되면({@link HeadlinesInsertedEvent}) 버전이 올라가고, 이전 버전으로 만든 응답은
+ *   다음 요청 때 다시 만든다. 오늘 날짜의 ETag 는 이렇게 수집 버전이 바뀔 때에만 달라진다.
+ * - 응답을 만들기 전에 버전을 먼저 읽어 두므로, 만드는 도중 새 기사가 저장되면 그 응답은 옛 버전으로 남아 다음 요청에서 버려진다.
+ *   이벤트는 {@link HotDayHeadlineCache}/{@link HeadlineArchiveService} 가 먼저 받아 갱신한 뒤 이쪽에 온다. (Order)
+ * - 바이트 합계가 maxBytes 를 넘으면 가장 오래 안 쓴 응답부터 내린다. 자주 쓰는 키만 남으므로 반복 요청은 DB/Jackson 없이 바이트 복사로 끝난다.
+ */
+@Component
+public class ArchiveResponseCache {
+
+    private final ObjectMapper objectMapper;
+    private final ArchiveResponseProperties properties;
+    private final Clock clock;
+
+    /** 날짜 → 마지막으로 새 기사가 저장된 수집 버전 (없으면 0) */
+    private final Map<LocalDate, Long> dayVersions = new ConcurrentHashMap<>();
+    private final AtomicLong versionSequence = new AtomicLong();
+
+    /** dayVersions 에 없는 날짜의 버전. 백필로 아카이브 리비전이 바뀌면 올라가 모든 날짜의 응답을 다시 만들게 한다. */
+    private volatile long baseVersion;
+
+    /** 요청 키 → 응답 바이트. access-order 로 두어 가장 오래 안 쓴 응답이 맨 앞에 온다. (this 로 동기화) */
+    private final LinkedHashMap<Key, Body> bodies = new LinkedHashMap<>(64, 0.75f, true);
+
+    /** 캐시에 올라간 바이트 합계 (this 로 동기화) */
+    private long cachedBytes;
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+
+    @Autowired
+    public ArchiveResponseCache(ObjectMapper objectMapper, ArchiveResponseProperties properties) {
+        this(objectMapper, properties, Clock.system(ZoneId.of("Asia/Seoul")));
+    }
+
+    /**
+     * "오늘" 을 정하는 시계를 직접 지정한다. (벤치마크/테스트용)
+     */
+    public ArchiveResponseCache(ObjectMapper objectMapper, ArchiveResponseProperties properties, Clock clock) {
+        this.objectMapper = objectMapper;
+        this.properties = properties;
+        this.clock = clock;
+    }
+
+    /**
+     * 키의 응답 바이트를 돌려준다. 없거나 그 뒤에 새 기사가 저장됐으면 loader 로 다시 만들어 기억한다.
+     */
+    public Body get(Key key, Supplier<HeadlinePage> loader) {
+        long version = dayVersions.getOrDefault(key.date(), baseVersion);
+        if (properties.isEnabled()) {
+            synchronized (this) {
+                Body cached = bodies.get(key);
+                if (cached != null && cached.version() == version) {
+                    hits.increment();
+                    return cached;
+                }
+            }
+        }
+        misses.increment();
+        Body body = serialize(loader.get(), version);
+        if (properties.isEnabled() && body.size() <= properties.getMaxBytes() / 4) {
+            synchronized (this) {
+                Body previous = bodies.put(key, body);
+                cachedBytes += body.size() - (previous == null ? 0 : previous.size());
+                evictIfNeeded();
+            }
+        }
+        return body;
+    }
+
+    /**
+     * 날짜의 응답이 다시 바뀌지 않는다고 볼 만큼 지났는지. (Cache-Control: immutable 대상)
+     */
+    public boolean isImmutable(LocalDate date) {
+        return !date.isAfter(LocalDate.now(clock).minusDays(Math.max(properties.getImmutableAfterDays(), 1)));
+    }
+
+    /** immutable 응답의 max-age(초) */
+    public long immutableMaxAge() {
+        return properties.getImmutableMaxAge();
+    }
+
+    /**
+     * 새 기사가 저장된 날짜의 수집 버전을 올린다. 다른 조회 캐시가 먼저 갱신되도록 가장 나중에 받는다.
+     */
+    @EventListener
+    @Order(Ordered.LOWEST_PRECEDENCE)
+    public void onHeadlinesInserted(HeadlinesInsertedEvent event) {
+        long version = versionSequence.incrementAndGet();
+        for (Headline headline : event.headlines()) {
+            if (headline.pubDate() != null) {
+                dayVersions.put(headline.pubDate().toLocalDate(), version);
+            }
+        }
+    }
+
+    /**
+     * 다른 프로세스(백필)가 지난 날짜를 바꿨다. 어느 날짜인지 모르므로 모든 날짜의 버전을 올리고 기억한 응답을 버린다.
+     * 다른 조회 캐시가 먼저 비워지도록 가장 나중에 받는다.
+     */
+    @EventListener
+    @Order(Ordered.LOWEST_PRECEDENCE)
+    public void onArchiveRevised(ArchiveRevisedEvent event) {
+        baseVersion = versionSequence.incrementAndGet();
+        dayVersions.clear();
+        synchronized (this) {
+            bodies.clear();
+            cachedBytes = 0;
+        }
+    }
+
+    /**
+     * 조회 수/재생성 수/퇴출 수와 현재 적재 상태.
+     */
+    public synchronized CacheStats stats() {
+        return new CacheStats(hits.sum(), misses.sum(), evictions.sum(), bodies.size(), cachedBytes);
+    }
+
+    private Body serialize(HeadlinePage page, long version) {
+        try {
+            byte[] json = objectMapper.writeValueAsBytes(page);
+            byte[] gzip = properties.isEnabled() && json.length >= properties.getGzipMinSize() ? gzip(json) : null;
+            return new Body(json, gzip, etag(json), version);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("헤드라인 응답을 직렬화하지 못했습니다.", e);
+        }
+    }
+
+    /**
+     * 가장 오래 안 쓴 응답부터 바이트 합계가 maxBytes 이하가 될 때까지 내린다. this 로 동기화된 상태에서만 호출한다.
+     */
+    private void evictIfNeeded() {
+        Iterator<Body> it = bodies.values().iterator();
+        while (cachedBytes > properties.getMaxBytes() && it.hasNext()) {
+            cachedBytes -= it.next().size();
+            it.remove();
+            evictions.increment();
+        }
+    }
+
+    private static byte[] gzip(byte[] json) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(json.length / 4 + 64);
+        try (GZIPOutputStream out = new GZIPOutputStream(bytes)) {
+            out.write(json);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return bytes.toByteArray();
+    }
+
+    private static String etag(byte[] json) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(json);
+            return HexFormat.of().formatHex(digest, 0, 8);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * 응답 하나를 가리키는 요청 값. cursor 가 있으면 page 는 쓰지 않으므로 -1 로 둔다.
+     */
+    public record Key(LocalDate date, String feedId, int page, String cursor, int size) {
+    }
+
+    /**
+     * 직렬화한 응답.
+     *
+     * @param json    JSON 바이트
+     * @param gzip    같은 JSON 을 gzip 한 바이트 (작은 응답이거나 캐시를 끄면 null)
+     * @param etag    JSON 바이트로 만든 ETag (따옴표 없이)
+     * @param version 만들 때의 그 날짜 수집 버전
+     */
+    public record Body(byte[] json, byte[] gzip, String etag, long version) {
+
+        /** 표현(JSON/gzip)에 맞는 ETag 헤더 값 */
+        public String etag(boolean gzipped) {
+            return "\"" + etag + (gzipped ? "-gz" : "") + "\"";
+        }
+
+        int size() {
+            return json.length + (gzip == null ? 0 : gzip.length);
+        }
+    }
+
+    /**
+     * {@link #stats()} 결과.
+     *
+     * @param hits      캐시된 바이트를 그대로 돌려준 횟수
+     * @param misses    조회/직렬화를 다시 한 횟수
+     * @param evictions 바이트 상한으로 내린 응답 수
+     * @param entries   현재 캐시된 응답 수
+     * @param bytes     현재 캐시된 바이트 합계
+     */
+    public record CacheStats(long hits, long misses, long evictions, int entries, long bytes) {
+    }
+}
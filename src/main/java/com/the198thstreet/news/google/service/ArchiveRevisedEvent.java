@@ -0,0 +1,11 @@
+package com.the198thstreet.news.google.service;
+
+/**
+ * 다른 프로세스(백필)가 지난 날짜의 기사를 바꿔 ARCHIVE_REVISION 이 올라갔을 때 발행되는 이벤트.
+ * <p>
+ * 어느 날짜가 바뀌었는지는 알 수 없으므로, 받는 쪽은 날짜별로 기억해 둔 조회 결과를 모두 버린다.
+ *
+ * @param revision 새 리비전
+ */
+public record ArchiveRevisedEvent(long revision) {
+}
@@ -0,0 +1,57 @@
+package com.the198thstreet.news.google.service;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import com.the198thstreet.news.google.repository.ArchiveRevisionRepository;
+
+/**
+ * ARCHIVE_REVISION 을 주기적으로 읽어, 바뀌었으면 {@link ArchiveRevisedEvent} 를 발행한다.
+ * <p>
+ * 백필은 따로 띄운 프로세스에서 수집 이벤트 없이 지난 날짜에 기사를 넣는다. 이 서버의 응답 캐시/건수 캐시/최근 날짜 캐시는
+ * 그 사실을 모르므로, 백필이 끝나며 올린 리비전을 보고 한꺼번에 비운다. (기동 후 첫 값은 기준으로만 삼음)
+ */
+@Component
+public class ArchiveRevisionWatcher {
+
+    private static final Logger log = LoggerFactory.getLogger(ArchiveRevisionWatcher.class);
+
+    private final ArchiveRevisionRepository repository;
+    private final ApplicationEventPublisher eventPublisher;
+
+    /** 마지막으로 본 리비전 (처음 읽기 전에는 null) */
+    private Long seen;
+
+    public ArchiveRevisionWatcher(ArchiveRevisionRepository repository, ApplicationEventPublisher eventPublisher) {
+        this.repository = repository;
+        this.eventPublisher = eventPublisher;
+    }
+
+    /**
+     * 리비전을 읽어 바뀌었으면 이벤트를 발행한다.
+     *
+     * @return 이벤트를 발행했으면 true
+     */
+    @Scheduled(fixedDelayString = "${news.archive.response.revision-check-interval:60000}",
+            initialDelayString = "${news.archive.response.revision-check-interval:60000}")
+    public synchronized boolean check() {
+        long revision;
+        try {
+            revision = repository.current();
+        } catch (RuntimeException e) {
+            log.warn("[아카이브 리비전] 리비전을 읽지 못했습니다. 사유={}", e.getMessage());
+            return false;
+        }
+        Long previous = seen;
+        seen = revision;
+        if (previous == null || previous == revision) {
+            return false;
+        }
+        log.info("[아카이브 리비전] 지난 날짜 기사가 바뀌어({} → {}) 조회 캐시를 비웁니다.", previous, revision);
+        eventPublisher.publishEvent(new ArchiveRevisedEvent(revision));
+        return true;
+    }
+}
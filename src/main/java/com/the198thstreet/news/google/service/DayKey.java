@@ -0,0 +1,16 @@
+package com.the198thstreet.news.google.service;
+
+import java.time.LocalDate;
+
+/**
+ * 날짜별 조회 결과를 기억해 둘 때 쓰는 키. feedId 가 null 이면 모든 피드를 합친 결과다.
+ */
+record DayKey(LocalDate date, String feedId) {
+
+    /**
+     * 기사 한 건이 새로 저장됐을 때 이 키의 결과가 달라지는지.
+     */
+    boolean covers(LocalDate articleDate, String articleFeedId) {
+        return date.equals(articleDate) && (feedId == null || feedId.equals(articleFeedId));
+    }
+}
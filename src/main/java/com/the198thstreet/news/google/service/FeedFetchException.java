@@ -0,0 +1,15 @@
+package com.the198thstreet.news.google.service;
+
+/**
+ * 피드를 HTTP 로 받아오지 못했을 때 던지는 예외. (재시도를 모두 소진했거나 4xx 같은 재시도 불가 응답)
+ */
+public class FeedFetchException extends RuntimeException {
+
+    public FeedFetchException(String message) {
+        super(message);
+    }
+
+    public FeedFetchException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
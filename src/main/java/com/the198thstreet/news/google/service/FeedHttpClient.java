@@ -0,0 +1,210 @@
+package com.the198thstreet.news.google.service;
+
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpHeaders;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.net.http.HttpTimeoutException;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.zip.GZIPInputStream;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+import com.the198thstreet.news.google.GoogleNewsProperties;
+
+/**
+ * 피드 수집 전용 HTTP 클라이언트. JDK {@link HttpClient} 하나를 애플리케이션 전체에서 공유한다.
+ * <p>
+ * - HTTP/2 를 우선 협상하고(https 는 ALPN), 서버가 지원하지 않으면 HTTP/1.1 keep-alive 연결을 재사용한다. (연결 풀은 HttpClient 가 관리)
+ * - 항상 {@code Accept-Encoding: gzip} 을 보내고, gzip 응답은 받으면서 바로 풀어 압축 해제된 바이트만 돌려준다.
+ * - 호스트마다 동시에 보내는 요청 수를 maxConnectionsPerHost 로 제한한다.
+ * - 5xx 응답, 타임아웃, 연결 오류는 retryBackoff 부터 두 배씩 늘려 가며 maxAttempts 번까지 다시 시도한다.
+ * <p>
+ * 받은(압축된 상태의) 바이트 수와 재시도 횟수를 누적해 두어 로그/측정에 쓸 수 있다.
+ */
+@Component
+public class FeedHttpClient {
+
+    private static final Logger log = LoggerFactory.getLogger(FeedHttpClient.class);
+
+    private final HttpClient client;
+    private final GoogleNewsProperties.Http settings;
+
+    /** 호스트 → 동시 요청 허용 수 */
+    private final Map<String, Semaphore> hostPermits = new ConcurrentHashMap<>();
+
+    private final LongAdder requestCount = new LongAdder();
+    private final LongAdder retryCount = new LongAdder();
+    private final LongAdder bytesReceived = new LongAdder();
+
+    public FeedHttpClient(GoogleNewsProperties properties) {
+        this.settings = properties.getHttp();
+        this.client = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_2)
+                .connectTimeout(Duration.ofMillis(settings.getConnectTimeout()))
+                .followRedirects(HttpClient.Redirect.NORMAL)
+                .build();
+    }
+
+    /**
+     * GET 요청을 보내고 응답 본문을 (gzip 이면 풀어서) 끝까지 읽는다.
+     * <p>
+     * 2xx/304 응답은 그대로 돌려주고, 5xx 는 재시도 후에도 실패하면, 그 밖의 상태 코드는 바로 {@link FeedFetchException} 을 던진다.
+     *
+     * @param url     요청 URL
+     * @param headers 추가 요청 헤더 (조건부 요청 헤더 등)
+     */
+    public FeedResponse get(String url, Map<String, String> headers) {
+        URI uri = URI.create(url);
+        HttpRequest.Builder builder = HttpRequest.newBuilder(uri)
+                .timeout(Duration.ofMillis(settings.getRequestTimeout()))
+                .header("Accept-Encoding", "gzip")
+                .GET();
+        headers.forEach(builder::header);
+        HttpRequest request = builder.build();
+
+        int maxAttempts = Math.max(settings.getMaxAttempts(), 1);
+        long backoff = settings.getRetryBackoff();
+        for (int attempt = 1; ; attempt++) {
+            String failure;
+            Exception cause = null;
+            try {
+                FeedResponse response = send(uri, request);
+                if (response.status() < 500) {
+                    if (response.status() >= 400) {
+                        throw new FeedFetchException("HTTP " + response.status() + " - url=" + url);
+                    }
+                    return response;
+                }
+                failure = "HTTP " + response.status();
+            } catch (HttpTimeoutException e) {
+                failure = "타임아웃";
+                cause = e;
+            } catch (IOException e) {
+                failure = "연결 오류(" + e.getMessage() + ")";
+                cause = e;
+            }
+
+            if (attempt >= maxAttempts) {
+                throw new FeedFetchException(failure + " - " + attempt + "회 시도 후 포기합니다. url=" + url, cause);
+            }
+            retryCount.increment();
+            log.warn("[피드 HTTP] {} - {}ms 후 다시 시도합니다. ({}/{}) url={}", failure, backoff, attempt, maxAttempts, url);
+            sleep(backoff);
+            backoff = Math.min(backoff * 2, settings.getMaxRetryBackoff());
+        }
+    }
+
+    /**
+     * 호스트별 허용 수를 얻은 뒤 요청을 보내고 본문을 다 읽는다. 본문을 끝까지 읽어야 연결이 풀로 돌아간다.
+     */
+    private FeedResponse send(URI uri, HttpRequest request) throws IOException {
+        Semaphore permits = hostPermits.computeIfAbsent(uri.getHost(),
+                host -> new Semaphore(Math.max(settings.getMaxConnectionsPerHost(), 1)));
+        try {
+            if (!permits.tryAcquire(settings.getRequestTimeout(), TimeUnit.MILLISECONDS)) {
+                throw new HttpTimeoutException("호스트별 동시 요청 상한으로 대기하다 시간 초과 - host=" + uri.getHost());
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("요청 대기 중 인터럽트", e);
+        }
+        try {
+            requestCount.increment();
+            HttpResponse<InputStream> response = client.send(request, HttpResponse.BodyHandlers.ofInputStream());
+            try (InputStream wire = new CountingInputStream(response.body(), bytesReceived)) {
+                byte[] body = decode(response.headers(), wire).readAllBytes();
+                // gzip 스트림은 트레일러까지만 읽으므로, 남은 바이트를 비워야 연결이 닫히지 않고 풀로 돌아간다.
+                wire.transferTo(OutputStream.nullOutputStream());
+                return new FeedResponse(response.statusCode(), response.headers(), body);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("응답 대기 중 인터럽트", e);
+        } finally {
+            permits.release();
+        }
+    }
+
+    private static InputStream decode(HttpHeaders headers, InputStream wire) throws IOException {
+        boolean gzip = headers.firstValue("Content-Encoding").map(v -> v.equalsIgnoreCase("gzip")).orElse(false);
+        return gzip ? new GZIPInputStream(wire, 8 * 1024) : wire;
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new FeedFetchException("재시도 대기 중 인터럽트", e);
+        }
+    }
+
+    /** 보낸 요청 누적 횟수 (재시도 포함) */
+    public long getRequestCount() {
+        return requestCount.sum();
+    }
+
+    /** 재시도 누적 횟수 */
+    public long getRetryCount() {
+        return retryCount.sum();
+    }
+
+    /** 네트워크에서 받은 본문 바이트 누적 (gzip 이면 압축된 크기) */
+    public long getBytesReceived() {
+        return bytesReceived.sum();
+    }
+
+    /**
+     * {@link #get(String, Map)} 결과.
+     *
+     * @param status  HTTP 상태 코드
+     * @param headers 응답 헤더
+     * @param body    압축 해제된 본문 (304 등 본문이 없으면 빈 배열)
+     */
+    public record FeedResponse(int status, HttpHeaders headers, byte[] body) {
+    }
+
+    /**
+     * 읽은 바이트 수를 세는 스트림.
+     */
+    private static final class CountingInputStream extends FilterInputStream {
+
+        private final LongAdder counter;
+
+        CountingInputStream(InputStream in, LongAdder counter) {
+            super(in);
+            this.counter = counter;
+        }
+
+        @Override
+        public int read() throws IOException {
+            int b = super.read();
+            if (b >= 0) {
+                counter.increment();
+            }
+            return b;
+        }
+
+        @Override
+        public int read(byte[] buffer, int offset, int length) throws IOException {
+            int n = super.read(buffer, offset, length);
+            if (n > 0) {
+                counter.add(n);
+            }
+            return n;
+        }
+    }
+}
@@ -1,14 +1,17 @@
 package com.the198thstreet.news.google.service;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.StringReader;
+import java.nio.charset.StandardCharsets;
 import java.time.Instant;
 import java.time.LocalDateTime;
 import java.time.ZoneId;
 import java.time.format.DateTimeFormatter;
 import java.time.format.DateTimeParseException;
 import java.util.ArrayList;
-import java.util.HashMap;
 import java.util.List;
-import java.util.Map;
+import java.util.function.UnaryOperator;
 
 import org.apache.commons.text.StringEscapeUtils;
 import org.jsoup.Jsoup;
@@ -17,21 +20,30 @@ import org.jsoup.nodes.Element;
 import org.jsoup.select.Elements;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
-import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 import org.springframework.util.StringUtils;
-import org.springframework.web.client.RestClientException;
-import org.springframework.web.client.RestTemplate;
 
 import com.the198thstreet.news.google.GoogleNewsProperties;
+import com.the198thstreet.news.google.model.Headline;
 import com.the198thstreet.news.google.repository.HeadlineNewsRepository;
+import com.the198thstreet.news.google.repository.PressDictionary;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 
 /**
- * 구글 뉴스 헤드라인 RSS 를 주기적으로 수집하고 DB 에 적재하는 서비스.
+ * 구글 뉴스 RSS 피드를 수집하고 DB 에 적재하는 서비스.
  * <p>
  * 요구사항의 핵심 로직을 모두 이 클래스에 모아 두었으며,
- * description 내부의 {@code <li>} 태그를 "실제 기사"로 보고 Map 형태로 다룬다.
+ * description 내부의 {@code <li>} 태그를 "실제 기사"로 보고 {@link Headline} 레코드로 다룬다.
  * 데이터 중복을 방지하기 위해 ARTICLE_LINK + PUB_DATE 조합을 기준으로 insert 여부를 결정한다.
+ * <p>
+ * 수집 한 번마다 피드별로 아래 지표를 남긴다. (저장 이후 단계는 {@link HeadlineIngestWriter}, 중복 확인/저장 단계는
+ * {@link HeadlineNewsRepository} 가 기록)
+ * - news.ingest.phase (phase=fetch|parse) : 단계별 소요 시간
+ * - news.ingest.feed.bytes : 받은 본문 크기, news.ingest.items : 파싱된 기사 수
  */
 @Service
 public class GoogleHeadlineNewsService {
@@ -44,86 +56,175 @@ public class GoogleHeadlineNewsService {
 
     private static final Logger log = LoggerFactory.getLogger(GoogleHeadlineNewsService.class);
 
-    private final RestTemplate restTemplate;
+    private final RssFeedFetcher fetcher;
     private final GoogleNewsProperties properties;
-    private final HeadlineNewsRepository repository;
+    private final HeadlineIngestWriter ingestWriter;
+    private final MeterRegistry meterRegistry;
+    private final StaxRssParser staxParser;
+
+    /** 파싱한 언론사 이름을 사전의 인스턴스로 바꾸는 함수 (사전이 없으면 그대로) */
+    private final UnaryOperator<String> pressNames;
 
-    public GoogleHeadlineNewsService(RestTemplate restTemplate, GoogleNewsProperties properties,
-            HeadlineNewsRepository repository) {
-        this.restTemplate = restTemplate;
+    public GoogleHeadlineNewsService(RssFeedFetcher fetcher, GoogleNewsProperties properties,
+            HeadlineIngestWriter ingestWriter, MeterRegistry meterRegistry) {
+        this(fetcher, properties, ingestWriter, meterRegistry, null);
+    }
+
+    @Autowired
+    public GoogleHeadlineNewsService(RssFeedFetcher fetcher, GoogleNewsProperties properties,
+            HeadlineIngestWriter ingestWriter, MeterRegistry meterRegistry, PressDictionary pressDictionary) {
+        this.fetcher = fetcher;
         this.properties = properties;
-        this.repository = repository;
+        this.ingestWriter = ingestWriter;
+        this.meterRegistry = meterRegistry;
+        this.pressNames = pressDictionary != null ? pressDictionary::intern : UnaryOperator.identity();
+        this.staxParser = new StaxRssParser(this::parsePubDate, pressNames);
     }
 
     /**
-     * 5분마다(기본값) RSS 를 가져와 DB 에 저장한다.
+     * 피드 하나를 한 번 수집해 DB 에 저장한다. 호출 주기와 동시 실행 제어는 {@link MultiFeedCollector} 가 맡는다.
      * <p>
      * 동작 순서
-     * 1) 스케줄이 실행되면 먼저 enabled 플래그를 확인한다.
-     * 2) RSS URL 에 HTTP GET 요청을 보내 XML 을 문자열로 받는다.
-     * 3) {@link #parseRss(String)} 로 XML 을 Map 리스트로 파싱한다.
-     * 4) 각 기사에 대해 중복 여부를 확인하고, 없으면 {@link HeadlineNewsRepository#insertHeadline(Map)} 으로 저장한다.
-     * 5) 저장/스킵 건수를 로그로 남겨 운영자가 흐름을 쉽게 파악하도록 돕는다.
+     * 1) {@link RssFeedFetcher} 로 조건부 GET 을 보내 XML 을 받는다. 304 이거나 본문이 직전과 같으면 여기서 끝낸다.
+     * 2) {@link #parseRss(String)} 로 XML 을 {@link Headline} 리스트로 파싱한다.
+     * 3) {@link HeadlineIngestWriter#submit(String, List)} 로 넘긴다. 저널을 켰으면 로컬 저널에 덧붙이고 바로 돌아오며,
+     *    중복 확인/저장/묶기/{@link HeadlinesInsertedEvent} 발행은 저널을 옮기는 스레드가 한다. 끄면 여기서 바로 저장한다.
+     * 4) 저널(또는 DB)에 남긴 뒤에야 ETag/Last-Modified/본문 해시를 기억해, 실패한 문서는 다음 주기에 다시 처리되게 한다.
+     * <p>
+     * 오류는 이 메서드 안에서 로그로 남기고 삼켜, 한 피드의 실패가 다른 피드 수집에 영향을 주지 않게 한다.
      */
-    @Scheduled(fixedDelayString = "${news.collector.google.fixed-delay:300000}")
-    public void fetchAndSaveGoogleHeadlineNews() {
-        if (!properties.isEnabled()) {
-            log.info("[구글 RSS 수집기] 비활성화 설정으로 인해 실행을 건너뜁니다.");
-            return;
-        }
-
+    public void collect(GoogleNewsProperties.Feed feed) {
+        String feedId = feed.getId();
+        Timer.Sample fetchSample = Timer.start(meterRegistry);
         try {
-            String rssUrl = resolveRssUrl();
-            log.info("[구글 RSS 수집기] URL={} 으로부터 헤드라인을 가져옵니다.", rssUrl);
-            // 1. RSS XML 을 문자열로 받는다.
-            String xml = restTemplate.getForObject(rssUrl, String.class);
-            // 2. description 내부 li 태그만 뽑아 기사 목록으로 변환한다.
-            List<Map<String, Object>> articles = parseRss(xml);
-            log.info("[구글 RSS 수집기] 파싱된 기사 건수={} (insert 여부는 중복 검사 후 결정)", articles.size());
-
-            int inserted = 0;
-            int skipped = 0;
-            // 3. 각 기사마다 중복 여부를 체크한 뒤 없으면 저장한다.
-            for (Map<String, Object> article : articles) {
-                if (repository.existsByLinkAndPubDate((String) article.get("articleLink"),
-                        (LocalDateTime) article.get("pubDate"))) {
-                    skipped++;
-                    continue;
-                }
-                repository.insertHeadline(article);
-                inserted++;
+            log.info("[구글 RSS 수집기] feed={} URL={} 으로부터 헤드라인을 가져옵니다.", feedId, feed.getUrl());
+            // 1. RSS XML 을 조건부 GET 으로 받는다. 변경이 없으면 파싱과 DB 작업을 모두 건너뛴다.
+            RssFetchResult fetched = fetcher.fetch(feed.getUrl());
+            fetchSample.stop(phaseTimer(feedId, "fetch", fetched.outcome().name()));
+            if (!fetched.hasNewContent()) {
+                log.info("[구글 RSS 수집기] feed={} 피드 변경 없음({}) - 304 누적={}, 해시 일치 누적={}, 전체 파싱 누적={}",
+                        feedId, fetched.outcome(), fetcher.getNotModifiedCount(), fetcher.getHashHitCount(),
+                        fetcher.getFullParseCount());
+                return;
             }
-            log.info("[구글 RSS 수집기 완료] 저장={}건, 중복 스킵={}건", inserted, skipped);
-        } catch (RestClientException httpError) {
-            log.error("[구글 RSS 수집기 오류] HTTP 호출 실패", httpError);
+            feedSummary("news.ingest.feed.bytes", "받은 피드 본문 크기", "bytes", feedId).record(fetched.content().length);
+
+            // 2. description 내부 li 태그만 뽑아 기사 목록으로 변환한다.
+            List<Headline> articles = phaseTimer(feedId, "parse", "ok").record(() -> parseRss(fetched));
+            feedSummary("news.ingest.items", "수집 한 번에 파싱된 기사 수", "items", feedId).record(articles.size());
+            log.info("[구글 RSS 수집기] feed={} 파싱된 기사 건수={} (insert 여부는 중복 검사 후 결정)", feedId,
+                    articles.size());
+
+            // 3. 저널에 덧붙이거나(기본) 바로 저장한다. DB 가 느려도 저널이 가득 차기 전까지는 기다리지 않는다.
+            ingestWriter.submit(feedId, articles);
+            // 4. 잃어버리지 않을 곳에 남겼으므로 이번 응답의 검증 정보를 기억한다.
+            fetcher.markProcessed(fetched);
+        } catch (FeedFetchException httpError) {
+            fetchSample.stop(phaseTimer(feedId, "fetch", "ERROR"));
+            log.error("[구글 RSS 수집기 오류] feed={} HTTP 호출 실패", feedId, httpError);
+        } catch (InterruptedException stopped) {
+            Thread.currentThread().interrupt();
+            log.warn("[구글 RSS 수집기] feed={} 종료 중이라 이번 수집을 멈춥니다.", feedId);
         } catch (Exception e) {
-            log.error("[구글 RSS 수집기 오류] 예기치 못한 오류", e);
+            meterRegistry.counter("news.ingest.errors", "feed", feedId).increment();
+            log.error("[구글 RSS 수집기 오류] feed={} 예기치 못한 오류", feedId, e);
         }
     }
 
+    private Timer phaseTimer(String feedId, String phase, String outcome) {
+        return Timer.builder("news.ingest.phase")
+                .description("피드 수집 단계별 소요 시간")
+                .tags("feed", feedId, "phase", phase, "outcome", outcome)
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+    }
+
+    private DistributionSummary feedSummary(String name, String description, String unit, String feedId) {
+        return DistributionSummary.builder(name)
+                .description(description)
+                .baseUnit(unit)
+                .tag("feed", feedId)
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+    }
+
+    /**
+     * 수집할 피드 목록을 만든다.
+     * <p>
+     * news.collector.google.feeds 가 비어 있으면 기존 단일 피드 설정(rssUrl/fixedDelay)으로 기본 피드 하나를 만든다.
+     * 피드 설정 검사는 {@link GoogleNewsProperties#feedIds()} 와 같은 규칙을 쓰며, 잘못된 피드가 있으면 IllegalStateException 을 던진다.
+     * interval 이 0 이하면 상위 fixedDelay 를 채워 넣은 사본을 돌려준다.
+     */
+    public List<GoogleNewsProperties.Feed> resolveFeeds() {
+        if (properties.getFeeds() == null || properties.getFeeds().isEmpty()) {
+            return List.of(new GoogleNewsProperties.Feed(GoogleNewsProperties.DEFAULT_FEED_ID, resolveRssUrl(),
+                    properties.getFixedDelay(), 0L));
+        }
+        properties.feedIds();
+        List<GoogleNewsProperties.Feed> feeds = new ArrayList<>();
+        for (GoogleNewsProperties.Feed feed : properties.getFeeds()) {
+            long interval = feed.getInterval() > 0 ? feed.getInterval() : properties.getFixedDelay();
+            feeds.add(new GoogleNewsProperties.Feed(feed.getId(), feed.getUrl(), interval, Math.max(feed.getJitter(), 0L)));
+        }
+        return feeds;
+    }
+
+    /**
+     * 받아 온 본문을 파싱한다. StAX 파서는 문자열로 바꾸지 않고 바이트 스트림을 그대로 읽는다.
+     */
+    private List<Headline> parseRss(RssFetchResult fetched) {
+        if (properties.getParser() == GoogleNewsProperties.ParserType.JSOUP) {
+            return parseRss(fetched.body());
+        }
+        return staxParser.parse(fetched.openBody());
+    }
+
     /**
      * XML 문자열을 파싱하여 description 내부의 {@code <li>} 태그들을 기사 목록으로 변환한다.
      * <p>
      * 입력: 구글 뉴스 RSS XML 전체 문자열
-     * 반환: 기사마다 아래 키를 담은 Map 리스트
+     * 반환: 기사마다 아래 값을 담은 {@link Headline} 리스트 (id 는 0)
      *  - articleTitle : {@code <a>} 태그 텍스트
      *  - articleLink  : {@code <a href>} 값
-     *  - pressName    : {@code <font>} 텍스트
-     *  - pubDateRaw   : 원문 pubDate 문자열
+     *  - pressName    : {@code <font>} 텍스트 (언론사 사전에 있는 이름이면 사전의 인스턴스)
      *  - pubDate      : Asia/Seoul 기준 LocalDateTime
+     * <p>
+     * 실제 파싱은 {@code news.collector.google.parser} 설정에 따라 {@link StaxRssParser}(기본) 또는
+     * Jsoup DOM 파서가 맡는다. 두 파서의 결과는 같다.
      */
-    public List<Map<String, Object>> parseRss(String xmlContent) {
-        List<Map<String, Object>> parsedArticles = new ArrayList<>();
+    public List<Headline> parseRss(String xmlContent) {
         if (!StringUtils.hasText(xmlContent)) {
             log.warn("[구글 RSS 파서] 전달된 XML 내용이 비어 있어 파싱을 건너뜁니다.");
-            return parsedArticles;
+            return new ArrayList<>();
         }
+        if (properties.getParser() == GoogleNewsProperties.ParserType.JSOUP) {
+            return parseRssWithJsoup(xmlContent);
+        }
+        return staxParser.parse(new StringReader(xmlContent));
+    }
+
+    /**
+     * 저장해 둔 RSS 파일처럼 바이트 스트림으로 가진 XML 을 파싱한다. 결과는 {@link #parseRss(String)} 와 같다.
+     * 파서에 상태가 없으므로 여러 스레드에서 동시에 호출해도 된다. (백필 fork-join 풀에서 사용)
+     */
+    public List<Headline> parseRss(InputStream xml) throws IOException {
+        if (properties.getParser() == GoogleNewsProperties.ParserType.JSOUP) {
+            return parseRss(new String(xml.readAllBytes(), StandardCharsets.UTF_8));
+        }
+        return staxParser.parse(xml);
+    }
+
+    /**
+     * Jsoup XML DOM 을 만들고, item 마다 description 을 다시 Jsoup HTML DOM 으로 만들어 li 를 읽는 기존 파서.
+     */
+    private List<Headline> parseRssWithJsoup(String xmlContent) {
+        List<Headline> parsedArticles = new ArrayList<>();
 
         // 1. 전체 XML 을 Jsoup XML 파서로 읽어 item 목록을 찾는다.
         Document xml = Jsoup.parse(xmlContent, "", org.jsoup.parser.Parser.xmlParser());
         Elements items = xml.select("channel > item");
         for (Element item : items) {
-            // 2. pubDate 문자열을 그대로 담아두고, 변환 가능한지 확인한다.
+            // 2. pubDate 문자열이 변환 가능한지 확인한다.
             String pubDateRaw = item.selectFirst("pubDate") != null ? item.selectFirst("pubDate").text() : null;
             LocalDateTime pubDate = parsePubDate(pubDateRaw);
             if (pubDate == null) {
@@ -147,14 +248,9 @@ public class GoogleHeadlineNewsService {
                     continue;
                 }
 
-                // 5. Map 구조에 기사 정보를 담아 리스트에 추가한다.
-                Map<String, Object> article = new HashMap<>();
-                article.put("articleTitle", anchor.text());
-                article.put("articleLink", anchor.attr("href"));
-                article.put("pressName", press.text());
-                article.put("pubDateRaw", pubDateRaw);
-                article.put("pubDate", pubDate);
-                parsedArticles.add(article);
+                // 5. 기사 정보를 Headline 레코드로 만들어 리스트에 추가한다.
+                parsedArticles.add(Headline.parsed(pubDate, pressNames.apply(press.text()), anchor.text(),
+                        anchor.attr("href")));
             }
         }
         return parsedArticles;
@@ -165,8 +261,9 @@ public class GoogleHeadlineNewsService {
      * <p>
      * 입력: "Sun, 30 Nov 2025 08:44:00 GMT" 같은 pubDate 문자열
      * 반환: 한국 시간대(LocalDateTime) 또는 파싱 실패 시 null
+     * (JMH 벤치마크에서 직접 호출할 수 있도록 package-private 으로 둔다.)
      */
-    private LocalDateTime parsePubDate(String pubDateRaw) {
+    LocalDateTime parsePubDate(String pubDateRaw) {
         if (!StringUtils.hasText(pubDateRaw)) {
             log.warn("[구글 RSS 파서] pubDate 값이 비어 있어 변환할 수 없습니다.");
             return null;
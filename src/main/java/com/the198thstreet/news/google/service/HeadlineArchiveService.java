@@ -0,0 +1,231 @@
+package com.the198thstreet.news.google.service;
+
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Service;
+
+import com.the198thstreet.news.google.model.Headline;
+import com.the198thstreet.news.google.model.HeadlineCluster;
+import com.the198thstreet.news.google.model.HeadlineCursor;
+import com.the198thstreet.news.google.model.HeadlinePage;
+import com.the198thstreet.news.google.repository.HeadlineNewsRepository;
+
+/**
+ * 아카이브 조회 API 가 사용하는 조회 서비스.
+ * <p>
+ * - page/size 방식: 기존과 같이 OFFSET 으로 조회하되, 응답에 다음/이전 커서를 함께 내려준다.
+ * - cursor 방식: (PUB_DATE, ID) 기준으로 바로 이어서 읽는 키셋 조회. COUNT 를 다시 하지 않는다.
+ * - feedId 가 있으면 그 피드의 기사만, null 이면 모든 피드의 기사를 대상으로 한다.
+ * - 날짜별 총 건수: 오늘(KST) 이전 날짜는 한 번 센 값을 기억해 두고, 그 날짜에 새 기사가 저장될 때만 지운다.
+ *   백필이 끝나 {@link ArchiveRevisedEvent} 가 오면 모두 지운다.
+ * - 최근 날짜({@link HotDayHeadlineCache} 대상)는 DB 대신 메모리의 날짜 목록에서 같은 규칙으로 잘라 돌려준다.
+ * - 목록/건수/커서는 같은 사건 묶음의 대표 기사 단위다. 페이지를 자른 뒤 그 페이지 대표들에 묶인 기사를
+ *   한 번에 읽어(캐시된 날짜는 메모리에서) 언론사 목록으로 붙인다.
+ */
+@Service
+public class HeadlineArchiveService {
+
+    private static final Logger log = LoggerFactory.getLogger(HeadlineArchiveService.class);
+    private static final ZoneId KST = ZoneId.of("Asia/Seoul");
+
+    /** 기억해 둘 날짜 수 상한 (약 10년치). 넘으면 비우고 다시 센다. */
+    private static final int MAX_CACHED_DAY_COUNTS = 4_000;
+
+    private final HeadlineNewsRepository repository;
+    private final HotDayHeadlineCache hotDayCache;
+
+    /** 오늘 이전 (날짜, 피드) → 총 기사 수 */
+    private final Map<DayKey, Integer> closedDayCounts = new ConcurrentHashMap<>();
+
+    public HeadlineArchiveService(HeadlineNewsRepository repository, HotDayHeadlineCache hotDayCache) {
+        this.repository = repository;
+        this.hotDayCache = hotDayCache;
+    }
+
+    /**
+     * page/size 방식 조회. 첫 페이지 이후로는 응답의 nextCursor 로 이어서 읽는 것이 더 저렴하다.
+     */
+    public HeadlinePage getPage(LocalDate date, String feedId, int page, int size) {
+        HotDayHeadlineCache.Day day = hotDayCache.get(date, feedId);
+        if (day != null) {
+            List<Headline> leads = day.leads();
+            int from = (int) Math.min((long) page * size, leads.size());
+            int to = (int) Math.min((long) from + size, leads.size());
+            List<Headline> articles = leads.subList(from, to);
+            return new HeadlinePage(date, feedId, leads.size(), page, size, withMembers(articles, day.members()),
+                    to < leads.size() ? olderCursor(articles) : null,
+                    page > 0 ? newerCursor(articles) : null);
+        }
+        int totalCount = countByDate(date, feedId);
+        List<Headline> articles = repository.findByDate(date, feedId, page * size, size);
+        boolean hasOlder = (long) page * size + articles.size() < totalCount;
+        return new HeadlinePage(date, feedId, totalCount, page, size, withMembers(date, feedId, articles),
+                hasOlder ? olderCursor(articles) : null,
+                page > 0 ? newerCursor(articles) : null);
+    }
+
+    /**
+     * cursor 방식 조회. limit 보다 한 건 더 읽어 반대쪽 끝에 더 읽을 행이 있는지 판단한다.
+     */
+    public HeadlinePage getPage(LocalDate date, String feedId, HeadlineCursor cursor, int size) {
+        HotDayHeadlineCache.Day day = hotDayCache.get(date, feedId);
+        if (day != null) {
+            return pageFromDay(date, feedId, day, cursor, size);
+        }
+        List<Headline> rows;
+        String nextCursor;
+        String prevCursor;
+        if (cursor.direction() == HeadlineCursor.Direction.OLDER) {
+            rows = repository.findByDateOlderThan(date, feedId, cursor.pubDate(), cursor.id(), size + 1);
+            boolean hasOlder = rows.size() > size;
+            rows = hasOlder ? rows.subList(0, size) : rows;
+            nextCursor = hasOlder ? olderCursor(rows) : null;
+            prevCursor = newerCursor(rows);
+        } else {
+            rows = repository.findByDateNewerThan(date, feedId, cursor.pubDate(), cursor.id(), size + 1);
+            boolean hasNewer = rows.size() > size;
+            rows = hasNewer ? rows.subList(1, rows.size()) : rows;
+            nextCursor = olderCursor(rows);
+            prevCursor = hasNewer ? newerCursor(rows) : null;
+        }
+        return new HeadlinePage(date, feedId, closedDayCounts.get(new DayKey(date, feedId)), null, size,
+                withMembers(date, feedId, rows), nextCursor, prevCursor);
+    }
+
+    /**
+     * 날짜별 총 기사 묶음 수. 오늘 이전 날짜는 캐시된 값을 우선 사용한다.
+     */
+    public int countByDate(LocalDate date, String feedId) {
+        DayKey key = new DayKey(date, feedId);
+        Integer cached = closedDayCounts.get(key);
+        if (cached != null) {
+            return cached;
+        }
+        int count = repository.countByDate(date, feedId);
+        if (date.isBefore(LocalDate.now(KST))) {
+            if (closedDayCounts.size() >= MAX_CACHED_DAY_COUNTS) {
+                closedDayCounts.clear();
+            }
+            closedDayCounts.put(key, count);
+        }
+        return count;
+    }
+
+    /**
+     * 새 기사가 저장된 날짜의 캐시된 건수를 지운다. (늦게 들어온 과거 날짜 기사도 반영되도록)
+     * {@link ArchiveResponseCache} 가 응답을 다시 만들 때 갱신된 값을 읽도록 가장 먼저 받는다.
+     */
+    @EventListener
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    public void onHeadlinesInserted(HeadlinesInsertedEvent event) {
+        Set<DayKey> touched = new HashSet<>();
+        for (Headline headline : event.headlines()) {
+            if (headline.pubDate() != null) {
+                // 피드별 건수와 전체 피드 합계 건수가 모두 달라진다.
+                touched.add(new DayKey(headline.pubDate().toLocalDate(), headline.feedId()));
+                touched.add(new DayKey(headline.pubDate().toLocalDate(), null));
+            }
+        }
+        for (DayKey key : touched) {
+            if (closedDayCounts.remove(key) != null) {
+                log.debug("[헤드라인 조회] 새 기사 저장으로 날짜별 건수 캐시를 비웁니다. date={} feed={}", key.date(), key.feedId());
+            }
+        }
+    }
+
+    /**
+     * 다른 프로세스(백필)가 지난 날짜를 바꿨으므로 기억해 둔 건수를 모두 지운다.
+     * {@link ArchiveResponseCache} 가 응답을 다시 만들 때 새 건수를 세도록 가장 먼저 받는다.
+     */
+    @EventListener
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    public void onArchiveRevised(ArchiveRevisedEvent event) {
+        closedDayCounts.clear();
+        log.debug("[헤드라인 조회] 아카이브 리비전이 바뀌어 날짜별 건수 캐시를 비웁니다. revision={}", event.revision());
+    }
+
+    /**
+     * 캐시된 날짜 목록(PUB_DATE DESC, ID DESC)에서 커서 위치를 이분 탐색해 DB 조회와 같은 결과를 만든다.
+     */
+    private static HeadlinePage pageFromDay(LocalDate date, String feedId, HotDayHeadlineCache.Day cached,
+            HeadlineCursor cursor, int size) {
+        List<Headline> day = cached.leads();
+        // boundary: 커서 행보다 오래된 첫 행, newerEnd: 커서 행보다 최신인 행의 끝 (커서 행 자체는 양쪽에서 제외)
+        int boundary = firstOlderThan(day, cursor);
+        int newerEnd = boundary > 0 && isAt(day.get(boundary - 1), cursor) ? boundary - 1 : boundary;
+        int from;
+        int to;
+        if (cursor.direction() == HeadlineCursor.Direction.OLDER) {
+            from = boundary;
+            to = Math.min(boundary + size, day.size());
+        } else {
+            from = Math.max(newerEnd - size, 0);
+            to = newerEnd;
+        }
+        List<Headline> rows = day.subList(from, to);
+        return new HeadlinePage(date, feedId, day.size(), null, size, withMembers(rows, cached.members()),
+                to < day.size() ? olderCursor(rows) : null,
+                from > 0 ? newerCursor(rows) : null);
+    }
+
+    /**
+     * DB 에서 읽은 대표 기사 페이지에 묶인 기사를 한 번의 조회로 붙인다.
+     */
+    private List<HeadlineCluster> withMembers(LocalDate date, String feedId, List<Headline> leads) {
+        if (leads.isEmpty()) {
+            return List.of();
+        }
+        List<Long> ids = new ArrayList<>(leads.size());
+        leads.forEach(lead -> ids.add(lead.id()));
+        return withMembers(leads, repository.findClusterMembers(date, feedId, ids));
+    }
+
+    private static List<HeadlineCluster> withMembers(List<Headline> leads, Map<Long, List<Headline>> members) {
+        List<HeadlineCluster> clusters = new ArrayList<>(leads.size());
+        for (Headline lead : leads) {
+            clusters.add(HeadlineCluster.of(lead, members.getOrDefault(lead.id(), List.of())));
+        }
+        return clusters;
+    }
+
+    private static int firstOlderThan(List<Headline> day, HeadlineCursor cursor) {
+        int low = 0;
+        int high = day.size();
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            Headline row = day.get(mid);
+            int cmp = row.pubDate().compareTo(cursor.pubDate());
+            boolean older = cmp < 0 || (cmp == 0 && row.id() < cursor.id());
+            if (older) {
+                high = mid;
+            } else {
+                low = mid + 1;
+            }
+        }
+        return low;
+    }
+
+    private static boolean isAt(Headline row, HeadlineCursor cursor) {
+        return row.id() == cursor.id() && row.pubDate().equals(cursor.pubDate());
+    }
+
+    private static String olderCursor(List<Headline> rows) {
+        return rows.isEmpty() ? null : HeadlineCursor.olderThan(rows.get(rows.size() - 1)).encode();
+    }
+
+    private static String newerCursor(List<Headline> rows) {
+        return rows.isEmpty() ? null : HeadlineCursor.newerThan(rows.get(0)).encode();
+    }
+}
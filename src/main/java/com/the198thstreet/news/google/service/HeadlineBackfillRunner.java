@@ -0,0 +1,75 @@
+package com.the198thstreet.news.google.service;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.stereotype.Component;
+
+import com.the198thstreet.news.google.ArchiveStatsProperties;
+import com.the198thstreet.news.google.repository.ArchiveRevisionRepository;
+
+/**
+ * news.archive.backfill.directory 를 주고 기동하면 백필만 하고 종료하는 실행기.
+ * <p>
+ * 예: {@code java -jar app.jar --spring.main.web-application-type=none --news.collector.google.enabled=false
+ *      --news.ingest.journal.enabled=false --news.archive.backfill.directory=/snapshots --news.archive.backfill.feed-id=headlines}
+ * <p>
+ * 기동 완료(ApplicationReadyEvent) 전에 실행되므로 수집기/저널 스레드는 시작되지 않는다.
+ * 수집 저널은 백필 실행이면 옵션과 관계없이 열지 않으므로({@link com.the198thstreet.news.google.repository.HeadlineJournal})
+ * 같은 서버에서 돌고 있는 수집 서버의 저널 디렉터리를 건드리지 않는다.
+ * 끝나면 백필한 기간의 통계를 다시 집계하고, 아카이브 리비전을 올려 실행 중인 서버가 조회 캐시를 비우게 한 뒤
+ * 종료 코드 0(실패 시 1)으로 끝낸다. 실패해도 그때까지 저장한 기사가 있을 수 있으므로 리비전은 올린다.
+ */
+@Component
+@ConditionalOnProperty(prefix = "news.archive.backfill", name = "directory")
+public class HeadlineBackfillRunner implements ApplicationRunner {
+
+    private static final Logger log = LoggerFactory.getLogger(HeadlineBackfillRunner.class);
+
+    private final HeadlineBackfillService backfillService;
+    private final HeadlineStatsService statsService;
+    private final ArchiveStatsProperties statsProperties;
+    private final ArchiveRevisionRepository revisionRepository;
+    private final ConfigurableApplicationContext context;
+
+    public HeadlineBackfillRunner(HeadlineBackfillService backfillService, HeadlineStatsService statsService,
+            ArchiveStatsProperties statsProperties, ArchiveRevisionRepository revisionRepository,
+            ConfigurableApplicationContext context) {
+        this.backfillService = backfillService;
+        this.statsService = statsService;
+        this.statsProperties = statsProperties;
+        this.revisionRepository = revisionRepository;
+        this.context = context;
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        int exitCode = 0;
+        boolean changed = true;
+        try {
+            HeadlineBackfillService.BackfillReport report = backfillService.run();
+            changed = report.inserted() > 0;
+            if (statsProperties.isEnabled() && changed) {
+                statsService.rebuild(report.oldest(), report.newest());
+            }
+        } catch (Exception e) {
+            log.error("[백필] 실패했습니다. 다시 실행하면 저장을 마친 파일은 건너뛰고 이어서 진행합니다.", e);
+            exitCode = 1;
+        }
+        if (changed) {
+            try {
+                revisionRepository.bump();
+                log.info("[백필] 아카이브 리비전을 올렸습니다. 실행 중인 서버는 다음 확인 때 조회 캐시를 비웁니다.");
+            } catch (Exception e) {
+                log.error("[백필] 아카이브 리비전을 올리지 못했습니다. 실행 중인 서버를 재시작해야 백필한 기사가 조회에 반영됩니다.", e);
+                exitCode = 1;
+            }
+        }
+        int code = exitCode;
+        System.exit(SpringApplication.exit(context, () -> code));
+    }
+}
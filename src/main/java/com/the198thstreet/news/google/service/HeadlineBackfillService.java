@@ -0,0 +1,406 @@
+package com.the198thstreet.news.google.service;
+
+import java.io.BufferedInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.RecursiveTask;
+import java.util.stream.Stream;
+import java.util.zip.GZIPInputStream;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.util.StringUtils;
+
+import com.the198thstreet.news.google.ArchiveBackfillProperties;
+import com.the198thstreet.news.google.model.Headline;
+import com.the198thstreet.news.google.repository.HeadlineNewsRepository;
+
+/**
+ * 저장해 둔 RSS 스냅샷 파일로 HEADLINE_NEWS 의 과거 기사를 채우는 백필 작업.
+ * <p>
+ * - 디렉터리(하위 포함)의 .xml/.rss/.gz 파일을 경로 순으로 정렬해 filesPerWave 개씩 처리한다.
+ * - 한 묶음의 파일은 fork-join 풀에서 {@link RecursiveTask} 로 반씩 나눠 파싱한다. 먼저 끝난 스레드가 남은 파일을 훔쳐 가므로
+ *   파일 크기가 제각각이어도 스레드가 놀지 않는다. 한 묶음을 저장하는 동안 다음 묶음 파싱을 미리 시작해 둔다.
+ * - 스냅샷은 같은 기사가 여러 파일에 반복되므로, 저장하기 전에 (ARTICLE_LINK, PUB_DATE) 의 64비트 해시로 메모리에서 먼저 거른다.
+ *   기사 문자열 대신 long 만 기억하므로 수백만 건이어도 수십 MB 안쪽이다. DB 에 이미 있는 기사는 저장소의 중복 확인이 거른다.
+ * - 남은 기사는 {@link HeadlineNewsRepository#insertHeadlines(String, List)} 로 insertBatchSize 건씩 저장한다. (묶음 조회 + batch INSERT)
+ * - 묶음을 다 저장한 뒤에야 그 파일들을 progressFile 에 적는다. 중간에 멈추고 다시 실행하면 적힌 파일은 건너뛰고,
+ *   저장 도중 멈춘 묶음은 처음부터 다시 읽지만 이미 저장된 기사는 중복 확인에서 걸러진다.
+ * - 백필한 기사는 수집 이벤트를 발행하지 않는다. (실시간 스트림/기사 묶기 대상이 아님) 통계는 호출한 쪽에서 기간을 다시 집계하고,
+ *   실행 중인 서버의 조회 캐시는 호출한 쪽이 올린 아카이브 리비전({@link ArchiveRevisedEvent})을 보고 비운다.
+ *   검색 색인({@link HeadlineSearchIndex})은 다시 만들지 않으므로 백필한 기사는 서버를 재시작해야 검색된다.
+ */
+@Service
+public class HeadlineBackfillService {
+
+    private static final Logger log = LoggerFactory.getLogger(HeadlineBackfillService.class);
+
+    private final GoogleHeadlineNewsService parser;
+    private final HeadlineNewsRepository repository;
+    private final ArchiveBackfillProperties properties;
+
+    public HeadlineBackfillService(GoogleHeadlineNewsService parser, HeadlineNewsRepository repository,
+            ArchiveBackfillProperties properties) {
+        this.parser = parser;
+        this.repository = repository;
+        this.properties = properties;
+    }
+
+    /**
+     * 설정된 디렉터리를 설정된 피드로 백필한다.
+     */
+    public BackfillReport run() throws IOException {
+        return run(Path.of(properties.getDirectory()), properties.getFeedId());
+    }
+
+    /**
+     * directory 아래 스냅샷 파일을 feedId 기사로 저장한다. progressFile 에 적힌 파일은 건너뛴다.
+     */
+    public BackfillReport run(Path directory, String feedId) throws IOException {
+        long started = System.nanoTime();
+        Path progressFile = progressFile(feedId);
+        Set<String> done = readProgress(progressFile);
+        List<Path> files = new ArrayList<>();
+        for (Path file : listSnapshots(directory)) {
+            if (!done.contains(relativeName(directory, file))) {
+                files.add(file);
+            }
+        }
+        int parallelism = properties.getParallelism() > 0 ? properties.getParallelism()
+                : Runtime.getRuntime().availableProcessors();
+        int waveSize = Math.max(properties.getFilesPerWave(), 1);
+        log.info("[백필] 시작 - 디렉터리={} feed={} 파일={}개 (이미 끝난 파일 {}개 제외) 파싱 스레드={}", directory, feedId,
+                files.size(), done.size(), parallelism);
+
+        Progress progress = new Progress(done.size());
+        LongHashSet seen = new LongHashSet();
+        ForkJoinPool pool = new ForkJoinPool(parallelism);
+        try (FileChannel progressOut = openProgress(progressFile)) {
+            ForkJoinTask<List<ParsedFile>> next = files.isEmpty() ? null
+                    : pool.submit(new ParseTask(files.subList(0, Math.min(waveSize, files.size()))));
+            for (int from = 0; from < files.size(); from += waveSize) {
+                List<ParsedFile> wave = next.join();
+                int nextFrom = from + waveSize;
+                // 이번 묶음을 저장하는 동안 다음 묶음을 파싱해 둔다.
+                next = nextFrom < files.size()
+                        ? pool.submit(new ParseTask(files.subList(nextFrom, Math.min(nextFrom + waveSize, files.size()))))
+                        : null;
+                store(feedId, wave, seen, progress);
+                markDone(progressOut, directory, wave);
+                log.info("[백필] 진행 - 파일 {}/{} 파싱={}건 메모리 중복={}건 저장={}건 초당 {}건", from + wave.size(),
+                        files.size(), progress.parsed, progress.duplicates, progress.inserted,
+                        perSecond(progress.parsed, System.nanoTime() - started));
+            }
+        } finally {
+            pool.shutdownNow();
+        }
+
+        BackfillReport report = progress.toReport(files.size(), Duration.ofNanos(System.nanoTime() - started));
+        log.info("[백필] 완료 - {}", report.summary());
+        return report;
+    }
+
+    /**
+     * 파싱한 묶음을 파일 순서대로 메모리 중복 제거한 뒤 insertBatchSize 건씩 저장한다.
+     */
+    private void store(String feedId, List<ParsedFile> wave, LongHashSet seen, Progress progress) {
+        int batchSize = Math.max(properties.getInsertBatchSize(), 1);
+        List<Headline> batch = new ArrayList<>(batchSize);
+        for (ParsedFile file : wave) {
+            progress.bytes += file.bytes();
+            if (file.failed()) {
+                progress.failedFiles++;
+                continue;
+            }
+            progress.parsed += file.articles().size();
+            for (Headline article : file.articles()) {
+                if (!seen.add(dedupHash(article))) {
+                    progress.duplicates++;
+                    continue;
+                }
+                batch.add(article);
+                if (batch.size() == batchSize) {
+                    insert(feedId, batch, progress);
+                    batch = new ArrayList<>(batchSize);
+                }
+            }
+        }
+        insert(feedId, batch, progress);
+    }
+
+    private void insert(String feedId, List<Headline> batch, Progress progress) {
+        if (batch.isEmpty()) {
+            return;
+        }
+        HeadlineNewsRepository.BatchInsertResult result = repository.insertHeadlines(feedId, batch);
+        progress.inserted += result.inserted();
+        progress.skipped += result.skipped();
+        for (Headline article : batch) {
+            LocalDate day = article.pubDate().toLocalDate();
+            if (progress.oldest == null || day.isBefore(progress.oldest)) {
+                progress.oldest = day;
+            }
+            if (progress.newest == null || day.isAfter(progress.newest)) {
+                progress.newest = day;
+            }
+        }
+    }
+
+    /**
+     * 저장을 마친 파일(읽지 못한 파일은 제외)을 진행 상황 파일에 덧붙이고 디스크에 내린다.
+     */
+    private static void markDone(FileChannel progressOut, Path directory, List<ParsedFile> wave) throws IOException {
+        StringBuilder lines = new StringBuilder();
+        for (ParsedFile file : wave) {
+            if (!file.failed()) {
+                lines.append(relativeName(directory, file.path())).append('\n');
+            }
+        }
+        ByteBuffer buffer = ByteBuffer.wrap(lines.toString().getBytes(StandardCharsets.UTF_8));
+        while (buffer.hasRemaining()) {
+            progressOut.write(buffer);
+        }
+        progressOut.force(false);
+    }
+
+    private Path progressFile(String feedId) {
+        return StringUtils.hasText(properties.getProgressFile()) ? Path.of(properties.getProgressFile())
+                : Path.of("data", "backfill", feedId + ".progress");
+    }
+
+    private static Set<String> readProgress(Path progressFile) throws IOException {
+        if (!Files.exists(progressFile)) {
+            return new HashSet<>();
+        }
+        Set<String> done = new HashSet<>();
+        for (String line : Files.readAllLines(progressFile, StandardCharsets.UTF_8)) {
+            if (!line.isBlank()) {
+                done.add(line);
+            }
+        }
+        return done;
+    }
+
+    private static FileChannel openProgress(Path progressFile) throws IOException {
+        Path parent = progressFile.toAbsolutePath().getParent();
+        if (parent != null) {
+            Files.createDirectories(parent);
+        }
+        return FileChannel.open(progressFile, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.APPEND);
+    }
+
+    private static List<Path> listSnapshots(Path directory) throws IOException {
+        try (Stream<Path> paths = Files.walk(directory)) {
+            return paths.filter(Files::isRegularFile)
+                    .filter(path -> {
+                        String name = path.getFileName().toString().toLowerCase(Locale.ROOT);
+                        return name.endsWith(".xml") || name.endsWith(".rss") || name.endsWith(".gz");
+                    })
+                    .sorted()
+                    .toList();
+        }
+    }
+
+    /** 진행 상황 파일에 적는 이름. 디렉터리 기준 상대 경로를 '/' 로 잇는다. */
+    private static String relativeName(Path directory, Path file) {
+        return directory.relativize(file).toString().replace(file.getFileSystem().getSeparator(), "/");
+    }
+
+    /**
+     * 저장소가 중복을 판단하는 (ARTICLE_LINK, PUB_DATE) 의 64비트 해시.
+     * 서로 다른 기사가 같은 해시를 가질 확률은 수백만 건에서 백만분의 일 수준이다.
+     */
+    static long dedupHash(Headline article) {
+        String link = article.articleLink();
+        long h = 0x9E3779B97F4A7C15L;
+        for (int i = 0; i < link.length(); i++) {
+            h = (h ^ link.charAt(i)) * 0x100000001B3L;
+        }
+        LocalDateTime pubDate = article.pubDate();
+        h ^= pubDate.toEpochSecond(ZoneOffset.UTC) * 0xC2B2AE3D27D4EB4FL;
+        // murmur3 finalizer 로 비트를 고루 섞는다.
+        h ^= h >>> 33;
+        h *= 0xFF51AFD7ED558CCDL;
+        h ^= h >>> 33;
+        h *= 0xC4CEB9FE1A85EC53L;
+        h ^= h >>> 33;
+        return h;
+    }
+
+    private static String perSecond(long count, long nanos) {
+        return String.format(Locale.ROOT, "%.0f", nanos <= 0 ? 0.0 : count * 1_000_000_000.0 / nanos);
+    }
+
+    /**
+     * 파일 목록을 반씩 나눠 파싱하는 작업. 파일 하나가 되면 직접 읽는다. 결과는 입력 순서를 지킨다.
+     */
+    private final class ParseTask extends RecursiveTask<List<ParsedFile>> {
+
+        private static final long serialVersionUID = 1L;
+
+        private final transient List<Path> files;
+
+        ParseTask(List<Path> files) {
+            this.files = files;
+        }
+
+        @Override
+        protected List<ParsedFile> compute() {
+            if (files.size() == 1) {
+                return List.of(parse(files.get(0)));
+            }
+            int mid = files.size() / 2;
+            ParseTask right = new ParseTask(files.subList(mid, files.size()));
+            right.fork();
+            List<ParsedFile> result = new ArrayList<>(files.size());
+            result.addAll(new ParseTask(files.subList(0, mid)).compute());
+            result.addAll(right.join());
+            return result;
+        }
+
+        private ParsedFile parse(Path file) {
+            try (InputStream in = open(file)) {
+                return new ParsedFile(file, Files.size(file), parser.parseRss(in), false);
+            } catch (IOException | UncheckedIOException e) {
+                log.warn("[백필] 파일을 읽지 못해 건너뜁니다. 다음 실행에서 다시 읽습니다. 파일={} 사유={}", file, e.getMessage());
+                return new ParsedFile(file, 0L, List.of(), true);
+            }
+        }
+
+        /** gzip 여부는 확장자 대신 첫 두 바이트(1f 8b)로 판단한다. */
+        private InputStream open(Path file) throws IOException {
+            BufferedInputStream in = new BufferedInputStream(Files.newInputStream(file), 64 * 1024);
+            in.mark(2);
+            int first = in.read();
+            int second = in.read();
+            in.reset();
+            return first == 0x1f && second == 0x8b ? new GZIPInputStream(in, 64 * 1024) : in;
+        }
+    }
+
+    private record ParsedFile(Path path, long bytes, List<Headline> articles, boolean failed) {
+    }
+
+    /** 실행 중 누적 값. 저장 스레드 하나만 갱신한다. */
+    private static final class Progress {
+        private final int skippedFiles;
+        private int failedFiles;
+        private long bytes;
+        private long parsed;
+        private long duplicates;
+        private long inserted;
+        private long skipped;
+        private LocalDate oldest;
+        private LocalDate newest;
+
+        Progress(int skippedFiles) {
+            this.skippedFiles = skippedFiles;
+        }
+
+        BackfillReport toReport(int files, Duration elapsed) {
+            return new BackfillReport(files - failedFiles, skippedFiles, failedFiles, bytes, parsed, duplicates,
+                    inserted, skipped, oldest, newest, elapsed);
+        }
+    }
+
+    /**
+     * 64비트 해시만 담는 열린 주소 해시 집합. 0 은 빈 칸 표시로 쓰므로 따로 기억한다.
+     */
+    static final class LongHashSet {
+        private long[] slots = new long[1 << 16];
+        private int size;
+        private boolean hasZero;
+
+        /** 처음 보는 값이면 넣고 true */
+        boolean add(long value) {
+            if (value == 0L) {
+                boolean added = !hasZero;
+                hasZero = true;
+                return added;
+            }
+            if ((size + 1) * 2 > slots.length) {
+                grow();
+            }
+            int mask = slots.length - 1;
+            for (int i = (int) (value ^ (value >>> 32)) & mask; ; i = (i + 1) & mask) {
+                if (slots[i] == value) {
+                    return false;
+                }
+                if (slots[i] == 0L) {
+                    slots[i] = value;
+                    size++;
+                    return true;
+                }
+            }
+        }
+
+        private void grow() {
+            long[] old = slots;
+            slots = new long[old.length * 2];
+            size = 0;
+            for (long value : old) {
+                if (value != 0L) {
+                    add(value);
+                }
+            }
+        }
+    }
+
+    /**
+     * 백필 결과와 처리량.
+     *
+     * @param files        이번 실행에서 읽은 파일 수
+     * @param skippedFiles 진행 상황 파일에 있어 건너뛴 파일 수
+     * @param failedFiles  읽지 못한 파일 수 (다음 실행에서 다시 읽음)
+     * @param bytes        읽은 파일 크기 합계
+     * @param parsed       파싱한 기사 수
+     * @param duplicates   다른 파일에서 이미 본 기사라 메모리에서 거른 수
+     * @param inserted     새로 저장한 기사 수
+     * @param skipped      DB 에 이미 있어 건너뛴 기사 수
+     * @param oldest       저장소에 넘긴 기사 중 가장 이른 날짜 (없으면 null)
+     * @param newest       저장소에 넘긴 기사 중 가장 늦은 날짜 (없으면 null)
+     * @param elapsed      걸린 시간
+     */
+    public record BackfillReport(int files, int skippedFiles, int failedFiles, long bytes, long parsed,
+            long duplicates, long inserted, long skipped, LocalDate oldest, LocalDate newest, Duration elapsed) {
+
+        /** 초당 파싱한 기사 수 */
+        public double articlesPerSecond() {
+            return elapsed.isZero() ? 0.0 : parsed * 1_000_000_000.0 / elapsed.toNanos();
+        }
+
+        /** 초당 읽은 MB */
+        public double megabytesPerSecond() {
+            return elapsed.isZero() ? 0.0 : bytes / 1_048_576.0 * 1_000_000_000.0 / elapsed.toNanos();
+        }
+
+        /** 로그용 한 줄 요약 */
+        public String summary() {
+            return String.format(Locale.ROOT,
+                    "파일=%d개(건너뜀 %d, 실패 %d) %.1fMB 파싱=%d건 메모리 중복=%d건 저장=%d건 DB 중복=%d건 기간=%s~%s "
+                            + "소요=%.1f초 처리량=초당 %.0f건 / %.1fMB",
+                    files, skippedFiles, failedFiles, bytes / 1_048_576.0, parsed, duplicates, inserted, skipped, oldest,
+                    newest, elapsed.toMillis() / 1000.0, articlesPerSecond(), megabytesPerSecond());
+        }
+    }
+}
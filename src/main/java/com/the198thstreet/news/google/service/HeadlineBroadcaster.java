@@ -0,0 +1,388 @@
+package com.the198thstreet.news.google.service;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.the198thstreet.news.google.ArchiveStreamProperties;
+import com.the198thstreet.news.google.model.Headline;
+import com.the198thstreet.news.google.model.HeadlineStreamBatch;
+
+import jakarta.annotation.PreDestroy;
+
+/**
+ * 새로 저장된 기사를 SSE 구독자에게 밀어 주는 방송기.
+ * <p>
+ * - 수집 주기가 커밋한 {@link HeadlinesInsertedEvent} 하나를 JSON 으로 한 번만 직렬화해 고정 크기 링 버퍼에 넣는다.
+ *   DB 를 다시 읽지 않으므로 구독자가 몇 명이든 저장 비용은 그대로다.
+ *   내용은 {@link HeadlineStreamBatch} (새 묶음 줄 + 기존 묶음에 붙을 기사) 이다.
+ * - 이벤트마다 1씩 늘어나는 번호를 SSE id 로 쓴다. 번호는 기동 시각(밀리초)에서 시작하므로 이전 프로세스의 id 는 항상 오래된 것으로 본다.
+ * - 구독자마다 다음에 보낼 번호만 기억하고, senderThreads 개 스레드가 구독자별로 한 번에 하나씩 버퍼를 따라 쓴다.
+ * - {@link SseEmitter#send} 는 소켓 쓰기가 끝날 때까지 스레드를 붙잡는다. 감시 작업이 sendTimeout 보다 오래 걸리는 쓰기를 찾으면
+ *   그 구독자를 목록에서 빼고(느린 소비자로 셈) 막힌 스레드 몫만큼 전송 스레드를 하나 늘린다. 그 쓰기가 컨테이너의 쓰기 제한 시간으로
+ *   풀려나면 연결을 오류로 끝내고 늘린 스레드를 되돌린다. 그래서 막힌 구독자가 있어도 나머지 구독자는 senderThreads 개 스레드로 계속 받는다.
+ * - 버퍼가 한 바퀴 돌아 보낼 이벤트를 잃은 구독자에게는 reset 이벤트를 보내고 연결을 끊는다. (느린 소비자 정리)
+ * - 브라우저가 Last-Event-ID 로 다시 연결하면 버퍼에 남은 이벤트부터 이어서 보낸다. 버퍼에 없으면 reset 을 보내
+ *   화면이 API 로 다시 읽도록 한 뒤 새 이벤트부터 보낸다.
+ */
+@Component
+public class HeadlineBroadcaster {
+
+    private static final Logger log = LoggerFactory.getLogger(HeadlineBroadcaster.class);
+
+    /** 새 기사 이벤트 이름 */
+    public static final String EVENT_HEADLINES = "headlines";
+
+    /** 화면을 다시 읽으라는 이벤트 이름 */
+    public static final String EVENT_RESET = "reset";
+
+    /** 브라우저 재연결 대기 시간 (밀리초) */
+    private static final long RECONNECT_MILLIS = 5_000L;
+
+    private final ObjectMapper objectMapper;
+    private final ArchiveStreamProperties properties;
+
+    /** 최근 이벤트. 번호 seq 는 ring[seq % ring.length] 에 있다. (this 로 보호) */
+    private final Entry[] ring;
+
+    /** 이 프로세스의 첫 이벤트 번호 */
+    private final long first;
+
+    /** 마지막으로 넣은 이벤트 번호 (this 로 보호) */
+    private long head;
+
+    private final Set<Subscriber> subscribers = ConcurrentHashMap.newKeySet();
+    private final ThreadPoolExecutor senders;
+
+    /** 쓰기가 막혀 sendTimeout 을 넘긴 채 아직 풀려나지 않은 전송 스레드 수 (senders 로 보호) */
+    private int stalledSenders;
+    private final ScheduledExecutorService heartbeats;
+
+    private final AtomicLong published = new AtomicLong();
+    private final AtomicLong dropped = new AtomicLong();
+
+    public HeadlineBroadcaster(ObjectMapper objectMapper, ArchiveStreamProperties properties) {
+        this.objectMapper = objectMapper;
+        this.properties = properties;
+        this.ring = new Entry[Math.max(1, properties.getBufferSize())];
+        this.head = System.currentTimeMillis();
+        this.first = head + 1;
+        int threads = Math.max(1, properties.getSenderThreads());
+        this.senders = new ThreadPoolExecutor(threads, threads, 60L, TimeUnit.SECONDS, new LinkedBlockingQueue<>(),
+                new CustomizableThreadFactory("sse-sender-"));
+        this.heartbeats = Executors.newSingleThreadScheduledExecutor(new CustomizableThreadFactory("sse-heartbeat-"));
+        long interval = Math.max(1_000L, properties.getHeartbeatInterval());
+        heartbeats.scheduleWithFixedDelay(this::heartbeat, interval, interval, TimeUnit.MILLISECONDS);
+        long check = Math.max(50L, properties.getSendTimeout() / 4);
+        heartbeats.scheduleWithFixedDelay(this::evictStalled, check, check, TimeUnit.MILLISECONDS);
+    }
+
+    @EventListener
+    public void onHeadlinesInserted(HeadlinesInsertedEvent event) {
+        publish(event.headlines());
+    }
+
+    /**
+     * 새 기사를 {@link HeadlineStreamBatch} 로 한 번 직렬화해 버퍼에 넣고 구독자들에게 전송을 예약한다.
+     */
+    public void publish(List<Headline> headlines) {
+        if (headlines.isEmpty()) {
+            return;
+        }
+        String json;
+        try {
+            json = objectMapper.writeValueAsString(HeadlineStreamBatch.of(headlines));
+        } catch (JsonProcessingException e) {
+            log.warn("[헤드라인 스트림] 새 기사 직렬화에 실패해 방송을 건너뜁니다. 사유={}", e.getMessage());
+            return;
+        }
+        synchronized (this) {
+            head++;
+            ring[(int) (head % ring.length)] = new Entry(head, json);
+        }
+        published.incrementAndGet();
+        for (Subscriber subscriber : subscribers) {
+            schedule(subscriber);
+        }
+    }
+
+    /**
+     * 새 구독을 연다.
+     *
+     * @param lastEventId 브라우저가 마지막으로 받은 이벤트 id (없으면 null)
+     * @return 구독자 수가 상한에 닿았으면 null
+     */
+    public SseEmitter subscribe(String lastEventId) {
+        if (subscribers.size() >= properties.getMaxSubscribers()) {
+            return null;
+        }
+        SseEmitter emitter = createEmitter();
+        Subscriber subscriber = new Subscriber(emitter);
+        Long lastSeen = parseEventId(lastEventId);
+        synchronized (this) {
+            if (lastSeen == null || lastSeen > head) {
+                subscriber.next = head + 1;
+            } else if (lastSeen + 1 < oldest()) {
+                subscriber.next = head + 1;
+                subscriber.resetPending = true;
+            } else {
+                subscriber.next = lastSeen + 1;
+            }
+        }
+        emitter.onCompletion(() -> close(subscriber));
+        emitter.onTimeout(() -> close(subscriber));
+        emitter.onError(e -> close(subscriber));
+        subscribers.add(subscriber);
+        subscriber.heartbeatPending = true;
+        schedule(subscriber);
+        return emitter;
+    }
+
+    /** 현재 구독자 수 */
+    public int subscriberCount() {
+        return subscribers.size();
+    }
+
+    /** 방송한 이벤트 누적 수 */
+    public long getPublishedCount() {
+        return published.get();
+    }
+
+    /** 버퍼를 놓치거나 쓰기가 sendTimeout 을 넘겨 끊은 구독자 누적 수 */
+    public long getDroppedCount() {
+        return dropped.get();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        heartbeats.shutdownNow();
+        senders.shutdownNow();
+        for (Subscriber subscriber : subscribers) {
+            subscriber.emitter.complete();
+        }
+        subscribers.clear();
+    }
+
+    /** 구독자 하나의 SSE 연결. (테스트에서 쓰기를 막아 보기 위해 분리) */
+    SseEmitter createEmitter() {
+        return new SseEmitter(properties.getTimeout());
+    }
+
+    private void heartbeat() {
+        for (Subscriber subscriber : subscribers) {
+            subscriber.heartbeatPending = true;
+            schedule(subscriber);
+        }
+    }
+
+    /**
+     * 구독자가 이미 전송 중이 아니면 전송 작업을 하나 예약한다. 구독자당 작업은 많아야 하나다.
+     */
+    private void schedule(Subscriber subscriber) {
+        if (subscriber.closed || !subscriber.sending.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            senders.execute(() -> drain(subscriber));
+        } catch (RejectedExecutionException stopped) {
+            subscriber.sending.set(false);
+        }
+    }
+
+    /**
+     * 구독자가 버퍼 끝까지 따라잡을 때까지 이벤트를 쓴다.
+     */
+    private void drain(Subscriber subscriber) {
+        SseEmitter emitter = subscriber.emitter;
+        try {
+            if (subscriber.heartbeatPending) {
+                subscriber.heartbeatPending = false;
+                send(subscriber, SseEmitter.event().comment("ping").reconnectTime(RECONNECT_MILLIS));
+            }
+            if (subscriber.resetPending) {
+                subscriber.resetPending = false;
+                // id 를 현재 끝으로 맞춰 두어, 곧바로 재연결해도 같은 reset 을 다시 받지 않게 한다.
+                send(subscriber, SseEmitter.event().id(Long.toString(subscriber.next - 1)).name(EVENT_RESET).data("buffer"));
+            }
+            Entry entry;
+            while (!subscriber.closed && (entry = next(subscriber)) != null) {
+                if (entry == Entry.LAPPED) {
+                    dropped.incrementAndGet();
+                    log.info("[헤드라인 스트림] 버퍼를 따라오지 못한 구독자를 끊습니다. 구독자={}", subscribers.size());
+                    send(subscriber, SseEmitter.event().name(EVENT_RESET).data("lagged"));
+                    emitter.complete();
+                    close(subscriber);
+                    return;
+                }
+                send(subscriber, SseEmitter.event().id(Long.toString(entry.seq())).name(EVENT_HEADLINES).data(entry.json()));
+                subscriber.next = entry.seq() + 1;
+            }
+        } catch (IOException | IllegalStateException e) {
+            // 브라우저가 떠났거나 이미 끝난 연결. onError/onCompletion 과 같은 정리를 한다.
+            close(subscriber);
+            return;
+        } finally {
+            subscriber.sending.set(false);
+        }
+        if (hasPending(subscriber)) {
+            schedule(subscriber);
+        }
+    }
+
+    /**
+     * 쓰기 하나. 시작 시각을 남겨 {@link #evictStalled()} 가 막힌 쓰기를 찾을 수 있게 한다.
+     * 감시 작업이 이미 끊은 구독자면 쓰기가 끝난 뒤 연결을 오류로 끝내고 {@link IOException} 을 던진다.
+     */
+    private void send(Subscriber subscriber, SseEmitter.SseEventBuilder event) throws IOException {
+        synchronized (subscriber) {
+            subscriber.sendStartedNanos = System.nanoTime();
+        }
+        boolean stalled;
+        try {
+            subscriber.emitter.send(event);
+        } finally {
+            synchronized (subscriber) {
+                subscriber.sendStartedNanos = 0L;
+                stalled = subscriber.stalled;
+                subscriber.stalled = false;
+            }
+            if (stalled) {
+                resizeSenders(-1);
+            }
+        }
+        if (stalled) {
+            subscriber.emitter.completeWithError(new IOException("send timeout"));
+            throw new IOException("쓰기가 sendTimeout 을 넘겨 끊은 구독자입니다.");
+        }
+    }
+
+    /**
+     * sendTimeout 보다 오래 막힌 쓰기를 찾아 그 구독자를 끊고, 막힌 스레드 대신 쓸 전송 스레드를 하나 늘린다.
+     * 막힌 쓰기는 이 스레드에서 끝낼 수 없으므로(emitter 가 쓰는 동안 잠겨 있음) 정리는 쓰기가 풀려난 뒤 {@link #send} 가 한다.
+     */
+    private void evictStalled() {
+        long now = System.nanoTime();
+        long limit = TimeUnit.MILLISECONDS.toNanos(Math.max(1L, properties.getSendTimeout()));
+        for (Subscriber subscriber : subscribers) {
+            synchronized (subscriber) {
+                long started = subscriber.sendStartedNanos;
+                if (started == 0L || subscriber.stalled || now - started <= limit) {
+                    continue;
+                }
+                subscriber.stalled = true;
+            }
+            resizeSenders(1);
+            close(subscriber);
+            dropped.incrementAndGet();
+            log.info("[헤드라인 스트림] 쓰기가 {}ms 넘게 막힌 구독자를 끊습니다. 구독자={}", properties.getSendTimeout(),
+                    subscribers.size());
+        }
+    }
+
+    /**
+     * 막힌 전송 스레드 수만큼 풀 크기를 늘리거나 되돌린다.
+     */
+    private void resizeSenders(int delta) {
+        synchronized (senders) {
+            stalledSenders += delta;
+            int size = Math.max(1, properties.getSenderThreads()) + stalledSenders;
+            if (delta > 0) {
+                senders.setMaximumPoolSize(size);
+                senders.setCorePoolSize(size);
+            } else {
+                senders.setCorePoolSize(size);
+                senders.setMaximumPoolSize(size);
+            }
+        }
+    }
+
+    /** 전송 스레드 풀 크기 (막힌 스레드 몫 포함) */
+    int senderPoolSize() {
+        return senders.getCorePoolSize();
+    }
+
+    /**
+     * 구독자가 다음에 받을 이벤트. 따라잡았으면 null, 버퍼에서 이미 밀려났으면 {@link Entry#LAPPED}.
+     */
+    private synchronized Entry next(Subscriber subscriber) {
+        if (subscriber.next > head) {
+            return null;
+        }
+        if (subscriber.next < oldest()) {
+            return Entry.LAPPED;
+        }
+        return ring[(int) (subscriber.next % ring.length)];
+    }
+
+    private synchronized boolean hasPending(Subscriber subscriber) {
+        return !subscriber.closed && (subscriber.next <= head || subscriber.heartbeatPending);
+    }
+
+    /** 버퍼에 남아 있는 가장 오래된 이벤트 번호 (this 로 보호) */
+    private long oldest() {
+        return Math.max(first, head - ring.length + 1);
+    }
+
+    private void close(Subscriber subscriber) {
+        subscriber.closed = true;
+        subscribers.remove(subscriber);
+    }
+
+    private static Long parseEventId(String lastEventId) {
+        if (lastEventId == null || lastEventId.isBlank()) {
+            return null;
+        }
+        try {
+            return Long.parseLong(lastEventId.trim());
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+    /** 버퍼에 담긴 이벤트 하나 (번호, 직렬화된 기사 배열) */
+    private record Entry(long seq, String json) {
+
+        /** 구독자가 버퍼에서 밀려났음을 나타내는 표식 */
+        static final Entry LAPPED = new Entry(-1L, null);
+    }
+
+    private static final class Subscriber {
+
+        final SseEmitter emitter;
+        final AtomicBoolean sending = new AtomicBoolean();
+
+        /** 다음에 보낼 이벤트 번호 (this 또는 전송 중 표시로 보호) */
+        volatile long next;
+        volatile boolean resetPending;
+        volatile boolean heartbeatPending;
+        volatile boolean closed;
+
+        /** 진행 중인 쓰기의 시작 시각 (쓰는 중이 아니면 0, 구독자 객체로 보호) */
+        long sendStartedNanos;
+
+        /** 감시 작업이 막힌 쓰기로 보고 끊었음 (구독자 객체로 보호) */
+        boolean stalled;
+
+        Subscriber(SseEmitter emitter) {
+            this.emitter = emitter;
+        }
+    }
+}
@@ -0,0 +1,314 @@
+package com.the198thstreet.news.google.service;
+
+import java.time.Clock;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.SplittableRandom;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.regex.Pattern;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+import com.the198thstreet.news.google.ArchiveClusterProperties;
+import com.the198thstreet.news.google.model.Headline;
+import com.the198thstreet.news.google.repository.HeadlineNewsRepository;
+
+/**
+ * 같은 사건을 다룬 기사를 제목 유사도로 묶는 컴포넌트. (MinHash + LSH)
+ * <p>
+ * - 제목을 정규화(머리 태그 [속보]/(종합) 제거, 소문자, 글자/숫자만)한 뒤 글자 n-gram 집합의 MinHash 서명을 만든다.
+ * - 서명을 bands 개 구간으로 나눈 LSH 버킷에서 후보를 찾고, 서명으로 추정한 자카드 유사도가 threshold 이상인
+ *   가장 비슷한 후보의 묶음에 넣는다. 후보가 없으면 새 묶음의 대표가 된다.
+ * - 후보는 최근 windowHours 시간(가장 최근 PUB_DATE 기준), maxWindowSize 건까지만 메모리에 둔다.
+ * - 묶음은 같은 피드, 같은 날짜(PUB_DATE 의 날짜) 안에서만 만든다. 날짜별 조회가 그날 안에서 대표와 묶인 기사를 모두 찾을 수 있게 하기 위함이다.
+ * - CLUSTER_ID 로 대표 기사의 ID 를 쓰므로, 수집 주기는 중복을 거른 새 기사를 저장해 ID 를 받은 뒤 이 단계를 거친다.
+ *   (매 주기 다시 내려오는 중복 기사는 묶음 계산에 들어오지 않는다)
+ * - 재시작 직후에도 이전 기사와 묶이도록 기동 시 최근 기사로 후보를 다시 채운다.
+ */
+@Component
+public class HeadlineClusterer {
+
+    private static final Logger log = LoggerFactory.getLogger(HeadlineClusterer.class);
+
+    /** 제목 앞의 [속보], (종합), 【단독】 같은 머리 태그 */
+    private static final Pattern LEADING_TAGS = Pattern.compile("^(\\s*[\\[(【<][^\\])】>]{1,12}[\\])】>])+");
+
+    /** 해시 함수 시드를 고정해 재시작 후에도 같은 제목은 같은 서명이 나오게 한다. */
+    private static final long SEED = 0x5DEECE66DL;
+
+    private final HeadlineNewsRepository repository;
+    private final ArchiveClusterProperties properties;
+    private final Clock clock;
+
+    /** MinHash 해시 함수별 시드 (길이 = bands × rows) */
+    private final long[] seeds;
+
+    /** 후보 기사 (들어온 순) (this 로 동기화) */
+    private final ArrayDeque<Entry> window = new ArrayDeque<>();
+
+    /** LSH 버킷 키 → 후보 기사 (this 로 동기화) */
+    private final Map<Long, List<Entry>> buckets = new HashMap<>();
+
+    /** 지금까지 본 가장 최근 PUB_DATE (this 로 동기화) */
+    private LocalDateTime newest = LocalDateTime.MIN;
+
+    private final LongAdder joinedCount = new LongAdder();
+    private final LongAdder leadCount = new LongAdder();
+
+    @Autowired
+    public HeadlineClusterer(HeadlineNewsRepository repository, ArchiveClusterProperties properties) {
+        this(repository, properties, Clock.system(ZoneId.of("Asia/Seoul")));
+    }
+
+    public HeadlineClusterer(HeadlineNewsRepository repository, ArchiveClusterProperties properties, Clock clock) {
+        this.repository = repository;
+        this.properties = properties;
+        this.clock = clock;
+        SplittableRandom random = new SplittableRandom(SEED);
+        this.seeds = new long[Math.max(properties.getBands(), 1) * Math.max(properties.getRows(), 1)];
+        for (int i = 0; i < seeds.length; i++) {
+            seeds[i] = random.nextLong();
+        }
+    }
+
+    /**
+     * 어제와 오늘 기사 중 후보 범위에 드는 기사로 후보를 채운다. 수집이 시작되기 전에 끝나도록 먼저 실행한다.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    public void warmUp() {
+        if (!properties.isEnabled()) {
+            return;
+        }
+        LocalDate today = LocalDate.now(clock);
+        LocalDateTime since = LocalDateTime.now(clock).minusHours(properties.getWindowHours());
+        List<Headline> recent = new ArrayList<>(repository.findAllByDate(today.minusDays(1), null));
+        recent.addAll(repository.findAllByDate(today, null));
+        recent.removeIf(headline -> headline.pubDate().isBefore(since));
+        recent.sort(Comparator.comparingLong(Headline::id));
+        synchronized (this) {
+            for (Headline headline : recent) {
+                long[] signature = signature(headline.articleTitle());
+                if (signature != null) {
+                    remember(headline, headline.clusterId(), signature);
+                }
+            }
+            log.info("[기사 묶음] 최근 기사 {}건으로 묶음 후보를 채웠습니다.", window.size());
+        }
+    }
+
+    /**
+     * 새로 저장된 기사(ID 가 채워진)마다 묶음을 정해 clusterId 를 채운 사본을 같은 순서로 돌려준다.
+     * 같은 목록 안의 앞선 기사와도 묶인다. 비활성화 상태면 입력을 그대로 돌려준다.
+     */
+    public List<Headline> assign(List<Headline> inserted) {
+        if (!properties.isEnabled() || inserted.isEmpty()) {
+            return inserted;
+        }
+        List<Headline> assigned = new ArrayList<>(inserted.size());
+        synchronized (this) {
+            for (Headline headline : inserted) {
+                long[] signature = signature(headline.articleTitle());
+                if (signature == null || headline.id() == 0L) {
+                    assigned.add(headline);
+                    continue;
+                }
+                Entry match = bestMatch(headline, signature);
+                long clusterId = match == null ? 0L : match.leadId();
+                (match == null ? leadCount : joinedCount).increment();
+                remember(headline, clusterId, signature);
+                assigned.add(headline.withClusterId(clusterId));
+            }
+        }
+        return assigned;
+    }
+
+    /** 후보로 기억하고 있는 기사 수 */
+    public synchronized int windowSize() {
+        return window.size();
+    }
+
+    /** 기존 묶음에 들어간 기사 누적 수 */
+    public long getJoinedCount() {
+        return joinedCount.sum();
+    }
+
+    /** 새 묶음의 대표가 된 기사 누적 수 */
+    public long getLeadCount() {
+        return leadCount.sum();
+    }
+
+    /**
+     * LSH 버킷에서 같은 피드/같은 날짜 후보를 모아 추정 유사도가 가장 높은 후보를 고른다. threshold 미만이면 null.
+     * this 로 동기화된 상태에서만 호출한다.
+     */
+    private Entry bestMatch(Headline headline, long[] signature) {
+        Entry best = null;
+        double bestSimilarity = properties.getThreshold();
+        LocalDate date = headline.pubDate().toLocalDate();
+        for (long key : bandKeys(signature)) {
+            List<Entry> bucket = buckets.get(key);
+            if (bucket == null) {
+                continue;
+            }
+            for (Entry candidate : bucket) {
+                if (!candidate.date().equals(date) || !Objects.equals(candidate.feedId(), headline.feedId())) {
+                    continue;
+                }
+                double similarity = similarity(signature, candidate.signature());
+                if (similarity >= bestSimilarity && (best == null || similarity > bestSimilarity)) {
+                    best = candidate;
+                    bestSimilarity = similarity;
+                }
+            }
+        }
+        return best;
+    }
+
+    /** this 로 동기화된 상태에서만 호출한다. */
+    private void remember(Headline headline, long clusterId, long[] signature) {
+        long[] keys = bandKeys(signature);
+        Entry entry = new Entry(headline.id(), clusterId, headline.feedId(), headline.pubDate(), signature, keys);
+        window.addLast(entry);
+        for (long key : keys) {
+            buckets.computeIfAbsent(key, k -> new ArrayList<>(2)).add(entry);
+        }
+        if (headline.pubDate().isAfter(newest)) {
+            newest = headline.pubDate();
+        }
+        evict();
+    }
+
+    /**
+     * 상한을 넘었거나 후보 범위를 벗어난 후보를 앞(먼저 들어온 것)에서부터 버린다. this 로 동기화된 상태에서만 호출한다.
+     */
+    private void evict() {
+        LocalDateTime since = newest.minusHours(properties.getWindowHours());
+        Iterator<Entry> it = window.iterator();
+        while (it.hasNext()) {
+            Entry entry = it.next();
+            if (window.size() <= properties.getMaxWindowSize() && !entry.pubDate().isBefore(since)) {
+                break;
+            }
+            it.remove();
+            for (long key : entry.bandKeys()) {
+                List<Entry> bucket = buckets.get(key);
+                if (bucket != null) {
+                    bucket.remove(entry);
+                    if (bucket.isEmpty()) {
+                        buckets.remove(key);
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * 제목의 MinHash 서명. 정규화 후 남는 글자가 없으면 null.
+     */
+    long[] signature(String title) {
+        String normalized = normalize(title);
+        if (normalized.isEmpty()) {
+            return null;
+        }
+        int n = Math.max(properties.getShingleSize(), 1);
+        long[] signature = new long[seeds.length];
+        Arrays.fill(signature, Long.MAX_VALUE);
+        int last = Math.max(normalized.length() - n, 0);
+        for (int start = 0; start <= last; start++) {
+            long shingle = normalized.substring(start, Math.min(start + n, normalized.length())).hashCode();
+            for (int i = 0; i < seeds.length; i++) {
+                long hash = mix(shingle ^ seeds[i]);
+                if (hash < signature[i]) {
+                    signature[i] = hash;
+                }
+            }
+        }
+        return signature;
+    }
+
+    /** 두 서명에서 같은 자리의 값이 같은 비율 (자카드 유사도 추정치) */
+    static double similarity(long[] a, long[] b) {
+        int same = 0;
+        for (int i = 0; i < a.length; i++) {
+            if (a[i] == b[i]) {
+                same++;
+            }
+        }
+        return (double) same / a.length;
+    }
+
+    /**
+     * 머리 태그를 떼고, 소문자 글자/숫자만 남긴다. (띄어쓰기 차이도 무시)
+     */
+    static String normalize(String title) {
+        if (title == null) {
+            return "";
+        }
+        String stripped = LEADING_TAGS.matcher(title).replaceFirst("");
+        StringBuilder normalized = new StringBuilder(stripped.length());
+        for (int i = 0; i < stripped.length(); i++) {
+            char c = stripped.charAt(i);
+            if (Character.isLetterOrDigit(c)) {
+                normalized.append(Character.toLowerCase(c));
+            }
+        }
+        return normalized.toString();
+    }
+
+    private long[] bandKeys(long[] signature) {
+        int rows = Math.max(properties.getRows(), 1);
+        long[] keys = new long[signature.length / rows];
+        for (int band = 0; band < keys.length; band++) {
+            long key = band;
+            for (int r = 0; r < rows; r++) {
+                key = key * 31 + signature[band * rows + r];
+            }
+            keys[band] = mix(key);
+        }
+        return keys;
+    }
+
+    /** SplitMix64 의 마무리 섞기 */
+    private static long mix(long z) {
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+
+    /**
+     * 후보 기사 하나.
+     *
+     * @param id        기사 ID
+     * @param clusterId 들어간 묶음의 대표 ID (자신이 대표면 0)
+     */
+    private record Entry(long id, long clusterId, String feedId, LocalDateTime pubDate, long[] signature,
+            long[] bandKeys) {
+
+        LocalDate date() {
+            return pubDate.toLocalDate();
+        }
+
+        /** 이 후보와 묶일 때 쓸 CLUSTER_ID */
+        long leadId() {
+            return clusterId == 0L ? id : clusterId;
+        }
+    }
+}
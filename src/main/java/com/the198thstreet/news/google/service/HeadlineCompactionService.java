@@ -0,0 +1,103 @@
+package com.the198thstreet.news.google.service;
+
+import java.time.Clock;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import com.the198thstreet.news.google.ArchiveColdProperties;
+import com.the198thstreet.news.google.repository.ColdSegmentStore;
+import com.the198thstreet.news.google.repository.HeadlineNewsRepository;
+import com.the198thstreet.news.google.repository.HeadlinePartitionRepository;
+
+/**
+ * 오래된 달을 HEADLINE_NEWS 에서 세그먼트 파일로 옮겨 테이블과 인덱스를 작게 유지하는 작업.
+ * <p>
+ * - compactCron 마다 이번 달 기준 hotMonths 개월보다 오래된 달 중 테이블에 기사가 남은 달을 오래된 순으로 옮긴다.
+ * - 한 달은 하루씩 읽어 세그먼트 파일로 쓴다. 이미 세그먼트가 있는 달(옮긴 뒤 늦게 들어온 기사)은 기존 세그먼트와 합쳐 다시 쓴다.
+ * - 세그먼트가 열린 뒤에 테이블에서 지운다. 지우기 전까지는 조회가 두 곳을 ID 로 합쳐 읽으므로 중간에 멈춰도 기사가 사라지거나
+ *   두 번 보이지 않고, 다음 실행에서 이어서 지운다.
+ * - 파티션이 걸린 테이블이면 다음 달 파티션도 미리 만들어 둔다.
+ */
+@Service
+public class HeadlineCompactionService {
+
+    private static final Logger log = LoggerFactory.getLogger(HeadlineCompactionService.class);
+
+    private final HeadlineNewsRepository newsRepository;
+    private final HeadlinePartitionRepository partitionRepository;
+    private final ColdSegmentStore coldStore;
+    private final ArchiveColdProperties properties;
+    private final Clock clock;
+
+    @Autowired
+    public HeadlineCompactionService(HeadlineNewsRepository newsRepository, HeadlinePartitionRepository partitionRepository,
+            ColdSegmentStore coldStore, ArchiveColdProperties properties) {
+        this(newsRepository, partitionRepository, coldStore, properties, Clock.system(ZoneId.of("Asia/Seoul")));
+    }
+
+    public HeadlineCompactionService(HeadlineNewsRepository newsRepository, HeadlinePartitionRepository partitionRepository,
+            ColdSegmentStore coldStore, ArchiveColdProperties properties, Clock clock) {
+        this.newsRepository = newsRepository;
+        this.partitionRepository = partitionRepository;
+        this.coldStore = coldStore;
+        this.properties = properties;
+        this.clock = clock;
+    }
+
+    @Scheduled(cron = "${news.archive.cold.compact-cron:0 0 5 * * *}", zone = "Asia/Seoul")
+    public void compactScheduled() {
+        if (properties.isEnabled()) {
+            compactExpired();
+        }
+    }
+
+    /**
+     * hotMonths 보다 오래된 달을 모두 옮긴다.
+     *
+     * @return 옮긴 달
+     */
+    public synchronized List<YearMonth> compactExpired() {
+        YearMonth current = YearMonth.now(clock);
+        partitionRepository.ensureMonthPartitions(current.plusMonths(1));
+        YearMonth cutoff = current.minusMonths(Math.max(properties.getHotMonths(), 0));
+        List<YearMonth> compacted = new ArrayList<>();
+        LocalDate oldest = newsRepository.findOldestDateInTable();
+        if (oldest == null) {
+            return compacted;
+        }
+        for (YearMonth month = YearMonth.from(oldest); month.isBefore(cutoff); month = month.plusMonths(1)) {
+            if (compact(month)) {
+                compacted.add(month);
+            }
+        }
+        return compacted;
+    }
+
+    /**
+     * 한 달을 세그먼트로 옮기고 테이블에서 지운다. 테이블에 그 달 기사가 없으면 아무것도 하지 않는다.
+     *
+     * @return 옮겼으면 true
+     */
+    public synchronized boolean compact(YearMonth month) {
+        long maxId = newsRepository.findMaxIdInMonth(month);
+        if (maxId == 0L) {
+            return false;
+        }
+        long started = System.nanoTime();
+        // 세그먼트가 이미 있으면 findAllByDate 가 세그먼트와 테이블을 합쳐 돌려준다.
+        int rows = coldStore.write(month, day -> newsRepository.findAllByDate(day, null));
+        int removed = partitionRepository.removeMonth(month, maxId);
+        log.info("[콜드 보관] {} 을(를) 세그먼트로 옮겼습니다. 세그먼트 행={} 테이블에서 지운 행={} 소요={}ms", month, rows, removed,
+                (System.nanoTime() - started) / 1_000_000);
+        return true;
+    }
+}
@@ -0,0 +1,255 @@
+package com.the198thstreet.news.google.service;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.util.Locale;
+import java.util.zip.GZIPOutputStream;
+
+import org.springframework.stereotype.Service;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.the198thstreet.news.google.ArchiveExportProperties;
+import com.the198thstreet.news.google.model.Headline;
+import com.the198thstreet.news.google.repository.HeadlineNewsRepository;
+
+/**
+ * 기간 내 기사를 NDJSON 또는 CSV 로 출력 스트림에 바로 써 주는 내보내기 서비스.
+ * <p>
+ * - DB 커서에서 한 건 읽을 때마다 곧바로 한 줄을 쓰고 버린다. 행을 모으지 않으므로 힙 사용량은 건수와 상관없이
+ *   fetchSize 행 + 쓰기 버퍼 크기로 일정하다.
+ * - 두 형식 모두 id, pubDate(yyyy-MM-dd HH:mm:ss), pressName, articleTitle, articleLink, feedId 를 PUB_DATE, ID 순으로 쓴다.
+ * - gzip 이면 같은 내용을 gzip 파일로 압축해 쓴다.
+ */
+@Service
+public class HeadlineExportService {
+
+    private static final DateTimeFormatter PUB_DATE_FORMATTER = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
+
+    private static final JsonFactory JSON_FACTORY = new JsonFactory();
+
+    /** 문자 → 바이트 변환 버퍼 크기 */
+    private static final int WRITE_BUFFER_SIZE = 64 * 1024;
+
+    private static final String[] CSV_HEADER = { "id", "pubDate", "pressName", "articleTitle", "articleLink", "feedId" };
+
+    /**
+     * 내보내기 형식.
+     */
+    public enum Format {
+        NDJSON("application/x-ndjson", "ndjson"),
+        CSV("text/csv", "csv");
+
+        private final String contentType;
+        private final String extension;
+
+        Format(String contentType, String extension) {
+            this.contentType = contentType;
+            this.extension = extension;
+        }
+
+        public String contentType() {
+            return contentType;
+        }
+
+        public String extension() {
+            return extension;
+        }
+
+        /**
+         * 파라미터 값(ndjson/csv, 대소문자 무시)을 형식으로 바꾼다. 모르는 값이면 null.
+         */
+        public static Format of(String value) {
+            for (Format format : values()) {
+                if (format.name().equals(value.trim().toUpperCase(Locale.ROOT))) {
+                    return format;
+                }
+            }
+            return null;
+        }
+    }
+
+    private final HeadlineNewsRepository repository;
+    private final ArchiveExportProperties properties;
+
+    public HeadlineExportService(HeadlineNewsRepository repository, ArchiveExportProperties properties) {
+        this.repository = repository;
+        this.properties = properties;
+    }
+
+    /**
+     * 기간(from~to, 양 끝 포함)의 기사를 out 에 쓴다. out 은 닫지 않는다.
+     *
+     * @param press  언론사 이름 (null 이면 전체)
+     * @param feedId 피드 ID (null 이면 전체)
+     * @return 쓴 기사 수
+     */
+    public long export(LocalDate from, LocalDate to, String press, String feedId, Format format, boolean gzip,
+            OutputStream out) throws IOException {
+        OutputStream target = new NonClosingOutputStream(out);
+        if (gzip) {
+            target = new GZIPOutputStream(target, WRITE_BUFFER_SIZE);
+        }
+        Writer writer = new BufferedWriter(new OutputStreamWriter(target, StandardCharsets.UTF_8), WRITE_BUFFER_SIZE);
+        RowWriter rows = format == Format.CSV ? new CsvRowWriter(writer) : new NdjsonRowWriter(writer);
+        long count;
+        try {
+            rows.begin();
+            count = repository.streamByDateRange(from, to, press, feedId, properties.getFetchSize(), headline -> {
+                try {
+                    rows.write(headline);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+            rows.end();
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+        // writer 를 닫으면 gzip 트레일러까지 쓰고, 감싼 out 은 닫지 않는다.
+        writer.close();
+        return count;
+    }
+
+    /** 형식별로 한 행씩 쓰는 작성기 */
+    private interface RowWriter {
+
+        void begin() throws IOException;
+
+        void write(Headline headline) throws IOException;
+
+        void end() throws IOException;
+    }
+
+    /**
+     * 한 줄에 JSON 객체 하나. Jackson 스트리밍 생성기로 바로 쓴다.
+     */
+    private static final class NdjsonRowWriter implements RowWriter {
+
+        private final Writer writer;
+        private JsonGenerator generator;
+
+        NdjsonRowWriter(Writer writer) {
+            this.writer = writer;
+        }
+
+        @Override
+        public void begin() throws IOException {
+            generator = JSON_FACTORY.createGenerator(writer);
+            generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+        }
+
+        @Override
+        public void write(Headline headline) throws IOException {
+            generator.writeStartObject();
+            generator.writeNumberField("id", headline.id());
+            generator.writeStringField("pubDate", PUB_DATE_FORMATTER.format(headline.pubDate()));
+            generator.writeStringField("pressName", headline.pressName());
+            generator.writeStringField("articleTitle", headline.articleTitle());
+            generator.writeStringField("articleLink", headline.articleLink());
+            generator.writeStringField("feedId", headline.feedId());
+            generator.writeEndObject();
+            generator.writeRaw('\n');
+        }
+
+        @Override
+        public void end() throws IOException {
+            generator.close();
+        }
+    }
+
+    /**
+     * 첫 줄은 헤더, 줄바꿈은 CRLF. 쉼표/따옴표/줄바꿈이 든 값만 따옴표로 감싼다. (RFC 4180)
+     */
+    private static final class CsvRowWriter implements RowWriter {
+
+        private final Writer writer;
+
+        CsvRowWriter(Writer writer) {
+            this.writer = writer;
+        }
+
+        @Override
+        public void begin() throws IOException {
+            writer.write(String.join(",", CSV_HEADER));
+            writer.write("\r\n");
+        }
+
+        @Override
+        public void write(Headline headline) throws IOException {
+            writer.write(Long.toString(headline.id()));
+            writer.write(',');
+            writer.write(PUB_DATE_FORMATTER.format(headline.pubDate()));
+            writer.write(',');
+            writeField(headline.pressName());
+            writer.write(',');
+            writeField(headline.articleTitle());
+            writer.write(',');
+            writeField(headline.articleLink());
+            writer.write(',');
+            writeField(headline.feedId());
+            writer.write("\r\n");
+        }
+
+        @Override
+        public void end() {
+        }
+
+        private void writeField(String value) throws IOException {
+            if (value == null) {
+                return;
+            }
+            boolean quote = false;
+            for (int i = 0; i < value.length() && !quote; i++) {
+                char c = value.charAt(i);
+                quote = c == ',' || c == '"' || c == '\n' || c == '\r';
+            }
+            if (!quote) {
+                writer.write(value);
+                return;
+            }
+            writer.write('"');
+            writer.write(value.replace("\"", "\"\""));
+            writer.write('"');
+        }
+    }
+
+    /**
+     * close() 를 flush() 로 바꿔, 작성기를 닫아도 호출자의 스트림(응답 본문)은 열어 둔다.
+     */
+    private static final class NonClosingOutputStream extends OutputStream {
+
+        private final OutputStream out;
+
+        NonClosingOutputStream(OutputStream out) {
+            this.out = out;
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            out.write(b);
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            out.write(b, off, len);
+        }
+
+        @Override
+        public void flush() throws IOException {
+            out.flush();
+        }
+
+        @Override
+        public void close() throws IOException {
+            out.flush();
+        }
+    }
+}
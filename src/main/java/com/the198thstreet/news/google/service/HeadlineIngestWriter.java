@@ -0,0 +1,291 @@
+package com.the198thstreet.news.google.service;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.dao.NonTransientDataAccessException;
+import org.springframework.dao.NonTransientDataAccessResourceException;
+import org.springframework.stereotype.Component;
+
+import com.the198thstreet.news.google.IngestJournalProperties;
+import com.the198thstreet.news.google.model.Headline;
+import com.the198thstreet.news.google.repository.HeadlineJournal;
+import com.the198thstreet.news.google.repository.HeadlineNewsRepository;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+
+/**
+ * 파싱한 기사를 DB 에 저장하는 단계. 저널을 켜면 수집 스레드와 DB 저장을 떼어 놓는다.
+ * <p>
+ * - 저널을 켜면 수집 스레드는 {@link #submit(String, List)} 로 {@link HeadlineJournal} 에 덧붙이고 바로 돌아간다.
+ *   DB 가 느리거나 잠시 멈춰도 피드 수집은 제 주기대로 돌고, 저널이 maxPendingBytes 까지 차면 그때부터 수집 스레드가 기다린다.
+ * - "ingest-writer" 스레드가 저널을 batchRecords 개씩 읽어 피드별로 모아 {@link #store(String, List)} 로 저장한 뒤 ack 한다.
+ *   DB 연결 끊김처럼 다시 하면 될 실패는 같은 묶음을 retryDelay 부터 두 배씩(최대 maxRetryDelay) 기다리며 다시 시도한다.
+ * - 제목이 컬럼보다 긴 것처럼 기사 자체가 잘못된 실패({@link NonTransientDataAccessException})는 다시 해도 같으므로,
+ *   그 피드의 기사를 한 건씩 저장해 실패한 기사만 {@link HeadlineJournal#deadLetter} 로 따로 적고 묶음은 ack 한다.
+ *   (한 건 때문에 저널 전체가 막히지 않게)
+ * - 저널의 망가진 레코드는 저널이 따로 남기고 건너뛴다. 읽기 자체가 실패하면 스레드를 끝내지 않고 오류 로그를 남긴 뒤
+ *   retryDelay 부터 두 배씩 기다리며 다시 읽는다.
+ * - 중간에 죽으면 다음 기동 때 ack 하지 않은 레코드부터 다시 저장한다. 이미 저장된 기사는 중복 확인에서 걸러진다.
+ * - 저널을 끄면(백필 실행 포함, {@link HeadlineJournal#isEnabled()}) 예전처럼 수집 스레드가 {@link #store(String, List)} 를 직접 호출한다.
+ */
+@Component
+public class HeadlineIngestWriter {
+
+    private static final Logger log = LoggerFactory.getLogger(HeadlineIngestWriter.class);
+
+    /** 저널이 비었을 때 한 번에 기다리는 시간(밀리초). 종료 요청을 이 간격으로 확인한다. */
+    private static final long POLL_MILLIS = 500L;
+
+    private final HeadlineNewsRepository repository;
+    private final HeadlineClusterer clusterer;
+    private final HeadlineJournal journal;
+    private final IngestJournalProperties properties;
+    private final ApplicationEventPublisher eventPublisher;
+    private final MeterRegistry meterRegistry;
+
+    private final LongAdder retryCount = new LongAdder();
+    private final LongAdder deadLetterCount = new LongAdder();
+    private final LongAdder readFailureCount = new LongAdder();
+
+    private Thread drainer;
+    private volatile boolean running;
+
+    public HeadlineIngestWriter(HeadlineNewsRepository repository, HeadlineClusterer clusterer, HeadlineJournal journal,
+            IngestJournalProperties properties, ApplicationEventPublisher eventPublisher, MeterRegistry meterRegistry) {
+        this.repository = repository;
+        this.clusterer = clusterer;
+        this.journal = journal;
+        this.properties = properties;
+        this.eventPublisher = eventPublisher;
+        this.meterRegistry = meterRegistry;
+    }
+
+    /**
+     * 기동이 끝나면 저널을 DB 로 옮기는 스레드를 띄운다. 지난 실행에서 남은 레코드부터 옮긴다.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public synchronized void start() {
+        if (!journal.isEnabled() || running) {
+            return;
+        }
+        running = true;
+        drainer = new Thread(this::drainLoop, "ingest-writer");
+        drainer.setDaemon(true);
+        drainer.start();
+    }
+
+    /**
+     * 진행 중인 묶음을 마칠 때까지 잠시 기다린다. 남은 레코드는 다음 기동 때 이어서 옮긴다.
+     */
+    @PreDestroy
+    public void stop() {
+        Thread thread;
+        synchronized (this) {
+            running = false;
+            thread = drainer;
+            notifyAll();
+        }
+        if (thread == null) {
+            return;
+        }
+        try {
+            thread.join(10_000L);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * 한 피드의 수집 결과를 넘긴다. 저널을 켰으면 저널에 덧붙이고, 아니면 바로 저장한다.
+     * 저널이 가득 찬 채로 appendTimeout 이 지나면 {@link IllegalStateException} 을 던진다. (이번 수집은 실패로 처리)
+     */
+    public void submit(String feedId, List<Headline> articles) throws InterruptedException {
+        if (articles.isEmpty()) {
+            return;
+        }
+        if (!journal.isEnabled()) {
+            store(feedId, articles);
+            return;
+        }
+        journal.append(feedId, articles);
+        log.info("[수집 저널] feed={} 기사 {}건을 저널에 적재했습니다. DB 로 옮길 레코드={}건", feedId, articles.size(),
+                journal.pendingRecords());
+    }
+
+    /**
+     * 중복을 걸러 저장하고, 새 기사를 최근 기사와 묶은 뒤 {@link HeadlinesInsertedEvent} 를 발행한다.
+     * 중복 확인과 저장은 {@link HeadlineNewsRepository#insertHeadlines(String, List)} 가 묶음으로 처리한다.
+     * <p>
+     * 이벤트는 커밋 뒤에 발행하므로 받는 쪽(캐시/색인/스트림)이 실패해도 던지지 않고 로그만 남긴다.
+     * 던지면 저장을 다시 시도하게 되는데, 그때는 이미 저장된 기사라 새 기사가 0건이어서 이벤트를 잃는다.
+     */
+    public HeadlineNewsRepository.BatchInsertResult store(String feedId, List<Headline> articles) {
+        HeadlineNewsRepository.BatchInsertResult result = repository.insertHeadlines(feedId, articles);
+        meterRegistry.counter("news.ingest.articles", "feed", feedId, "result", "inserted").increment(result.inserted());
+        meterRegistry.counter("news.ingest.articles", "feed", feedId, "result", "skipped").increment(result.skipped());
+        log.info("[구글 RSS 수집기 완료] feed={} 저장={}건, 중복 스킵={}건", feedId, result.inserted(), result.skipped());
+        if (result.inserted() > 0) {
+            // 묶음 ID 로 대표 기사의 ID 를 쓰므로 저장 뒤에 묶는다. 묶음 갱신이 실패해도 기사는 이미 저장되었으므로 대표로 남는다.
+            List<Headline> inserted = Timer.builder("news.ingest.phase")
+                    .description("피드 수집 단계별 소요 시간")
+                    .tags("feed", feedId, "phase", "cluster", "outcome", "ok")
+                    .publishPercentileHistogram()
+                    .register(meterRegistry)
+                    .record(() -> cluster(result.insertedArticles()));
+            try {
+                eventPublisher.publishEvent(new HeadlinesInsertedEvent(inserted));
+            } catch (RuntimeException e) {
+                log.warn("[구글 RSS 수집기] 새 기사 {}건 알림을 처리하지 못했습니다. (기사는 저장됨) 사유={}", inserted.size(),
+                        e.getMessage());
+            }
+        }
+        return result;
+    }
+
+    /** 저장에 실패해 다시 시도한 누적 횟수 */
+    public long getRetryCount() {
+        return retryCount.sum();
+    }
+
+    /** 저장할 수 없어 따로 적어 둔 기사 누적 수 */
+    public long getDeadLetterCount() {
+        return deadLetterCount.sum();
+    }
+
+    /** 저널을 읽지 못해 기다렸다가 다시 읽은 누적 횟수 */
+    public long getReadFailureCount() {
+        return readFailureCount.sum();
+    }
+
+    /**
+     * 저널에 쌓인 레코드를 한 묶음 옮긴다. (테스트에서 스레드 없이 호출)
+     *
+     * @return 옮긴 레코드가 있으면 true, 읽을 레코드가 없거나 저장에 실패했으면 false
+     */
+    boolean drainOnce() throws InterruptedException {
+        HeadlineJournal.Batch batch = journal.read(Math.max(properties.getBatchRecords(), 1), 0L);
+        return !batch.isEmpty() && drain(batch);
+    }
+
+    private void drainLoop() {
+        log.info("[수집 저널] 저널을 DB 로 옮기는 스레드를 시작합니다. 남은 레코드={}건", journal.pendingRecords());
+        long readDelay = Math.max(properties.getRetryDelay(), 1L);
+        try {
+            while (running) {
+                HeadlineJournal.Batch batch;
+                try {
+                    batch = journal.read(Math.max(properties.getBatchRecords(), 1), POLL_MILLIS);
+                } catch (RuntimeException e) {
+                    // 스레드가 죽으면 저널이 차기만 하다 수집이 모두 막히므로, 알리고 기다렸다가 다시 읽는다.
+                    readFailureCount.increment();
+                    log.error("[수집 저널] 저널을 읽지 못했습니다. {}ms 뒤 다시 읽습니다. 남은 레코드={}건", readDelay,
+                            journal.pendingRecords(), e);
+                    pause(readDelay);
+                    readDelay = Math.min(readDelay * 2, Math.max(properties.getMaxRetryDelay(), readDelay));
+                    continue;
+                }
+                readDelay = Math.max(properties.getRetryDelay(), 1L);
+                long delay = readDelay;
+                while (!batch.isEmpty() && !drain(batch) && running) {
+                    pause(delay);
+                    delay = Math.min(delay * 2, Math.max(properties.getMaxRetryDelay(), delay));
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        log.info("[수집 저널] 저널을 DB 로 옮기는 스레드를 멈춥니다. 남은 레코드={}건", journal.pendingRecords());
+    }
+
+    /**
+     * 묶음의 레코드를 피드별로 모아 저장하고 ack 한다. 다시 시도할 실패면 ack 하지 않고 false.
+     */
+    private boolean drain(HeadlineJournal.Batch batch) {
+        Map<String, List<Headline>> byFeed = new LinkedHashMap<>();
+        for (HeadlineJournal.Entry entry : batch.entries()) {
+            byFeed.computeIfAbsent(entry.feedId(), id -> new ArrayList<>()).addAll(entry.articles());
+        }
+        try {
+            for (Map.Entry<String, List<Headline>> feed : byFeed.entrySet()) {
+                try {
+                    store(feed.getKey(), feed.getValue());
+                } catch (NonTransientDataAccessException e) {
+                    if (!isBadArticle(e)) {
+                        throw e;
+                    }
+                    log.warn("[수집 저널] feed={} 기사 {}건을 한 번에 저장하지 못해 한 건씩 저장합니다. 사유={}", feed.getKey(),
+                            feed.getValue().size(), e.getMessage());
+                    storeOneByOne(feed.getKey(), feed.getValue());
+                }
+            }
+            journal.ack(batch);
+            return true;
+        } catch (RuntimeException | IOException e) {
+            retryCount.increment();
+            log.warn("[수집 저널] 레코드 {}건을 DB 로 옮기지 못해 다시 시도합니다. 사유={}", batch.entries().size(), e.getMessage());
+            return false;
+        }
+    }
+
+    /**
+     * 한 건씩 저장하고, 기사 자체 때문에 실패한 건은 dead-letter 파일에 적는다.
+     * DB 연결 실패처럼 다시 할 실패는 그대로 던져 묶음 전체를 다시 시도하게 한다. (앞서 저장한 건은 중복으로 걸러짐)
+     */
+    private void storeOneByOne(String feedId, List<Headline> articles) throws IOException {
+        for (Headline article : articles) {
+            try {
+                store(feedId, List.of(article));
+            } catch (NonTransientDataAccessException e) {
+                if (!isBadArticle(e)) {
+                    throw e;
+                }
+                journal.deadLetter(feedId, article, e.getMostSpecificCause().getMessage());
+                deadLetterCount.increment();
+                meterRegistry.counter("news.ingest.articles", "feed", feedId, "result", "dead-letter").increment();
+                log.error("[수집 저널] feed={} 기사를 저장할 수 없어 dead-letter 에 적고 넘어갑니다. 링크={} 사유={}", feedId,
+                        article.articleLink(), e.getMostSpecificCause().getMessage());
+            }
+        }
+    }
+
+    /**
+     * 다시 해도 같은 결과인 실패인지. (제약 위반, 값이 너무 김 등)
+     * 연결 실패({@link DataAccessResourceFailureException} 등)는 NonTransient 계열이어도 DB 가 돌아오면 되므로 빼고 본다.
+     */
+    private static boolean isBadArticle(NonTransientDataAccessException e) {
+        return !(e instanceof DataAccessResourceFailureException) && !(e instanceof NonTransientDataAccessResourceException);
+    }
+
+    private synchronized void pause(long millis) throws InterruptedException {
+        if (running) {
+            wait(millis);
+        }
+    }
+
+    private List<Headline> cluster(List<Headline> inserted) {
+        try {
+            List<Headline> clustered = clusterer.assign(inserted);
+            int joined = repository.updateClusterIds(clustered);
+            if (joined > 0) {
+                log.info("[구글 RSS 수집기] 새 기사 {}건 중 {}건을 기존 묶음에 넣었습니다.", clustered.size(), joined);
+            }
+            return clustered;
+        } catch (RuntimeException e) {
+            log.warn("[구글 RSS 수집기] 기사 묶음 갱신에 실패해 묶지 않고 둡니다. 사유={}", e.getMessage());
+            return inserted;
+        }
+    }
+}
@@ -0,0 +1,440 @@
+package com.the198thstreet.news.google.service;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.stream.IntStream;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+import com.the198thstreet.news.google.ArchiveSearchProperties;
+import com.the198thstreet.news.google.model.Headline;
+import com.the198thstreet.news.google.repository.HeadlineNewsRepository;
+
+/**
+ * 헤드라인 제목 검색용 메모리 역색인.
+ * <p>
+ * - 제목을 소문자로 바꾸고 글자/숫자가 아닌 문자를 구분자로 본 뒤, 토큰마다 연속한 두 글자(bigram)를 색인어로 쓴다.
+ *   한글은 형태소 분석 없이도 "북한", "한미" 처럼 두 음절 단위로 부분 일치를 찾을 수 있다.
+ * - 색인어마다 문서 번호를 오름차순 int[] 로 보관한다. (박싱된 List 대신 원시 배열)
+ * - 문서 정보(기사, PUB_DATE, 언론사 코드)도 문서 번호를 위치로 하는 배열에 둔다.
+ * - 검색은 검색어 bigram 들의 문서 목록을 짧은 것부터 교집합하고, 기간/언론사 조건을 거른 뒤
+ *   제목에 검색어 토큰이 실제로 들어 있는지 확인하며 PUB_DATE 최신순 상위 k 건만 남긴다.
+ * - 후보가 많은 검색어("뉴스" 등)는 교집합을 만드는 대신, PUB_DATE 순으로 정렬해 둔 문서 번호 배열을
+ *   최신 쪽부터 걸으며 모든 색인어에 걸리는 문서를 k 건 찾으면 멈춘다. (문서가 PUB_DATE 역순으로 들어온 경우에도 비용이 같다)
+ * <p>
+ * 기동 시 HEADLINE_NEWS 전체를 ID 순으로 나눠 읽어 색인을 만들고 (수집 시작 전에 끝나도록 가장 먼저 실행),
+ * 이후에는 {@link HeadlinesInsertedEvent} 로 들어온 기사를 이어 붙인다. 색인 갱신과 검색은 읽기/쓰기 락으로 나눈다.
+ */
+@Component
+public class HeadlineSearchIndex {
+
+    private static final Logger log = LoggerFactory.getLogger(HeadlineSearchIndex.class);
+
+    private static final int INITIAL_CAPACITY = 1_024;
+
+    private final HeadlineNewsRepository repository;
+    private final ArchiveSearchProperties properties;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    /** 문서 번호 → 기사 / PUB_DATE(초, 비교용) / 언론사 코드. 아래 필드는 모두 lock 으로 보호한다. */
+    private Headline[] documents = new Headline[INITIAL_CAPACITY];
+    private long[] pubDateKeys = new long[INITIAL_CAPACITY];
+    private int[] pressCodes = new int[INITIAL_CAPACITY];
+    private int documentCount;
+
+    /** 문서 번호를 (PUB_DATE, 문서 번호) 오름차순으로 늘어놓은 배열 (앞쪽 documentCount 개 사용) */
+    private int[] byRecency = new int[INITIAL_CAPACITY];
+
+    /** 언론사 이름 → 코드 */
+    private final Map<String, Integer> pressCodeByName = new HashMap<>();
+
+    /** bigram(두 글자를 int 하나로 합친 값) → 문서 번호 목록 */
+    private final Map<Integer, Postings> postings = new HashMap<>();
+
+    public HeadlineSearchIndex(HeadlineNewsRepository repository, ArchiveSearchProperties properties) {
+        this.repository = repository;
+        this.properties = properties;
+    }
+
+    /**
+     * 세그먼트로 옮겨진 기사와 HEADLINE_NEWS 전체로 색인을 만든다. 수집기가 시작되기 전에 끝나도록 가장 먼저 실행한다.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    public void build() {
+        if (!properties.isEnabled()) {
+            log.info("[헤드라인 검색] 비활성화 설정으로 색인을 만들지 않습니다.");
+            return;
+        }
+        long started = System.nanoTime();
+        long lastId = 0L;
+        int batchSize = Math.max(properties.getBuildBatchSize(), 1);
+        repository.forEachArchivedDay(this::add);
+        while (true) {
+            List<Headline> batch = repository.findAfterId(lastId, batchSize);
+            if (batch.isEmpty()) {
+                break;
+            }
+            add(batch);
+            lastId = batch.get(batch.size() - 1).id();
+        }
+        trim();
+        log.info("[헤드라인 검색] 색인 생성 완료 - 문서={}건, 색인어={}개, 소요={}ms", documents(), terms(),
+                (System.nanoTime() - started) / 1_000_000);
+    }
+
+    /**
+     * 새로 저장된 기사를 색인에 이어 붙인다.
+     */
+    @EventListener
+    public void onHeadlinesInserted(HeadlinesInsertedEvent event) {
+        if (properties.isEnabled()) {
+            add(event.headlines());
+        }
+    }
+
+    /**
+     * 기사를 색인에 추가한다. PUB_DATE 가 없는 기사는 기간 검색을 할 수 없으므로 건너뛴다.
+     */
+    public void add(List<Headline> headlines) {
+        lock.writeLock().lock();
+        try {
+            int firstNew = documentCount;
+            for (Headline headline : headlines) {
+                if (headline.pubDate() != null && headline.articleTitle() != null) {
+                    addDocument(headline);
+                }
+            }
+            if (documentCount > firstNew) {
+                mergeIntoRecencyOrder(firstNew);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * 제목에 검색어의 모든 토큰이 들어 있는 기사를 PUB_DATE 최신순으로 최대 limit 건 돌려준다.
+     * <p>
+     * 두 글자 미만 토큰만으로는 색인을 쓸 수 없으므로, 검색어에 두 글자 이상 토큰이 하나도 없으면 빈 목록을 돌려준다.
+     *
+     * @param query 공백으로 구분된 검색어
+     * @param from  시작 날짜 (포함, null 이면 제한 없음)
+     * @param to    끝 날짜 (포함, null 이면 제한 없음)
+     * @param press 언론사 이름 (정확히 일치, null 이면 전체)
+     * @param limit 최대 건수 (maxResults 를 넘지 않음)
+     */
+    public List<Headline> search(String query, LocalDate from, LocalDate to, String press, int limit) {
+        if (query == null) {
+            return List.of();
+        }
+        String normalizedQuery = normalize(query);
+        Set<String> tokens = new LinkedHashSet<>(Arrays.asList(normalizedQuery.trim().split(" +")));
+        tokens.remove("");
+        int[] keys = bigrams(normalizedQuery);
+        if (keys.length == 0) {
+            return List.of();
+        }
+        int k = Math.max(1, Math.min(limit, properties.getMaxResults()));
+        long fromKey = from == null ? Long.MIN_VALUE : dateKey(from.atStartOfDay());
+        long toKey = to == null ? Long.MAX_VALUE : dateKey(to.plusDays(1).atStartOfDay()) - 1;
+
+        lock.readLock().lock();
+        try {
+            int pressCode = -1;
+            if (press != null) {
+                Integer code = pressCodeByName.get(press);
+                if (code == null) {
+                    return List.of();
+                }
+                pressCode = code;
+            }
+            Postings[] lists = new Postings[keys.length];
+            for (int i = 0; i < keys.length; i++) {
+                lists[i] = postings.get(keys[i]);
+                if (lists[i] == null) {
+                    return List.of();
+                }
+            }
+            Arrays.sort(lists, Comparator.comparingInt(p -> p.size));
+            // 가장 짧은 목록도 길면(길이² > k × 전체 문서 수) 교집합을 만들기보다 최신순으로 걸으며 k 건을 찾는 편이 적게 본다.
+            // 다만 목록끼리 겹치는 문서가 적으면 오래 걸을 수 있으므로, 정해 둔 걸음 수를 넘기면 교집합 방식으로 돌아간다.
+            int shortest = lists[0].size;
+            if ((long) shortest * shortest > (long) k * documentCount) {
+                long budget = 4L * k * documentCount / shortest + k;
+                List<Headline> walked = walkByRecency(lists, tokens, fromKey, toKey, pressCode, k, budget);
+                if (walked != null) {
+                    return walked;
+                }
+            }
+            int[] candidates = Arrays.copyOf(lists[0].docs, shortest);
+            int candidateCount = candidates.length;
+            for (int i = 1; i < lists.length && candidateCount > 0; i++) {
+                candidateCount = intersect(candidates, candidateCount, lists[i]);
+            }
+            return topByRecency(candidates, candidateCount, tokens, fromKey, toKey, pressCode, k);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /** 색인된 문서 수 */
+    public int documents() {
+        lock.readLock().lock();
+        try {
+            return documentCount;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /** 서로 다른 색인어(bigram) 수 */
+    public int terms() {
+        lock.readLock().lock();
+        try {
+            return postings.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * 후보 문서를 최신 것부터 보며 조건에 맞는 상위 k 건을 고른다. 읽기 락을 잡은 상태에서 호출한다.
+     * 이미 k 건을 모았고 후보가 그중 가장 오래된 것보다도 오래됐다면 제목 확인을 하지 않고 넘어간다.
+     */
+    private List<Headline> topByRecency(int[] candidates, int candidateCount, Set<String> tokens,
+            long fromKey, long toKey, int pressCode, int k) {
+        PriorityQueue<Integer> top = new PriorityQueue<>(k + 1, this::compareRecency);
+        for (int i = candidateCount - 1; i >= 0; i--) {
+            int doc = candidates[i];
+            long key = pubDateKeys[doc];
+            if (key < fromKey || key > toKey || (pressCode >= 0 && pressCodes[doc] != pressCode)) {
+                continue;
+            }
+            if (top.size() == k && compareRecency(doc, top.peek()) <= 0) {
+                continue;
+            }
+            if (!containsAll(normalize(documents[doc].articleTitle()), tokens)) {
+                continue;
+            }
+            top.add(doc);
+            if (top.size() > k) {
+                top.poll();
+            }
+        }
+        Headline[] result = new Headline[top.size()];
+        for (int i = result.length - 1; i >= 0; i--) {
+            result[i] = documents[top.poll()];
+        }
+        return List.of(result);
+    }
+
+    /**
+     * PUB_DATE 순 배열을 기간 끝(toKey)부터 거꾸로 걸으며, 모든 색인어 목록에 든 문서를 k 건 찾으면 멈춘다.
+     * 목록 포함 여부는 문서마다 이진 탐색으로 확인한다. budget 걸음 안에 k 건을 못 찾으면 null 을 돌려준다.
+     * 읽기 락을 잡은 상태에서 호출한다.
+     */
+    private List<Headline> walkByRecency(Postings[] lists, Set<String> tokens, long fromKey, long toKey,
+            int pressCode, int k, long budget) {
+        List<Headline> result = new ArrayList<>(k);
+        long steps = 0;
+        for (int i = upperBound(toKey) - 1; i >= 0 && result.size() < k; i--) {
+            if (++steps > budget) {
+                return null;
+            }
+            int doc = byRecency[i];
+            if (pubDateKeys[doc] < fromKey) {
+                break;
+            }
+            if ((pressCode < 0 || pressCodes[doc] == pressCode) && inAll(lists, doc)
+                    && containsAll(normalize(documents[doc].articleTitle()), tokens)) {
+                result.add(documents[doc]);
+            }
+        }
+        return List.copyOf(result);
+    }
+
+    private static boolean inAll(Postings[] lists, int doc) {
+        for (Postings list : lists) {
+            if (Arrays.binarySearch(list.docs, 0, list.size, doc) < 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /** byRecency 에서 PUB_DATE 가 key 보다 큰 첫 위치 */
+    private int upperBound(long key) {
+        int low = 0;
+        int high = documentCount;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (pubDateKeys[byRecency[mid]] <= key) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    /** PUB_DATE 가 같으면 나중에 색인된 문서를 더 최신으로 본다. */
+    private int compareRecency(int a, int b) {
+        int byDate = Long.compare(pubDateKeys[a], pubDateKeys[b]);
+        return byDate != 0 ? byDate : Integer.compare(a, b);
+    }
+
+    /** 쓰기 락을 잡은 상태에서 호출한다. */
+    private void addDocument(Headline headline) {
+        if (documentCount == documents.length) {
+            int capacity = documentCount + (documentCount >> 1);
+            documents = Arrays.copyOf(documents, capacity);
+            pubDateKeys = Arrays.copyOf(pubDateKeys, capacity);
+            pressCodes = Arrays.copyOf(pressCodes, capacity);
+            byRecency = Arrays.copyOf(byRecency, capacity);
+        }
+        int doc = documentCount++;
+        documents[doc] = headline;
+        pubDateKeys[doc] = dateKey(headline.pubDate());
+        pressCodes[doc] = headline.pressName() == null ? -1
+                : pressCodeByName.computeIfAbsent(headline.pressName(), name -> pressCodeByName.size());
+        for (int key : bigrams(normalize(headline.articleTitle()))) {
+            postings.computeIfAbsent(key, unused -> new Postings()).add(doc);
+        }
+    }
+
+    /**
+     * firstNew 부터 새로 들어온 문서를 정렬해 byRecency 뒤에 붙인다. 새 문서가 모두 기존 문서보다 최신이면(보통의 수집)
+     * 그대로 붙이고, 아니면 정렬된 두 구간을 한 번 병합한다. 쓰기 락을 잡은 상태에서 호출한다.
+     */
+    private void mergeIntoRecencyOrder(int firstNew) {
+        int[] added = IntStream.range(firstNew, documentCount).boxed()
+                .sorted(this::compareRecency)
+                .mapToInt(Integer::intValue)
+                .toArray();
+        if (firstNew == 0 || compareRecency(added[0], byRecency[firstNew - 1]) > 0) {
+            System.arraycopy(added, 0, byRecency, firstNew, added.length);
+            return;
+        }
+        int[] merged = new int[byRecency.length];
+        int i = 0;
+        int j = 0;
+        int out = 0;
+        while (i < firstNew && j < added.length) {
+            merged[out++] = compareRecency(byRecency[i], added[j]) <= 0 ? byRecency[i++] : added[j++];
+        }
+        System.arraycopy(byRecency, i, merged, out, firstNew - i);
+        out += firstNew - i;
+        System.arraycopy(added, j, merged, out, added.length - j);
+        byRecency = merged;
+    }
+
+    /** 기동 시 색인을 다 만든 뒤 남는 배열 공간을 줄인다. */
+    private void trim() {
+        lock.writeLock().lock();
+        try {
+            postings.values().forEach(Postings::trim);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * candidates 앞쪽 count 개 중 list 에도 있는 문서만 앞으로 모으고 그 개수를 돌려준다.
+     * 두 목록 모두 오름차순이므로, list 에서는 직전 위치 이후만 이진 탐색한다.
+     */
+    private static int intersect(int[] candidates, int count, Postings list) {
+        int kept = 0;
+        int from = 0;
+        for (int i = 0; i < count && from < list.size; i++) {
+            int pos = Arrays.binarySearch(list.docs, from, list.size, candidates[i]);
+            if (pos >= 0) {
+                candidates[kept++] = candidates[i];
+                from = pos + 1;
+            } else {
+                from = -pos - 1;
+            }
+        }
+        return kept;
+    }
+
+    private static boolean containsAll(String normalizedTitle, Set<String> tokens) {
+        for (String token : tokens) {
+            if (!normalizedTitle.contains(token)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * 소문자로 바꾸고 글자/숫자가 아닌 문자는 공백으로 바꾼다. 길이는 원문과 같다.
+     */
+    static String normalize(String text) {
+        char[] chars = text.toCharArray();
+        for (int i = 0; i < chars.length; i++) {
+            chars[i] = Character.isLetterOrDigit(chars[i]) ? Character.toLowerCase(chars[i]) : ' ';
+        }
+        return new String(chars);
+    }
+
+    /**
+     * 정규화된 문자열에서 공백을 끼지 않은 연속 두 글자를 int 로 합쳐 중복 없이 돌려준다.
+     */
+    static int[] bigrams(String normalized) {
+        int[] keys = new int[Math.max(normalized.length() - 1, 0)];
+        int count = 0;
+        for (int i = 0; i + 1 < normalized.length(); i++) {
+            char first = normalized.charAt(i);
+            char second = normalized.charAt(i + 1);
+            if (first != ' ' && second != ' ') {
+                keys[count++] = (first << 16) | second;
+            }
+        }
+        return Arrays.stream(keys, 0, count).distinct().toArray();
+    }
+
+    private static long dateKey(LocalDateTime dateTime) {
+        return dateTime.toEpochSecond(ZoneOffset.UTC);
+    }
+
+    /**
+     * 색인어 하나의 문서 번호 목록. 문서 번호는 늘어나기만 하므로 뒤에 붙이면 오름차순이 유지된다.
+     */
+    private static final class Postings {
+
+        private int[] docs = new int[4];
+        private int size;
+
+        void add(int doc) {
+            if (size == docs.length) {
+                docs = Arrays.copyOf(docs, size + (size >> 1) + 1);
+            }
+            docs[size++] = doc;
+        }
+
+        void trim() {
+            if (docs.length > size) {
+                docs = Arrays.copyOf(docs, size);
+            }
+        }
+    }
+}
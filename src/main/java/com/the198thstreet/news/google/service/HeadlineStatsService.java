@@ -0,0 +1,158 @@
+package com.the198thstreet.news.google.service;
+
+import java.time.Clock;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.List;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import com.the198thstreet.news.google.ArchiveStatsProperties;
+import com.the198thstreet.news.google.model.Headline;
+import com.the198thstreet.news.google.model.PressStats;
+import com.the198thstreet.news.google.repository.HeadlineNewsRepository;
+import com.the198thstreet.news.google.repository.HeadlineStatsRepository;
+
+/**
+ * 언론사별 시간/일 기사 수 집계를 유지하고 조회하는 서비스.
+ * <p>
+ * - 수집 주기가 커밋한 {@link HeadlinesInsertedEvent} 를 받아 새 기사 수만큼 집계에 더한다.
+ * - 집계 갱신이 실패한 날짜는 기억해 두었다가 재집계 작업에서 다시 계산한다.
+ * - 재집계 작업은 매일(rebuildCron) 지난 rebuildDays 일과 실패한 날짜를 HEADLINE_NEWS 에서 다시 계산해 덮어쓴다.
+ *   늦게 들어온 기사나 다른 인스턴스가 저장한 기사로 생긴 차이도 이때 맞춰진다.
+ *   세그먼트로 옮겨진 날짜는 세그먼트와 늦게 들어온 행을 합친 기사로 계산한다.
+ * - 집계 테이블이 비어 있거나(첫 배포) rebuildOnStartup 이면 기동 시 전체 기간을 하루씩 다시 집계한다.
+ *   수집이 시작되기 전에 끝나도록 먼저 실행한다.
+ */
+@Service
+public class HeadlineStatsService {
+
+    private static final Logger log = LoggerFactory.getLogger(HeadlineStatsService.class);
+
+    private final HeadlineStatsRepository statsRepository;
+    private final HeadlineNewsRepository newsRepository;
+    private final ArchiveStatsProperties properties;
+    private final Clock clock;
+
+    /** 집계 갱신에 실패해 다시 계산해야 하는 날짜 */
+    private final Set<LocalDate> dirtyDays = ConcurrentHashMap.newKeySet();
+
+    @Autowired
+    public HeadlineStatsService(HeadlineStatsRepository statsRepository, HeadlineNewsRepository newsRepository,
+            ArchiveStatsProperties properties) {
+        this(statsRepository, newsRepository, properties, Clock.system(ZoneId.of("Asia/Seoul")));
+    }
+
+    public HeadlineStatsService(HeadlineStatsRepository statsRepository, HeadlineNewsRepository newsRepository,
+            ArchiveStatsProperties properties, Clock clock) {
+        this.statsRepository = statsRepository;
+        this.newsRepository = newsRepository;
+        this.properties = properties;
+        this.clock = clock;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    public void initialize() {
+        if (!properties.isEnabled()) {
+            return;
+        }
+        if (properties.isRebuildOnStartup() || statsRepository.isEmpty()) {
+            LocalDate oldest = newsRepository.findOldestDate();
+            if (oldest != null) {
+                rebuild(oldest, LocalDate.now(clock));
+            }
+        }
+    }
+
+    /**
+     * 새로 저장된 기사 수를 집계에 더한다. 실패해도 수집은 계속되도록 예외를 삼키고 해당 날짜를 재집계 대상으로 남긴다.
+     */
+    @EventListener
+    public void onHeadlinesInserted(HeadlinesInsertedEvent event) {
+        if (!properties.isEnabled()) {
+            return;
+        }
+        try {
+            statsRepository.increment(event.headlines());
+        } catch (RuntimeException e) {
+            for (Headline headline : event.headlines()) {
+                dirtyDays.add(headline.pubDate().toLocalDate());
+            }
+            log.warn("[헤드라인 통계] 집계 갱신에 실패해 재집계 대상으로 남깁니다. 날짜={} 사유={}", new TreeSet<>(dirtyDays),
+                    e.getMessage());
+        }
+    }
+
+    /**
+     * 지난 rebuildDays 일(어제부터)과 갱신에 실패했던 날짜를 다시 집계한다.
+     */
+    @Scheduled(cron = "${news.archive.stats.rebuild-cron:0 30 4 * * *}", zone = "Asia/Seoul")
+    public void rebuildRecent() {
+        if (!properties.isEnabled()) {
+            return;
+        }
+        Set<LocalDate> days = new TreeSet<>(dirtyDays);
+        LocalDate today = LocalDate.now(clock);
+        for (int i = 1; i <= properties.getRebuildDays(); i++) {
+            days.add(today.minusDays(i));
+        }
+        for (LocalDate day : days) {
+            dirtyDays.remove(day);
+            rebuildDay(day);
+        }
+        log.info("[헤드라인 통계] 재집계 완료 - 날짜={}", days);
+    }
+
+    /**
+     * from~to(양 끝 포함) 를 하루씩 다시 집계한다.
+     */
+    public void rebuild(LocalDate from, LocalDate to) {
+        long started = System.nanoTime();
+        long articles = 0;
+        int days = 0;
+        for (LocalDate day = from; !day.isAfter(to); day = day.plusDays(1)) {
+            articles += rebuildDay(day);
+            days++;
+        }
+        log.info("[헤드라인 통계] 전체 재집계 완료 - 기간={}~{} 날짜={}일 기사={}건 소요={}ms", from, to, days, articles,
+                (System.nanoTime() - started) / 1_000_000);
+    }
+
+    /** 세그먼트로 옮겨진 날짜는 세그먼트 기사로, 아니면 HEADLINE_NEWS 에서 다시 집계한다. */
+    private int rebuildDay(LocalDate day) {
+        if (newsRepository.isArchived(day)) {
+            return statsRepository.rebuildDay(day, newsRepository.findAllByDate(day, null));
+        }
+        return statsRepository.rebuildDay(day);
+    }
+
+    /** 기간의 시간별 언론사 기사 수 */
+    public PressStats hourly(LocalDate from, LocalDate to, String press) {
+        return new PressStats(from, to, "hour", press, statsRepository.findHourly(from, to, press), null);
+    }
+
+    /** 기간의 일별 언론사 기사 수 */
+    public PressStats daily(LocalDate from, LocalDate to, String press) {
+        return new PressStats(from, to, "day", press, statsRepository.findDaily(from, to, press), null);
+    }
+
+    /** 오늘(KST) 포함 최근 days 일 동안 기사가 많은 언론사 상위 limit 곳 */
+    public PressStats topPresses(int days, int limit) {
+        LocalDate to = LocalDate.now(clock);
+        LocalDate from = to.minusDays(days - 1L);
+        List<PressStats.Total> top = statsRepository.findTopPresses(from, to, limit);
+        return new PressStats(from, to, null, null, null, top);
+    }
+}
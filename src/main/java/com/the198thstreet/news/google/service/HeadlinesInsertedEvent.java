@@ -0,0 +1,16 @@
+package com.the198thstreet.news.google.service;
+
+import java.util.List;
+
+import com.the198thstreet.news.google.model.Headline;
+
+/**
+ * 수집 주기에서 새 기사가 DB 에 커밋된 직후 발행되는 이벤트.
+ * <p>
+ * 조회 캐시처럼 저장 결과에 따라 갱신되어야 하는 컴포넌트가 {@code @EventListener} 로 받는다.
+ * 스케줄러 스레드에서 동기적으로 전달되므로 리스너는 오래 걸리는 작업을 하지 않아야 한다.
+ *
+ * @param headlines 이번 주기에 새로 저장된 기사 목록
+ */
+public record HeadlinesInsertedEvent(List<Headline> headlines) {
+}
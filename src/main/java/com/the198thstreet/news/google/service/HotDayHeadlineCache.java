@@ -0,0 +1,259 @@
+package com.the198thstreet.news.google.service;
+
+import java.time.Clock;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+import com.the198thstreet.news.google.ArchiveCacheProperties;
+import com.the198thstreet.news.google.model.Headline;
+import com.the198thstreet.news.google.repository.HeadlineNewsRepository;
+
+/**
+ * 최근 며칠(오늘/어제 등, KST 기준)의 날짜별 헤드라인 목록을 메모리에 올려 두는 read-through 캐시.
+ * <p>
+ * - (날짜, 피드) 하나의 기사 전체를 묶음 대표 기사 목록(PUB_DATE DESC, ID DESC 순 불변 리스트)과 대표별 묶인 기사로 나눠 보관하고,
+ *   페이지/커서 조회는 대표 기사 목록에서 잘라 쓴다.
+ * - 기사 수 합계가 maxArticles 를 넘거나 hotDays 범위를 벗어난 항목은 가장 오래 안 쓴 것부터 내린다.
+ * - 하루치만으로 maxArticles 를 넘는 (날짜, 피드)는 올리지 않고 기억해 두어, 다음 조회부터는 하루 전체를 읽지 않고 바로 null 을 준다.
+ * - 지난 날짜도 늦게 들어온 기사가 있을 수 있으므로, 수집 주기가 커밋한 {@link HeadlinesInsertedEvent} 를 받으면
+ *   해당 날짜를 DB 에서 다시 읽어 통째로 교체한다. 교체 전까지 조회 스레드는 기존 리스트를 그대로 읽으므로 DB 를 기다리지 않고,
+ *   이벤트 처리가 끝난 뒤(= 수집 주기 종료 후)에는 새 기사가 반영된 리스트만 보인다.
+ * - 백필이 끝나 {@link ArchiveRevisedEvent} 가 오면 전부 비운다.
+ */
+@Component
+public class HotDayHeadlineCache {
+
+    private static final Logger log = LoggerFactory.getLogger(HotDayHeadlineCache.class);
+
+    private final HeadlineNewsRepository repository;
+    private final ArchiveCacheProperties properties;
+    private final Clock clock;
+
+    /** (날짜, 피드) → 그날 기사 전체. access-order 로 두어 가장 오래 안 쓴 항목이 맨 앞에 온다. (this 로 동기화) */
+    private final LinkedHashMap<DayKey, Day> days = new LinkedHashMap<>(16, 0.75f, true);
+
+    /** 하루치가 maxArticles 보다 커서 캐시하지 않는 (날짜, 피드). hotDays 범위를 벗어나면 뺀다. (this 로 동기화) */
+    private final Set<DayKey> oversized = new HashSet<>();
+
+    /** 캐시에 올라간 기사 수 합계 (this 로 동기화) */
+    private int cachedArticles;
+
+    /** 수집 이벤트로 교체될 때마다 증가. DB 적재 도중 교체가 일어났으면 적재 결과를 버리기 위해 쓴다. (this 로 동기화) */
+    private long generation;
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+    private final LongAdder refreshes = new LongAdder();
+
+    @Autowired
+    public HotDayHeadlineCache(HeadlineNewsRepository repository, ArchiveCacheProperties properties) {
+        this(repository, properties, Clock.system(ZoneId.of("Asia/Seoul")));
+    }
+
+    /**
+     * "오늘" 을 정하는 시계를 직접 지정한다. (벤치마크/테스트용)
+     */
+    public HotDayHeadlineCache(HeadlineNewsRepository repository, ArchiveCacheProperties properties, Clock clock) {
+        this.repository = repository;
+        this.properties = properties;
+        this.clock = clock;
+    }
+
+    /**
+     * 날짜의 기사 전체를 돌려준다. 캐시 대상이 아니면(hotDays 밖이거나 하루치가 maxArticles 초과) null 을 돌려
+     * 호출 측이 DB 를 페이지 단위로 직접 조회하게 한다.
+     *
+     * @param feedId 피드 ID (null 이면 모든 피드)
+     * @return 그날 기사 묶음, 또는 null
+     */
+    public Day get(LocalDate date, String feedId) {
+        if (!isHotDay(date)) {
+            return null;
+        }
+        DayKey key = new DayKey(date, feedId);
+        long loadGeneration;
+        synchronized (this) {
+            Day cached = days.get(key);
+            if (cached != null) {
+                hits.increment();
+                return cached;
+            }
+            if (oversized.contains(key)) {
+                return null;
+            }
+            loadGeneration = generation;
+        }
+        misses.increment();
+        Day loaded = Day.of(repository.findAllByDate(date, feedId));
+        if (loaded.articles() > properties.getMaxArticles()) {
+            synchronized (this) {
+                oversized.add(key);
+            }
+            log.info("[헤드라인 캐시] 하루치 기사가 상한보다 많아 캐시하지 않습니다. date={} feed={} 건수={}", date, feedId,
+                    loaded.articles());
+            return null;
+        }
+        synchronized (this) {
+            // 적재하는 동안 수집 이벤트로 교체됐다면 이 결과는 이미 낡았을 수 있으니 캐시에 넣지 않는다.
+            if (generation == loadGeneration && !days.containsKey(key)) {
+                put(key, loaded);
+            }
+        }
+        return loaded;
+    }
+
+    /**
+     * 새 기사가 저장된 (날짜, 피드) 중 캐시에 올라가 있는 항목만 DB 에서 다시 읽어 교체한다.
+     * {@link ArchiveResponseCache} 가 응답을 다시 만들 때 갱신된 값을 읽도록 가장 먼저 받는다.
+     */
+    @EventListener
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    public void onHeadlinesInserted(HeadlinesInsertedEvent event) {
+        List<DayKey> touched = new ArrayList<>();
+        synchronized (this) {
+            generation++;
+            for (DayKey key : days.keySet()) {
+                for (Headline headline : event.headlines()) {
+                    if (headline.pubDate() != null && key.covers(headline.pubDate().toLocalDate(), headline.feedId())) {
+                        touched.add(key);
+                        break;
+                    }
+                }
+            }
+        }
+        for (DayKey key : touched) {
+            Day reloaded = Day.of(repository.findAllByDate(key.date(), key.feedId()));
+            synchronized (this) {
+                generation++;
+                remove(key);
+                if (reloaded.articles() <= properties.getMaxArticles()) {
+                    put(key, reloaded);
+                } else {
+                    oversized.add(key);
+                }
+            }
+            refreshes.increment();
+            log.debug("[헤드라인 캐시] 새 기사 저장으로 날짜 목록을 교체했습니다. date={} feed={} 건수={}",
+                    key.date(), key.feedId(), reloaded.articles());
+        }
+    }
+
+    /**
+     * 다른 프로세스(백필)가 지난 날짜를 바꿨다. 어느 날짜인지 모르므로 모두 내리고, 다음 조회 때 DB 에서 다시 올린다.
+     * {@link ArchiveResponseCache} 보다 먼저 받는다.
+     */
+    @EventListener
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    public synchronized void onArchiveRevised(ArchiveRevisedEvent event) {
+        generation++;
+        days.clear();
+        oversized.clear();
+        cachedArticles = 0;
+    }
+
+    /**
+     * 조회 수/적재 수/퇴출 수와 현재 적재 상태.
+     */
+    public synchronized CacheStats stats() {
+        return new CacheStats(hits.sum(), misses.sum(), evictions.sum(), refreshes.sum(), days.size(), cachedArticles);
+    }
+
+    private boolean isHotDay(LocalDate date) {
+        if (!properties.isEnabled()) {
+            return false;
+        }
+        LocalDate today = LocalDate.now(clock);
+        return !date.isAfter(today) && date.isAfter(today.minusDays(properties.getHotDays()));
+    }
+
+    /** this 로 동기화된 상태에서만 호출한다. */
+    private void put(DayKey key, Day day) {
+        days.put(key, day);
+        cachedArticles += day.articles();
+        evictIfNeeded();
+    }
+
+    /** this 로 동기화된 상태에서만 호출한다. */
+    private void remove(DayKey key) {
+        Day removed = days.remove(key);
+        if (removed != null) {
+            cachedArticles -= removed.articles();
+        }
+    }
+
+    /**
+     * 가장 오래 안 쓴 항목부터 보면서, 기사 수 상한을 넘는 동안이거나 hotDays 범위를 벗어난 항목을 내린다.
+     * this 로 동기화된 상태에서만 호출한다.
+     */
+    private void evictIfNeeded() {
+        oversized.removeIf(key -> !isHotDay(key.date()));
+        Iterator<Map.Entry<DayKey, Day>> it = days.entrySet().iterator();
+        while (it.hasNext()) {
+            Map.Entry<DayKey, Day> entry = it.next();
+            if (cachedArticles > properties.getMaxArticles() || !isHotDay(entry.getKey().date())) {
+                cachedArticles -= entry.getValue().articles();
+                it.remove();
+                evictions.increment();
+                log.debug("[헤드라인 캐시] 날짜 목록을 캐시에서 내립니다. date={} feed={} 건수={}",
+                        entry.getKey().date(), entry.getKey().feedId(), entry.getValue().articles());
+            }
+        }
+    }
+
+    /**
+     * 캐시에 올라간 (날짜, 피드) 하나.
+     *
+     * @param leads    묶음 대표 기사 (PUB_DATE DESC, ID DESC 순 불변 리스트)
+     * @param members  대표 기사 ID → 묶인 나머지 기사 (PUB_DATE DESC, ID DESC)
+     * @param articles 그날 기사 전체 수
+     */
+    public record Day(List<Headline> leads, Map<Long, List<Headline>> members, int articles) {
+
+        /**
+         * PUB_DATE DESC, ID DESC 순 기사 전체를 대표 기사와 묶인 기사로 나눈다.
+         */
+        public static Day of(List<Headline> headlines) {
+            List<Headline> leads = new ArrayList<>(headlines.size());
+            Map<Long, List<Headline>> members = new HashMap<>();
+            for (Headline headline : headlines) {
+                if (headline.isClusterLead()) {
+                    leads.add(headline);
+                } else {
+                    members.computeIfAbsent(headline.clusterId(), lead -> new ArrayList<>()).add(headline);
+                }
+            }
+            return new Day(List.copyOf(leads), Map.copyOf(members), headlines.size());
+        }
+    }
+
+    /**
+     * {@link #stats()} 결과.
+     *
+     * @param hits      캐시에서 바로 돌려준 횟수
+     * @param misses    DB 에서 적재한 횟수
+     * @param evictions 상한/기간 초과로 내린 (날짜, 피드) 항목 수
+     * @param refreshes 수집 이벤트로 교체한 (날짜, 피드) 항목 수
+     * @param days      현재 캐시된 (날짜, 피드) 항목 수
+     * @param articles  현재 캐시된 기사 수
+     */
+    public record CacheStats(long hits, long misses, long evictions, long refreshes, int days, int articles) {
+    }
+}
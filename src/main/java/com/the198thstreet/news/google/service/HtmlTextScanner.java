@@ -0,0 +1,258 @@
+package com.the198thstreet.news.google.service;
+
+import org.apache.commons.text.StringEscapeUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * 구글 RSS description 조각({@code <ol><li><a href>제목</a>&nbsp;<font>언론사</font></li>...</ol>})을
+ * DOM 없이 읽는 작은 스캐너.
+ * <p>
+ * 범용 HTML 파서가 아니라, 구글 헤드라인 RSS 가 쓰는 구조만 처리한다.
+ * 텍스트 공백 정리와 엔티티 디코딩은 Jsoup {@code Element#text()} 결과와 같아지도록 맞춘다.
+ */
+final class HtmlTextScanner {
+
+    private static final Logger log = LoggerFactory.getLogger(HtmlTextScanner.class);
+
+    private HtmlTextScanner() {
+    }
+
+    /** li 하나에서 찾은 기사 정보를 받는 콜백 */
+    @FunctionalInterface
+    interface ListItemHandler {
+        void handle(String articleTitle, String articleLink, String pressName);
+    }
+
+    /**
+     * description 안의 {@code ol > li} 를 순서대로 찾아, a/font 가 모두 있는 li 만 콜백으로 넘긴다.
+     * <p>
+     * 기존 파서는 description 을 unescapeHtml4 로 한 번, Jsoup HTML 파싱에서 한 번 더 디코딩했다.
+     * 여기서는 구조(태그)는 원문에서 찾고, 추출한 값에만 같은 두 단계 디코딩을 적용한다.
+     */
+    static void scanListItems(String html, ListItemHandler handler) {
+        int cursor = 0;
+        while (true) {
+            int olStart = findOpenTag(html, "ol", cursor);
+            if (olStart < 0) {
+                return;
+            }
+            int olBodyStart = tagEnd(html, olStart);
+            int olEnd = findCloseTag(html, "ol", olBodyStart);
+            if (olEnd < 0) {
+                olEnd = html.length();
+            }
+            int liStart = findOpenTag(html, "li", olBodyStart, olEnd);
+            while (liStart >= 0) {
+                int liBodyStart = tagEnd(html, liStart);
+                int nextLi = findOpenTag(html, "li", liBodyStart, olEnd);
+                int liEnd = nextLi < 0 ? olEnd : nextLi;
+                int liClose = findCloseTag(html, "li", liBodyStart, liEnd);
+                scanListItem(html, liBodyStart, liClose < 0 ? liEnd : liClose, handler);
+                liStart = nextLi;
+            }
+            cursor = olEnd;
+        }
+    }
+
+    private static void scanListItem(String html, int from, int to, ListItemHandler handler) {
+        int anchor = findOpenTag(html, "a", from, to);
+        int font = findOpenTag(html, "font", from, to);
+        if (anchor < 0 || font < 0) {
+            log.debug("[구글 RSS 파서] anchor/font 태그를 찾을 수 없어 li 를 스킵합니다. li 내용={}", html.substring(from, to));
+            return;
+        }
+        String href = attributeValue(html, anchor, "href");
+        String title = elementText(html, "a", anchor, to);
+        String press = elementText(html, "font", font, to);
+        handler.handle(title, decode(href), press);
+    }
+
+    /**
+     * 시작 태그 위치부터 닫는 태그(없으면 li 끝)까지의 텍스트를 태그를 빼고 모은다.
+     */
+    private static String elementText(String html, String tagName, int tagStart, int limit) {
+        int bodyStart = tagEnd(html, tagStart);
+        int close = findCloseTag(html, tagName, bodyStart, limit);
+        int bodyEnd = close < 0 ? limit : close;
+        StringBuilder text = new StringBuilder(bodyEnd - bodyStart);
+        int i = bodyStart;
+        while (i < bodyEnd) {
+            char c = html.charAt(i);
+            if (c == '<' && isTagStart(html, i + 1)) {
+                int end = tagEnd(html, i);
+                if (regionIsTag(html, i + 1, "br")) {
+                    text.append(' ');
+                }
+                i = end;
+                continue;
+            }
+            text.append(c);
+            i++;
+        }
+        return normalizeWhitespace(decode(text.toString()));
+    }
+
+    /**
+     * 태그 안에서 지정한 속성 값을 찾는다. 없으면 Jsoup {@code attr()} 처럼 빈 문자열을 돌려준다.
+     */
+    private static String attributeValue(String html, int tagStart, String attribute) {
+        int end = tagEnd(html, tagStart) - 1;
+        int i = tagStart + 1;
+        // 태그 이름 건너뛰기
+        while (i < end && !isSpace(html.charAt(i))) {
+            i++;
+        }
+        while (i < end) {
+            while (i < end && (isSpace(html.charAt(i)) || html.charAt(i) == '/')) {
+                i++;
+            }
+            int nameStart = i;
+            while (i < end && html.charAt(i) != '=' && !isSpace(html.charAt(i)) && html.charAt(i) != '/') {
+                i++;
+            }
+            int nameEnd = i;
+            while (i < end && isSpace(html.charAt(i))) {
+                i++;
+            }
+            String value = "";
+            if (i < end && html.charAt(i) == '=') {
+                i++;
+                while (i < end && isSpace(html.charAt(i))) {
+                    i++;
+                }
+                if (i < end && (html.charAt(i) == '"' || html.charAt(i) == '\'')) {
+                    char quote = html.charAt(i);
+                    int close = html.indexOf(quote, i + 1);
+                    int valueEnd = close < 0 || close > end ? end : close;
+                    value = html.substring(i + 1, valueEnd);
+                    i = valueEnd + 1;
+                } else {
+                    int valueStart = i;
+                    while (i < end && !isSpace(html.charAt(i))) {
+                        i++;
+                    }
+                    value = html.substring(valueStart, i);
+                }
+            }
+            if (nameEnd - nameStart == attribute.length()
+                    && html.regionMatches(true, nameStart, attribute, 0, attribute.length())) {
+                return value;
+            }
+            if (nameEnd == nameStart) {
+                i++;
+            }
+        }
+        return "";
+    }
+
+    /**
+     * Jsoup {@code text()} 와 같은 규칙으로 공백을 정리한다.
+     * 공백류(스페이스, 탭, 개행, nbsp)는 연속되면 하나의 스페이스로 합치고, 보이지 않는 문자(zero-width space, soft hyphen)는 버린 뒤 양끝을 자른다.
+     */
+    static String normalizeWhitespace(CharSequence text) {
+        StringBuilder out = new StringBuilder(text.length());
+        boolean lastWasWhite = false;
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (c == ' ' || c == '\t' || c == '\n' || c == '\f' || c == '\r' || c == '\u00a0') {
+                if (lastWasWhite) {
+                    continue;
+                }
+                out.append(' ');
+                lastWasWhite = true;
+            } else if (c != '\u200b' && c != '\u00ad') {
+                out.append(c);
+                lastWasWhite = false;
+            }
+        }
+        return out.toString().trim();
+    }
+
+    /**
+     * unescapeHtml4(기존 파서의 1단계) → 엔티티 디코딩 한 번 더(기존 파서의 HTML 파싱 단계) 순서로 디코딩한다.
+     * <p>
+     * 2단계에 Jsoup {@code Parser.unescapeEntities} 를 쓰면 호출마다 수십 KB 버퍼를 새로 만들기 때문에
+     * 같은 역할을 하는 unescapeHtml4 를 한 번 더 적용한다. (세미콜론 없는 엔티티처럼 구글 RSS 에 나오지 않는 경우만 다르다.)
+     */
+    private static String decode(String value) {
+        if (value.indexOf('&') < 0) {
+            return value;
+        }
+        String once = StringEscapeUtils.unescapeHtml4(value);
+        return once.indexOf('&') < 0 ? once : StringEscapeUtils.unescapeHtml4(once);
+    }
+
+    private static int findOpenTag(String html, String tagName, int from) {
+        return findOpenTag(html, tagName, from, html.length());
+    }
+
+    private static int findOpenTag(String html, String tagName, int from, int limit) {
+        int i = html.indexOf('<', from);
+        while (i >= 0 && i < limit) {
+            if (regionIsTag(html, i + 1, tagName)) {
+                return i;
+            }
+            i = html.indexOf('<', i + 1);
+        }
+        return -1;
+    }
+
+    private static int findCloseTag(String html, String tagName, int from) {
+        return findCloseTag(html, tagName, from, html.length());
+    }
+
+    private static int findCloseTag(String html, String tagName, int from, int limit) {
+        int i = html.indexOf("</", from);
+        while (i >= 0 && i < limit) {
+            if (regionIsTag(html, i + 2, tagName)) {
+                return i;
+            }
+            i = html.indexOf("</", i + 2);
+        }
+        return -1;
+    }
+
+    /** offset 위치에 tagName 이 있고 바로 뒤가 공백, '>' , '/' 또는 문자열 끝인지 확인한다. */
+    private static boolean regionIsTag(String html, int offset, String tagName) {
+        if (!html.regionMatches(true, offset, tagName, 0, tagName.length())) {
+            return false;
+        }
+        int next = offset + tagName.length();
+        if (next >= html.length()) {
+            return true;
+        }
+        char c = html.charAt(next);
+        return c == '>' || c == '/' || isSpace(c);
+    }
+
+    private static boolean isTagStart(String html, int offset) {
+        if (offset >= html.length()) {
+            return false;
+        }
+        char c = html.charAt(offset);
+        return c == '/' || c == '!' || Character.isLetter(c);
+    }
+
+    /** 태그 시작 '<' 위치를 받아 '>' 다음 위치를 돌려준다. 따옴표 안의 '>' 는 무시한다. */
+    private static int tagEnd(String html, int tagStart) {
+        char quote = 0;
+        for (int i = tagStart + 1; i < html.length(); i++) {
+            char c = html.charAt(i);
+            if (quote != 0) {
+                if (c == quote) {
+                    quote = 0;
+                }
+            } else if (c == '"' || c == '\'') {
+                quote = c;
+            } else if (c == '>') {
+                return i + 1;
+            }
+        }
+        return html.length();
+    }
+
+    private static boolean isSpace(char c) {
+        return c == ' ' || c == '\t' || c == '\n' || c == '\f' || c == '\r';
+    }
+}
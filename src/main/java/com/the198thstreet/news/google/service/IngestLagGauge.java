@@ -0,0 +1,86 @@
+package com.the198thstreet.news.google.service;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import com.the198thstreet.news.google.model.Headline;
+import com.the198thstreet.news.google.repository.HeadlineNewsRepository;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * 피드별 수집 지연(지금 - 가장 최근 PUB_DATE, 초)을 {@code news.ingest.lag} 게이지로 내보낸다.
+ * <p>
+ * 기동 시 DB 에서 피드별 최신 PUB_DATE 를 한 번 읽고, 이후에는 {@link HeadlinesInsertedEvent} 로 들어온 기사만 보고 갱신한다.
+ * 게이지 값은 스크레이프 시점에 계산하므로 수집이 멈추면 값이 계속 커진다. PUB_DATE 는 KST 기준이다.
+ */
+@Component
+public class IngestLagGauge {
+
+    private static final Logger log = LoggerFactory.getLogger(IngestLagGauge.class);
+
+    private final HeadlineNewsRepository repository;
+    private final MeterRegistry meterRegistry;
+    private final Clock clock;
+
+    /** 피드 ID → 가장 최근 PUB_DATE */
+    private final Map<String, LocalDateTime> newest = new ConcurrentHashMap<>();
+
+    @Autowired
+    public IngestLagGauge(HeadlineNewsRepository repository, MeterRegistry meterRegistry) {
+        this(repository, meterRegistry, Clock.system(ZoneId.of("Asia/Seoul")));
+    }
+
+    public IngestLagGauge(HeadlineNewsRepository repository, MeterRegistry meterRegistry, Clock clock) {
+        this.repository = repository;
+        this.meterRegistry = meterRegistry;
+        this.clock = clock;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void loadNewest() {
+        repository.findNewestPubDates().forEach(this::update);
+        log.info("[수집 지연] 피드 {}개의 최신 기사 시각을 읽었습니다.", newest.size());
+    }
+
+    @EventListener
+    public void onHeadlinesInserted(HeadlinesInsertedEvent event) {
+        for (Headline headline : event.headlines()) {
+            if (headline.pubDate() != null && headline.feedId() != null) {
+                update(headline.feedId(), headline.pubDate());
+            }
+        }
+    }
+
+    /**
+     * 피드의 수집 지연(초). 아직 기사가 없는 피드면 NaN.
+     */
+    public double lagSeconds(String feedId) {
+        LocalDateTime pubDate = newest.get(feedId);
+        return pubDate == null ? Double.NaN : Duration.between(pubDate, LocalDateTime.now(clock)).toMillis() / 1000.0;
+    }
+
+    private void update(String feedId, LocalDateTime pubDate) {
+        boolean registered = newest.containsKey(feedId);
+        newest.merge(feedId, pubDate, (current, candidate) -> candidate.isAfter(current) ? candidate : current);
+        if (!registered) {
+            Gauge.builder("news.ingest.lag", this, gauge -> gauge.lagSeconds(feedId))
+                    .description("지금과 피드의 가장 최근 PUB_DATE 사이 간격")
+                    .baseUnit("seconds")
+                    .tag("feed", feedId)
+                    .register(meterRegistry);
+        }
+    }
+}
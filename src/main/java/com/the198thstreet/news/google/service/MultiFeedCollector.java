@@ -0,0 +1,142 @@
+package com.the198thstreet.news.google.service;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+
+import com.the198thstreet.news.google.GoogleNewsProperties;
+
+import jakarta.annotation.PreDestroy;
+
+/**
+ * 여러 RSS 피드를 피드별 주기로 수집하는 스케줄러.
+ * <p>
+ * - 피드마다 interval(+0~jitter 무작위 지연)마다 수집을 시작한다. 첫 수집도 0~jitter 만큼 흩어서 시작한다.
+ * - 실제 수집은 maxConcurrentFetches 개 스레드의 고정 크기 풀에서 돈다. 대기열도 피드 수만큼으로 제한한다.
+ * - 피드마다 진행 중 표시를 두어, 이전 수집이 아직 끝나지 않은 피드는 이번 차례를 건너뛴다.
+ *   느린 피드는 자기 차례만 밀릴 뿐 스레드 하나 이상을 차지하지 못하므로 다른 피드를 막지 않는다.
+ * - 수집 중 오류는 {@link GoogleHeadlineNewsService#collect(GoogleNewsProperties.Feed)} 가 피드 단위로 처리한다.
+ */
+@Component
+public class MultiFeedCollector {
+
+    private static final Logger log = LoggerFactory.getLogger(MultiFeedCollector.class);
+
+    private final GoogleHeadlineNewsService newsService;
+    private final GoogleNewsProperties properties;
+
+    /** 피드 ID → 수집 진행 중 여부 */
+    private final Map<String, AtomicBoolean> inFlight = new ConcurrentHashMap<>();
+
+    private ScheduledExecutorService ticker;
+    private ThreadPoolExecutor workers;
+    private volatile boolean running;
+
+    public MultiFeedCollector(GoogleHeadlineNewsService newsService, GoogleNewsProperties properties) {
+        this.newsService = newsService;
+        this.properties = properties;
+    }
+
+    /**
+     * 애플리케이션 기동이 끝나면 피드별 수집 일정을 잡는다.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public synchronized void start() {
+        if (!properties.isEnabled()) {
+            log.info("[구글 RSS 수집기] 비활성화 설정으로 인해 실행을 건너뜁니다.");
+            return;
+        }
+        if (running) {
+            return;
+        }
+        List<GoogleNewsProperties.Feed> feeds = newsService.resolveFeeds();
+        if (feeds.isEmpty()) {
+            log.warn("[구글 RSS 수집기] 수집할 피드가 없습니다.");
+            return;
+        }
+        int threads = Math.max(1, Math.min(properties.getMaxConcurrentFetches(), feeds.size()));
+        ticker = Executors.newSingleThreadScheduledExecutor(new CustomizableThreadFactory("rss-ticker-"));
+        workers = new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(feeds.size()), new CustomizableThreadFactory("rss-collector-"));
+        running = true;
+        for (GoogleNewsProperties.Feed feed : feeds) {
+            schedule(feed, randomJitter(feed));
+        }
+        log.info("[구글 RSS 수집기] 피드 {}개 수집을 시작합니다. 동시 수집 스레드={}", feeds.size(), threads);
+    }
+
+    /**
+     * 진행 중인 수집을 잠시 기다린 뒤 스레드를 정리한다.
+     */
+    @PreDestroy
+    public synchronized void stop() {
+        if (!running) {
+            return;
+        }
+        running = false;
+        ticker.shutdownNow();
+        workers.shutdown();
+        try {
+            if (!workers.awaitTermination(10, TimeUnit.SECONDS)) {
+                workers.shutdownNow();
+            }
+        } catch (InterruptedException e) {
+            workers.shutdownNow();
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void schedule(GoogleNewsProperties.Feed feed, long delayMillis) {
+        if (!running) {
+            return;
+        }
+        try {
+            ticker.schedule(() -> dispatch(feed), delayMillis, TimeUnit.MILLISECONDS);
+        } catch (RejectedExecutionException stopped) {
+            // 종료 중에는 다음 일정을 잡지 않는다.
+        }
+    }
+
+    /**
+     * 다음 차례를 먼저 예약하고, 이전 수집이 끝난 피드만 수집 풀에 넘긴다.
+     */
+    private void dispatch(GoogleNewsProperties.Feed feed) {
+        schedule(feed, feed.getInterval() + randomJitter(feed));
+        AtomicBoolean busy = inFlight.computeIfAbsent(feed.getId(), id -> new AtomicBoolean());
+        if (!busy.compareAndSet(false, true)) {
+            log.warn("[구글 RSS 수집기] feed={} 이전 수집이 아직 진행 중이라 이번 차례를 건너뜁니다.", feed.getId());
+            return;
+        }
+        try {
+            workers.execute(() -> {
+                try {
+                    newsService.collect(feed);
+                } finally {
+                    busy.set(false);
+                }
+            });
+        } catch (RejectedExecutionException full) {
+            busy.set(false);
+            log.warn("[구글 RSS 수집기] feed={} 수집 대기열이 가득 차 이번 차례를 건너뜁니다.", feed.getId());
+        }
+    }
+
+    private static long randomJitter(GoogleNewsProperties.Feed feed) {
+        return feed.getJitter() > 0 ? ThreadLocalRandom.current().nextLong(feed.getJitter() + 1) : 0L;
+    }
+}
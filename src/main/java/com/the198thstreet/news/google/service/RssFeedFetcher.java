@@ -0,0 +1,131 @@
+package com.the198thstreet.news.google.service;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.zip.CRC32C;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpHeaders;
+import org.springframework.stereotype.Component;
+
+/**
+ * RSS URL 을 조건부 GET 으로 가져오는 컴포넌트.
+ * <p>
+ * - 피드 URL 마다 마지막으로 처리한 ETag / Last-Modified / 본문 해시를 기억한다.
+ * - 다음 요청에는 If-None-Match / If-Modified-Since 헤더를 붙여 304 응답을 유도한다.
+ * - 서버가 검증 헤더를 주지 않아도, 본문 해시가 직전과 같으면 파싱과 DB 작업을 건너뛰도록 알려준다.
+ * - 실제 HTTP 호출(연결 재사용, gzip, 재시도)은 {@link FeedHttpClient} 가 맡는다.
+ * <p>
+ * 기억해 둔 값은 {@link #markProcessed(RssFetchResult)} 가 호출될 때만 갱신한다.
+ * 저장 도중 오류가 나면 다음 주기에 같은 문서를 다시 처리해야 하기 때문이다.
+ * 단, 본문 해시가 같은 응답은 이미 처리한 문서이므로 그 응답의 새 ETag / Last-Modified 를 바로 기억한다.
+ * (서버가 본문은 그대로 두고 검증 값만 바꾼 경우, 옛 값을 계속 보내면 본문이 바뀔 때까지 304 를 받지 못한다)
+ */
+@Component
+public class RssFeedFetcher {
+
+    private static final Logger log = LoggerFactory.getLogger(RssFeedFetcher.class);
+
+    private final FeedHttpClient httpClient;
+
+    /** 피드 URL → 마지막으로 처리 완료한 응답의 검증 정보 */
+    private final Map<String, FeedValidators> validatorsByUrl = new ConcurrentHashMap<>();
+
+    private final AtomicLong notModifiedCount = new AtomicLong();
+    private final AtomicLong hashHitCount = new AtomicLong();
+    private final AtomicLong fullParseCount = new AtomicLong();
+
+    public RssFeedFetcher(FeedHttpClient httpClient) {
+        this.httpClient = httpClient;
+    }
+
+    /**
+     * 피드를 가져온다.
+     * <p>
+     * 반환 결과의 {@link RssFetchResult#hasNewContent()} 가 false 면 호출자는 파싱/저장을 하지 않아도 된다.
+     *
+     * @throws FeedFetchException 재시도 후에도 받지 못했을 때
+     */
+    public RssFetchResult fetch(String rssUrl) {
+        FeedValidators previous = validatorsByUrl.get(rssUrl);
+        Map<String, String> requestHeaders = new HashMap<>();
+        if (previous != null) {
+            if (previous.etag() != null) {
+                requestHeaders.put(HttpHeaders.IF_NONE_MATCH, previous.etag());
+            }
+            if (previous.lastModified() != null) {
+                requestHeaders.put(HttpHeaders.IF_MODIFIED_SINCE, previous.lastModified());
+            }
+        }
+
+        FeedHttpClient.FeedResponse response = httpClient.get(rssUrl, requestHeaders);
+
+        if (response.status() == 304) {
+            notModifiedCount.incrementAndGet();
+            log.debug("[RSS 조건부 요청] 304 Not Modified - url={}", rssUrl);
+            return RssFetchResult.unchanged(rssUrl, RssFetchResult.Outcome.NOT_MODIFIED);
+        }
+
+        byte[] body = response.body();
+        long bodyHash = hash(body);
+        FeedValidators next = new FeedValidators(response.headers().firstValue(HttpHeaders.ETAG).orElse(null),
+                response.headers().firstValue(HttpHeaders.LAST_MODIFIED).orElse(null), bodyHash);
+        if (previous != null && previous.bodyHash() == bodyHash) {
+            hashHitCount.incrementAndGet();
+            if (!next.equals(previous)) {
+                validatorsByUrl.replace(rssUrl, previous, next);
+            }
+            log.debug("[RSS 조건부 요청] 본문 해시가 직전과 같아 파싱을 건너뜁니다 - url={}", rssUrl);
+            return RssFetchResult.unchanged(rssUrl, RssFetchResult.Outcome.HASH_HIT);
+        }
+
+        fullParseCount.incrementAndGet();
+        return new RssFetchResult(rssUrl, RssFetchResult.Outcome.MODIFIED, body, next);
+    }
+
+    /**
+     * 새 문서의 파싱/저장을 마친 뒤 호출하여, 다음 요청부터 조건부 헤더와 해시 비교에 쓰도록 기록한다.
+     */
+    public void markProcessed(RssFetchResult result) {
+        if (result.validators() != null) {
+            validatorsByUrl.put(result.rssUrl(), result.validators());
+        }
+    }
+
+    /** 304 응답 누적 횟수 */
+    public long getNotModifiedCount() {
+        return notModifiedCount.get();
+    }
+
+    /** 200 응답이지만 본문 해시가 같아 건너뛴 누적 횟수 */
+    public long getHashHitCount() {
+        return hashHitCount.get();
+    }
+
+    /** 새 문서로 판단해 전체 파싱을 맡긴 누적 횟수 */
+    public long getFullParseCount() {
+        return fullParseCount.get();
+    }
+
+    /**
+     * CRC32C(하드웨어 가속) 값과 길이를 합친 64비트 해시. 같은 문서인지 빠르게 판별하는 용도다.
+     */
+    private static long hash(byte[] body) {
+        CRC32C crc = new CRC32C();
+        crc.update(body, 0, body.length);
+        return ((long) body.length << 32) | crc.getValue();
+    }
+
+    /**
+     * 피드 URL 별로 기억하는 검증 정보.
+     *
+     * @param etag         응답 ETag (없으면 null)
+     * @param lastModified 응답 Last-Modified 원문 (없으면 null)
+     * @param bodyHash     본문 해시
+     */
+    public record FeedValidators(String etag, String lastModified, long bodyHash) {
+    }
+}
@@ -0,0 +1,48 @@
+package com.the198thstreet.news.google.service;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * {@link RssFeedFetcher#fetch(String)} 의 결과.
+ *
+ * @param rssUrl     요청한 피드 URL
+ * @param outcome    304 / 해시 일치 / 새 문서 중 어떤 경우인지
+ * @param content    새 문서일 때의 XML 본문 바이트 (압축 해제됨, 그 외에는 null)
+ * @param validators 처리 완료 시 기억할 검증 정보 (새 문서일 때만 존재)
+ */
+public record RssFetchResult(String rssUrl, Outcome outcome, byte[] content, RssFeedFetcher.FeedValidators validators) {
+
+    public enum Outcome {
+        /** 서버가 304 Not Modified 로 응답함 */
+        NOT_MODIFIED,
+        /** 200 응답이지만 직전에 처리한 본문과 해시가 같음 */
+        HASH_HIT,
+        /** 파싱이 필요한 새 문서 */
+        MODIFIED
+    }
+
+    static RssFetchResult unchanged(String rssUrl, Outcome outcome) {
+        return new RssFetchResult(rssUrl, outcome, null, null);
+    }
+
+    /**
+     * 본문을 파서가 바로 읽을 수 있는 스트림으로 연다. 인코딩은 XML 선언을 따른다.
+     */
+    public InputStream openBody() {
+        return new ByteArrayInputStream(content);
+    }
+
+    /**
+     * 본문을 UTF-8 문자열로 돌려준다. (Jsoup 파서/테스트용. 스트리밍 파서는 {@link #openBody()} 를 쓴다)
+     */
+    public String body() {
+        return content == null ? null : new String(content, StandardCharsets.UTF_8);
+    }
+
+    /** 파싱과 저장이 필요한 새 문서인지 여부 */
+    public boolean hasNewContent() {
+        return outcome == Outcome.MODIFIED;
+    }
+}
@@ -0,0 +1,166 @@
+package com.the198thstreet.news.google.service;
+
+import java.io.InputStream;
+import java.io.Reader;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Function;
+import java.util.function.UnaryOperator;
+
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.the198thstreet.news.google.model.Headline;
+
+/**
+ * DOM 을 만들지 않고 RSS 를 한 번 훑으며 기사 목록을 만드는 스트리밍 파서.
+ * <p>
+ * - StAX 로 {@code channel > item} 의 {@code pubDate}/{@code description} 텍스트만 모은다.
+ * - description 조각은 Jsoup HTML DOM 대신 {@code ol > li} 구조만 아는 간단한 스캐너로 읽는다.
+ * - 결과는 Jsoup 기반 파서와 같아야 하므로, 텍스트 공백 정리/엔티티 디코딩 규칙도 Jsoup {@code text()} 와 맞춘다.
+ * <p>
+ * 상태가 없으므로 여러 스레드에서 같은 인스턴스를 공유해도 된다.
+ */
+public class StaxRssParser {
+
+    private static final Logger log = LoggerFactory.getLogger(StaxRssParser.class);
+
+    private final XMLInputFactory inputFactory;
+    private final Function<String, LocalDateTime> pubDateParser;
+    private final UnaryOperator<String> pressNames;
+
+    /**
+     * @param pubDateParser pubDate 원문을 LocalDateTime 으로 바꾸는 함수 (실패 시 null 반환)
+     */
+    public StaxRssParser(Function<String, LocalDateTime> pubDateParser) {
+        this(pubDateParser, UnaryOperator.identity());
+    }
+
+    /**
+     * @param pubDateParser pubDate 원문을 LocalDateTime 으로 바꾸는 함수 (실패 시 null 반환)
+     * @param pressNames    읽은 언론사 이름을 이미 가진 인스턴스로 바꾸는 함수 (언론사 사전)
+     */
+    public StaxRssParser(Function<String, LocalDateTime> pubDateParser, UnaryOperator<String> pressNames) {
+        this.pubDateParser = pubDateParser;
+        this.pressNames = pressNames;
+        this.inputFactory = XMLInputFactory.newFactory();
+        // CDATA/엔티티로 쪼개진 텍스트를 한 덩어리로 받고, 외부 엔티티/DTD 는 읽지 않는다.
+        inputFactory.setProperty(XMLInputFactory.IS_COALESCING, Boolean.TRUE);
+        inputFactory.setProperty(XMLInputFactory.SUPPORT_DTD, Boolean.FALSE);
+        inputFactory.setProperty(XMLInputFactory.IS_SUPPORTING_EXTERNAL_ENTITIES, Boolean.FALSE);
+        inputFactory.setProperty(XMLInputFactory.IS_NAMESPACE_AWARE, Boolean.FALSE);
+    }
+
+    /**
+     * 바이트 스트림(인코딩은 XML 선언을 따름)에서 기사 목록을 읽는다.
+     */
+    public List<Headline> parse(InputStream xml) {
+        try {
+            return parse(inputFactory.createXMLStreamReader(xml));
+        } catch (XMLStreamException e) {
+            log.error("[구글 RSS 스트리밍 파서] XML 스트림을 열 수 없습니다. 오류={}", e.getMessage());
+            return new ArrayList<>();
+        }
+    }
+
+    /**
+     * 문자 스트림에서 기사 목록을 읽는다.
+     */
+    public List<Headline> parse(Reader xml) {
+        try {
+            return parse(inputFactory.createXMLStreamReader(xml));
+        } catch (XMLStreamException e) {
+            log.error("[구글 RSS 스트리밍 파서] XML 스트림을 열 수 없습니다. 오류={}", e.getMessage());
+            return new ArrayList<>();
+        }
+    }
+
+    private List<Headline> parse(XMLStreamReader reader) {
+        List<Headline> articles = new ArrayList<>();
+        // Jsoup 의 "channel > item" 선택자와 같도록 channel 바로 아래의 item 만 기사 묶음으로 본다.
+        int depth = 0;
+        int channelDepth = -1;
+        boolean inItem = false;
+        String field = null;
+        StringBuilder text = new StringBuilder();
+        String pubDateRaw = null;
+        String description = null;
+        try {
+            while (reader.hasNext()) {
+                int event = reader.next();
+                if (event == XMLStreamConstants.START_ELEMENT) {
+                    depth++;
+                    String name = reader.getLocalName();
+                    if (channelDepth < 0 && "channel".equalsIgnoreCase(name)) {
+                        channelDepth = depth;
+                    } else if (!inItem && depth == channelDepth + 1 && "item".equalsIgnoreCase(name)) {
+                        inItem = true;
+                        pubDateRaw = null;
+                        description = null;
+                    } else if (inItem && field == null) {
+                        // item 안에서 처음 나오는 pubDate/description 만 사용한다. (Jsoup selectFirst 와 동일)
+                        if (pubDateRaw == null && "pubDate".equalsIgnoreCase(name)) {
+                            field = "pubDate";
+                            text.setLength(0);
+                        } else if (description == null && "description".equalsIgnoreCase(name)) {
+                            field = "description";
+                            text.setLength(0);
+                        }
+                    }
+                } else if (event == XMLStreamConstants.CHARACTERS || event == XMLStreamConstants.CDATA
+                        || event == XMLStreamConstants.SPACE) {
+                    if (field != null) {
+                        text.append(reader.getTextCharacters(), reader.getTextStart(), reader.getTextLength());
+                    }
+                } else if (event == XMLStreamConstants.END_ELEMENT) {
+                    String name = reader.getLocalName();
+                    if (field != null && field.equalsIgnoreCase(name)) {
+                        if ("pubDate".equals(field)) {
+                            pubDateRaw = HtmlTextScanner.normalizeWhitespace(text);
+                        } else {
+                            description = HtmlTextScanner.normalizeWhitespace(text);
+                        }
+                        field = null;
+                    } else if (inItem && depth == channelDepth + 1) {
+                        inItem = false;
+                        collectItem(pubDateRaw, description, articles);
+                    } else if (depth == channelDepth) {
+                        channelDepth = -1;
+                    }
+                    depth--;
+                }
+            }
+        } catch (XMLStreamException e) {
+            log.error("[구글 RSS 스트리밍 파서] XML 파싱 중단. 위치={} 오류={} (그 전까지 읽은 {}건만 반환)",
+                    e.getLocation(), e.getMessage(), articles.size());
+        } finally {
+            try {
+                reader.close();
+            } catch (XMLStreamException ignore) {
+                // 닫기 실패는 결과에 영향이 없다.
+            }
+        }
+        return articles;
+    }
+
+    /**
+     * item 하나를 다 읽었을 때 pubDate 를 변환하고 description 의 li 목록을 기사로 펼친다.
+     */
+    private void collectItem(String pubDateRaw, String description, List<Headline> articles) {
+        LocalDateTime pubDate = pubDateParser.apply(pubDateRaw);
+        if (pubDate == null) {
+            return; // 날짜가 없으면 중복 체크와 저장을 할 수 없으므로 스킵
+        }
+        if (description == null || description.isEmpty()) {
+            return;
+        }
+        HtmlTextScanner.scanListItems(description, (title, link, press) ->
+                articles.add(Headline.parsed(pubDate, pressNames.apply(press), title, link)));
+    }
+}
@@ -1,16 +1,82 @@
 -- ===========================================
 -- 구글 헤드라인 RSS 아카이브용 테이블 정의 (MariaDB 기준)
 -- 앱을 실행하기 전에 아래 DDL 을 MariaDB 에 그대로 실행하면 됩니다.
--- ARTICLE_LINK + PUB_DATE 조합에 UNIQUE 제약을 걸어 중복 저장을 방지합니다.
+-- 피드(FEED_ID)마다 ARTICLE_LINK + PUB_DATE 조합에 UNIQUE 제약을 걸어 중복 저장을 방지합니다.
+-- IX_HEADLINE_NEWS_PUB_DATE_ID 는 날짜별 조회/키셋 페이지네이션(PUB_DATE DESC, ID DESC)용 인덱스입니다.
+-- IX_HEADLINE_NEWS_FEED_PUB_DATE_ID 는 피드를 지정한 날짜별 조회용 인덱스입니다.
+--   이미 테이블이 있는 환경에서는 아래 구문을 한 번 실행합니다. (기존 기사는 기본 피드 'headlines' 로 채워집니다)
+--   ALTER TABLE HEADLINE_NEWS ADD INDEX IX_HEADLINE_NEWS_PUB_DATE_ID (PUB_DATE, ID);
+--   ALTER TABLE HEADLINE_NEWS ADD COLUMN FEED_ID VARCHAR(64) NOT NULL DEFAULT 'headlines' AFTER ID;
+--   ALTER TABLE HEADLINE_NEWS DROP INDEX UX_HEADLINE_NEWS,
+--       ADD UNIQUE KEY UX_HEADLINE_NEWS (ARTICLE_LINK, PUB_DATE, FEED_ID),
+--       ADD INDEX IX_HEADLINE_NEWS_FEED_PUB_DATE_ID (FEED_ID, PUB_DATE, ID);
+-- CLUSTER_ID 는 같은 사건을 다룬 기사 묶음의 대표 기사 ID 입니다. 대표 기사와 묶이지 않은 기사는 NULL 이며,
+--   날짜별 조회 API 는 CLUSTER_ID 가 NULL 인 기사만 한 줄로 보여 주고 나머지는 그 대표의 언론사 목록으로 붙입니다.
+--   ALTER TABLE HEADLINE_NEWS ADD COLUMN CLUSTER_ID BIGINT NULL AFTER FEED_ID;
+-- 월 파티션(콜드 보관 news.archive.cold.* 를 쓸 때, MariaDB 에서 한 번 실행)
+--   파티션 키(PUB_DATE)가 모든 유일 키에 들어가야 하므로 기본 키를 (ID, PUB_DATE) 로 바꾼 뒤 파티션을 겁니다.
+--   첫 파티션은 가장 오래된 기사의 달로 두고, 이후 달 파티션은 보관 작업이 pmax 를 쪼개 미리 만듭니다.
+--   옮기기가 끝난 달은 파티션째 버려지므로(DROP PARTITION) 행 단위 삭제가 없습니다.
+--   ALTER TABLE HEADLINE_NEWS DROP PRIMARY KEY, ADD PRIMARY KEY (ID, PUB_DATE);
+--   ALTER TABLE HEADLINE_NEWS PARTITION BY RANGE COLUMNS(PUB_DATE) (
+--       PARTITION p202511 VALUES LESS THAN ('2025-12-01'),
+--       PARTITION pmax VALUES LESS THAN (MAXVALUE));
+-- 언론사 사전(PRESS)
+--   기사 행에는 언론사 이름 대신 PRESS_ID(INT)만 저장합니다. 이름은 앱이 기동 시 PRESS 전체를 메모리에 올려 바꿔 씁니다.
+--   PUB_DATE_RAW 는 PUB_DATE 로 다시 만들 수 있고 읽는 곳이 없어 저장하지 않습니다.
+--   이미 테이블이 있는 환경에서는 아래 PRESS 테이블을 만든 뒤 한 번 실행합니다. (기사 수에 비례해 오래 걸리므로 수집을 멈추고 실행)
+--   INSERT IGNORE INTO PRESS (PRESS_NAME) SELECT DISTINCT PRESS_NAME FROM HEADLINE_NEWS;
+--   ALTER TABLE HEADLINE_NEWS ADD COLUMN PRESS_ID INT NULL AFTER CLUSTER_ID;
+--   UPDATE HEADLINE_NEWS N JOIN PRESS P ON P.PRESS_NAME = N.PRESS_NAME SET N.PRESS_ID = P.PRESS_ID;
+--   ALTER TABLE HEADLINE_NEWS MODIFY PRESS_ID INT NOT NULL, DROP COLUMN PRESS_NAME, DROP COLUMN PUB_DATE_RAW;
 -- ===========================================
+CREATE TABLE IF NOT EXISTS PRESS (
+    PRESS_ID INT NOT NULL AUTO_INCREMENT PRIMARY KEY,
+    PRESS_NAME VARCHAR(200) NOT NULL,
+    UNIQUE KEY UX_PRESS_NAME (PRESS_NAME)
+);
+
 CREATE TABLE IF NOT EXISTS HEADLINE_NEWS (
     ID BIGINT NOT NULL AUTO_INCREMENT PRIMARY KEY,
+    FEED_ID VARCHAR(64) NOT NULL DEFAULT 'headlines',
+    CLUSTER_ID BIGINT NULL,
+    PRESS_ID INT NOT NULL,
     PUB_DATE DATETIME NOT NULL,
-    PUB_DATE_RAW VARCHAR(100),
     ARTICLE_TITLE VARCHAR(500) NOT NULL,
     ARTICLE_LINK VARCHAR(1000) NOT NULL,
-    PRESS_NAME VARCHAR(200) NOT NULL,
     CREATED_AT DATETIME NOT NULL DEFAULT CURRENT_TIMESTAMP,
     UPDATED_AT DATETIME NOT NULL DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP,
-    UNIQUE KEY UX_HEADLINE_NEWS (ARTICLE_LINK, PUB_DATE)
+    UNIQUE KEY UX_HEADLINE_NEWS (ARTICLE_LINK, PUB_DATE, FEED_ID),
+    KEY IX_HEADLINE_NEWS_PUB_DATE_ID (PUB_DATE, ID),
+    KEY IX_HEADLINE_NEWS_FEED_PUB_DATE_ID (FEED_ID, PUB_DATE, ID)
+);
+
+-- ===========================================
+-- 언론사별 기사 수 집계 테이블 (시간/일 단위)
+-- 수집 주기마다 새로 저장된 기사 수만큼 더하고(INSERT ... ON DUPLICATE KEY UPDATE),
+-- 재집계 작업이 HEADLINE_NEWS 에서 날짜 단위로 다시 계산해 덮어씁니다.
+-- 통계 API 는 이 테이블만 읽으므로 HEADLINE_NEWS 가 커져도 조회 비용은 구간(시간/일) 수에만 비례합니다.
+-- ===========================================
+CREATE TABLE IF NOT EXISTS HEADLINE_STATS_HOURLY (
+    STAT_HOUR DATETIME NOT NULL,
+    PRESS_NAME VARCHAR(200) NOT NULL,
+    ARTICLE_COUNT INT NOT NULL,
+    PRIMARY KEY (STAT_HOUR, PRESS_NAME)
+);
+
+CREATE TABLE IF NOT EXISTS HEADLINE_STATS_DAILY (
+    STAT_DATE DATE NOT NULL,
+    PRESS_NAME VARCHAR(200) NOT NULL,
+    ARTICLE_COUNT INT NOT NULL,
+    PRIMARY KEY (STAT_DATE, PRESS_NAME)
+);
+
+-- ===========================================
+-- 아카이브 데이터 리비전 (행 하나)
+-- 수집 이벤트 없이 과거 날짜 기사를 바꾸는 작업(백필)이 끝날 때 REVISION 을 1 올립니다.
+-- 실행 중인 서버는 이 값을 주기적으로 읽어, 바뀌면 과거 날짜 조회 캐시(응답 바이트/건수/최근 날짜 목록)를 비웁니다.
+-- ===========================================
+CREATE TABLE IF NOT EXISTS ARCHIVE_REVISION (
+    ID INT NOT NULL PRIMARY KEY,
+    REVISION BIGINT NOT NULL
 );
@@ -0,0 +1,332 @@
+package com.the198thstreet.news.google.controller;
+
+import static com.the198thstreet.support.TestHeadlines.articles;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.Clock;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Collections;
+import java.util.List;
+import java.util.zip.GZIPInputStream;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.the198thstreet.news.google.ArchiveCacheProperties;
+import com.the198thstreet.news.google.ArchiveResponseProperties;
+import com.the198thstreet.news.google.ArchiveSearchProperties;
+import com.the198thstreet.news.google.GoogleNewsProperties;
+import com.the198thstreet.news.google.model.Headline;
+import com.the198thstreet.news.google.model.HeadlineCluster;
+import com.the198thstreet.news.google.model.HeadlineCursor;
+import com.the198thstreet.news.google.model.HeadlinePage;
+import com.the198thstreet.news.google.repository.ArchiveRevisionRepository;
+import com.the198thstreet.news.google.repository.HeadlineNewsRepository;
+import com.the198thstreet.news.google.service.ArchiveResponseCache;
+import com.the198thstreet.news.google.service.ArchiveRevisedEvent;
+import com.the198thstreet.news.google.service.ArchiveRevisionWatcher;
+import com.the198thstreet.news.google.service.HeadlineArchiveService;
+import com.the198thstreet.news.google.service.HeadlineSearchIndex;
+import com.the198thstreet.news.google.service.HeadlinesInsertedEvent;
+import com.the198thstreet.news.google.service.HotDayHeadlineCache;
+import com.the198thstreet.support.H2TestDatabase;
+import com.the198thstreet.support.StatementCountingDataSource;
+import com.the198thstreet.support.TestHeadlineRepository;
+
+class ArchiveHeadlineApiControllerTest {
+
+    private static final ZoneId KST = ZoneId.of("Asia/Seoul");
+    private static final LocalDate TODAY = LocalDate.of(2025, 11, 30);
+    private static final LocalDate OLD_DAY = TODAY.minusDays(5);
+
+    private StatementCountingDataSource dataSource;
+    private HeadlineNewsRepository repository;
+    private HotDayHeadlineCache hotDayCache;
+    private HeadlineArchiveService archiveService;
+    private ArchiveResponseCache responseCache;
+    private MockMvc mockMvc;
+
+    @BeforeEach
+    void setUp() {
+        dataSource = new StatementCountingDataSource(H2TestDatabase.create());
+        repository = TestHeadlineRepository.create(dataSource);
+        repository.insertHeadlines(articles(OLD_DAY, "old", 40));
+        repository.insertHeadlines(articles(TODAY, "today", 40));
+
+        Clock clock = Clock.fixed(TODAY.atTime(12, 0).atZone(KST).toInstant(), KST);
+        hotDayCache = new HotDayHeadlineCache(repository, new ArchiveCacheProperties(), clock);
+        archiveService = new HeadlineArchiveService(repository, hotDayCache);
+        responseCache = new ArchiveResponseCache(new ObjectMapper().findAndRegisterModules(),
+                new ArchiveResponseProperties(), clock);
+        mockMvc = MockMvcBuilders.standaloneSetup(new ArchiveHeadlineApiController(archiveService, hotDayCache,
+                new HeadlineSearchIndex(repository, new ArchiveSearchProperties()), responseCache,
+                new GoogleNewsProperties())).build();
+    }
+
+    @Test
+    void repeatedPastDayRequestIsServedFromBytesAndRevalidatesWith304() throws Exception {
+        MvcResult first = mockMvc.perform(get("/api/archive/headlines").param("date", OLD_DAY.toString()))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.CACHE_CONTROL, "max-age=86400, public, immutable"))
+                .andExpect(header().string(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING))
+                .andReturn();
+        String etag = first.getResponse().getHeader(HttpHeaders.ETAG);
+        assertThat(etag).matches("\"[0-9a-f]{16}\"");
+        assertThat(first.getResponse().getContentAsString()).contains("\"date\":\"" + OLD_DAY + "\"", "old 기사 39");
+
+        dataSource.reset();
+        MvcResult second = mockMvc.perform(get("/api/archive/headlines").param("date", OLD_DAY.toString()))
+                .andExpect(status().isOk())
+                .andReturn();
+        assertThat(dataSource.getStatementCount()).isZero();
+        assertThat(second.getResponse().getContentAsByteArray()).isEqualTo(first.getResponse().getContentAsByteArray());
+        assertThat(second.getResponse().getHeader(HttpHeaders.ETAG)).isEqualTo(etag);
+
+        MvcResult notModified = mockMvc.perform(get("/api/archive/headlines").param("date", OLD_DAY.toString())
+                        .header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isNotModified())
+                .andReturn();
+        assertThat(notModified.getResponse().getContentAsByteArray()).isEmpty();
+        assertThat(dataSource.getStatementCount()).isZero();
+        assertThat(responseCache.stats().hits()).isEqualTo(2);
+        assertThat(responseCache.stats().misses()).isEqualTo(1);
+    }
+
+    @Test
+    void gzipBodyIsPrecompressedCopyOfJsonWithItsOwnEtag() throws Exception {
+        MvcResult plain = mockMvc.perform(get("/api/archive/headlines").param("date", OLD_DAY.toString()))
+                .andReturn();
+        MvcResult gzipped = mockMvc.perform(get("/api/archive/headlines").param("date", OLD_DAY.toString())
+                        .header(HttpHeaders.ACCEPT_ENCODING, "br, gzip;q=0.8"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.CONTENT_ENCODING, "gzip"))
+                .andReturn();
+
+        byte[] json = plain.getResponse().getContentAsByteArray();
+        byte[] compressed = gzipped.getResponse().getContentAsByteArray();
+        assertThat(compressed.length).isLessThan(json.length);
+        assertThat(new GZIPInputStream(new ByteArrayInputStream(compressed)).readAllBytes()).isEqualTo(json);
+        String plainEtag = plain.getResponse().getHeader(HttpHeaders.ETAG);
+        assertThat(gzipped.getResponse().getHeader(HttpHeaders.ETAG))
+                .isEqualTo(plainEtag.substring(0, plainEtag.length() - 1) + "-gz\"");
+
+        mockMvc.perform(get("/api/archive/headlines").param("date", OLD_DAY.toString())
+                        .header(HttpHeaders.ACCEPT_ENCODING, "gzip;q=0"))
+                .andExpect(header().doesNotExist(HttpHeaders.CONTENT_ENCODING));
+    }
+
+    @Test
+    void todayIsRevalidatedAndEtagChangesOnlyWhenThatDayIngests() throws Exception {
+        MvcResult first = mockMvc.perform(get("/api/archive/headlines").param("date", TODAY.toString()))
+                .andExpect(header().string(HttpHeaders.CACHE_CONTROL, "no-cache"))
+                .andReturn();
+        String etag = first.getResponse().getHeader(HttpHeaders.ETAG);
+        String oldDayEtag = mockMvc.perform(get("/api/archive/headlines").param("date", OLD_DAY.toString()))
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        // 오늘 기사 한 건 저장 → 캐시들이 수집 이벤트를 받는 순서대로 알린다.
+        HeadlineNewsRepository.BatchInsertResult inserted = repository.insertHeadlines("headlines",
+                List.of(Headline.parsed(TODAY.atTime(11, 0), "새언론사", "today 새 기사", "https://a.example/new")));
+        HeadlinesInsertedEvent event = new HeadlinesInsertedEvent(inserted.insertedArticles());
+        hotDayCache.onHeadlinesInserted(event);
+        archiveService.onHeadlinesInserted(event);
+        responseCache.onHeadlinesInserted(event);
+
+        mockMvc.perform(get("/api/archive/headlines").param("date", TODAY.toString())
+                        .header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isOk());
+        MvcResult refreshed = mockMvc.perform(get("/api/archive/headlines").param("date", TODAY.toString()))
+                .andReturn();
+        assertThat(refreshed.getResponse().getHeader(HttpHeaders.ETAG)).isNotEqualTo(etag);
+        assertThat(refreshed.getResponse().getContentAsString()).contains("today 새 기사", "\"totalCount\":41");
+
+        dataSource.reset();
+        mockMvc.perform(get("/api/archive/headlines").param("date", OLD_DAY.toString())
+                        .header(HttpHeaders.IF_NONE_MATCH, oldDayEtag))
+                .andExpect(status().isNotModified());
+        assertThat(dataSource.getStatementCount()).isZero();
+    }
+
+    @Test
+    void backfilledPastDayIsRebuiltAfterArchiveRevisionChanges() throws Exception {
+        ArchiveRevisionRepository revisions = new ArchiveRevisionRepository(new JdbcTemplate(dataSource));
+        ArchiveRevisionWatcher watcher = new ArchiveRevisionWatcher(revisions, event -> {
+            // 캐시들이 이벤트를 받는 순서대로 알린다.
+            ArchiveRevisedEvent revised = (ArchiveRevisedEvent) event;
+            hotDayCache.onArchiveRevised(revised);
+            archiveService.onArchiveRevised(revised);
+            responseCache.onArchiveRevised(revised);
+        });
+        assertThat(watcher.check()).isFalse();
+
+        String etag = mockMvc.perform(get("/api/archive/headlines").param("date", OLD_DAY.toString()))
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        // 다른 프로세스의 백필: 수집 이벤트 없이 지난 날짜에 저장하고 리비전만 올린다.
+        repository.insertHeadlines("headlines", List.of(Headline.parsed(OLD_DAY.atTime(7, 0), "백필언론사",
+                "old 백필 기사", "https://a.example/backfill")));
+        revisions.bump();
+        assertThat(watcher.check()).isTrue();
+        assertThat(watcher.check()).isFalse();
+
+        MvcResult refreshed = mockMvc.perform(get("/api/archive/headlines").param("date", OLD_DAY.toString())
+                        .param("size", "50").header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isOk())
+                .andReturn();
+        assertThat(refreshed.getResponse().getHeader(HttpHeaders.ETAG)).isNotEqualTo(etag);
+        assertThat(refreshed.getResponse().getContentAsString()).contains("old 백필 기사", "\"totalCount\":41");
+    }
+
+    @Test
+    void unknownFeedIsRejectedBeforeReachingTheCaches() throws Exception {
+        mockMvc.perform(get("/api/archive/headlines").param("date", TODAY.toString()).param("feed", "no-such-feed"))
+                .andExpect(status().isBadRequest());
+        assertThat(hotDayCache.stats().misses()).isZero();
+        assertThat(responseCache.stats().misses()).isZero();
+
+        mockMvc.perform(get("/api/archive/headlines").param("date", TODAY.toString()).param("feed", "headlines"))
+                .andExpect(status().isOk());
+        assertThat(hotDayCache.stats().days()).isEqualTo(1);
+    }
+
+    @Test
+    void cursorTokenRoundTripsAndMalformedTokenIsAnswered400() throws Exception {
+        HeadlineCursor older = new HeadlineCursor(OLD_DAY.atTime(8, 30, 15), 42L, HeadlineCursor.Direction.OLDER);
+        HeadlineCursor newer = new HeadlineCursor(OLD_DAY.atTime(8, 30), 7L, HeadlineCursor.Direction.NEWER);
+        assertThat(HeadlineCursor.decode(older.encode())).isEqualTo(older);
+        assertThat(HeadlineCursor.decode(newer.encode())).isEqualTo(newer);
+        assertThat(older.encode()).matches("[A-Za-z0-9_-]+");
+
+        String unknownDirection = Base64.getUrlEncoder()
+                .encodeToString("x|2025-11-25T08:00|1".getBytes(StandardCharsets.UTF_8));
+        for (String token : List.of("%%%", unknownDirection, older.encode().substring(0, 8))) {
+            assertThatThrownBy(() -> HeadlineCursor.decode(token)).isInstanceOf(IllegalArgumentException.class);
+            mockMvc.perform(get("/api/archive/headlines").param("date", OLD_DAY.toString()).param("cursor", token))
+                    .andExpect(status().isBadRequest());
+        }
+        assertThat(responseCache.stats().misses()).isZero();
+    }
+
+    @Test
+    void keysetQueriesSplitRowsWithTheSamePubDateById() {
+        repository.insertHeadlines(tied(OLD_DAY, 7));
+        List<Headline> all = repository.findByDate(OLD_DAY, null, 0, 100);
+        assertThat(all).hasSize(47);
+        Headline cursor = all.get(43); // 같은 PUB_DATE 7건(40~46번) 의 가운데
+
+        assertThat(repository.findByDateNewerThan(OLD_DAY, null, cursor.pubDate(), cursor.id(), 3))
+                .isEqualTo(all.subList(40, 43));
+        assertThat(repository.findByDateOlderThan(OLD_DAY, null, cursor.pubDate(), cursor.id(), 3))
+                .isEqualTo(all.subList(44, 47));
+        // 최신 쪽으로 limit 보다 적게 남으면 남은 만큼만, 커서에 가까운 쪽부터 돌려준다.
+        Headline second = all.get(1);
+        assertThat(repository.findByDateNewerThan(OLD_DAY, null, second.pubDate(), second.id(), 3))
+                .isEqualTo(all.subList(0, 1));
+    }
+
+    @Test
+    void cursorWalksToTheEndAndBackAcrossEqualPubDatesOnTheDatabasePath() {
+        repository.insertHeadlines(tied(OLD_DAY, 7));
+        List<String> expected = links(repository.findByDate(OLD_DAY, null, 0, 100));
+
+        // 47건을 3건씩: 같은 PUB_DATE 7건(40~46번) 사이에 페이지 경계가 두 번 들어간다.
+        List<List<String>> older = new ArrayList<>();
+        List<List<String>> newer = new ArrayList<>();
+        walkOlderThenNewer(archiveService, OLD_DAY, 3, older, newer);
+
+        assertThat(older.stream().flatMap(List::stream).toList()).isEqualTo(expected);
+        Collections.reverse(newer);
+        assertThat(newer).isEqualTo(older);
+    }
+
+    @Test
+    void hotDayCursorPagesMatchTheDatabasePathWithoutQueries() {
+        repository.insertHeadlines(tied(TODAY, 7));
+        List<List<String>> hotOlder = new ArrayList<>();
+        List<List<String>> hotNewer = new ArrayList<>();
+        archiveService.getPage(TODAY, null, 0, 3); // 하루치를 올려 둔다.
+        dataSource.reset();
+        walkOlderThenNewer(archiveService, TODAY, 3, hotOlder, hotNewer);
+        assertThat(dataSource.getStatementCount()).isZero();
+
+        ArchiveCacheProperties disabled = new ArchiveCacheProperties();
+        disabled.setEnabled(false);
+        Clock clock = Clock.fixed(TODAY.atTime(12, 0).atZone(KST).toInstant(), KST);
+        HeadlineArchiveService uncached = new HeadlineArchiveService(repository,
+                new HotDayHeadlineCache(repository, disabled, clock));
+        List<List<String>> dbOlder = new ArrayList<>();
+        List<List<String>> dbNewer = new ArrayList<>();
+        walkOlderThenNewer(uncached, TODAY, 3, dbOlder, dbNewer);
+
+        assertThat(hotOlder).hasSize(16).isEqualTo(dbOlder);
+        assertThat(hotNewer).isEqualTo(dbNewer);
+        assertThat(hotOlder.stream().flatMap(List::stream).toList())
+                .isEqualTo(links(repository.findByDate(TODAY, null, 0, 100)));
+    }
+
+    @Test
+    void hotDayLargerThanCacheLimitFallsBackToPagedQueriesWithoutReloading() throws Exception {
+        ArchiveCacheProperties properties = new ArchiveCacheProperties();
+        properties.setMaxArticles(30);
+        HotDayHeadlineCache small = new HotDayHeadlineCache(repository, properties,
+                Clock.fixed(TODAY.atTime(12, 0).atZone(KST).toInstant(), KST));
+
+        assertThat(small.get(TODAY, null)).isNull();
+        dataSource.reset();
+        assertThat(small.get(TODAY, null)).isNull();
+        assertThat(dataSource.getStatementCount()).isZero();
+        assertThat(small.stats().days()).isZero();
+        assertThat(new HeadlineArchiveService(repository, small).getPage(TODAY, null, 0, 10).totalCount())
+                .isEqualTo(40);
+    }
+
+    /**
+     * 첫 페이지에서 nextCursor 로 끝까지 간 뒤, 마지막 페이지에서 prevCursor 로 첫 페이지까지 돌아온다.
+     * 지나간 페이지의 기사 링크를 older, newer 에 차례로 담는다. (마지막 페이지는 양쪽에 모두 들어감)
+     */
+    private static void walkOlderThenNewer(HeadlineArchiveService service, LocalDate date, int size,
+            List<List<String>> older, List<List<String>> newer) {
+        HeadlinePage page = service.getPage(date, null, 0, size);
+        assertThat(page.prevCursor()).isNull();
+        older.add(clusterLinks(page));
+        while (page.nextCursor() != null) {
+            page = service.getPage(date, null, HeadlineCursor.decode(page.nextCursor()), size);
+            older.add(clusterLinks(page));
+        }
+        newer.add(clusterLinks(page));
+        while (page.prevCursor() != null) {
+            page = service.getPage(date, null, HeadlineCursor.decode(page.prevCursor()), size);
+            newer.add(clusterLinks(page));
+        }
+    }
+
+    /** PUB_DATE 가 모두 그날 07:00 인 기사 count 건. (다른 기사보다 오래된 쪽 끝에 놓인다) */
+    private static List<Headline> tied(LocalDate day, int count) {
+        return articles(day, "tie", count).stream()
+                .map(h -> Headline.parsed(day.atTime(7, 0), h.pressName(), h.articleTitle(), h.articleLink()))
+                .toList();
+    }
+
+    private static List<String> links(List<Headline> rows) {
+        return rows.stream().map(Headline::articleLink).toList();
+    }
+
+    private static List<String> clusterLinks(HeadlinePage page) {
+        return page.articles().stream().map(HeadlineCluster::articleLink).toList();
+    }
+}
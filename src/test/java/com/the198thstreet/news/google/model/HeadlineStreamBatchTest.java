@@ -0,0 +1,39 @@
+package com.the198thstreet.news.google.model;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+class HeadlineStreamBatchTest {
+
+    private static final LocalDateTime AT = LocalDateTime.of(2025, 11, 30, 9, 0);
+
+    @Test
+    void membersOfNewLeadsGoToOutletsAndOthersAreJoined() throws Exception {
+        Headline lead = headline(10, 0, 0);
+        Headline sameEventMember = headline(12, 10, 2); // 대표와 같은 이벤트에 저장된 묶인 기사
+        Headline otherLead = headline(11, 0, 1);
+        Headline joined = headline(13, 5, 3); // 이전에 저장된 대표(5)의 묶음에 들어간 기사
+
+        HeadlineStreamBatch batch = HeadlineStreamBatch.of(List.of(sameEventMember, joined, lead, otherLead));
+
+        assertThat(batch.clusters()).extracting(HeadlineCluster::clusterId).containsExactly(11L, 10L);
+        assertThat(batch.clusters().get(1).outlets()).extracting(HeadlineCluster.Outlet::articleLink)
+                .containsExactly("https://a.example/12");
+        assertThat(batch.clusters().get(0).outlets()).isEmpty();
+        assertThat(batch.joined()).containsExactly(joined);
+
+        String json = new ObjectMapper().findAndRegisterModules().writeValueAsString(batch);
+        assertThat(json).contains("\"clusters\":[{\"clusterId\":11,", "\"joined\":[{", "\"clusterId\":5}");
+    }
+
+    private static Headline headline(long id, long clusterId, int minutes) {
+        return new Headline(id, AT.plusMinutes(minutes), "언론사", "기사 " + id, "https://a.example/" + id,
+                "headlines", clusterId);
+    }
+}
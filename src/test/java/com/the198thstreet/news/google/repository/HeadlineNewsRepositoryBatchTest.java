@@ -0,0 +1,76 @@
+package com.the198thstreet.news.google.repository;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.the198thstreet.news.google.model.Headline;
+import com.the198thstreet.support.H2TestDatabase;
+import com.the198thstreet.support.StatementCountingDataSource;
+import com.the198thstreet.support.TestHeadlineRepository;
+import com.the198thstreet.support.TestHeadlines;
+
+class HeadlineNewsRepositoryBatchTest {
+
+    private static final LocalDate DAY = LocalDate.of(2025, 11, 30);
+
+    private StatementCountingDataSource dataSource;
+    private HeadlineNewsRepository repository;
+
+    @BeforeEach
+    void setUp() {
+        dataSource = new StatementCountingDataSource(H2TestDatabase.create());
+        repository = TestHeadlineRepository.create(dataSource);
+    }
+
+    @Test
+    void insertsNewArticlesWithConstantStatementCount() {
+        List<Headline> articles = articles(0, 300);
+
+        dataSource.reset();
+        HeadlineNewsRepository.BatchInsertResult result = repository.insertHeadlines(articles);
+
+        assertThat(result.inserted()).isEqualTo(300);
+        assertThat(result.skipped()).isZero();
+        // 존재 확인 SELECT 2번(200건 단위) + 새 언론사 batch INSERT 1번 + batch INSERT 1번. 기존 방식은 600번이었다.
+        assertThat(dataSource.getStatementCount()).isEqualTo(4);
+        assertThat(repository.countByDate(DAY, null)).isEqualTo(300);
+    }
+
+    @Test
+    void skipsExistingAndRepeatedArticles() {
+        repository.insertHeadlines(articles(0, 100));
+
+        List<Headline> nextCycle = new ArrayList<>(articles(50, 150));
+        nextCycle.add(TestHeadlines.article(DAY, "batch", 149)); // 같은 피드 안에서 반복된 기사
+
+        dataSource.reset();
+        HeadlineNewsRepository.BatchInsertResult result = repository.insertHeadlines(nextCycle);
+
+        assertThat(result.inserted()).isEqualTo(50);
+        assertThat(result.skipped()).isEqualTo(51);
+        assertThat(dataSource.getStatementCount()).isEqualTo(2);
+        assertThat(repository.countByDate(DAY, null)).isEqualTo(150);
+    }
+
+    @Test
+    void fullyDuplicatedCycleOnlyProbes() {
+        repository.insertHeadlines(articles(0, 100));
+
+        dataSource.reset();
+        HeadlineNewsRepository.BatchInsertResult result = repository.insertHeadlines(articles(0, 100));
+
+        assertThat(result.inserted()).isZero();
+        assertThat(result.skipped()).isEqualTo(100);
+        assertThat(dataSource.getStatementCount()).isEqualTo(1);
+    }
+
+    private static List<Headline> articles(int from, int to) {
+        return TestHeadlines.articles(DAY, "batch", from, to - from);
+    }
+}
@@ -0,0 +1,128 @@
+package com.the198thstreet.news.google.repository;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import javax.sql.DataSource;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.the198thstreet.news.google.model.Headline;
+import com.the198thstreet.news.google.model.PressStats;
+import com.the198thstreet.support.H2TestDatabase;
+import com.the198thstreet.support.TestHeadlineRepository;
+
+class HeadlineStatsRepositoryTest {
+
+    private static final LocalDate DAY = LocalDate.of(2025, 11, 30);
+
+    private TransactionTemplate transactionTemplate;
+    private HeadlineNewsRepository newsRepository;
+    private HeadlineStatsRepository statsRepository;
+
+    @BeforeEach
+    void setUp() {
+        DataSource dataSource = H2TestDatabase.create();
+        transactionTemplate = TestHeadlineRepository.transactionTemplate(dataSource);
+        newsRepository = TestHeadlineRepository.create(dataSource);
+        statsRepository = new HeadlineStatsRepository(new JdbcTemplate(dataSource), transactionTemplate);
+    }
+
+    @Test
+    void incrementalCountsMatchRebuildFromHeadlines() {
+        ingest(List.of(
+                headline("08:10", "연합뉴스", "a"),
+                headline("08:50", "연합뉴스", "b"),
+                headline("08:50", "KBS", "c")));
+        ingest(List.of(
+                headline("09:05", "연합뉴스", "d"),
+                headline("08:59", "연합뉴스", "e")));
+
+        List<PressStats.Bucket> hourly = statsRepository.findHourly(DAY, DAY, null);
+        List<PressStats.Bucket> daily = statsRepository.findDaily(DAY, DAY, null);
+        assertThat(hourly).containsExactly(
+                new PressStats.Bucket(DAY.atTime(8, 0), "KBS", 1),
+                new PressStats.Bucket(DAY.atTime(8, 0), "연합뉴스", 3),
+                new PressStats.Bucket(DAY.atTime(9, 0), "연합뉴스", 1));
+        assertThat(daily).containsExactly(
+                new PressStats.Bucket(DAY.atStartOfDay(), "KBS", 1),
+                new PressStats.Bucket(DAY.atStartOfDay(), "연합뉴스", 4));
+
+        assertThat(statsRepository.rebuildDay(DAY)).isEqualTo(5);
+        assertThat(statsRepository.findHourly(DAY, DAY, null)).isEqualTo(hourly);
+        assertThat(statsRepository.findDaily(DAY, DAY, null)).isEqualTo(daily);
+        assertThat(statsRepository.findHourly(DAY, DAY, "KBS")).hasSize(1);
+    }
+
+    @Test
+    void rebuildRepairsDriftAndTopPressesSumsTheWindow() {
+        ingest(List.of(headline("08:10", "연합뉴스", "a"), headline("10:10", "KBS", "b")));
+        newsRepository.insertHeadlines(List.of(headline("11:00", "KBS", "missed"))); // 집계 갱신 없이 저장된 기사
+
+        assertThat(statsRepository.findTopPresses(DAY.minusDays(29), DAY, 10))
+                .containsExactly(new PressStats.Total("KBS", 1), new PressStats.Total("연합뉴스", 1));
+
+        statsRepository.rebuildDay(DAY);
+
+        assertThat(statsRepository.findTopPresses(DAY.minusDays(29), DAY, 1))
+                .containsExactly(new PressStats.Total("KBS", 2));
+        assertThat(statsRepository.isEmpty()).isFalse();
+    }
+
+    @Test
+    void rebuildWaitsForAnIngestInFlightAndKeepsItsCount() throws Exception {
+        ingest(List.of(headline("08:10", "연합뉴스", "a")));
+        CountDownLatch ingested = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            // 기사 저장과 집계 더하기를 한 트랜잭션으로 열어 두고, 그 사이에 재집계를 돌린다.
+            Future<?> inFlight = executor.submit(() -> transactionTemplate.executeWithoutResult(status -> {
+                ingest(List.of(headline("08:20", "연합뉴스", "b")));
+                ingested.countDown();
+                await(release);
+            }));
+            assertThat(ingested.await(5, TimeUnit.SECONDS)).isTrue();
+            Future<Integer> rebuild = executor.submit(() -> statsRepository.rebuildDay(DAY));
+            Thread.sleep(200);
+            assertThat(rebuild.isDone()).isFalse();
+
+            release.countDown();
+            inFlight.get(5, TimeUnit.SECONDS);
+            assertThat(rebuild.get(5, TimeUnit.SECONDS)).isEqualTo(2);
+        } finally {
+            executor.shutdownNow();
+        }
+        assertThat(statsRepository.findDaily(DAY, DAY, null))
+                .containsExactly(new PressStats.Bucket(DAY.atStartOfDay(), "연합뉴스", 2));
+    }
+
+    private void ingest(List<Headline> headlines) {
+        statsRepository.increment(newsRepository.insertHeadlines(headlines).insertedArticles());
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static Headline headline(String time, String press, String link) {
+        return Headline.parsed(LocalDateTime.of(DAY, LocalTime.parse(time)), press, "제목 " + link,
+                "https://example.com/" + link);
+    }
+}
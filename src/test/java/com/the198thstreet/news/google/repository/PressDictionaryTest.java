@@ -0,0 +1,110 @@
+package com.the198thstreet.news.google.repository;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import com.the198thstreet.news.google.GoogleNewsProperties;
+import com.the198thstreet.news.google.model.Headline;
+import com.the198thstreet.news.google.service.GoogleHeadlineNewsService;
+import com.the198thstreet.support.H2TestDatabase;
+import com.the198thstreet.support.StatementCountingDataSource;
+import com.the198thstreet.support.TestHeadlineRepository;
+
+class PressDictionaryTest {
+
+    private static final LocalDate DAY = LocalDate.of(2025, 11, 30);
+
+    private StatementCountingDataSource dataSource;
+    private JdbcTemplate jdbcTemplate;
+    private PressDictionary dictionary;
+    private HeadlineNewsRepository repository;
+
+    @BeforeEach
+    void setUp() {
+        dataSource = new StatementCountingDataSource(H2TestDatabase.create());
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        dictionary = new PressDictionary(jdbcTemplate);
+        dictionary.load();
+        repository = TestHeadlineRepository.create(dataSource, dictionary);
+    }
+
+    @Test
+    void storesPressIdsAndReadsBackOneInstancePerName() {
+        repository.insertHeadlines(articles(30));
+
+        assertThat(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM PRESS", Integer.class)).isEqualTo(3);
+        assertThat(dictionary.size()).isEqualTo(3);
+        List<Headline> rows = repository.findAllByDate(DAY, null);
+        assertThat(rows).hasSize(30);
+        assertThat(rows).extracting(Headline::pressName).containsOnly("연합뉴스", "경향신문", "한겨레");
+        for (Headline row : rows) {
+            assertThat(row.pressName()).isSameAs(dictionary.nameOf(dictionary.idOf(row.pressName())));
+        }
+
+        // 이미 아는 언론사만 있는 다음 주기는 PRESS 를 건드리지 않는다.
+        dataSource.reset();
+        repository.insertHeadlines(List.of(article(100, "한겨레")));
+        assertThat(dataSource.getStatementCount()).isEqualTo(2);
+    }
+
+    @Test
+    void anotherInstanceSeesPressesRegisteredElsewhere() {
+        repository.insertHeadlines(articles(6));
+
+        // 다른 인스턴스의 사전: 기동 시 읽은 언론사에 더해, 나중에 생긴 언론사도 ID/이름으로 찾아온다.
+        PressDictionary other = new PressDictionary(jdbcTemplate);
+        other.load();
+        assertThat(other.size()).isEqualTo(3);
+        repository.insertHeadlines(List.of(article(50, "새언론사")));
+        int newId = dictionary.idOf("새언론사");
+        assertThat(other.nameOf(newId)).isEqualTo("새언론사");
+        assertThat(other.idOf("새언론사")).isEqualTo(newId);
+        assertThat(other.findId("없는언론사")).isNull();
+        assertThat(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM PRESS", Integer.class)).isEqualTo(4);
+    }
+
+    @Test
+    void parserInternsKnownPressNamesAndExportFiltersById() {
+        repository.insertHeadlines(articles(3));
+        GoogleHeadlineNewsService parser = new GoogleHeadlineNewsService(null, new GoogleNewsProperties(), null, null,
+                dictionary);
+
+        List<Headline> parsed = parser.parseRss("<rss><channel><item><pubDate>Sun, 30 Nov 2025 08:44:00 GMT</pubDate>"
+                + "<description>&lt;ol&gt;&lt;li&gt;&lt;a href=\"https://a.example/x\"&gt;제목&lt;/a&gt;"
+                + "&lt;font&gt;연합뉴스&lt;/font&gt;&lt;/li&gt;&lt;li&gt;&lt;a href=\"https://a.example/y\"&gt;"
+                + "제목&lt;/a&gt;&lt;font&gt;처음보는언론사&lt;/font&gt;&lt;/li&gt;&lt;/ol&gt;</description></item>"
+                + "</channel></rss>");
+        assertThat(parsed).hasSize(2);
+        assertThat(parsed.get(0).pressName()).isSameAs(dictionary.nameOf(dictionary.idOf("연합뉴스")));
+        assertThat(parsed.get(1).pressName()).isEqualTo("처음보는언론사");
+
+        List<Headline> exported = new ArrayList<>();
+        assertThat(repository.streamByDateRange(DAY, DAY, "경향신문", null, 100, exported::add)).isEqualTo(1);
+        assertThat(exported).extracting(Headline::pressName).containsExactly("경향신문");
+        assertThat(repository.streamByDateRange(DAY, DAY, "없는언론사", null, 100, exported::add)).isZero();
+    }
+
+    private static List<Headline> articles(int count) {
+        String[] presses = { "연합뉴스", "경향신문", "한겨레" };
+        List<Headline> articles = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            articles.add(article(i, presses[i % presses.length]));
+        }
+        return articles;
+    }
+
+    private static Headline article(int i, String press) {
+        // 사전과 같은 인스턴스가 아니도록 이름을 새로 만든다.
+        return Headline.parsed(LocalDateTime.of(DAY, LocalTime.of(8, 0)).plusMinutes(i), new String(press),
+                "기사 제목 " + i, "https://a.example/" + i);
+    }
+}
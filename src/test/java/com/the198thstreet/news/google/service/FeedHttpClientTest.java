@@ -0,0 +1,122 @@
+package com.the198thstreet.news.google.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.zip.GZIPOutputStream;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import com.the198thstreet.news.google.GoogleNewsProperties;
+
+/**
+ * 로컬 스텁 서버로 {@link FeedHttpClient} 의 연결 재사용, gzip 전송량, 재시도를 확인한다.
+ */
+class FeedHttpClientTest {
+
+    private HttpServer server;
+    private String baseUrl;
+    private byte[] feed;
+    private FeedHttpClient client;
+
+    /** 요청을 보낸 클라이언트 소켓 주소. 연결이 재사용되면 같은 주소가 반복된다. */
+    private final Set<InetSocketAddress> connections = ConcurrentHashMap.newKeySet();
+    private final AtomicLong bytesSent = new AtomicLong();
+    private final AtomicInteger failuresBeforeSuccess = new AtomicInteger();
+
+    @BeforeEach
+    void startServer() throws IOException {
+        feed = Files.readAllBytes(Path.of("src/test/resources/rss/google-headlines-golden.xml"));
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.createContext("/rss", this::handle);
+        server.start();
+        baseUrl = "http://127.0.0.1:" + server.getAddress().getPort() + "/rss";
+
+        GoogleNewsProperties properties = new GoogleNewsProperties();
+        properties.getHttp().setRetryBackoff(10L);
+        client = new FeedHttpClient(properties);
+    }
+
+    @AfterEach
+    void stopServer() {
+        server.stop(0);
+    }
+
+    @Test
+    void reusesOneConnectionAndReceivesGzippedBody() {
+        int requests = 5;
+        for (int i = 0; i < requests; i++) {
+            FeedHttpClient.FeedResponse response = client.get(baseUrl, Map.of());
+            assertThat(response.status()).isEqualTo(200);
+            assertThat(response.body()).isEqualTo(feed);
+        }
+
+        assertThat(connections).hasSize(1);
+        assertThat(client.getRequestCount()).isEqualTo(requests);
+        // 클라이언트가 받은 바이트는 서버가 보낸 gzip 바이트와 같고, 원문보다 훨씬 작다.
+        assertThat(client.getBytesReceived()).isEqualTo(bytesSent.get());
+        assertThat(client.getBytesReceived()).isLessThan((long) feed.length * requests / 2);
+    }
+
+    @Test
+    void retriesServerErrorsWithBackoff() {
+        failuresBeforeSuccess.set(2);
+
+        FeedHttpClient.FeedResponse response = client.get(baseUrl, Map.of());
+
+        assertThat(response.status()).isEqualTo(200);
+        assertThat(client.getRetryCount()).isEqualTo(2);
+        assertThat(client.getRequestCount()).isEqualTo(3);
+    }
+
+    @Test
+    void givesUpAfterMaxAttempts() {
+        failuresBeforeSuccess.set(10);
+
+        assertThatThrownBy(() -> client.get(baseUrl, Map.of()))
+                .isInstanceOf(FeedFetchException.class)
+                .hasMessageContaining("HTTP 503");
+        assertThat(client.getRequestCount()).isEqualTo(3);
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        connections.add(exchange.getRemoteAddress());
+        exchange.getRequestBody().readAllBytes();
+        if (failuresBeforeSuccess.getAndUpdate(n -> Math.max(n - 1, 0)) > 0) {
+            exchange.sendResponseHeaders(503, -1);
+            exchange.close();
+            return;
+        }
+        byte[] payload = feed;
+        String acceptEncoding = exchange.getRequestHeaders().getFirst("Accept-Encoding");
+        if (acceptEncoding != null && acceptEncoding.contains("gzip")) {
+            ByteArrayOutputStream compressed = new ByteArrayOutputStream();
+            try (GZIPOutputStream gzip = new GZIPOutputStream(compressed)) {
+                gzip.write(feed);
+            }
+            payload = compressed.toByteArray();
+            exchange.getResponseHeaders().set("Content-Encoding", "gzip");
+        }
+        exchange.getResponseHeaders().set("Content-Type", "application/rss+xml; charset=UTF-8");
+        exchange.sendResponseHeaders(200, payload.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(payload);
+        }
+        bytesSent.addAndGet(payload.length);
+    }
+}
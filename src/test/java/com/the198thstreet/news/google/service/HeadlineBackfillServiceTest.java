@@ -0,0 +1,130 @@
+package com.the198thstreet.news.google.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.util.zip.GZIPOutputStream;
+
+import javax.sql.DataSource;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import com.the198thstreet.news.google.ArchiveBackfillProperties;
+import com.the198thstreet.news.google.GoogleNewsProperties;
+import com.the198thstreet.news.google.repository.HeadlineNewsRepository;
+import com.the198thstreet.support.H2TestDatabase;
+import com.the198thstreet.support.TestHeadlineRepository;
+
+class HeadlineBackfillServiceTest {
+
+    private static final LocalDateTime BASE = LocalDateTime.of(2024, 3, 15, 9, 0);
+    private static final int ARTICLES_PER_ITEM = 3;
+
+    @Test
+    void loadsSnapshotsInParallelDedupsAcrossFilesAndResumes(@TempDir Path dir) throws IOException {
+        Path snapshots = Files.createDirectories(dir.resolve("snapshots"));
+        Files.createDirectories(snapshots.resolve("2024-03"));
+        Files.writeString(snapshots.resolve("2024-03/0900.xml"), feed(0, 10), StandardCharsets.UTF_8);
+        gzip(snapshots.resolve("2024-03/0910.xml.gz"), feed(5, 10)); // item 5~9 는 앞 파일과 겹친다.
+        Files.writeString(snapshots.resolve("2024-03/0920.rss"), feed(12, 8), StandardCharsets.UTF_8);
+        Files.write(snapshots.resolve("2024-03/broken.gz"), new byte[] { 0x1f, (byte) 0x8b, 1, 2 });
+        Files.writeString(snapshots.resolve("README.txt"), "스냅샷이 아닌 파일", StandardCharsets.UTF_8);
+
+        DataSource dataSource = H2TestDatabase.create();
+        ArchiveBackfillProperties properties = new ArchiveBackfillProperties();
+        properties.setParallelism(2);
+        properties.setFilesPerWave(2);
+        properties.setInsertBatchSize(7);
+        properties.setProgressFile(dir.resolve("progress/business.progress").toString());
+        HeadlineBackfillService service = service(dataSource, properties);
+
+        HeadlineBackfillService.BackfillReport report = service.run(snapshots, "business");
+        // item 0~19 가 한 번씩, 기사는 item 마다 3건
+        assertThat(report.files()).isEqualTo(3);
+        assertThat(report.failedFiles()).isEqualTo(1);
+        assertThat(report.parsed()).isEqualTo((10 + 10 + 8) * ARTICLES_PER_ITEM);
+        assertThat(report.duplicates()).isEqualTo((5 + 3) * ARTICLES_PER_ITEM);
+        assertThat(report.inserted()).isEqualTo(20 * ARTICLES_PER_ITEM);
+        assertThat(report.skipped()).isZero();
+        assertThat(report.oldest()).isEqualTo(LocalDate.of(2024, 3, 15));
+        assertThat(report.articlesPerSecond()).isPositive();
+        assertThat(count(dataSource, "business")).isEqualTo(20 * ARTICLES_PER_ITEM);
+        assertThat(Files.readAllLines(dir.resolve("progress/business.progress")))
+                .containsExactly("2024-03/0900.xml", "2024-03/0910.xml.gz", "2024-03/0920.rss");
+
+        // 다시 실행하면 끝난 파일은 건너뛰고, 읽지 못한 파일만 다시 시도한다.
+        HeadlineBackfillService.BackfillReport rerun = service.run(snapshots, "business");
+        assertThat(rerun.skippedFiles()).isEqualTo(3);
+        assertThat(rerun.failedFiles()).isEqualTo(1);
+        assertThat(rerun.parsed()).isZero();
+
+        // 첫 파일까지만 기록된 채 멈췄던 것처럼 진행 상황을 되돌리면, 남은 파일을 다시 읽지만 DB 중복 확인이 거른다.
+        Files.writeString(dir.resolve("progress/business.progress"), "2024-03/0900.xml\n", StandardCharsets.UTF_8);
+        HeadlineBackfillService.BackfillReport resumed = service.run(snapshots, "business");
+        assertThat(resumed.skippedFiles()).isEqualTo(1);
+        assertThat(resumed.parsed()).isEqualTo((10 + 8) * ARTICLES_PER_ITEM);
+        assertThat(resumed.duplicates()).isEqualTo(3 * ARTICLES_PER_ITEM);
+        assertThat(resumed.inserted()).isZero();
+        assertThat(resumed.skipped()).isEqualTo((10 + 8 - 3) * ARTICLES_PER_ITEM);
+        assertThat(count(dataSource, "business")).isEqualTo(20 * ARTICLES_PER_ITEM);
+        assertThat(count(dataSource, GoogleNewsProperties.DEFAULT_FEED_ID)).isZero();
+    }
+
+    @Test
+    void dedupHashSetKeepsFirstOccurrenceOnly() {
+        HeadlineBackfillService.LongHashSet set = new HeadlineBackfillService.LongHashSet();
+        for (long value = -200_000; value < 200_000; value++) {
+            assertThat(set.add(value * 0x9E3779B97F4A7C15L)).isTrue();
+        }
+        for (long value = -200_000; value < 200_000; value += 997) {
+            assertThat(set.add(value * 0x9E3779B97F4A7C15L)).isFalse();
+        }
+    }
+
+    private static HeadlineBackfillService service(DataSource dataSource, ArchiveBackfillProperties properties) {
+        HeadlineNewsRepository repository = TestHeadlineRepository.create(dataSource);
+        GoogleHeadlineNewsService parser = new GoogleHeadlineNewsService(null, new GoogleNewsProperties(), null, null);
+        return new HeadlineBackfillService(parser, repository, properties);
+    }
+
+    /**
+     * from 번부터 items 개의 item 을 가진 RSS. 같은 번호의 item 은 어느 파일에서나 같은 기사들이다.
+     */
+    private static String feed(int from, int items) {
+        StringBuilder xml = new StringBuilder("<?xml version=\"1.0\" encoding=\"UTF-8\"?><rss version=\"2.0\"><channel>");
+        for (int i = from; i < from + items; i++) {
+            String pubDate = DateTimeFormatter.RFC_1123_DATE_TIME.format(BASE.plusMinutes(i).atOffset(ZoneOffset.UTC));
+            xml.append("<item><title>헤드라인 ").append(i).append("</title><pubDate>").append(pubDate)
+                    .append("</pubDate><description>&lt;ol&gt;");
+            for (int j = 0; j < ARTICLES_PER_ITEM; j++) {
+                xml.append("&lt;li&gt;&lt;a href=\"https://news.google.com/rss/articles/B").append(i).append('-')
+                        .append(j).append("\"&gt;기사 ").append(i).append('-').append(j)
+                        .append("&lt;/a&gt;&amp;nbsp;&amp;nbsp;&lt;font color=\"#6f6f6f\"&gt;언론사")
+                        .append(j).append("&lt;/font&gt;&lt;/li&gt;");
+            }
+            xml.append("&lt;/ol&gt;</description></item>");
+        }
+        return xml.append("</channel></rss>").toString();
+    }
+
+    private static void gzip(Path file, String content) throws IOException {
+        try (OutputStream out = new GZIPOutputStream(Files.newOutputStream(file))) {
+            out.write(content.getBytes(StandardCharsets.UTF_8));
+        }
+    }
+
+    private static int count(DataSource dataSource, String feedId) {
+        return new JdbcTemplate(dataSource).queryForObject("SELECT COUNT(*) FROM HEADLINE_NEWS WHERE FEED_ID = ?",
+                Integer.class, feedId);
+    }
+}
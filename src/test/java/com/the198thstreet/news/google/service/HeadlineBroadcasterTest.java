@@ -0,0 +1,254 @@
+package com.the198thstreet.news.google.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.time.LocalDateTime;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.function.BooleanSupplier;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.the198thstreet.news.google.ArchiveStreamProperties;
+import com.the198thstreet.news.google.controller.HeadlineStreamApiController;
+import com.the198thstreet.news.google.model.Headline;
+
+class HeadlineBroadcasterTest {
+
+    @Test
+    void reconnectWithLastEventIdInsideTheBufferResumesAfterThatEvent() throws Exception {
+        RecordingEmitter live = new RecordingEmitter();
+        RecordingEmitter resumed = new RecordingEmitter();
+        HeadlineBroadcaster broadcaster = broadcaster(properties(8), live, resumed);
+        try {
+            broadcaster.subscribe(null);
+            for (int i = 1; i <= 3; i++) {
+                broadcaster.publish(List.of(headline(i)));
+            }
+            waitUntil(() -> live.ids().size() == 3);
+            List<String> ids = live.ids();
+
+            broadcaster.subscribe(ids.get(0));
+            waitUntil(() -> resumed.ids().size() == 2);
+            assertThat(resumed.ids()).containsExactly(ids.get(1), ids.get(2));
+            assertThat(resumed.contains("event:reset")).isFalse();
+            assertThat(resumed.contains("기사 2")).isTrue();
+        } finally {
+            broadcaster.shutdown();
+        }
+    }
+
+    @Test
+    void lastEventIdThatFellOffTheBufferGetsBufferResetThenNewEvents() throws Exception {
+        RecordingEmitter live = new RecordingEmitter();
+        RecordingEmitter stale = new RecordingEmitter();
+        HeadlineBroadcaster broadcaster = broadcaster(properties(2), live, stale);
+        try {
+            broadcaster.subscribe(null);
+            for (int i = 1; i <= 4; i++) {
+                broadcaster.publish(List.of(headline(i)));
+                int sent = i;
+                waitUntil(() -> live.ids().size() == sent); // 버퍼가 작아 한꺼번에 넣으면 live 도 밀려난다.
+            }
+            List<String> ids = live.ids();
+
+            broadcaster.subscribe(ids.get(0)); // 버퍼(2개)에는 3, 4번만 남아 있다.
+            waitUntil(() -> stale.contains("event:reset"));
+            assertThat(stale.events).filteredOn(event -> event.contains("event:reset")).singleElement()
+                    .satisfies(event -> assertThat(event).contains("id:" + ids.get(3), "data:buffer"));
+            assertThat(stale.contains("event:headlines")).isFalse();
+
+            broadcaster.publish(List.of(headline(5)));
+            waitUntil(() -> stale.ids().size() == 1);
+            assertThat(stale.contains("기사 5")).isTrue();
+            assertThat(broadcaster.subscriberCount()).isEqualTo(2);
+        } finally {
+            broadcaster.shutdown();
+        }
+    }
+
+    @Test
+    void subscriberLappedByTheBufferGetsLaggedResetAndIsClosed() throws Exception {
+        CountDownLatch gate = new CountDownLatch(1);
+        RecordingEmitter slow = new RecordingEmitter(gate);
+        HeadlineBroadcaster broadcaster = broadcaster(properties(2), slow);
+        try {
+            broadcaster.subscribe(null); // 첫 쓰기(ping)에서 멈춘 사이 버퍼가 한 바퀴 넘게 돈다.
+            for (int i = 1; i <= 3; i++) {
+                broadcaster.publish(List.of(headline(i)));
+            }
+            gate.countDown();
+
+            waitUntil(() -> slow.completed);
+            assertThat(slow.contains("event:reset")).isTrue();
+            assertThat(slow.events).filteredOn(event -> event.contains("event:reset")).singleElement()
+                    .satisfies(event -> assertThat(event).contains("data:lagged"));
+            assertThat(slow.contains("event:headlines")).isFalse();
+            assertThat(broadcaster.subscriberCount()).isZero();
+            assertThat(broadcaster.getDroppedCount()).isEqualTo(1);
+        } finally {
+            broadcaster.shutdown();
+        }
+    }
+
+    @Test
+    void stalledSubscriberIsEvictedWithoutFreezingTheOthers() throws Exception {
+        ArchiveStreamProperties properties = new ArchiveStreamProperties();
+        properties.setSenderThreads(1);
+        properties.setSendTimeout(200L);
+        properties.setHeartbeatInterval(60_000L);
+        CountDownLatch release = new CountDownLatch(1);
+        BlockingEmitter stalled = new BlockingEmitter(release);
+        RecordingEmitter healthy = new RecordingEmitter();
+        HeadlineBroadcaster broadcaster = broadcaster(properties, stalled, healthy);
+        try {
+            broadcaster.subscribe(null); // 유일한 전송 스레드가 첫 쓰기(ping)에서 막힌다.
+            broadcaster.subscribe(null);
+            broadcaster.publish(List.of(headline(1)));
+
+            // 막힌 쓰기가 sendTimeout 을 넘기면 그 구독자를 끊고 스레드를 하나 늘려, 다른 구독자가 새 기사를 받는다.
+            waitUntil(() -> healthy.contains("event:headlines"));
+            assertThat(broadcaster.subscriberCount()).isEqualTo(1);
+            assertThat(broadcaster.getDroppedCount()).isEqualTo(1);
+            assertThat(broadcaster.senderPoolSize()).isEqualTo(2);
+
+            // 막힌 쓰기가 풀려나면 그 연결을 오류로 끝내고 늘린 스레드를 되돌린다.
+            release.countDown();
+            waitUntil(() -> stalled.failed);
+            waitUntil(() -> broadcaster.senderPoolSize() == 1);
+            assertThat(stalled.sends).isEqualTo(1);
+        } finally {
+            release.countDown();
+            broadcaster.shutdown();
+        }
+    }
+
+    @Test
+    void subscriberLimitIsAnswered503() throws Exception {
+        ArchiveStreamProperties properties = properties(8);
+        properties.setMaxSubscribers(1);
+        HeadlineBroadcaster broadcaster = broadcaster(properties, new RecordingEmitter(), new RecordingEmitter());
+        MockMvc mockMvc = MockMvcBuilders.standaloneSetup(new HeadlineStreamApiController(broadcaster)).build();
+        try {
+            mockMvc.perform(get("/api/archive/headlines/stream")).andExpect(request().asyncStarted());
+            mockMvc.perform(get("/api/archive/headlines/stream").header("Last-Event-ID", "1"))
+                    .andExpect(status().isServiceUnavailable());
+            assertThat(broadcaster.subscriberCount()).isEqualTo(1);
+        } finally {
+            broadcaster.shutdown();
+        }
+    }
+
+    private static ArchiveStreamProperties properties(int bufferSize) {
+        ArchiveStreamProperties properties = new ArchiveStreamProperties();
+        properties.setBufferSize(bufferSize);
+        properties.setHeartbeatInterval(60_000L);
+        return properties;
+    }
+
+    /** 구독할 때마다 emitters 를 차례로 쓰는 방송기 */
+    private static HeadlineBroadcaster broadcaster(ArchiveStreamProperties properties, SseEmitter... emitters) {
+        Deque<SseEmitter> queue = new ArrayDeque<>(List.of(emitters));
+        return new HeadlineBroadcaster(new ObjectMapper().findAndRegisterModules(), properties) {
+            @Override
+            SseEmitter createEmitter() {
+                return queue.poll();
+            }
+        };
+    }
+
+    private static Headline headline(long id) {
+        return new Headline(id, LocalDateTime.of(2025, 11, 30, 9, 0), "언론사", "기사 " + id,
+                "https://a.example/" + id, "headlines", 0L);
+    }
+
+    private static void waitUntil(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.nanoTime() + 5_000_000_000L;
+        while (!condition.getAsBoolean()) {
+            assertThat(System.nanoTime()).as("5초 안에 조건을 만족해야 함").isLessThan(deadline);
+            Thread.sleep(10L);
+        }
+    }
+
+    /** 보낸 이벤트를 문자열로 모아 두는 연결. gate 가 있으면 첫 쓰기에서 열릴 때까지 기다린다. */
+    static class RecordingEmitter extends SseEmitter {
+
+        final Queue<String> events = new ConcurrentLinkedQueue<>();
+        private final CountDownLatch gate;
+        volatile boolean completed;
+
+        RecordingEmitter() {
+            this(new CountDownLatch(0));
+        }
+
+        RecordingEmitter(CountDownLatch gate) {
+            this.gate = gate;
+        }
+
+        @Override
+        public void send(SseEventBuilder builder) {
+            try {
+                gate.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            StringBuilder event = new StringBuilder();
+            builder.build().forEach(part -> event.append(part.getData()));
+            events.add(event.toString());
+        }
+
+        @Override
+        public void complete() {
+            completed = true;
+        }
+
+        boolean contains(String text) {
+            return events.stream().anyMatch(event -> event.contains(text));
+        }
+
+        /** headlines 이벤트의 id 들 (보낸 순서) */
+        List<String> ids() {
+            return events.stream().filter(event -> event.contains("event:headlines"))
+                    .map(event -> event.substring(event.indexOf("id:") + 3, event.indexOf('\n', event.indexOf("id:"))))
+                    .toList();
+        }
+    }
+
+    /** 브라우저가 읽지 않아 소켓 쓰기가 막힌 연결 */
+    static final class BlockingEmitter extends SseEmitter {
+
+        private final CountDownLatch release;
+        volatile int sends;
+        volatile boolean failed;
+
+        BlockingEmitter(CountDownLatch release) {
+            this.release = release;
+        }
+
+        @Override
+        public void send(SseEventBuilder builder) {
+            sends++;
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+
+        @Override
+        public void completeWithError(Throwable ex) {
+            failed = true;
+        }
+    }
+}
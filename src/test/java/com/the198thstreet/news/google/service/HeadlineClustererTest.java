@@ -0,0 +1,77 @@
+package com.the198thstreet.news.google.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.Clock;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.List;
+import java.util.Map;
+
+import javax.sql.DataSource;
+
+import org.junit.jupiter.api.Test;
+
+import com.the198thstreet.news.google.ArchiveClusterProperties;
+import com.the198thstreet.news.google.model.Headline;
+import com.the198thstreet.news.google.repository.HeadlineNewsRepository;
+import com.the198thstreet.support.H2TestDatabase;
+import com.the198thstreet.support.TestHeadlineRepository;
+
+class HeadlineClustererTest {
+
+    private static final LocalDate DAY = LocalDate.of(2025, 11, 30);
+    private static final Clock CLOCK = Clock.fixed(DAY.atTime(12, 0).atZone(ZoneId.of("Asia/Seoul")).toInstant(),
+            ZoneId.of("Asia/Seoul"));
+
+    @Test
+    void similarTitlesShareLeadAndListingShowsOneRowPerCluster() {
+        DataSource dataSource = H2TestDatabase.create();
+        HeadlineNewsRepository repository = TestHeadlineRepository.create(dataSource);
+        HeadlineClusterer clusterer = new HeadlineClusterer(repository, new ArchiveClusterProperties(), CLOCK);
+
+        LocalDateTime morning = DAY.atTime(8, 0);
+        List<Headline> inserted = repository.insertHeadlines(List.of(
+                Headline.parsed(morning, "경향신문", "정부, 내년 최저임금 1만30원 확정 고시", "https://a.example/1"),
+                Headline.parsed(morning.plusMinutes(5), "한겨레", "[속보] 정부 내년 최저임금 1만30원 확정 고시",
+                        "https://a.example/2"),
+                Headline.parsed(morning.plusMinutes(7), "KBS", "서울 아침 기온 영하 10도 한파 특보",
+                        "https://a.example/3"),
+                Headline.parsed(morning.plusMinutes(9), "연합뉴스", "(종합) 정부, 내년 최저임금 1만30원 확정고시",
+                        "https://a.example/4")))
+                .insertedArticles();
+
+        List<Headline> assigned = clusterer.assign(inserted);
+        long leadId = assigned.get(0).id();
+        assertThat(assigned).extracting(Headline::clusterId).containsExactly(0L, leadId, 0L, leadId);
+        assertThat(repository.updateClusterIds(assigned)).isEqualTo(2);
+
+        // 목록은 대표 기사만, 묶인 기사는 대표 ID 로 따로 조회한다.
+        assertThat(repository.countByDate(DAY, null)).isEqualTo(2);
+        assertThat(repository.findByDate(DAY, null, 0, 10)).extracting(Headline::pressName)
+                .containsExactly("KBS", "경향신문");
+        Map<Long, List<Headline>> members = repository.findClusterMembers(DAY, null, List.of(leadId));
+        assertThat(members.get(leadId)).extracting(Headline::pressName).containsExactly("연합뉴스", "한겨레");
+        assertThat(repository.findAllByDate(DAY, null)).hasSize(4);
+
+        // 재시작 후에도 최근 기사로 후보를 다시 채워 같은 묶음에 넣는다.
+        HeadlineClusterer restarted = new HeadlineClusterer(repository, new ArchiveClusterProperties(), CLOCK);
+        restarted.warmUp();
+        assertThat(restarted.windowSize()).isEqualTo(4);
+        List<Headline> late = repository.insertHeadlines(List.of(Headline.parsed(morning.plusHours(2), "MBC",
+                "정부 내년 최저임금 1만30원 확정 고시…노동계 반발", "https://a.example/5"))).insertedArticles();
+        assertThat(restarted.assign(late).get(0).clusterId()).isEqualTo(leadId);
+
+        // 날짜가 다르면 같은 제목이어도 묶지 않는다.
+        List<Headline> nextDay = repository.insertHeadlines(List.of(Headline.parsed(DAY.plusDays(1).atTime(0, 10),
+                "경향신문", "정부, 내년 최저임금 1만30원 확정 고시", "https://a.example/6"))).insertedArticles();
+        assertThat(restarted.assign(nextDay).get(0).isClusterLead()).isTrue();
+    }
+
+    @Test
+    void normalizeDropsLeadingTagsAndPunctuation() {
+        assertThat(HeadlineClusterer.normalize("[속보] (종합) 정부, 최저임금 확정!")).isEqualTo("정부최저임금확정");
+        assertThat(HeadlineClusterer.normalize("【단독】 ABC 뉴스")).isEqualTo("abc뉴스");
+    }
+}
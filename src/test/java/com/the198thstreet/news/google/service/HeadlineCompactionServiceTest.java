@@ -0,0 +1,97 @@
+package com.the198thstreet.news.google.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Clock;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.List;
+
+import javax.sql.DataSource;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import com.the198thstreet.news.google.ArchiveColdProperties;
+import com.the198thstreet.news.google.model.Headline;
+import com.the198thstreet.news.google.repository.ColdSegmentStore;
+import com.the198thstreet.news.google.repository.HeadlineNewsRepository;
+import com.the198thstreet.news.google.repository.HeadlinePartitionRepository;
+import com.the198thstreet.support.H2TestDatabase;
+import com.the198thstreet.support.TestHeadlineRepository;
+
+class HeadlineCompactionServiceTest {
+
+    private static final LocalDate OLD_DAY = LocalDate.of(2025, 3, 14);
+    private static final LocalDate HOT_DAY = LocalDate.of(2025, 11, 30);
+    private static final Clock CLOCK = Clock.fixed(HOT_DAY.atTime(12, 0).atZone(ZoneId.of("Asia/Seoul")).toInstant(),
+            ZoneId.of("Asia/Seoul"));
+
+    @Test
+    void compactedMonthIsServedFromSegmentThroughSameRepositoryApi(@TempDir Path dir) throws IOException {
+        DataSource dataSource = H2TestDatabase.create();
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+        ArchiveColdProperties properties = new ArchiveColdProperties();
+        properties.setDirectory(dir.toString());
+        ColdSegmentStore coldStore = new ColdSegmentStore(properties);
+        HeadlineNewsRepository repository = TestHeadlineRepository.create(dataSource, coldStore);
+        List<Headline> old = new ArrayList<>();
+        for (int i = 0; i < 30; i++) {
+            old.add(Headline.parsed(OLD_DAY.atTime(6, 0).plusMinutes(i * 10L), i % 2 == 0 ? "KBS" : "연합뉴스",
+                    "지난 기사 " + i, "https://a.example/old/" + i));
+        }
+        repository.insertHeadlines(old);
+        repository.insertHeadlines(List.of(Headline.parsed(HOT_DAY.atTime(9, 0), "KBS", "최근 기사",
+                "https://a.example/hot")));
+        List<Headline> pageBefore = repository.findByDate(OLD_DAY, null, 5, 10);
+
+        HeadlineCompactionService service = new HeadlineCompactionService(repository,
+                new HeadlinePartitionRepository(jdbcTemplate), coldStore, properties, CLOCK);
+        assertThat(service.compactExpired()).containsExactly(YearMonth.from(OLD_DAY));
+
+        // 테이블에서는 빠지고, 같은 API 로 같은 결과가 나온다.
+        assertThat(repository.findOldestDateInTable()).isEqualTo(HOT_DAY);
+        assertThat(Files.exists(dir.resolve("headlines-2025-03.seg"))).isTrue();
+        assertThat(repository.countByDate(OLD_DAY, null)).isEqualTo(30);
+        assertThat(repository.countByDate(OLD_DAY.plusDays(1), null)).isZero();
+        assertThat(repository.findByDate(OLD_DAY, null, 5, 10)).isEqualTo(pageBefore);
+        Headline cursor = pageBefore.get(pageBefore.size() - 1);
+        assertThat(repository.findByDateOlderThan(OLD_DAY, null, cursor.pubDate(), cursor.id(), 3))
+                .isEqualTo(repository.findByDate(OLD_DAY, null, 15, 3));
+        assertThat(repository.findByDateNewerThan(OLD_DAY, null, pageBefore.get(0).pubDate(), pageBefore.get(0).id(), 5))
+                .isEqualTo(repository.findByDate(OLD_DAY, null, 0, 5));
+        List<Headline> exported = new ArrayList<>();
+        assertThat(repository.streamByDateRange(OLD_DAY, HOT_DAY, "KBS", null, 100, exported::add)).isEqualTo(16);
+        assertThat(exported.get(0).pubDate()).isEqualTo(OLD_DAY.atTime(6, 0));
+        assertThat(exported.get(exported.size() - 1).articleTitle()).isEqualTo("최근 기사");
+        assertThat(repository.findOldestDate()).isEqualTo(LocalDate.of(2025, 3, 1));
+
+        // 옮긴 달의 중복 확인은 세그먼트도 본다. 늦게 들어온 기사는 합쳐서 보이고 다음 실행에서 세그먼트에 합쳐진다.
+        LocalDateTime latePubDate = OLD_DAY.atTime(23, 0);
+        assertThat(repository.existsByLinkAndPubDate("headlines", "https://a.example/old/0", OLD_DAY.atTime(6, 0)))
+                .isTrue();
+        assertThat(repository.existsByLinkAndPubDate("business", "https://a.example/old/0", OLD_DAY.atTime(6, 0)))
+                .isFalse();
+        assertThat(repository.insertHeadlines(List.of(old.get(0), Headline.parsed(latePubDate, "KBS", "늦은 기사",
+                "https://a.example/late"))).inserted()).isEqualTo(1);
+        assertThat(repository.countByDate(OLD_DAY, null)).isEqualTo(31);
+        assertThat(repository.findByDate(OLD_DAY, null, 0, 1).get(0).articleTitle()).isEqualTo("늦은 기사");
+
+        assertThat(service.compactExpired()).containsExactly(YearMonth.from(OLD_DAY));
+        assertThat(repository.findOldestDateInTable()).isEqualTo(HOT_DAY);
+        assertThat(repository.countByDate(OLD_DAY, null)).isEqualTo(31);
+
+        // 기동 시 세그먼트 파일을 다시 연다.
+        ColdSegmentStore reopened = new ColdSegmentStore(properties);
+        reopened.load();
+        assertThat(reopened.months()).containsExactly(YearMonth.from(OLD_DAY));
+        assertThat(reopened.find(OLD_DAY, null)).isEqualTo(repository.findAllByDate(OLD_DAY, null));
+    }
+}
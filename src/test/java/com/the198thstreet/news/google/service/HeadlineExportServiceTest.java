@@ -0,0 +1,128 @@
+package com.the198thstreet.news.google.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.GZIPInputStream;
+
+import javax.sql.DataSource;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.SimpleDriverDataSource;
+import org.springframework.jdbc.datasource.init.ResourceDatabasePopulator;
+
+import com.the198thstreet.news.google.ArchiveExportProperties;
+import com.the198thstreet.news.google.model.Headline;
+import com.the198thstreet.news.google.repository.HeadlineNewsRepository;
+import com.the198thstreet.support.H2TestDatabase;
+import com.the198thstreet.support.TestHeadlineRepository;
+
+class HeadlineExportServiceTest {
+
+    private static final LocalDate DAY = LocalDate.of(2025, 11, 30);
+
+    /** 힙 제한 테스트 행 수. 행을 리스트로 모으면 24MB 힙에 들어가지 않는 양이다. (약 40MB) */
+    private static final int LARGE_ROWS = 100_000;
+
+    @Test
+    void writesNdjsonAndCsvInPubDateOrderWithEscaping() throws IOException {
+        DataSource dataSource = H2TestDatabase.create();
+        HeadlineNewsRepository repository = TestHeadlineRepository.create(dataSource);
+        repository.insertHeadlines(List.of(
+                Headline.parsed(DAY.atTime(9, 0), "연합뉴스", "물가 \"비상\", 금리 동결", "https://a.example/1"),
+                Headline.parsed(DAY.atTime(8, 0), "KBS", "첫 줄\n둘째 줄", "https://a.example/2"),
+                Headline.parsed(DAY.plusDays(1).atTime(7, 0), "KBS", "범위 밖", "https://a.example/3")));
+        HeadlineExportService service = new HeadlineExportService(repository, new ArchiveExportProperties());
+
+        ByteArrayOutputStream ndjson = new ByteArrayOutputStream();
+        long rows = service.export(DAY, DAY, null, null, HeadlineExportService.Format.NDJSON, false, ndjson);
+        assertThat(rows).isEqualTo(2);
+        String[] lines = ndjson.toString(StandardCharsets.UTF_8).split("\n");
+        assertThat(lines).hasSize(2);
+        assertThat(lines[0]).startsWith("{\"id\":").contains("\"pubDate\":\"2025-11-30 08:00:00\"",
+                "\"articleTitle\":\"첫 줄\\n둘째 줄\"", "\"feedId\":\"headlines\"");
+        assertThat(lines[1]).contains("\"articleTitle\":\"물가 \\\"비상\\\", 금리 동결\"");
+
+        ByteArrayOutputStream gzipped = new ByteArrayOutputStream();
+        service.export(DAY, DAY, "연합뉴스", null, HeadlineExportService.Format.CSV, true, gzipped);
+        String csv = new String(new GZIPInputStream(new ByteArrayInputStream(gzipped.toByteArray())).readAllBytes(),
+                StandardCharsets.UTF_8);
+        assertThat(csv).matches("id,pubDate,pressName,articleTitle,articleLink,feedId\r\n"
+                + "\\d+,2025-11-30 09:00:00,연합뉴스,\"물가 \"\"비상\"\", 금리 동결\",https://a.example/1,headlines\r\n");
+    }
+
+    /**
+     * H2 파일 DB 에 LARGE_ROWS 건을 만든 뒤, -Xmx24m 자식 JVM 에서 전체를 NDJSON 으로 내보낸다.
+     * 내보내기가 행을 모으면 OutOfMemoryError 로 자식이 실패한다.
+     * 자식은 H2 의 전진 전용 커서(LAZY_QUERY_EXECUTION)와 작은 페이지 캐시로 연다. (운영 MySQL 드라이버의 useCursorFetch 에 해당)
+     */
+    @Test
+    void exportsLargeRangeUnderConstrainedHeap(@TempDir Path dir) throws Exception {
+        String url = "jdbc:h2:file:" + dir.resolve("news").toAbsolutePath() + ";MODE=MariaDB";
+        DataSource dataSource = new SimpleDriverDataSource(new org.h2.Driver(), url, "sa", "");
+        new ResourceDatabasePopulator(new ClassPathResource("schema.sql")).execute(dataSource);
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+        jdbcTemplate.update("INSERT INTO PRESS (PRESS_NAME) SELECT CONCAT('언론사', X) FROM SYSTEM_RANGE(0, 49)");
+        for (int start = 1; start <= LARGE_ROWS; start += 20_000) {
+            jdbcTemplate.update("INSERT INTO HEADLINE_NEWS (PUB_DATE, ARTICLE_TITLE, ARTICLE_LINK, PRESS_ID) "
+                    + "SELECT DATEADD(SECOND, X * 10, TIMESTAMP '2025-01-01 00:00:00'), "
+                    + "CONCAT('반도체 수출 회복세에 경기 반등 신호, \"연말까지 이어질 것\" 전망 ', X), "
+                    + "CONCAT('https://news.google.com/rss/articles/CBMi', X, '?oc=5'), MOD(X, 50) + 1 "
+                    + "FROM SYSTEM_RANGE(?, ?)", start, Math.min(start + 19_999, LARGE_ROWS));
+        }
+
+        Process child = new ProcessBuilder(Path.of(System.getProperty("java.home"), "bin", "java").toString(),
+                "-Xmx24m", "-cp", System.getProperty("java.class.path"), ConstrainedHeapExport.class.getName(),
+                url + ";CACHE_SIZE=4096;LAZY_QUERY_EXECUTION=1")
+                .redirectErrorStream(true)
+                .start();
+        String output = new String(child.getInputStream().readAllBytes(), StandardCharsets.UTF_8);
+        assertThat(child.waitFor(120, TimeUnit.SECONDS)).isTrue();
+        assertThat(child.exitValue()).as(output).isZero();
+        assertThat(output).contains("rows=" + LARGE_ROWS);
+    }
+
+    /**
+     * 힙을 제한한 자식 JVM 에서 실행하는 내보내기. 출력 바이트는 세기만 하고 버린다.
+     */
+    public static class ConstrainedHeapExport {
+
+        public static void main(String[] args) throws IOException {
+            DataSource dataSource = new SimpleDriverDataSource(new org.h2.Driver(), args[0], "sa", "");
+            HeadlineExportService service = new HeadlineExportService(TestHeadlineRepository.create(dataSource),
+                    new ArchiveExportProperties());
+            CountingOutputStream out = new CountingOutputStream();
+            long started = System.nanoTime();
+            long rows = service.export(LocalDate.of(2025, 1, 1), LocalDate.of(2025, 12, 31), null, null,
+                    HeadlineExportService.Format.NDJSON, false, out);
+            System.out.printf("rows=%d bytes=%d elapsed=%dms maxHeap=%dMB%n", rows, out.count,
+                    (System.nanoTime() - started) / 1_000_000, Runtime.getRuntime().maxMemory() >> 20);
+        }
+    }
+
+    private static final class CountingOutputStream extends OutputStream {
+
+        long count;
+
+        @Override
+        public void write(int b) {
+            count++;
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) {
+            count += len;
+        }
+    }
+}
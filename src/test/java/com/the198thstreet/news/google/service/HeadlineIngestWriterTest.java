@@ -0,0 +1,295 @@
+package com.the198thstreet.news.google.service;
+
+import static com.the198thstreet.support.TestHeadlines.articles;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Stream;
+import java.util.zip.CRC32;
+
+import javax.sql.DataSource;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import com.the198thstreet.news.google.ArchiveBackfillProperties;
+import com.the198thstreet.news.google.ArchiveClusterProperties;
+import com.the198thstreet.news.google.ArchiveColdProperties;
+import com.the198thstreet.news.google.IngestJournalProperties;
+import com.the198thstreet.news.google.model.Headline;
+import com.the198thstreet.news.google.repository.ColdSegmentStore;
+import com.the198thstreet.news.google.repository.HeadlineJournal;
+import com.the198thstreet.news.google.repository.HeadlineNewsRepository;
+import com.the198thstreet.support.H2TestDatabase;
+import com.the198thstreet.support.TestHeadlineRepository;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class HeadlineIngestWriterTest {
+
+    private static final LocalDate DAY = LocalDate.of(2025, 11, 30);
+
+    @Test
+    void writerKilledMidBatchReplaysUnackedRecordsOnRestart(@TempDir Path dir) throws Exception {
+        DataSource dataSource = H2TestDatabase.create();
+        IngestJournalProperties properties = journalProperties(dir);
+        HeadlineJournal journal = new HeadlineJournal(properties);
+        journal.open();
+        journal.append("headlines", articles(DAY, "h", 0, 3));
+        journal.append("business", articles(DAY, "b", 0, 2));
+        journal.append("headlines", articles(DAY, "h", 2, 2)); // h2 는 앞 레코드와 겹친다.
+
+        // 첫 피드를 커밋한 뒤 두 번째 피드를 저장하다 죽는다. (ack 전)
+        HeadlineIngestWriter killed = writer(failingRepository(dataSource, 2, new WriterKilled()), journal, properties);
+        assertThatThrownBy(killed::drainOnce).isInstanceOf(WriterKilled.class);
+        assertThat(count(dataSource, "headlines")).isEqualTo(4);
+        assertThat(count(dataSource, "business")).isZero();
+        journal.close();
+
+        // 재기동: ack 하지 않은 레코드를 모두 다시 읽고, 이미 저장된 기사는 중복으로 걸러진다.
+        HeadlineJournal reopened = new HeadlineJournal(properties);
+        reopened.open();
+        assertThat(reopened.pendingRecords()).isEqualTo(3);
+        HeadlineIngestWriter restarted = writer(TestHeadlineRepository.create(dataSource), reopened, properties);
+        assertThat(restarted.drainOnce()).isTrue();
+        assertThat(count(dataSource, "headlines")).isEqualTo(4);
+        assertThat(count(dataSource, "business")).isEqualTo(2);
+        assertThat(reopened.pendingRecords()).isZero();
+        assertThat(restarted.drainOnce()).isFalse();
+        reopened.close();
+
+        HeadlineJournal afterAck = new HeadlineJournal(properties);
+        afterAck.open();
+        assertThat(afterAck.pendingRecords()).isZero();
+        afterAck.close();
+    }
+
+    @Test
+    void failedBatchStaysInJournalUntilDatabaseRecovers(@TempDir Path dir) throws Exception {
+        DataSource dataSource = H2TestDatabase.create();
+        IngestJournalProperties properties = journalProperties(dir);
+        properties.setMaxPendingBytes(600L);
+        properties.setAppendTimeout(50L);
+        properties.setSegmentSize(512); // 레코드(5건 약 450바이트)마다 파일이 바뀌고, ack 하면 지워진다.
+        HeadlineJournal journal = new HeadlineJournal(properties);
+        journal.open();
+        journal.append("headlines", articles(DAY, "h", 0, 5));
+
+        // 저널이 가득 차면 수집 스레드는 잠시 기다린 뒤 이번 수집을 실패로 돌린다.
+        assertThatThrownBy(() -> journal.append("headlines", articles(DAY, "h", 5, 5)))
+                .isInstanceOf(IllegalStateException.class);
+
+        HeadlineIngestWriter writer = writer(failingRepository(dataSource, 1,
+                new DataAccessResourceFailureException("DB 연결 실패")), journal, properties);
+        assertThat(writer.drainOnce()).isFalse();
+        assertThat(writer.getRetryCount()).isEqualTo(1);
+        assertThat(journal.pendingRecords()).isEqualTo(1);
+        assertThat(writer.drainOnce()).isTrue();
+        assertThat(count(dataSource, "headlines")).isEqualTo(5);
+
+        journal.append("headlines", articles(DAY, "h", 5, 5));
+        assertThat(writer.drainOnce()).isTrue();
+        assertThat(count(dataSource, "headlines")).isEqualTo(10);
+        try (Stream<Path> files = Files.list(dir)) {
+            assertThat(files.filter(file -> file.getFileName().toString().endsWith(".log"))).hasSize(1);
+        }
+        journal.close();
+    }
+
+    @Test
+    void badArticleIsSetAsideAndListenerFailureDoesNotRetry(@TempDir Path dir) throws Exception {
+        DataSource dataSource = H2TestDatabase.create();
+        IngestJournalProperties properties = journalProperties(dir);
+        HeadlineJournal journal = new HeadlineJournal(properties);
+        journal.open();
+        List<Headline> articles = articles(DAY, "h", 0, 4);
+        Headline good = articles.get(2);
+        // ARTICLE_TITLE(500자)보다 긴 제목: 몇 번을 다시 해도 저장할 수 없다.
+        articles.set(2, Headline.parsed(good.pubDate(), good.pressName(), "가".repeat(501),
+                good.articleLink()));
+        journal.append("headlines", articles);
+        journal.append("business", articles(DAY, "b", 0, 2));
+
+        // 새 기사 알림을 받는 쪽이 실패해도 저장을 다시 시도하지 않는다.
+        AtomicInteger events = new AtomicInteger();
+        HeadlineNewsRepository repository = TestHeadlineRepository.create(dataSource);
+        HeadlineIngestWriter writer = new HeadlineIngestWriter(repository,
+                new HeadlineClusterer(repository, new ArchiveClusterProperties()), journal, properties, event -> {
+                    events.incrementAndGet();
+                    throw new IllegalStateException("구독자 오류");
+                }, new SimpleMeterRegistry());
+
+        assertThat(writer.drainOnce()).isTrue();
+        assertThat(writer.getRetryCount()).isZero();
+        assertThat(writer.getDeadLetterCount()).isEqualTo(1);
+        assertThat(journal.pendingRecords()).isZero();
+        assertThat(count(dataSource, "headlines")).isEqualTo(3);
+        assertThat(count(dataSource, "business")).isEqualTo(2);
+        assertThat(events.get()).isEqualTo(4); // 한 건씩 저장한 headlines 3건 + business 1번
+        assertThat(Files.readAllLines(dir.resolve("dead-letter.tsv"))).singleElement()
+                .satisfies(line -> assertThat(line).startsWith("headlines\t").contains("https://a.example/h/2"));
+        journal.close();
+    }
+
+    @Test
+    void corruptRecordsAreSetAsideAndTheRecordsAroundThemAreStored(@TempDir Path dir) throws Exception {
+        DataSource dataSource = H2TestDatabase.create();
+        IngestJournalProperties properties = journalProperties(dir);
+        HeadlineJournal journal = new HeadlineJournal(properties);
+        journal.open();
+        journal.append("headlines", articles(DAY, "h", 0, 2));
+        long second = journal.pendingBytes();
+        journal.append("headlines", articles(DAY, "h", 2, 2));
+        long third = journal.pendingBytes();
+        journal.append("business", articles(DAY, "b", 0, 2));
+        long fourth = journal.pendingBytes();
+        journal.append("business", articles(DAY, "b", 2, 2));
+
+        // 열려 있는 동안 파일이 망가진 상황: 두 번째 레코드는 CRC 가 어긋나고, 세 번째는 CRC 는 맞지만 풀 수 없다.
+        try (FileChannel channel = FileChannel.open(dir.resolve(String.format("journal-%020d.log", 0)),
+                StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            channel.write(ByteBuffer.wrap(new byte[] { 0x7f }), second + 12);
+            byte[] garbage = new byte[(int) (fourth - third - 8)];
+            Arrays.fill(garbage, (byte) 0xff);
+            CRC32 crc = new CRC32();
+            crc.update(garbage);
+            channel.write(ByteBuffer.allocate(4).putInt(0, (int) crc.getValue()), third + 4);
+            channel.write(ByteBuffer.wrap(garbage), third + 8);
+        }
+
+        HeadlineIngestWriter writer = writer(TestHeadlineRepository.create(dataSource), journal, properties);
+        assertThat(writer.drainOnce()).isTrue();
+        assertThat(count(dataSource, "headlines")).isEqualTo(2);
+        assertThat(count(dataSource, "business")).isEqualTo(2);
+        assertThat(journal.corruptRecords()).isEqualTo(2);
+        assertThat(journal.pendingRecords()).isZero();
+        assertThat(writer.drainOnce()).isFalse();
+        assertThat(dir.resolve(String.format("corrupt-%020d.rec", second))).exists();
+        assertThat(Files.readAllBytes(dir.resolve(String.format("corrupt-%020d.rec", third)))).containsOnly(0xff);
+        journal.close();
+    }
+
+    @Test
+    void secondJournalOnSameDirectoryFailsUntilFirstIsClosed(@TempDir Path dir) throws Exception {
+        IngestJournalProperties properties = journalProperties(dir);
+        HeadlineJournal live = new HeadlineJournal(properties);
+        live.open();
+        live.append("headlines", articles(DAY, "h", 0, 2));
+
+        HeadlineJournal other = new HeadlineJournal(properties);
+        assertThatThrownBy(other::open).isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining("다른 프로세스");
+        live.append("headlines", articles(DAY, "h", 2, 2)); // 열지 못한 쪽은 살아 있는 저널을 건드리지 않는다.
+        assertThat(live.pendingRecords()).isEqualTo(2);
+        live.close();
+
+        other.open();
+        assertThat(other.pendingRecords()).isEqualTo(2);
+        other.close();
+    }
+
+    @Test
+    void backfillRunNeverOpensTheIngestJournal(@TempDir Path dir) throws Exception {
+        IngestJournalProperties properties = journalProperties(dir.resolve("journal"));
+        ArchiveBackfillProperties backfill = new ArchiveBackfillProperties();
+        backfill.setDirectory(dir.resolve("snapshots").toString());
+        HeadlineJournal journal = new HeadlineJournal(properties, backfill);
+        journal.open();
+        assertThat(journal.isEnabled()).isFalse();
+        assertThat(dir.resolve("journal")).doesNotExist();
+
+        DataSource dataSource = H2TestDatabase.create();
+        writer(TestHeadlineRepository.create(dataSource), journal, properties)
+                .submit("headlines", articles(DAY, "h", 0, 2));
+        assertThat(count(dataSource, "headlines")).isEqualTo(2);
+        journal.close();
+    }
+
+    @Test
+    void tornTailIsDroppedAndOverwrittenOnOpen(@TempDir Path dir) throws Exception {
+        IngestJournalProperties properties = journalProperties(dir);
+        HeadlineJournal journal = new HeadlineJournal(properties);
+        journal.open();
+        for (int i = 0; i < 11; i++) {
+            journal.append("headlines", articles(DAY, "h", i * 2, 2));
+        }
+        long lastRecordStart = journal.pendingBytes();
+        journal.append("headlines", articles(DAY, "h", 22, 2));
+        journal.close();
+
+        // 마지막 레코드를 쓰다 죽은 것처럼 payload 한 바이트를 바꾼다. (파일 하나라 position = 파일 안 위치)
+        try (FileChannel channel = FileChannel.open(dir.resolve(String.format("journal-%020d.log", 0)),
+                StandardOpenOption.WRITE)) {
+            channel.write(ByteBuffer.wrap(new byte[] { 0x7f }), lastRecordStart + 12);
+        }
+
+        HeadlineJournal reopened = new HeadlineJournal(properties);
+        reopened.open();
+        assertThat(reopened.pendingRecords()).isEqualTo(11);
+        reopened.append("headlines", articles(DAY, "h", 100, 1));
+        List<Headline> replayed = new ArrayList<>();
+        for (HeadlineJournal.Batch batch = reopened.read(5, 0L); !batch.isEmpty(); batch = reopened.read(5, 0L)) {
+            batch.entries().forEach(entry -> replayed.addAll(entry.articles()));
+            reopened.ack(batch);
+        }
+        assertThat(replayed).hasSize(23);
+        assertThat(replayed.get(replayed.size() - 1).articleLink()).isEqualTo("https://a.example/h/100");
+        reopened.close();
+    }
+
+    private static IngestJournalProperties journalProperties(Path dir) {
+        IngestJournalProperties properties = new IngestJournalProperties();
+        properties.setDirectory(dir.toString());
+        properties.setForce(false);
+        return properties;
+    }
+
+    private static HeadlineIngestWriter writer(HeadlineNewsRepository repository, HeadlineJournal journal,
+            IngestJournalProperties properties) {
+        return new HeadlineIngestWriter(repository, new HeadlineClusterer(repository, new ArchiveClusterProperties()),
+                journal, properties, event -> { }, new SimpleMeterRegistry());
+    }
+
+    /**
+     * failOnCall 번째 insertHeadlines 호출에서 failure 를 던지는 저장소.
+     */
+    private static HeadlineNewsRepository failingRepository(DataSource dataSource, int failOnCall, Throwable failure) {
+        AtomicInteger calls = new AtomicInteger();
+        return new HeadlineNewsRepository(new JdbcTemplate(dataSource),
+                TestHeadlineRepository.transactionTemplate(dataSource), new SimpleMeterRegistry(),
+                new ColdSegmentStore(new ArchiveColdProperties())) {
+            @Override
+            public BatchInsertResult insertHeadlines(String feedId, List<Headline> articles) {
+                if (calls.incrementAndGet() == failOnCall) {
+                    if (failure instanceof RuntimeException runtime) {
+                        throw runtime;
+                    }
+                    throw (Error) failure;
+                }
+                return super.insertHeadlines(feedId, articles);
+            }
+        };
+    }
+
+    private static int count(DataSource dataSource, String feedId) {
+        return new JdbcTemplate(dataSource).queryForObject("SELECT COUNT(*) FROM HEADLINE_NEWS WHERE FEED_ID = ?",
+                Integer.class, feedId);
+    }
+
+    /** 저장 도중 프로세스가 죽은 상황. (재시도 대상인 RuntimeException 이 아니라 스레드를 그대로 끝낸다) */
+    private static final class WriterKilled extends Error {
+        private static final long serialVersionUID = 1L;
+    }
+}
@@ -0,0 +1,76 @@
+package com.the198thstreet.news.google.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.the198thstreet.news.google.ArchiveSearchProperties;
+import com.the198thstreet.news.google.model.Headline;
+
+class HeadlineSearchIndexTest {
+
+    private HeadlineSearchIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index = new HeadlineSearchIndex(null, new ArchiveSearchProperties());
+        index.add(List.of(
+                headline("2025-09-01T09:00", "연합뉴스", "반도체 수출 석 달 연속 증가"),
+                headline("2025-10-15T12:00", "한겨레", "반도체 업황 회복에 수출 기대감"),
+                headline("2025-11-30T08:00", "연합뉴스", "자동차 수출 감소…반도체는 호조"),
+                headline("2025-11-29T08:00", "KBS", "북한, 동해상으로 탄도미사일 발사"),
+                headline("2025-11-28T08:00", "MBC", "AI 반도체 투자 확대")));
+    }
+
+    @Test
+    void matchesAllTokensAsSubstringsNewestFirst() {
+        List<Headline> found = index.search("반도체 수출", null, null, null, 10);
+
+        assertThat(found).extracting(Headline::articleTitle).containsExactly(
+                "자동차 수출 감소…반도체는 호조",
+                "반도체 업황 회복에 수출 기대감",
+                "반도체 수출 석 달 연속 증가");
+    }
+
+    @Test
+    void bigramsInsideLongerWordsAreFoundButCrossTokenMatchesAreNot() {
+        assertThat(index.search("북한", null, null, null, 10)).hasSize(1);
+        assertThat(index.search("미사일", null, null, null, 10)).hasSize(1);
+        // "출 석" 은 제목에 있지만 공백을 건너 붙인 "출석" 은 없다.
+        assertThat(index.search("출석", null, null, null, 10)).isEmpty();
+        assertThat(index.search("ai", null, null, null, 10)).extracting(Headline::pressName).containsExactly("MBC");
+    }
+
+    @Test
+    void filtersByDateRangeAndPressAndLimitsToTopK() {
+        assertThat(index.search("반도체", LocalDate.of(2025, 10, 1), LocalDate.of(2025, 11, 29), null, 10))
+                .extracting(Headline::pressName).containsExactly("MBC", "한겨레");
+        assertThat(index.search("반도체", null, null, "연합뉴스", 10)).hasSize(2);
+        assertThat(index.search("반도체", null, null, "없는언론사", 10)).isEmpty();
+        assertThat(index.search("반도체", null, null, null, 2)).extracting(Headline::pressName)
+                .containsExactly("연합뉴스", "MBC");
+    }
+
+    @Test
+    void incrementalAddsAreSearchableAndShortQueriesReturnNothing() {
+        index.add(List.of(headline("2025-12-01T07:00", "중앙일보", "반도체 수출 사상 최대")));
+        index.add(List.of(headline("2025-08-01T07:00", "MBC", "반도체 수출 부진")));
+
+        assertThat(index.search("반도체 수출", null, null, null, 1)).extracting(Headline::pressName)
+                .containsExactly("중앙일보");
+        assertThat(index.search("반도체 수출", null, LocalDate.of(2025, 9, 1), null, 2)).extracting(Headline::pressName)
+                .containsExactly("연합뉴스", "MBC");
+        assertThat(index.search("반", null, null, null, 10)).isEmpty();
+        assertThat(index.search("  …  ", null, null, null, 10)).isEmpty();
+    }
+
+    private static Headline headline(String pubDate, String press, String title) {
+        return Headline.parsed(LocalDateTime.parse(pubDate), press, title, "https://example.com/" + title.hashCode())
+                .withFeedId("headlines");
+    }
+}
@@ -0,0 +1,119 @@
+package com.the198thstreet.news.google.service;
+
+import static com.the198thstreet.support.TestHeadlines.articles;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.Clock;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.the198thstreet.news.google.ArchiveCacheProperties;
+import com.the198thstreet.news.google.model.Headline;
+import com.the198thstreet.news.google.repository.HeadlineNewsRepository;
+import com.the198thstreet.support.H2TestDatabase;
+import com.the198thstreet.support.StatementCountingDataSource;
+import com.the198thstreet.support.TestHeadlineRepository;
+
+class HotDayHeadlineCacheTest {
+
+    private static final ZoneId KST = ZoneId.of("Asia/Seoul");
+    private static final LocalDate TODAY = LocalDate.of(2025, 11, 30);
+    private static final LocalDate YESTERDAY = TODAY.minusDays(1);
+    private static final Clock CLOCK = Clock.fixed(TODAY.atTime(12, 0).atZone(KST).toInstant(), KST);
+
+    private StatementCountingDataSource dataSource;
+    private HeadlineNewsRepository repository;
+
+    @BeforeEach
+    void setUp() {
+        dataSource = new StatementCountingDataSource(H2TestDatabase.create());
+        repository = TestHeadlineRepository.create(dataSource);
+    }
+
+    @Test
+    void secondGetIsAHitWithoutQueriesAndDaysOutsideTheWindowAreNotCached() {
+        repository.insertHeadlines(articles(TODAY, "today", 5));
+        repository.insertHeadlines(articles(TODAY.minusDays(3), "old", 5));
+        HotDayHeadlineCache cache = cache(new ArchiveCacheProperties());
+
+        HotDayHeadlineCache.Day first = cache.get(TODAY, null);
+        assertThat(first.leads()).hasSize(5);
+        dataSource.reset();
+        assertThat(cache.get(TODAY, null)).isSameAs(first);
+        // hot-days=3 이면 오늘, 어제, 그제까지만 올린다. 범위 밖은 DB 를 보지 않고 null.
+        assertThat(cache.get(TODAY.minusDays(3), null)).isNull();
+        assertThat(cache.get(TODAY.plusDays(1), null)).isNull();
+        assertThat(dataSource.getStatementCount()).isZero();
+        assertThat(cache.stats()).isEqualTo(new HotDayHeadlineCache.CacheStats(1, 1, 0, 0, 1, 5));
+    }
+
+    @Test
+    void insertedEventReloadsOnlyTheCachedDaysItTouches() {
+        repository.insertHeadlines("headlines", articles(TODAY, "today", 5));
+        repository.insertHeadlines("business", articles(TODAY, "biz", 3));
+        repository.insertHeadlines("headlines", articles(YESTERDAY, "yesterday", 4));
+        HotDayHeadlineCache cache = cache(new ArchiveCacheProperties());
+        HotDayHeadlineCache.Day allFeeds = cache.get(TODAY, null);
+        HotDayHeadlineCache.Day business = cache.get(TODAY, "business");
+        HotDayHeadlineCache.Day yesterday = cache.get(YESTERDAY, null);
+        assertThat(allFeeds.articles()).isEqualTo(8);
+
+        List<Headline> inserted = repository.insertHeadlines("headlines", articles(TODAY, "today", 5, 2))
+                .insertedArticles();
+        dataSource.reset();
+        cache.onHeadlinesInserted(new HeadlinesInsertedEvent(inserted));
+
+        // 모든 피드를 담은 오늘 항목만 다시 읽는다. 다른 피드/다른 날짜 항목은 그대로 쓴다.
+        assertThat(dataSource.getStatementCount()).isEqualTo(1);
+        dataSource.reset();
+        assertThat(cache.get(TODAY, null).articles()).isEqualTo(10);
+        assertThat(cache.get(TODAY, null).leads()).extracting(Headline::articleLink)
+                .contains("https://a.example/today/6");
+        assertThat(cache.get(TODAY, "business")).isSameAs(business);
+        assertThat(cache.get(YESTERDAY, null)).isSameAs(yesterday);
+        assertThat(dataSource.getStatementCount()).isZero();
+        assertThat(cache.stats().refreshes()).isEqualTo(1);
+    }
+
+    @Test
+    void articleCapEvictsLeastRecentlyUsedDayAndOversizedDayFallsBackToTheDatabase() {
+        repository.insertHeadlines(articles(TODAY, "today", 4));
+        repository.insertHeadlines(articles(YESTERDAY, "yesterday", 4));
+        repository.insertHeadlines(articles(TODAY.minusDays(2), "older", 4));
+        ArchiveCacheProperties properties = new ArchiveCacheProperties();
+        properties.setMaxArticles(10);
+        HotDayHeadlineCache cache = cache(properties);
+
+        cache.get(TODAY, null);
+        cache.get(YESTERDAY, null);
+        cache.get(TODAY, null); // 오늘을 최근에 쓴 쪽으로 옮긴다.
+        cache.get(TODAY.minusDays(2), null); // 12건이 되어 가장 오래 안 쓴 어제를 내린다.
+        assertThat(cache.stats().evictions()).isEqualTo(1);
+        assertThat(cache.stats().articles()).isEqualTo(8);
+        dataSource.reset();
+        cache.get(TODAY, null);
+        assertThat(dataSource.getStatementCount()).isZero();
+        cache.get(YESTERDAY, null);
+        assertThat(dataSource.getStatementCount()).isEqualTo(1);
+
+        // 하루치가 상한을 넘게 된 날짜는 내리고, 이후로는 DB 를 보지 않고 바로 null 을 준다.
+        // 호출 측은 그 날짜를 페이지 단위로 DB 에서 조회한다.
+        List<Headline> inserted = repository.insertHeadlines("headlines", articles(TODAY, "today", 4, 8))
+                .insertedArticles();
+        cache.onHeadlinesInserted(new HeadlinesInsertedEvent(inserted));
+        dataSource.reset();
+        assertThat(cache.get(TODAY, null)).isNull();
+        assertThat(cache.get(TODAY, null)).isNull();
+        assertThat(dataSource.getStatementCount()).isZero();
+        assertThat(new HeadlineArchiveService(repository, cache).getPage(TODAY, null, 0, 5).totalCount())
+                .isEqualTo(12);
+    }
+
+    private HotDayHeadlineCache cache(ArchiveCacheProperties properties) {
+        return new HotDayHeadlineCache(repository, properties, CLOCK);
+    }
+}
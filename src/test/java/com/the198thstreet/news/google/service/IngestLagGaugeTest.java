@@ -0,0 +1,84 @@
+package com.the198thstreet.news.google.service;
+
+import static com.the198thstreet.support.TestHeadlines.articles;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.nio.file.Path;
+import java.time.Clock;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.List;
+
+import javax.sql.DataSource;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import com.the198thstreet.news.google.ArchiveClusterProperties;
+import com.the198thstreet.news.google.IngestJournalProperties;
+import com.the198thstreet.news.google.model.Headline;
+import com.the198thstreet.news.google.repository.HeadlineJournal;
+import com.the198thstreet.news.google.repository.HeadlineNewsRepository;
+import com.the198thstreet.support.H2TestDatabase;
+import com.the198thstreet.support.TestHeadlineRepository;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class IngestLagGaugeTest {
+
+    private static final ZoneId KST = ZoneId.of("Asia/Seoul");
+    private static final LocalDate DAY = LocalDate.of(2025, 11, 30);
+    private static final Clock CLOCK = Clock.fixed(DAY.atTime(9, 0).atZone(KST).toInstant(), KST);
+
+    @Test
+    void lagGaugeAndIngestMetersFollowStoredArticles(@TempDir Path dir) {
+        DataSource dataSource = H2TestDatabase.create();
+        MeterRegistry registry = new SimpleMeterRegistry();
+        HeadlineNewsRepository repository = TestHeadlineRepository.create(dataSource, registry);
+        repository.insertHeadlines("headlines", articles(DAY, "h", 3)); // 가장 최근 08:02
+
+        IngestLagGauge gauge = new IngestLagGauge(repository, registry, CLOCK);
+        gauge.loadNewest();
+        assertThat(lag(registry, "headlines")).isEqualTo(58 * 60);
+        assertThat(registry.find("news.ingest.lag").tag("feed", "business").gauge()).isNull();
+        assertThat(registry.get("news.repository.query").tag("query", "findNewestPubDates").timer().count())
+                .isEqualTo(1);
+
+        IngestJournalProperties journalProperties = new IngestJournalProperties();
+        journalProperties.setEnabled(false);
+        journalProperties.setDirectory(dir.toString());
+        HeadlineIngestWriter writer = new HeadlineIngestWriter(repository,
+                new HeadlineClusterer(repository, new ArchiveClusterProperties()),
+                new HeadlineJournal(journalProperties), journalProperties,
+                event -> gauge.onHeadlinesInserted((HeadlinesInsertedEvent) event), registry);
+
+        // 처음 보는 피드는 첫 저장 때 게이지가 생긴다.
+        writer.store("business", articles(DAY, "b", 31)); // 가장 최근 08:30
+        assertThat(lag(registry, "business")).isEqualTo(30 * 60);
+
+        // 더 오래된 기사는 지연을 늘리지 않고, 중복은 건너뛴 수로만 센다.
+        Headline older = Headline.parsed(DAY.atTime(7, 0), "언론사", "늦게 온 기사", "https://a.example/h/late");
+        Headline newer = Headline.parsed(DAY.atTime(8, 50), "언론사", "새 기사", "https://a.example/h/new");
+        writer.store("headlines", List.of(older, newer, articles(DAY, "h", 1).get(0)));
+        assertThat(lag(registry, "headlines")).isEqualTo(10 * 60);
+        writer.store("headlines", List.of(older));
+        assertThat(lag(registry, "headlines")).isEqualTo(10 * 60);
+
+        assertThat(articleCount(registry, "headlines", "inserted")).isEqualTo(2);
+        assertThat(articleCount(registry, "headlines", "skipped")).isEqualTo(2);
+        assertThat(articleCount(registry, "business", "inserted")).isEqualTo(31);
+        assertThat(registry.get("news.ingest.phase").tags("feed", "business", "phase", "insert").timer().count())
+                .isEqualTo(1);
+        assertThat(registry.get("news.ingest.phase").tags("feed", "headlines", "phase", "dedup").timer().count())
+                .isEqualTo(3); // 시드 1번 + 수집 2번
+    }
+
+    private static double lag(MeterRegistry registry, String feedId) {
+        return registry.get("news.ingest.lag").tag("feed", feedId).gauge().value();
+    }
+
+    private static double articleCount(MeterRegistry registry, String feedId, String result) {
+        return registry.get("news.ingest.articles").tags("feed", feedId, "result", result).counter().count();
+    }
+}
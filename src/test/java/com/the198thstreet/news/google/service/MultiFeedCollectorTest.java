@@ -0,0 +1,141 @@
+package com.the198thstreet.news.google.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Test;
+
+import com.the198thstreet.news.google.GoogleNewsProperties;
+
+class MultiFeedCollectorTest {
+
+    @Test
+    void eachFeedIsCollectedOnItsOwnInterval() throws Exception {
+        GoogleNewsProperties properties = properties(
+                new GoogleNewsProperties.Feed("fast", "https://a.example/fast", 40, 0),
+                new GoogleNewsProperties.Feed("slow", "https://a.example/slow", 400, 0));
+        CountingNewsService newsService = new CountingNewsService(properties);
+        MultiFeedCollector collector = new MultiFeedCollector(newsService, properties);
+
+        collector.start();
+        try {
+            Thread.sleep(1_000);
+        } finally {
+            collector.stop();
+        }
+
+        // 첫 수집은 바로, 그 뒤로는 피드마다 자기 간격으로 돈다. (fast 약 25번, slow 약 3번)
+        assertThat(newsService.calls("slow")).isBetween(2, 4);
+        assertThat(newsService.calls("fast")).isGreaterThan(newsService.calls("slow") * 4);
+    }
+
+    @Test
+    void failingAndHangingFeedsDoNotStopTheOthers() throws Exception {
+        GoogleNewsProperties properties = properties(
+                new GoogleNewsProperties.Feed("broken", "https://a.example/broken", 30, 0),
+                new GoogleNewsProperties.Feed("stuck", "https://a.example/stuck", 30, 0),
+                new GoogleNewsProperties.Feed("healthy", "https://a.example/healthy", 30, 0));
+        properties.setMaxConcurrentFetches(2);
+        CountDownLatch release = new CountDownLatch(1);
+        CountingNewsService newsService = new CountingNewsService(properties) {
+            @Override
+            public void collect(GoogleNewsProperties.Feed feed) {
+                super.collect(feed);
+                if (feed.getId().equals("broken")) {
+                    throw new IllegalStateException("파싱할 수 없는 피드");
+                }
+                if (feed.getId().equals("stuck")) {
+                    await(release);
+                }
+            }
+        };
+        MultiFeedCollector collector = new MultiFeedCollector(newsService, properties);
+
+        collector.start();
+        try {
+            Thread.sleep(600);
+        } finally {
+            release.countDown();
+            collector.stop();
+        }
+
+        // 응답 없는 피드는 스레드 하나만 붙잡고 자기 차례를 건너뛴다. 예외를 던진 피드는 다음 차례에 다시 돈다.
+        assertThat(newsService.calls("stuck")).isEqualTo(1);
+        assertThat(newsService.calls("broken")).isGreaterThan(5);
+        assertThat(newsService.calls("healthy")).isGreaterThan(5);
+    }
+
+    @Test
+    void invalidFeedFailsFeedIdsAndResolveFeedsAlike() {
+        String longId = "x".repeat(GoogleNewsProperties.MAX_FEED_ID_LENGTH + 1);
+        List<GoogleNewsProperties> invalid = List.of(
+                properties(new GoogleNewsProperties.Feed(" ", "https://a.example/1", 0, 0)),
+                properties(new GoogleNewsProperties.Feed("no-url", null, 0, 0)),
+                properties(new GoogleNewsProperties.Feed(longId, "https://a.example/1", 0, 0)),
+                properties(new GoogleNewsProperties.Feed("dup", "https://a.example/1", 0, 0),
+                        new GoogleNewsProperties.Feed("dup", "https://a.example/2", 0, 0)));
+        for (GoogleNewsProperties properties : invalid) {
+            assertThatThrownBy(properties::feedIds).isInstanceOf(IllegalStateException.class)
+                    .hasMessageContaining("news.collector.google.feeds[");
+            GoogleHeadlineNewsService newsService = new GoogleHeadlineNewsService(null, properties, null, null);
+            assertThatThrownBy(newsService::resolveFeeds).isInstanceOf(IllegalStateException.class);
+            assertThatThrownBy(new MultiFeedCollector(newsService, properties)::start)
+                    .isInstanceOf(IllegalStateException.class);
+        }
+
+        String longestId = "x".repeat(GoogleNewsProperties.MAX_FEED_ID_LENGTH);
+        GoogleNewsProperties valid = properties(
+                new GoogleNewsProperties.Feed(longestId, "https://a.example/1", 0, -5),
+                new GoogleNewsProperties.Feed("business", "https://a.example/2", 60_000, 1_000));
+        assertThat(valid.feedIds()).hasSize(2);
+        List<GoogleNewsProperties.Feed> feeds = new GoogleHeadlineNewsService(null, valid, null, null).resolveFeeds();
+        assertThat(feeds).extracting(GoogleNewsProperties.Feed::getId).containsExactlyElementsOf(valid.feedIds());
+        assertThat(feeds.get(0).getInterval()).isEqualTo(valid.getFixedDelay());
+        assertThat(feeds.get(0).getJitter()).isZero();
+        assertThat(feeds.get(1).getInterval()).isEqualTo(60_000);
+        assertThat(new GoogleNewsProperties().feedIds()).containsExactly(GoogleNewsProperties.DEFAULT_FEED_ID);
+    }
+
+    private static GoogleNewsProperties properties(GoogleNewsProperties.Feed... feeds) {
+        GoogleNewsProperties properties = new GoogleNewsProperties();
+        properties.setFeeds(List.of(feeds));
+        return properties;
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * 피드를 받아 오는 대신 피드별 호출 횟수만 세는 수집 서비스.
+     */
+    private static class CountingNewsService extends GoogleHeadlineNewsService {
+
+        private final Map<String, AtomicInteger> calls = new ConcurrentHashMap<>();
+
+        CountingNewsService(GoogleNewsProperties properties) {
+            super(null, properties, null, null);
+        }
+
+        @Override
+        public void collect(GoogleNewsProperties.Feed feed) {
+            calls.computeIfAbsent(feed.getId(), id -> new AtomicInteger()).incrementAndGet();
+        }
+
+        int calls(String feedId) {
+            AtomicInteger count = calls.get(feedId);
+            return count == null ? 0 : count.get();
+        }
+    }
+}
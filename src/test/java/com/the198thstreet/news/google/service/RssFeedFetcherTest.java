@@ -0,0 +1,122 @@
+package com.the198thstreet.news.google.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import com.the198thstreet.news.google.GoogleNewsProperties;
+
+class RssFeedFetcherTest {
+
+    private HttpServer server;
+    private String baseUrl;
+    private RssFeedFetcher fetcher;
+
+    /** 스텁 서버가 내려줄 본문과 ETag. null 이면 ETag 헤더를 보내지 않는다. */
+    private volatile String body = "<rss><channel><item/></channel></rss>";
+    private volatile String etag = "\"v1\"";
+    private final AtomicInteger fullResponses = new AtomicInteger();
+
+    @BeforeEach
+    void startServer() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.createContext("/rss", this::handle);
+        server.start();
+        baseUrl = "http://127.0.0.1:" + server.getAddress().getPort() + "/rss";
+        fetcher = new RssFeedFetcher(new FeedHttpClient(new GoogleNewsProperties()));
+    }
+
+    @AfterEach
+    void stopServer() {
+        server.stop(0);
+    }
+
+    @Test
+    void sendsValidatorsOnlyAfterProcessedAndHonours304() {
+        RssFetchResult first = fetcher.fetch(baseUrl);
+        assertThat(first.outcome()).isEqualTo(RssFetchResult.Outcome.MODIFIED);
+        assertThat(first.body()).isEqualTo(body);
+
+        // 처리 완료 표시 전에는 검증 헤더를 보내지 않으므로 다시 전체 문서를 받는다.
+        assertThat(fetcher.fetch(baseUrl).outcome()).isEqualTo(RssFetchResult.Outcome.MODIFIED);
+
+        fetcher.markProcessed(first);
+        RssFetchResult second = fetcher.fetch(baseUrl);
+
+        assertThat(second.outcome()).isEqualTo(RssFetchResult.Outcome.NOT_MODIFIED);
+        assertThat(second.hasNewContent()).isFalse();
+        assertThat(fetcher.getNotModifiedCount()).isEqualTo(1);
+        assertThat(fetcher.getFullParseCount()).isEqualTo(2);
+        assertThat(fullResponses.get()).isEqualTo(2);
+    }
+
+    @Test
+    void skipsIdenticalBodyWhenServerHasNoValidators() {
+        etag = null;
+        fetcher.markProcessed(fetcher.fetch(baseUrl));
+
+        RssFetchResult repeat = fetcher.fetch(baseUrl);
+        assertThat(repeat.outcome()).isEqualTo(RssFetchResult.Outcome.HASH_HIT);
+        assertThat(fetcher.getHashHitCount()).isEqualTo(1);
+
+        body = "<rss><channel><item/><item/></channel></rss>";
+        RssFetchResult changed = fetcher.fetch(baseUrl);
+        assertThat(changed.outcome()).isEqualTo(RssFetchResult.Outcome.MODIFIED);
+        assertThat(changed.body()).isEqualTo(body);
+        assertThat(fetcher.getFullParseCount()).isEqualTo(2);
+    }
+
+    @Test
+    void changedEtagReturnsNewDocument() {
+        fetcher.markProcessed(fetcher.fetch(baseUrl));
+
+        etag = "\"v2\"";
+        body = "<rss><channel><item/><item/><item/></channel></rss>";
+        RssFetchResult changed = fetcher.fetch(baseUrl);
+
+        assertThat(changed.outcome()).isEqualTo(RssFetchResult.Outcome.MODIFIED);
+        assertThat(fetcher.getNotModifiedCount()).isZero();
+    }
+
+    @Test
+    void hashHitKeepsFreshValidatorsSoNextRequestGets304() {
+        fetcher.markProcessed(fetcher.fetch(baseUrl));
+
+        // 본문은 그대로이고 ETag 만 바뀐 경우: 파싱은 건너뛰고 새 ETag 를 기억한다.
+        etag = "\"v2\"";
+        assertThat(fetcher.fetch(baseUrl).outcome()).isEqualTo(RssFetchResult.Outcome.HASH_HIT);
+
+        assertThat(fetcher.fetch(baseUrl).outcome()).isEqualTo(RssFetchResult.Outcome.NOT_MODIFIED);
+        assertThat(fullResponses.get()).isEqualTo(2);
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        String currentEtag = etag;
+        String ifNoneMatch = exchange.getRequestHeaders().getFirst("If-None-Match");
+        if (currentEtag != null && currentEtag.equals(ifNoneMatch)) {
+            exchange.sendResponseHeaders(304, -1);
+            exchange.close();
+            return;
+        }
+        byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+        if (currentEtag != null) {
+            exchange.getResponseHeaders().set("ETag", currentEtag);
+        }
+        exchange.getResponseHeaders().set("Content-Type", "application/rss+xml; charset=UTF-8");
+        exchange.sendResponseHeaders(200, bytes.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(bytes);
+        }
+        fullResponses.incrementAndGet();
+    }
+}
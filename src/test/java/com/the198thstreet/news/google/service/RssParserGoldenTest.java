@@ -0,0 +1,69 @@
+package com.the198thstreet.news.google.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import com.the198thstreet.news.google.GoogleNewsProperties;
+import com.the198thstreet.news.google.model.Headline;
+
+/**
+ * StAX 스트리밍 파서와 기존 Jsoup DOM 파서가 같은 RSS 에서 같은 기사 목록을 만드는지 비교한다.
+ */
+class RssParserGoldenTest {
+
+    @Test
+    void streamingParserMatchesJsoupParser() throws IOException {
+        String xml = readFixture("rss/google-headlines-golden.xml");
+
+        List<Headline> jsoup = service(GoogleNewsProperties.ParserType.JSOUP).parseRss(xml);
+        List<Headline> stax = service(GoogleNewsProperties.ParserType.STAX).parseRss(xml);
+
+        assertThat(jsoup).hasSize(8);
+        assertThat(stax).containsExactlyElementsOf(jsoup);
+    }
+
+    @Test
+    void streamingParserReadsInputStreamDirectly() throws IOException {
+        try (InputStream in = getClass().getClassLoader().getResourceAsStream("rss/google-headlines-golden.xml")) {
+            List<Headline> stax = new StaxRssParser(RssParserGoldenTest::parsePubDate).parse(in);
+
+            assertThat(stax).extracting(Headline::articleTitle).containsExactly(
+                    "잇단 노동자 사망 사고에…", "\"안전 대책\" & 현장 점검", "노동부 긴급 감독 착수",
+                    "반도체 수출 \"역대 최대\"", "삼성전자·SK하이닉스 동반 강세", "코스피 2,900 회복",
+                    "첫 목록", "둘째 목록");
+            assertThat(stax.get(0).pubDate()).isEqualTo(LocalDateTime.of(2025, 11, 30, 17, 44));
+            assertThat(stax.get(1).articleLink()).isEqualTo("https://news.google.com/rss/articles/CBMiBBB?oc=5&hl=ko");
+        }
+    }
+
+    private static LocalDateTime parsePubDate(String raw) {
+        try {
+            return LocalDateTime.ofInstant(DateTimeFormatter.RFC_1123_DATE_TIME.parse(raw, Instant::from),
+                    ZoneId.of("Asia/Seoul"));
+        } catch (RuntimeException e) {
+            return null;
+        }
+    }
+
+    private static GoogleHeadlineNewsService service(GoogleNewsProperties.ParserType parserType) {
+        GoogleNewsProperties properties = new GoogleNewsProperties();
+        properties.setParser(parserType);
+        return new GoogleHeadlineNewsService(null, properties, null, null);
+    }
+
+    private String readFixture(String path) throws IOException {
+        try (InputStream in = getClass().getClassLoader().getResourceAsStream(path)) {
+            return new String(in.readAllBytes(), StandardCharsets.UTF_8);
+        }
+    }
+}
@@ -0,0 +1,28 @@
+package com.the198thstreet.support;
+
+import java.util.UUID;
+
+import javax.sql.DataSource;
+
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.jdbc.datasource.SimpleDriverDataSource;
+import org.springframework.jdbc.datasource.init.ResourceDatabasePopulator;
+
+/**
+ * schema.sql 이 적용된 H2(MariaDB 호환 모드) 메모리 DB 를 만들어 주는 테스트 도우미.
+ */
+public final class H2TestDatabase {
+
+    private H2TestDatabase() {
+    }
+
+    /**
+     * 테스트마다 독립된 이름의 메모리 DB 를 만들고 schema.sql 을 실행한다.
+     */
+    public static DataSource create() {
+        SimpleDriverDataSource dataSource = new SimpleDriverDataSource(new org.h2.Driver(),
+                "jdbc:h2:mem:" + UUID.randomUUID() + ";MODE=MariaDB;DB_CLOSE_DELAY=-1", "sa", "");
+        new ResourceDatabasePopulator(new ClassPathResource("schema.sql")).execute(dataSource);
+        return dataSource;
+    }
+}
@@ -0,0 +1,51 @@
+package com.the198thstreet.support;
+
+import javax.sql.DataSource;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.the198thstreet.news.google.ArchiveColdProperties;
+import com.the198thstreet.news.google.repository.ColdSegmentStore;
+import com.the198thstreet.news.google.repository.HeadlineNewsRepository;
+import com.the198thstreet.news.google.repository.PressDictionary;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+/**
+ * 테스트 DB 위에 {@link HeadlineNewsRepository} 를 만들어 주는 테스트 도우미.
+ * <p>
+ * 콜드 보관소를 따로 주지 않으면 세그먼트가 하나도 없는 빈 보관소를 붙인다. (모든 날짜를 HEADLINE_NEWS 에서 읽음)
+ */
+public final class TestHeadlineRepository {
+
+    private TestHeadlineRepository() {
+    }
+
+    public static HeadlineNewsRepository create(DataSource dataSource) {
+        return create(dataSource, new ColdSegmentStore(new ArchiveColdProperties()));
+    }
+
+    public static HeadlineNewsRepository create(DataSource dataSource, ColdSegmentStore coldStore) {
+        return new HeadlineNewsRepository(new JdbcTemplate(dataSource), transactionTemplate(dataSource),
+                new SimpleMeterRegistry(), coldStore);
+    }
+
+    /** 저장소의 조회/수집 단계 지표를 meterRegistry 에 남긴다. */
+    public static HeadlineNewsRepository create(DataSource dataSource, MeterRegistry meterRegistry) {
+        return new HeadlineNewsRepository(new JdbcTemplate(dataSource), transactionTemplate(dataSource), meterRegistry,
+                new ColdSegmentStore(new ArchiveColdProperties()));
+    }
+
+    public static HeadlineNewsRepository create(DataSource dataSource, PressDictionary pressDictionary) {
+        return new HeadlineNewsRepository(new JdbcTemplate(dataSource), transactionTemplate(dataSource),
+                new SimpleMeterRegistry(), new ColdSegmentStore(new ArchiveColdProperties()), pressDictionary);
+    }
+
+    /** dataSource 에 대한 트랜잭션 템플릿. 같은 dataSource 의 저장소와 트랜잭션을 함께 쓸 때 쓴다. */
+    public static TransactionTemplate transactionTemplate(DataSource dataSource) {
+        return new TransactionTemplate(new DataSourceTransactionManager(dataSource));
+    }
+}
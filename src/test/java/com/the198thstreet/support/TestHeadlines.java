@@ -0,0 +1,41 @@
+package com.the198thstreet.support;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import com.the198thstreet.news.google.model.Headline;
+
+/**
+ * 테스트용 기사 목록을 만드는 도우미.
+ * <p>
+ * i 번째 기사 = day 08:00 + i 분, 언론사 "언론사{i % 7}", 제목 "{prefix} 기사 {i}", 링크 https://a.example/{prefix}/{i}.
+ * 언론사는 일곱 곳을 돌려 쓰므로 두 번째 묶음부터는 PRESS 에 새로 넣을 언론사가 없다.
+ * prefix 가 다르면 링크가 겹치지 않으므로 같은 날짜에 여러 묶음을 넣어도 중복으로 걸러지지 않는다.
+ */
+public final class TestHeadlines {
+
+    private static final int PRESSES = 7;
+
+    private TestHeadlines() {
+    }
+
+    /** 0 번부터 count 건 */
+    public static List<Headline> articles(LocalDate day, String prefix, int count) {
+        return articles(day, prefix, 0, count);
+    }
+
+    /** from 번부터 count 건 */
+    public static List<Headline> articles(LocalDate day, String prefix, int from, int count) {
+        List<Headline> articles = new ArrayList<>(count);
+        for (int i = from; i < from + count; i++) {
+            articles.add(article(day, prefix, i));
+        }
+        return articles;
+    }
+
+    public static Headline article(LocalDate day, String prefix, int i) {
+        return Headline.parsed(day.atTime(8, 0).plusMinutes(i), "언론사" + (i % PRESSES), prefix + " 기사 " + i,
+                "https://a.example/" + prefix + "/" + i);
+    }
+}